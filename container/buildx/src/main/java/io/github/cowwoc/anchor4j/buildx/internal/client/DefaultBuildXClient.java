@@ -108,5 +108,6 @@ public List<Object> getResources(Predicate<? super Class<?>> typeFilter, Predica
 	@Override
 	public void close()
 	{
+		super.close();
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package io.github.cowwoc.anchor4j.container.buildx.test.resource;
+
+import io.github.cowwoc.anchor4j.buildx.client.BuildXClient;
+import io.github.cowwoc.anchor4j.container.core.resource.BakeBuilder;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder.Exporter;
+import io.github.cowwoc.anchor4j.core.internal.util.Paths;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class BakeIT
+{
+	@Test
+	public void bake() throws IOException, InterruptedException
+	{
+		try (BuildXClient client = BuildXClient.build())
+		{
+			Path buildContext = Path.of("src/test/resources");
+			Path firstDirectory = Files.createTempDirectory("");
+			Path secondDirectory = Files.createTempDirectory("");
+			Map<String, ContainerImage> nameToImage = client.bake().
+				target("second", client.buildImage().
+					export(Exporter.ociImage(secondDirectory.toString()).directory().build()), buildContext).
+				target("first", client.buildImage().
+					dockerfile(buildContext.resolve("custom/Dockerfile")).
+					export(Exporter.ociImage(firstDirectory.toString()).directory().build()), buildContext).
+				apply();
+			// The images are returned in the order that the targets were added
+			requireThat(List.copyOf(nameToImage.keySet()), "nameToImage.keySet()").
+				isEqualTo(List.of("second", "first"));
+			for (ContainerImage image : nameToImage.values())
+				requireThat(image, "image").isNull();
+			requireThat(firstDirectory, "firstDirectory").isNotEmpty();
+			requireThat(secondDirectory, "secondDirectory").isNotEmpty();
+			Paths.deleteRecursively(firstDirectory);
+			Paths.deleteRecursively(secondDirectory);
+		}
+	}
+
+	@Test
+	public void targetIsNotAffectedByLaterChanges() throws IOException, InterruptedException
+	{
+		try (BuildXClient client = BuildXClient.build())
+		{
+			Path buildContext = Path.of("src/test/resources");
+			Path expectedDirectory = Files.createTempDirectory("");
+			Path unexpectedDirectory = Files.createTempDirectory("");
+			ContainerImageBuilder imageBuilder = client.buildImage().
+				export(Exporter.ociImage(expectedDirectory.toString()).directory().build());
+			BakeBuilder bake = client.bake().target("image", imageBuilder, buildContext);
+			imageBuilder.export(Exporter.ociImage(unexpectedDirectory.toString()).directory().build());
+			bake.apply();
+			requireThat(expectedDirectory, "expectedDirectory").isNotEmpty();
+			requireThat(unexpectedDirectory, "unexpectedDirectory").isEmpty();
+			Paths.deleteRecursively(expectedDirectory);
+			Paths.deleteRecursively(unexpectedDirectory);
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void noTargets() throws IOException, InterruptedException
+	{
+		try (BuildXClient client = BuildXClient.build())
+		{
+			client.bake().apply();
+		}
+	}
+}
\ No newline at end of file
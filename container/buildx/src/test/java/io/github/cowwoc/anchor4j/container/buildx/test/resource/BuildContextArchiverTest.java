@@ -0,0 +1,214 @@
+package io.github.cowwoc.anchor4j.container.buildx.test.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.util.BuildContextArchiver;
+import io.github.cowwoc.anchor4j.core.internal.util.Paths;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.SPARSE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public final class BuildContextArchiverTest
+{
+	/**
+	 * The size of a file whose size does not fit into the 11-digit octal field of a USTAR header.
+	 */
+	private static final long LARGE_FILE_SIZE = 8L * 1024 * 1024 * 1024 + 1;
+
+	@Test
+	public void roundTrip() throws IOException
+	{
+		Path buildContext = Files.createTempDirectory("");
+		try
+		{
+			Map<String, String> nameToContents = new HashMap<>();
+			nameToContents.put("Dockerfile", "FROM scratch\n");
+			// The name does not fit into the 100-byte name field of a USTAR header
+			nameToContents.put("a".repeat(60) + "/" + "b".repeat(60) + "/file.txt", "long name");
+			// The contents do not end on a block boundary
+			nameToContents.put("odd-size.bin", "x".repeat(1000));
+			nameToContents.put("empty.txt", "");
+			for (Map.Entry<String, String> entry : nameToContents.entrySet())
+			{
+				Path file = buildContext.resolve(entry.getKey());
+				Files.createDirectories(file.getParent());
+				Files.writeString(file, entry.getValue(), UTF_8);
+			}
+			Files.writeString(buildContext.resolve(".dockerignore"), "ignored\n*.log\n!keep.log\n", UTF_8);
+			nameToContents.put(".dockerignore", "ignored\n*.log\n!keep.log\n");
+			Files.createDirectories(buildContext.resolve("ignored"));
+			Files.writeString(buildContext.resolve("ignored/file.txt"), "ignored", UTF_8);
+			Files.writeString(buildContext.resolve("discard.log"), "ignored", UTF_8);
+			Files.writeString(buildContext.resolve("keep.log"), "kept", UTF_8);
+			nameToContents.put("keep.log", "kept");
+
+			boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+			if (posix)
+			{
+				Files.setPosixFilePermissions(buildContext.resolve("odd-size.bin"),
+					PosixFilePermissions.fromString("rwxr-x---"));
+				Files.setPosixFilePermissions(buildContext.resolve("empty.txt"),
+					PosixFilePermissions.fromString("rw-r-----"));
+			}
+
+			ByteArrayOutputStream archive = new ByteArrayOutputStream();
+			new BuildContextArchiver(buildContext, null).writeTo(archive);
+
+			Map<String, String> actualNameToContents = new HashMap<>();
+			Map<String, Integer> nameToMode = new HashMap<>();
+			try (TarArchiveInputStream in = new TarArchiveInputStream(
+				new ByteArrayInputStream(archive.toByteArray())))
+			{
+				while (true)
+				{
+					TarArchiveEntry entry = in.getNextEntry();
+					if (entry == null)
+						break;
+					nameToMode.put(entry.getName(), entry.getMode());
+					if (entry.isDirectory())
+						continue;
+					requireThat(entry.isFile(), "entry.isFile()").withContext(entry.getName(), "name").isTrue();
+					String contents = new String(in.readAllBytes(), UTF_8);
+					requireThat(entry.getSize(), "entry.getSize()").withContext(entry.getName(), "name").
+						isEqualTo((long) contents.getBytes(UTF_8).length);
+					actualNameToContents.put(entry.getName(), contents);
+				}
+			}
+			requireThat(actualNameToContents, "actualNameToContents").isEqualTo(nameToContents);
+			requireThat(nameToMode.keySet(), "nameToMode.keySet()").
+				contains("a".repeat(60) + "/").
+				contains("a".repeat(60) + "/" + "b".repeat(60) + "/").
+				doesNotContain("ignored/");
+			if (posix)
+			{
+				requireThat(nameToMode.get("odd-size.bin") & 0777, "mode(odd-size.bin)").isEqualTo(0750);
+				requireThat(nameToMode.get("empty.txt") & 0777, "mode(empty.txt)").isEqualTo(0640);
+			}
+		}
+		finally
+		{
+			Paths.deleteRecursively(buildContext);
+		}
+	}
+
+	@Test
+	public void externalDockerfile() throws IOException
+	{
+		Path buildContext = Files.createTempDirectory("");
+		Path dockerfile = Files.createTempFile("", ".Dockerfile");
+		try
+		{
+			Files.writeString(dockerfile, "FROM scratch\n", UTF_8);
+			BuildContextArchiver archiver = new BuildContextArchiver(buildContext, dockerfile);
+			ByteArrayOutputStream archive = new ByteArrayOutputStream();
+			archiver.writeTo(archive);
+
+			try (TarArchiveInputStream in = new TarArchiveInputStream(
+				new ByteArrayInputStream(archive.toByteArray())))
+			{
+				TarArchiveEntry entry = in.getNextEntry();
+				requireThat(entry, "entry").isNotNull();
+				requireThat(entry.getName(), "entry.getName()").isEqualTo(archiver.getDockerfileEntry());
+				requireThat(new String(in.readAllBytes(), UTF_8), "contents").isEqualTo("FROM scratch\n");
+				requireThat(in.getNextEntry(), "nextEntry").isNull();
+			}
+		}
+		finally
+		{
+			Files.delete(dockerfile);
+			Paths.deleteRecursively(buildContext);
+		}
+	}
+
+	@Test
+	public void largeFile() throws IOException, InterruptedException
+	{
+		Path buildContext = Files.createTempDirectory("");
+		try
+		{
+			// Create a sparse file to avoid consuming disk space
+			try (SeekableByteChannel channel = Files.newByteChannel(buildContext.resolve("large.bin"), CREATE_NEW,
+				WRITE, SPARSE))
+			{
+				channel.position(LARGE_FILE_SIZE - 1);
+				channel.write(ByteBuffer.wrap(new byte[]{1}));
+			}
+
+			// Stream the archive instead of holding it in memory
+			PipedInputStream pipeIn = new PipedInputStream(1024 * 1024);
+			PipedOutputStream pipeOut = new PipedOutputStream(pipeIn);
+			BuildContextArchiver archiver = new BuildContextArchiver(buildContext, null);
+			AtomicReference<IOException> writeFailure = new AtomicReference<>();
+			Thread writer = Thread.startVirtualThread(() ->
+			{
+				try (OutputStream out = pipeOut)
+				{
+					archiver.writeTo(out);
+				}
+				catch (IOException e)
+				{
+					writeFailure.set(e);
+				}
+			});
+			try (TarArchiveInputStream in = new TarArchiveInputStream(pipeIn))
+			{
+				TarArchiveEntry entry = in.getNextEntry();
+				requireThat(entry, "entry").isNotNull();
+				requireThat(entry.getName(), "entry.getName()").isEqualTo("large.bin");
+				requireThat(entry.getSize(), "entry.getSize()").isEqualTo(LARGE_FILE_SIZE);
+				requireThat(skipToLastByte(in, LARGE_FILE_SIZE), "lastByte").isEqualTo(1);
+				requireThat(in.getNextEntry(), "nextEntry").isNull();
+			}
+			writer.join();
+			requireThat(writeFailure.get(), "writeFailure").isNull();
+		}
+		finally
+		{
+			Paths.deleteRecursively(buildContext);
+		}
+	}
+
+	/**
+	 * Reads an entry's contents, returning its last byte.
+	 *
+	 * @param in   the stream to read from
+	 * @param size the size of the entry
+	 * @return the last byte
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static int skipToLastByte(InputStream in, long size) throws IOException
+	{
+		byte[] buffer = new byte[1024 * 1024];
+		long remaining = size;
+		int lastByte = -1;
+		while (remaining > 0)
+		{
+			int count = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+			requireThat(count, "count").isNotEqualTo(-1);
+			remaining -= count;
+			lastByte = buffer[count - 1];
+		}
+		return lastByte;
+	}
+}
\ No newline at end of file
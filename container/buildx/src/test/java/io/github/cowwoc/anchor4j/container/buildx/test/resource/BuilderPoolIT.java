@@ -0,0 +1,113 @@
+package io.github.cowwoc.anchor4j.container.buildx.test.resource;
+
+import io.github.cowwoc.anchor4j.buildx.client.BuildXClient;
+import io.github.cowwoc.anchor4j.container.core.exception.BuilderNotFoundException;
+import io.github.cowwoc.anchor4j.container.core.resource.Builder;
+import io.github.cowwoc.anchor4j.container.core.resource.BuilderCreator.Driver;
+import io.github.cowwoc.anchor4j.container.core.resource.BuilderPool;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder.Exporter;
+import io.github.cowwoc.anchor4j.core.internal.util.Paths;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class BuilderPoolIT
+{
+	@Test
+	public void build() throws IOException, InterruptedException
+	{
+		try (BuildXClient client = BuildXClient.build())
+		{
+			Builder.Id builder = client.createBuilder().driver(Driver.dockerContainer().build()).apply();
+			BuilderPool pool = client.createBuilderPool(1).
+				include(candidate -> candidate.getId().equals(builder));
+
+			Path buildContext = Path.of("src/test/resources");
+			Path tempDirectory = Files.createTempDirectory("");
+			ContainerImage image = pool.apply(client.buildImage().
+				export(Exporter.ociImage(tempDirectory.toString()).directory().build()), buildContext);
+			requireThat(image, "image").isNull();
+			requireThat(tempDirectory, "tempDirectory").isNotEmpty();
+			requireThat(pool.getLoad(), "pool.getLoad()").isEmpty();
+			Paths.deleteRecursively(tempDirectory);
+		}
+	}
+
+	@Test
+	public void inactiveBuilderWithPlatform() throws IOException, InterruptedException
+	{
+		try (BuildXClient client = BuildXClient.build())
+		{
+			// Newly created builders are inactive, so they do not report their platforms
+			Builder.Id builder = client.createBuilder().driver(Driver.dockerContainer().build()).apply();
+			BuilderPool pool = client.createBuilderPool(1).
+				include(candidate -> candidate.getId().equals(builder));
+
+			Path buildContext = Path.of("src/test/resources");
+			Path tempDirectory = Files.createTempDirectory("");
+			ContainerImage image = pool.apply(client.buildImage().
+				platform("linux/amd64").
+				export(Exporter.ociImage(tempDirectory.toString()).directory().build()), buildContext);
+			requireThat(image, "image").isNull();
+			requireThat(tempDirectory, "tempDirectory").isNotEmpty();
+			Paths.deleteRecursively(tempDirectory);
+		}
+	}
+
+	@Test(expectedExceptions = BuilderNotFoundException.class)
+	public void noEligibleBuilder() throws IOException, InterruptedException
+	{
+		try (BuildXClient client = BuildXClient.build())
+		{
+			BuilderPool pool = client.createBuilderPool(1).
+				include(_ -> false);
+			pool.apply(client.buildImage(), Path.of("src/test/resources"));
+		}
+	}
+
+	@Test
+	public void concurrentBuilds() throws IOException, InterruptedException, ExecutionException
+	{
+		try (BuildXClient client = BuildXClient.build())
+		{
+			Builder.Id builder = client.createBuilder().driver(Driver.dockerContainer().build()).apply();
+			BuilderPool pool = client.createBuilderPool(1).
+				include(candidate -> candidate.getId().equals(builder));
+
+			Path buildContext = Path.of("src/test/resources");
+			List<Path> tempDirectories = new ArrayList<>();
+			List<Future<ContainerImage>> images = new ArrayList<>();
+			try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+			{
+				for (int i = 0; i < 3; ++i)
+				{
+					Path tempDirectory = Files.createTempDirectory("");
+					tempDirectories.add(tempDirectory);
+					ContainerImageBuilder imageBuilder = client.buildImage().
+						export(Exporter.ociImage(tempDirectory.toString()).directory().build());
+					images.add(executor.submit(() -> pool.apply(imageBuilder, buildContext)));
+				}
+				for (Future<ContainerImage> image : images)
+					requireThat(image.get(), "image").isNull();
+			}
+			requireThat(pool.getLoad(), "pool.getLoad()").isEmpty();
+			for (Path tempDirectory : tempDirectories)
+			{
+				requireThat(tempDirectory, "tempDirectory").isNotEmpty();
+				Paths.deleteRecursively(tempDirectory);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package io.github.cowwoc.anchor4j.container.buildx.test.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.util.DockerIgnore;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DockerIgnoreTest
+{
+	@Test
+	public void commentsAndBlankLines()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("# *.txt", "", "   "), '/');
+		requireThat(dockerIgnore.isExcluded("file.txt"), "isExcluded(file.txt)").isFalse();
+	}
+
+	@Test
+	public void excludedDirectory()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("/build/"), '/');
+		requireThat(dockerIgnore.isExcluded("build"), "isExcluded(build)").isTrue();
+		requireThat(dockerIgnore.isExcluded("build/output/app.jar"), "isExcluded(build/output/app.jar)").isTrue();
+		requireThat(dockerIgnore.isExcluded("src/build"), "isExcluded(src/build)").isFalse();
+	}
+
+	@Test
+	public void singleStar()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("*/*.log"), '/');
+		requireThat(dockerIgnore.isExcluded("logs/app.log"), "isExcluded(logs/app.log)").isTrue();
+		requireThat(dockerIgnore.isExcluded("app.log"), "isExcluded(app.log)").isFalse();
+		requireThat(dockerIgnore.isExcluded("logs/old/app.log"), "isExcluded(logs/old/app.log)").isFalse();
+	}
+
+	@Test
+	public void doubleStar()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("**/*.log", "cache/**"), '/');
+		requireThat(dockerIgnore.isExcluded("app.log"), "isExcluded(app.log)").isTrue();
+		requireThat(dockerIgnore.isExcluded("logs/old/app.log"), "isExcluded(logs/old/app.log)").isTrue();
+		requireThat(dockerIgnore.isExcluded("app.txt"), "isExcluded(app.txt)").isFalse();
+		requireThat(dockerIgnore.isExcluded("cache/a/b"), "isExcluded(cache/a/b)").isTrue();
+		requireThat(dockerIgnore.isExcluded("src/cache"), "isExcluded(src/cache)").isFalse();
+	}
+
+	@Test
+	public void questionMarkAndCharacterClass()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("file?.txt", "[a-c].md", "[!x].csv"), '/');
+		requireThat(dockerIgnore.isExcluded("file1.txt"), "isExcluded(file1.txt)").isTrue();
+		requireThat(dockerIgnore.isExcluded("file10.txt"), "isExcluded(file10.txt)").isFalse();
+		requireThat(dockerIgnore.isExcluded("b.md"), "isExcluded(b.md)").isTrue();
+		requireThat(dockerIgnore.isExcluded("d.md"), "isExcluded(d.md)").isFalse();
+		requireThat(dockerIgnore.isExcluded("y.csv"), "isExcluded(y.csv)").isTrue();
+		requireThat(dockerIgnore.isExcluded("x.csv"), "isExcluded(x.csv)").isFalse();
+	}
+
+	@Test
+	public void negation()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("*.md", "!README.md"), '/');
+		requireThat(dockerIgnore.hasExceptions(), "hasExceptions()").isTrue();
+		requireThat(dockerIgnore.isExcluded("CHANGES.md"), "isExcluded(CHANGES.md)").isTrue();
+		requireThat(dockerIgnore.isExcluded("README.md"), "isExcluded(README.md)").isFalse();
+	}
+
+	@Test
+	public void lastMatchingRuleWins()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("!README.md", "*.md"), '/');
+		requireThat(dockerIgnore.isExcluded("README.md"), "isExcluded(README.md)").isTrue();
+	}
+
+	@Test
+	public void negationInsideExcludedDirectory()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("docs", "!docs/index.html"), '/');
+		requireThat(dockerIgnore.isExcluded("docs/guide.html"), "isExcluded(docs/guide.html)").isTrue();
+		requireThat(dockerIgnore.isExcluded("docs/index.html"), "isExcluded(docs/index.html)").isFalse();
+	}
+
+	@Test
+	public void cleanedPattern()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("./a//b/../c/"), '/');
+		requireThat(dockerIgnore.isExcluded("a/c"), "isExcluded(a/c)").isTrue();
+		requireThat(dockerIgnore.isExcluded("a/b"), "isExcluded(a/b)").isFalse();
+	}
+
+	@Test
+	public void escapedCharacters()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("\\*.txt", "file\\?", "\\[abc]"), '/');
+		requireThat(dockerIgnore.isExcluded("*.txt"), "isExcluded(*.txt)").isTrue();
+		requireThat(dockerIgnore.isExcluded("a.txt"), "isExcluded(a.txt)").isFalse();
+		requireThat(dockerIgnore.isExcluded("file?"), "isExcluded(file?)").isTrue();
+		requireThat(dockerIgnore.isExcluded("file1"), "isExcluded(file1)").isFalse();
+		requireThat(dockerIgnore.isExcluded("[abc]"), "isExcluded([abc])").isTrue();
+		requireThat(dockerIgnore.isExcluded("a"), "isExcluded(a)").isFalse();
+	}
+
+	@Test
+	public void backslashSeparator()
+	{
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("dir\\file.txt"), '\\');
+		requireThat(dockerIgnore.isExcluded("dir/file.txt"), "isExcluded(dir/file.txt)").isTrue();
+	}
+
+	@Test
+	public void backslashIsNotSeparator()
+	{
+		// Outside of Windows, backslashes escape the character that follows them
+		DockerIgnore dockerIgnore = DockerIgnore.parse(List.of("dir\\file.txt"), '/');
+		requireThat(dockerIgnore.isExcluded("dir/file.txt"), "isExcluded(dir/file.txt)").isFalse();
+		requireThat(dockerIgnore.isExcluded("dirfile.txt"), "isExcluded(dirfile.txt)").isTrue();
+	}
+}
\ No newline at end of file
@@ -1,8 +1,12 @@
 package io.github.cowwoc.anchor4j.container.core.client;
 
+import io.github.cowwoc.anchor4j.container.core.resource.BakeBuilder;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildCachePruner;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildCacheRecord;
 import io.github.cowwoc.anchor4j.container.core.resource.Builder;
 import io.github.cowwoc.anchor4j.container.core.resource.Builder.Node.Status;
 import io.github.cowwoc.anchor4j.container.core.resource.BuilderCreator;
+import io.github.cowwoc.anchor4j.container.core.resource.BuilderPool;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder;
 import io.github.cowwoc.anchor4j.core.client.Client;
 import io.github.cowwoc.requirements12.annotation.CheckReturnValue;
@@ -95,6 +99,15 @@ public interface ContainerClient extends Client
 	@CheckReturnValue
 	BuilderCreator createBuilder();
 
+	/**
+	 * Returns a pool that distributes image builds across multiple builders.
+	 *
+	 * @param maxBuildsPerBuilder the maximum number of builds that each builder may run concurrently
+	 * @return the pool
+	 * @throws IllegalArgumentException if {@code maxBuildsPerBuilder} is negative or zero
+	 */
+	BuilderPool createBuilderPool(int maxBuildsPerBuilder);
+
 	/**
 	 * Blocks until at least one builder node is reachable and has the desired status.
 	 * <p>
@@ -125,6 +138,38 @@ Builder waitUntilBuilderStatus(Builder.Id id, Status status, Instant deadline)
 	 */
 	Set<String> getSupportedBuildPlatforms() throws IOException, InterruptedException;
 
+	/**
+	 * Lists the entries of the default builder's build cache.
+	 *
+	 * @return the entries
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	List<BuildCacheRecord> getBuildCache() throws IOException, InterruptedException;
+
+	/**
+	 * Lists the entries of a builder's build cache.
+	 *
+	 * @param builder the builder
+	 * @return the entries
+	 * @throws NullPointerException if {@code builder} is null
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	List<BuildCacheRecord> getBuildCache(Builder.Id builder) throws IOException, InterruptedException;
+
+	/**
+	 * Removes entries from a builder's build cache.
+	 *
+	 * @return a build cache pruner
+	 */
+	@CheckReturnValue
+	BuildCachePruner pruneBuildCache();
+
 	/**
 	 * Builds an image.
 	 *
@@ -132,4 +177,12 @@ Builder waitUntilBuilderStatus(Builder.Id id, Status status, Instant deadline)
 	 */
 	@CheckReturnValue
 	ContainerImageBuilder buildImage();
+
+	/**
+	 * Builds multiple images using a single {@code buildx bake} invocation.
+	 *
+	 * @return a bake builder
+	 */
+	@CheckReturnValue
+	BakeBuilder bake();
 }
\ No newline at end of file
@@ -2,12 +2,20 @@
 
 import io.github.cowwoc.anchor4j.container.core.client.ContainerClient;
 import io.github.cowwoc.anchor4j.container.core.internal.parser.BuildXParser;
+import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultBakeBuilder;
+import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultBuildCachePruner;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultBuilderCreator;
+import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultBuilderPool;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImage;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder;
+import io.github.cowwoc.anchor4j.container.core.internal.util.ScratchDirectory;
+import io.github.cowwoc.anchor4j.container.core.resource.BakeBuilder;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildCachePruner;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildCacheRecord;
 import io.github.cowwoc.anchor4j.container.core.resource.Builder;
 import io.github.cowwoc.anchor4j.container.core.resource.Builder.Node.Status;
 import io.github.cowwoc.anchor4j.container.core.resource.BuilderCreator;
+import io.github.cowwoc.anchor4j.container.core.resource.BuilderPool;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder;
 import io.github.cowwoc.anchor4j.core.internal.util.Processes;
@@ -37,6 +45,7 @@ public abstract class AbstractInternalContainerClient extends AbstractInternalCo
 {
 	@SuppressWarnings("this-escape")
 	private final BuildXParser buildXParser = new BuildXParser(this);
+	private final ScratchDirectory scratchDirectory = new ScratchDirectory();
 
 	/**
 	 * Creates an AbstractInternalContainer.
@@ -81,6 +90,12 @@ public BuildXParser getBuildXParser()
 		return buildXParser;
 	}
 
+	@Override
+	public ScratchDirectory getScratchDirectory()
+	{
+		return scratchDirectory;
+	}
+
 	@Override
 	public Builder getDefaultBuilder() throws IOException, InterruptedException
 	{
@@ -98,6 +113,12 @@ public BuilderCreator createBuilder()
 		return new DefaultBuilderCreator(this);
 	}
 
+	@Override
+	public BuilderPool createBuilderPool(int maxBuildsPerBuilder)
+	{
+		return new DefaultBuilderPool(this, maxBuildsPerBuilder);
+	}
+
 	@Override
 	public List<Builder> getBuilders() throws IOException, InterruptedException
 	{
@@ -189,6 +210,32 @@ public Set<String> getSupportedBuildPlatforms() throws IOException, InterruptedE
 		return getBuildXParser().getSupportedBuildPlatforms(result);
 	}
 
+	@Override
+	public List<BuildCacheRecord> getBuildCache() throws IOException, InterruptedException
+	{
+		// https://docs.docker.com/reference/cli/docker/buildx/du/
+		List<String> arguments = List.of("buildx", "du", "--verbose");
+		CommandResult result = retry(_ -> run(arguments));
+		return getBuildXParser().getBuildCacheRecords(result);
+	}
+
+	@Override
+	public List<BuildCacheRecord> getBuildCache(Builder.Id builder) throws IOException, InterruptedException
+	{
+		requireThat(builder, "builder").isNotNull();
+
+		// https://docs.docker.com/reference/cli/docker/buildx/du/
+		List<String> arguments = List.of("buildx", "du", "--verbose", "--builder", builder.getValue());
+		CommandResult result = retry(_ -> run(arguments));
+		return getBuildXParser().getBuildCacheRecords(result);
+	}
+
+	@Override
+	public BuildCachePruner pruneBuildCache()
+	{
+		return new DefaultBuildCachePruner(this);
+	}
+
 	@Override
 	public ContainerImage getImage(String id) throws IOException, InterruptedException
 	{
@@ -206,4 +253,17 @@ public ContainerImageBuilder buildImage()
 	{
 		return new DefaultContainerImageBuilder(this);
 	}
-}
\ No newline at end of file
+
+	@Override
+	public BakeBuilder bake()
+	{
+		return new DefaultBakeBuilder(this);
+	}
+
+	@Override
+	public void close()
+	{
+		scratchDirectory.close();
+		super.close();
+	}
+}
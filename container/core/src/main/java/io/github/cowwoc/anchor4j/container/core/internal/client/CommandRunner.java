@@ -17,6 +17,7 @@
 import java.util.StringJoiner;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
@@ -30,6 +31,9 @@
 	private final static ByteBuffer EMPTY_BYTE_BUFFER = ByteBuffer.allocate(0);
 	private final ProcessBuilder processBuilder;
 	private ByteBuffer stdin = EMPTY_BYTE_BUFFER;
+	private Consumer<String> stdoutListener = _ ->
+	{
+	};
 	private Predicate<String> terminateOnStdout = _ -> false;
 	private FailureHandler failureHandler;
 	private final Logger log = LoggerFactory.getLogger(CommandRunner.class);
@@ -61,6 +65,20 @@ public CommandRunner stdin(ByteBuffer stdin)
 		return this;
 	}
 
+	/**
+	 * Specifies a function that consumes stdout lines as soon as they are read.
+	 *
+	 * @param stdoutListener the function
+	 * @return this
+	 * @throws NullPointerException if {@code stdoutListener} is null
+	 */
+	public CommandRunner stdoutListener(Consumer<String> stdoutListener)
+	{
+		requireThat(stdoutListener, "stdoutListener").isNotNull();
+		this.stdoutListener = stdoutListener;
+		return this;
+	}
+
 	/**
 	 * Specifies a function that consumes stdout lines and returns {@code true} if the process should be
 	 * terminated.
@@ -113,6 +131,7 @@ public CommandResult apply() throws IOException, InterruptedException
 				{
 					stdoutJoiner.add(line);
 					stdoutLog.debug(line);
+					stdoutListener.accept(line);
 					if (terminateOnStdout.test(line))
 						process.destroy();
 				});
@@ -2,6 +2,7 @@
 
 import io.github.cowwoc.anchor4j.container.core.client.ContainerClient;
 import io.github.cowwoc.anchor4j.container.core.internal.parser.BuildXParser;
+import io.github.cowwoc.anchor4j.container.core.internal.util.ScratchDirectory;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage.Id;
 
@@ -17,6 +18,14 @@ public interface InternalContainerClient extends InternalCommandLineClient, Cont
 	 */
 	BuildXParser getBuildXParser();
 
+	/**
+	 * Returns the directory that holds the client's short-lived files. The directory is deleted when the
+	 * client is closed.
+	 *
+	 * @return the directory
+	 */
+	ScratchDirectory getScratchDirectory();
+
 	/**
 	 * Looks up an image.
 	 *
@@ -0,0 +1,188 @@
+package io.github.cowwoc.anchor4j.container.core.internal.parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildProgressListener;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildProgressListener.Step;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts the output of {@code --progress=rawjson} into {@link BuildProgressListener} events.
+ * <p>
+ * Each line of output contains a JSON-encoded {@code SolveStatus} that describes the steps ("vertexes") whose
+ * state changed since the previous line. The parser only retains the state of each step, so memory usage does
+ * not grow with the length of the build's output.
+ */
+public final class BuildProgressParser
+{
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final BuildProgressListener listener;
+	/**
+	 * The state of each step, keyed by its digest.
+	 */
+	private final Map<String, StepState> digestToState = new HashMap<>();
+
+	/**
+	 * Creates a new parser.
+	 *
+	 * @param listener the listener to notify
+	 */
+	public BuildProgressParser(BuildProgressListener listener)
+	{
+		assert listener != null;
+		this.listener = listener;
+	}
+
+	/**
+	 * Indicates if a line of output was generated by {@code --progress=rawjson}.
+	 *
+	 * @param line a line of output
+	 * @return {@code true} if the line contains a progress update
+	 */
+	public static boolean isProgress(String line)
+	{
+		return line.startsWith("{");
+	}
+
+	/**
+	 * Discards the state of previous builds.
+	 */
+	public void reset()
+	{
+		digestToState.clear();
+	}
+
+	/**
+	 * Parses a progress update, notifying the listener of any events that it contains.
+	 *
+	 * @param line a line of output
+	 * @throws JsonProcessingException if the line is not valid JSON
+	 */
+	public void accept(String line) throws JsonProcessingException
+	{
+		// https://github.com/moby/buildkit/blob/master/client/graph.go
+		JsonNode status = jsonMapper.readTree(line);
+		JsonNode vertexes = status.get("vertexes");
+		if (vertexes != null)
+		{
+			for (JsonNode vertex : vertexes)
+				onVertex(vertex);
+		}
+		JsonNode statuses = status.get("statuses");
+		if (statuses != null)
+		{
+			for (JsonNode vertexStatus : statuses)
+				onVertexStatus(vertexStatus);
+		}
+	}
+
+	/**
+	 * Processes an update to a step's state.
+	 *
+	 * @param vertex the JSON representation of the step
+	 */
+	private void onVertex(JsonNode vertex)
+	{
+		String digest = vertex.path("digest").textValue();
+		if (digest == null)
+		{
+			// Ignore steps that cannot be identified
+			return;
+		}
+		String name = vertex.path("name").asText();
+		StepState state = digestToState.computeIfAbsent(digest, _ -> new StepState(new Step(digest, name)));
+
+		Instant started = getInstant(vertex, "started");
+		if (started != null && state.started == null)
+		{
+			state.started = started;
+			listener.stepStarted(state.step);
+		}
+		JsonNode cached = vertex.get("cached");
+		if (cached != null && cached.booleanValue() && !state.cached)
+		{
+			state.cached = true;
+			listener.stepCached(state.step);
+		}
+		Instant completed = getInstant(vertex, "completed");
+		if (completed != null && !state.completed)
+		{
+			state.completed = true;
+			String error = vertex.path("error").asText();
+			if (!error.isEmpty())
+				listener.stepFailed(state.step, error);
+			else
+			{
+				Duration duration;
+				if (state.started == null || state.cached)
+					duration = Duration.ZERO;
+				else
+					duration = Duration.between(state.started, completed);
+				listener.stepCompleted(state.step, duration);
+			}
+		}
+	}
+
+	/**
+	 * Processes an update to the progress of a step's data transfer.
+	 *
+	 * @param vertexStatus the JSON representation of the transfer
+	 */
+	private void onVertexStatus(JsonNode vertexStatus)
+	{
+		JsonNode current = vertexStatus.get("current");
+		String digest = vertexStatus.path("vertex").textValue();
+		if (current == null || digest == null)
+			return;
+		StepState state = digestToState.computeIfAbsent(digest, _ -> new StepState(new Step(digest, "")));
+		JsonNode total = vertexStatus.get("total");
+		long totalBytes;
+		if (total == null)
+			totalBytes = 0;
+		else
+			totalBytes = total.longValue();
+		listener.bytesTransferred(state.step, vertexStatus.path("id").asText(), current.longValue(), totalBytes);
+	}
+
+	/**
+	 * Returns the value of a timestamp property.
+	 *
+	 * @param node     a JSON object
+	 * @param property the name of the property
+	 * @return {@code null} if the property is absent or is not a string
+	 */
+	private static Instant getInstant(JsonNode node, String property)
+	{
+		JsonNode value = node.path(property);
+		if (!value.isTextual())
+			return null;
+		return Instant.parse(value.textValue());
+	}
+
+	/**
+	 * The state of a step.
+	 */
+	private static final class StepState
+	{
+		private final Step step;
+		/**
+		 * The time that the step started, or {@code null} if it has not started.
+		 */
+		private Instant started;
+		private boolean cached;
+		private boolean completed;
+
+		/**
+		 * @param step the step
+		 */
+		private StepState(Step step)
+		{
+			this.step = step;
+		}
+	}
+}
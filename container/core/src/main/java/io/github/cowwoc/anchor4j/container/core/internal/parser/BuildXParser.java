@@ -6,6 +6,7 @@
 import io.github.cowwoc.anchor4j.container.core.internal.client.InternalContainerClient;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultBuilder;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultBuilder.DefaultNode;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildCacheRecord;
 import io.github.cowwoc.anchor4j.container.core.resource.Builder;
 import io.github.cowwoc.anchor4j.container.core.resource.Builder.Driver;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
@@ -18,10 +19,13 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -54,6 +58,10 @@ public final class BuildXParser extends AbstractContainerParser
 		#\\d+ exporting to image""");
 	private static final Pattern EXPORTING_MANIFEST_LIST = Pattern.compile("""
 		#\\d+ exporting manifest list ([^ ]+) [^ ]+ done""");
+	// Example: "Size:\t\t4.096kB"
+	private static final Pattern KEY_VALUE = Pattern.compile("([^:]+):\\s*(.*)");
+	// Sizes are formatted using https://pkg.go.dev/github.com/docker/go-units#HumanSize
+	private static final Pattern SIZE = Pattern.compile("([0-9.]+)\\s*([kMGTPE]?B)");
 
 	/**
 	 * Creates a BuildXParser.
@@ -120,7 +128,14 @@ public List<Builder> getBuilders(CommandResult result) throws IOException
 				String name = node.get("Name").textValue();
 				Builder.Node.Status status = getBuilderNodeStatus(node.get("Status").textValue());
 				String error = node.get("Err").textValue();
-				nodes.add(new DefaultNode(name, status, error));
+				List<String> platforms = new ArrayList<>();
+				JsonNode platformsNode = node.get("Platforms");
+				if (platformsNode != null)
+				{
+					for (JsonNode platform : platformsNode)
+						platforms.add(platformFromServer(platform));
+				}
+				nodes.add(new DefaultNode(name, status, error, platforms));
 			}
 			builders.add(new DefaultBuilder(client, id, nodes, driver));
 		}
@@ -189,6 +204,7 @@ private Builder.Node getNode(Deque<String> lines)
 		String name = null;
 		Builder.Node.Status status = null;
 		String error = "";
+		List<String> platforms = new ArrayList<>();
 		while (!lines.isEmpty())
 		{
 			String line = lines.remove();
@@ -200,10 +216,39 @@ private Builder.Node getNode(Deque<String> lines)
 				status = getBuilderNodeStatus(line.substring("Status:".length()).strip());
 			if (line.startsWith("Error:"))
 				error = line.substring("Error:".length()).strip();
+			if (line.startsWith("Platforms:"))
+			{
+				for (String platform : line.substring("Platforms:".length()).split(","))
+				{
+					// Platforms that were requested explicitly are suffixed with "*"
+					platform = platform.strip();
+					if (platform.endsWith("*"))
+						platform = platform.substring(0, platform.length() - 1);
+					if (!platform.isEmpty())
+						platforms.add(platform);
+				}
+			}
 		}
 		if (status == null && !error.isEmpty())
 			status = Builder.Node.Status.ERROR;
-		return new DefaultNode(name, status, error);
+		return new DefaultNode(name, status, error, platforms);
+	}
+
+	/**
+	 * Converts a platform from its JSON representation.
+	 *
+	 * @param json the JSON representation of the platform
+	 * @return the platform (e.g. {@code linux/arm64/v8})
+	 */
+	private static String platformFromServer(JsonNode json)
+	{
+		StringJoiner joiner = new StringJoiner("/");
+		joiner.add(json.get("os").textValue());
+		joiner.add(json.get("architecture").textValue());
+		JsonNode variant = json.get("variant");
+		if (variant != null && !variant.textValue().isEmpty())
+			joiner.add(variant.textValue());
+		return joiner.toString();
 	}
 
 	/**
@@ -269,4 +314,119 @@ public Id getImageIdFromBuildOutput(CommandResult result)
 		}
 		return null;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Parses the digest of an image's manifest.
+	 *
+	 * @param result the result of executing {@code buildx imagetools inspect --format "{{json .Manifest}}"}
+	 * @return the digest
+	 * @throws IOException if an I/O error occurs. These errors are typically transient, and retrying the
+	 *                     request may resolve the issue.
+	 */
+	public String getManifestDigest(CommandResult result) throws IOException
+	{
+		if (result.exitCode() != 0)
+			throw result.unexpectedResponse();
+		JsonNode json = getClient().getJsonMapper().readTree(result.stdout());
+		JsonNode digest = json.get("digest");
+		if (digest == null)
+			throw result.unexpectedResponse();
+		return digest.textValue();
+	}
+
+	/**
+	 * Lists the entries of a builder's build cache.
+	 *
+	 * @param result the result of executing {@code buildx du --verbose}
+	 * @return the entries
+	 */
+	public List<BuildCacheRecord> getBuildCacheRecords(CommandResult result)
+	{
+		if (result.exitCode() != 0)
+			throw result.unexpectedResponse();
+		// Each entry is a block of "key: value" lines. The blocks are separated by empty lines, and followed by a
+		// summary block that does not have an ID.
+		List<BuildCacheRecord> records = new ArrayList<>();
+		Map<String, String> keyToValue = new HashMap<>();
+		for (String line : SPLIT_LINES.split(result.stdout()))
+		{
+			if (line.isBlank())
+			{
+				addBuildCacheRecord(keyToValue, records);
+				continue;
+			}
+			Matcher matcher = KEY_VALUE.matcher(line);
+			if (matcher.matches())
+				keyToValue.put(matcher.group(1).strip(), matcher.group(2).strip());
+		}
+		addBuildCacheRecord(keyToValue, records);
+		return records;
+	}
+
+	/**
+	 * Converts a block of {@code buildx du --verbose} output into a record.
+	 *
+	 * @param keyToValue the properties of the block. The map is cleared once it is processed.
+	 * @param records    the list to add the record to
+	 */
+	private static void addBuildCacheRecord(Map<String, String> keyToValue, List<BuildCacheRecord> records)
+	{
+		String id = keyToValue.get("ID");
+		if (id != null)
+		{
+			String usageCount = keyToValue.getOrDefault("Usage count", "0");
+			records.add(new BuildCacheRecord(id, keyToValue.getOrDefault("Type", ""),
+				keyToValue.getOrDefault("Description", ""), getSize(keyToValue.getOrDefault("Size", "0B")),
+				Boolean.parseBoolean(keyToValue.get("Reclaimable")), Boolean.parseBoolean(keyToValue.get("Shared")),
+				Integer.parseInt(usageCount)));
+		}
+		keyToValue.clear();
+	}
+
+	/**
+	 * Returns the amount of disk space that was reclaimed by pruning the build cache.
+	 *
+	 * @param result the result of executing {@code buildx prune}
+	 * @return the number of bytes
+	 */
+	public long getReclaimedSpace(CommandResult result)
+	{
+		if (result.exitCode() != 0)
+			throw result.unexpectedResponse();
+		for (String line : SPLIT_LINES.split(result.stdout()))
+		{
+			Matcher matcher = KEY_VALUE.matcher(line);
+			if (matcher.matches() && matcher.group(1).strip().equals("Total"))
+				return getSize(matcher.group(2).strip());
+		}
+		// Nothing was pruned
+		return 0;
+	}
+
+	/**
+	 * Converts a human-readable size to bytes.
+	 *
+	 * @param value the human-readable size (e.g. {@code 4.096kB})
+	 * @return the number of bytes
+	 * @throws IllegalArgumentException if {@code value}'s format is invalid
+	 */
+	private static long getSize(String value)
+	{
+		Matcher matcher = SIZE.matcher(value);
+		if (!matcher.matches())
+			throw new IllegalArgumentException("Unsupported size: " + value);
+		double number = Double.parseDouble(matcher.group(1));
+		int exponent = switch (matcher.group(2))
+		{
+			case "B" -> 0;
+			case "kB" -> 1;
+			case "MB" -> 2;
+			case "GB" -> 3;
+			case "TB" -> 4;
+			case "PB" -> 5;
+			case "EB" -> 6;
+			default -> throw new AssertionError(matcher.group(2));
+		};
+		return Math.round(number * Math.pow(1000, exponent));
+	}
+}
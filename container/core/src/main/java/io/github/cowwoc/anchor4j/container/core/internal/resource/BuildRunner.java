@@ -0,0 +1,129 @@
+package io.github.cowwoc.anchor4j.container.core.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.client.InternalContainerClient;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildListener;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildListener.Output;
+import io.github.cowwoc.anchor4j.core.internal.util.Processes;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs {@code buildx} commands that report their progress to a {@link BuildListener}, such as
+ * {@code buildx build} and {@code buildx bake}.
+ */
+public final class BuildRunner
+{
+	private final InternalContainerClient client;
+	private final Logger log = LoggerFactory.getLogger(BuildRunner.class);
+
+	/**
+	 * Creates a new BuildRunner.
+	 *
+	 * @param client the client configuration
+	 */
+	public BuildRunner(InternalContainerClient client)
+	{
+		assert client != null;
+		this.client = client;
+	}
+
+	/**
+	 * Runs a build, retrying on intermittent failures.
+	 * <p>
+	 * If the listener {@link BuildListener#isRawJsonProgress() requests it}, the build reports its progress
+	 * using {@code --progress=rawjson}.
+	 *
+	 * @param arguments the command-line arguments, starting with {@code buildx} and its subcommand
+	 * @param listener  the build listener
+	 * @param input     writes into the command's stdin stream, or {@code null} if the command does not read
+	 *                  from it
+	 * @return the result of the build
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	public CommandResult run(List<String> arguments, BuildListener listener, Input input)
+		throws IOException, InterruptedException
+	{
+		assert arguments != null;
+		assert listener != null;
+		if (listener.isRawJsonProgress())
+		{
+			// Options follow the subcommand (e.g. "buildx build")
+			List<String> argumentsWithProgress = new ArrayList<>(arguments.size() + 1);
+			argumentsWithProgress.addAll(arguments.subList(0, 2));
+			argumentsWithProgress.add("--progress=rawjson");
+			argumentsWithProgress.addAll(arguments.subList(2, arguments.size()));
+			arguments = argumentsWithProgress;
+		}
+		List<String> commandLine = arguments;
+		try
+		{
+			return client.retry(_ ->
+			{
+				ProcessBuilder processBuilder = client.getProcessBuilder(commandLine);
+				log.debug("Running: {}", processBuilder.command());
+				Process process = processBuilder.start();
+				// Start consuming the output before writing into stdin to avoid deadlocks
+				listener.buildStarted(process.inputReader(), process.errorReader(), process::waitFor);
+				IOException streamFailure = null;
+				if (input != null)
+				{
+					try (OutputStream stdin = new BufferedOutputStream(process.getOutputStream(), 64 * 1024))
+					{
+						input.writeTo(stdin);
+					}
+					catch (IOException e)
+					{
+						// If the build terminated before reading the entire input, its exit code explains why
+						streamFailure = e;
+					}
+				}
+				Output output = listener.waitUntilBuildCompletes();
+
+				List<String> command = List.copyOf(processBuilder.command());
+				Path workingDirectory = Processes.getWorkingDirectory(processBuilder);
+				CommandResult result = new CommandResult(command, workingDirectory, output.stdout(),
+					output.stderr(), output.exitCode());
+				if (output.exitCode() != 0)
+				{
+					listener.buildFailed(result);
+					client.commandFailed(result);
+					throw result.unexpectedResponse();
+				}
+				if (streamFailure != null)
+					throw streamFailure;
+				listener.buildPassed();
+				return result;
+			});
+		}
+		finally
+		{
+			listener.buildCompleted();
+		}
+	}
+
+	/**
+	 * Writes a build's input into its stdin stream.
+	 */
+	@FunctionalInterface
+	public interface Input
+	{
+		/**
+		 * Writes the input.
+		 *
+		 * @param stdin the command's stdin stream
+		 * @throws IOException if an I/O error occurs while writing into the stream
+		 */
+		void writeTo(OutputStream stdin) throws IOException;
+	}
+}
@@ -0,0 +1,170 @@
+package io.github.cowwoc.anchor4j.container.core.internal.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.cowwoc.anchor4j.container.core.internal.client.InternalContainerClient;
+import io.github.cowwoc.anchor4j.container.core.resource.BakeBuilder;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildListener;
+import io.github.cowwoc.anchor4j.container.core.resource.Builder;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder;
+import io.github.cowwoc.anchor4j.container.core.resource.DefaultBuildListener;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DefaultBakeBuilder implements BakeBuilder
+{
+	/**
+	 * The format of bake target names.
+	 */
+	private static final Pattern TARGET_NAME = Pattern.compile("^[a-zA-Z0-9_-]+$");
+	private final InternalContainerClient client;
+	private final BuildRunner runner;
+	private final Map<String, Target> nameToTarget = new LinkedHashMap<>();
+	private Builder.Id builder;
+	private BuildListener listener = new DefaultBuildListener();
+
+	/**
+	 * Creates a new bake builder.
+	 *
+	 * @param client the client configuration
+	 */
+	public DefaultBakeBuilder(InternalContainerClient client)
+	{
+		assert client != null;
+		this.client = client;
+		this.runner = new BuildRunner(client);
+	}
+
+	@Override
+	public BakeBuilder target(String name, ContainerImageBuilder definition, Path buildContext)
+	{
+		requireThat(name, "name").matches(TARGET_NAME);
+		requireThat(definition, "definition").isNotNull();
+		requireThat(buildContext, "buildContext").isNotNull();
+		requireThat(nameToTarget.keySet(), "targets").doesNotContain(name);
+		// Copy the definition so that later changes to it do not affect the target
+		nameToTarget.put(name, new Target(((DefaultContainerImageBuilder) definition).copy(), buildContext));
+		return this;
+	}
+
+	@Override
+	public BakeBuilder builder(Builder.Id builder)
+	{
+		requireThat(builder, "builder").isNotNull();
+		this.builder = builder;
+		return this;
+	}
+
+	@Override
+	public BakeBuilder listener(BuildListener listener)
+	{
+		requireThat(listener, "listener").isNotNull();
+		this.listener = listener;
+		return this;
+	}
+
+	@Override
+	public Map<String, ContainerImage> apply() throws IOException, InterruptedException
+	{
+		if (nameToTarget.isEmpty())
+			throw new IllegalStateException("No targets were added");
+		byte[] definition = getDefinition();
+
+		// https://docs.docker.com/reference/cli/docker/buildx/bake/
+		Path metadataJson = client.getScratchDirectory().newFile(".json");
+		try
+		{
+			List<String> arguments = new ArrayList<>(9);
+			arguments.add("buildx");
+			arguments.add("bake");
+			arguments.add("--file");
+			arguments.add("-");
+			arguments.add("--metadata-file");
+			arguments.add(metadataJson.toString());
+			if (builder != null)
+			{
+				arguments.add("--builder");
+				arguments.add(builder.getValue());
+			}
+			runner.run(arguments, listener, stdin -> stdin.write(definition));
+
+			JsonNode metadata = client.getJsonMapper().readTree(Files.readAllBytes(metadataJson));
+			Map<String, ContainerImage> nameToImage = new LinkedHashMap<>();
+			for (Entry<String, Target> entry : nameToTarget.entrySet())
+			{
+				String name = entry.getKey();
+				ContainerImage image;
+				if (entry.getValue().definition().loadsIntoImageStore())
+				{
+					String digest = metadata.get(name).get("containerimage.digest").textValue();
+					image = client.getImage(ContainerImage.id(digest));
+					assert image != null : name;
+				}
+				else
+					image = null;
+				nameToImage.put(name, image);
+			}
+			return nameToImage;
+		}
+		finally
+		{
+			Files.deleteIfExists(metadataJson);
+		}
+	}
+
+	/**
+	 * Returns the bake definition of the targets.
+	 *
+	 * @return the JSON-encoded definition
+	 * @throws IOException if the definition cannot be serialized
+	 */
+	private byte[] getDefinition() throws IOException
+	{
+		// https://docs.docker.com/build/bake/reference/#file-format
+		JsonMapper jsonMapper = client.getJsonMapper();
+		ObjectNode root = jsonMapper.createObjectNode();
+		ObjectNode targets = root.putObject("target");
+		ArrayNode defaultGroup = root.putObject("group").putObject("default").putArray("targets");
+		for (Entry<String, Target> entry : nameToTarget.entrySet())
+		{
+			String name = entry.getKey();
+			Target target = entry.getValue();
+			targets.set(name, target.definition().toBakeTarget(jsonMapper, target.buildContext()));
+			defaultGroup.add(name);
+		}
+		return jsonMapper.writeValueAsBytes(root);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBakeBuilder.class).
+			add("targets", nameToTarget).
+			add("builder", builder).
+			toString();
+	}
+
+	/**
+	 * A bake target.
+	 *
+	 * @param definition   the image's build configuration
+	 * @param buildContext the build context
+	 */
+	private record Target(DefaultContainerImageBuilder definition, Path buildContext)
+	{
+	}
+}
@@ -0,0 +1,112 @@
+package io.github.cowwoc.anchor4j.container.core.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.client.InternalContainerClient;
+import io.github.cowwoc.anchor4j.container.core.resource.BuildCachePruner;
+import io.github.cowwoc.anchor4j.container.core.resource.Builder;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DefaultBuildCachePruner implements BuildCachePruner
+{
+	private final InternalContainerClient client;
+	private Builder.Id builder;
+	private boolean all;
+	private final Set<String> filters = new LinkedHashSet<>();
+	private long keepStorage = -1;
+
+	/**
+	 * Creates a new pruner.
+	 *
+	 * @param client the client configuration
+	 */
+	public DefaultBuildCachePruner(InternalContainerClient client)
+	{
+		assert client != null;
+		this.client = client;
+	}
+
+	@Override
+	public BuildCachePruner builder(Builder.Id builder)
+	{
+		requireThat(builder, "builder").isNotNull();
+		this.builder = builder;
+		return this;
+	}
+
+	@Override
+	public BuildCachePruner all()
+	{
+		this.all = true;
+		return this;
+	}
+
+	@Override
+	public BuildCachePruner unusedFor(Duration duration)
+	{
+		requireThat(duration, "duration").isGreaterThan(Duration.ZERO);
+		// Go durations do not support days, so the duration is converted to seconds
+		return filter("until=" + duration.toSeconds() + "s");
+	}
+
+	@Override
+	public BuildCachePruner keepStorage(long bytes)
+	{
+		requireThat(bytes, "bytes").isNotNegative();
+		this.keepStorage = bytes;
+		return this;
+	}
+
+	@Override
+	public BuildCachePruner filter(String filter)
+	{
+		requireThat(filter, "filter").doesNotContainWhitespace().isNotEmpty();
+		filters.add(filter);
+		return this;
+	}
+
+	@Override
+	public long apply() throws IOException, InterruptedException
+	{
+		// https://docs.docker.com/reference/cli/docker/buildx/prune/
+		List<String> arguments = new ArrayList<>(4 + 1 + filters.size() * 2 + 1);
+		arguments.add("buildx");
+		arguments.add("prune");
+		arguments.add("--force");
+		if (builder != null)
+		{
+			arguments.add("--builder");
+			arguments.add(builder.getValue());
+		}
+		if (all)
+			arguments.add("--all");
+		for (String filter : filters)
+		{
+			arguments.add("--filter");
+			arguments.add(filter);
+		}
+		if (keepStorage != -1)
+			arguments.add("--keep-storage=" + keepStorage);
+		CommandResult result = client.retry(_ -> client.run(arguments));
+		return client.getBuildXParser().getReclaimedSpace(result);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBuildCachePruner.class).
+			add("builder", builder).
+			add("all", all).
+			add("filters", filters).
+			add("keepStorage", keepStorage).
+			toString();
+	}
+}
@@ -96,23 +96,28 @@ public static final class DefaultNode implements Node
 		private final String name;
 		private final Status status;
 		private final String error;
+		private final List<String> platforms;
 
 		/**
-		 * @param name   the name of the node
-		 * @param status the status of the builder on the node
-		 * @param error  an explanation of the builder's error status, or an empty string if absent
+		 * @param name      the name of the node
+		 * @param status    the status of the builder on the node
+		 * @param error     an explanation of the builder's error status, or an empty string if absent
+		 * @param platforms the platforms that the node can build images for, starting with the ones that it
+		 *                  supports natively
 		 * @throws NullPointerException     if any of the arguments are null
 		 * @throws IllegalArgumentException if {@code name} contains whitespace or is empty
 		 */
-		public DefaultNode(String name, Status status, String error)
+		public DefaultNode(String name, Status status, String error, List<String> platforms)
 		{
 			requireThat(name, "name").doesNotContainWhitespace().isNotEmpty();
 			requireThat(status, "status").isNotNull();
 			requireThat(error, "error").isNotNull();
+			requireThat(platforms, "platforms").isNotNull();
 
 			this.name = name;
 			this.status = status;
 			this.error = error;
+			this.platforms = List.copyOf(platforms);
 		}
 
 		@Override
@@ -139,6 +144,12 @@ public String getError()
 			return error;
 		}
 
+		@Override
+		public List<String> getPlatforms()
+		{
+			return platforms;
+		}
+
 		@Override
 		public int hashCode()
 		{
@@ -159,6 +170,7 @@ public String toString()
 				add("name", name).
 				add("status", status).
 				add("error", error).
+				add("platforms", platforms).
 				toString();
 		}
 	}
@@ -0,0 +1,336 @@
+package io.github.cowwoc.anchor4j.container.core.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.exception.BuilderNotFoundException;
+import io.github.cowwoc.anchor4j.container.core.internal.client.InternalContainerClient;
+import io.github.cowwoc.anchor4j.container.core.resource.Builder;
+import io.github.cowwoc.anchor4j.container.core.resource.Builder.Node;
+import io.github.cowwoc.anchor4j.container.core.resource.BuilderPool;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DefaultBuilderPool implements BuilderPool
+{
+	/**
+	 * The amount of time after which the status of the builders is looked up again.
+	 */
+	private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(30);
+	private final InternalContainerClient client;
+	private final int maxBuildsPerBuilder;
+	private Predicate<Builder> predicate = _ -> true;
+	private final Lock lock = new ReentrantLock();
+	/**
+	 * Signaled when a build completes.
+	 */
+	private final Condition buildCompleted = lock.newCondition();
+	/**
+	 * Signaled when a thread finishes looking up the builders.
+	 */
+	private final Condition refreshCompleted = lock.newCondition();
+	/**
+	 * The number of builds that are in flight on each builder.
+	 */
+	private final Map<Builder.Id, Integer> idToLoad = new HashMap<>();
+	/**
+	 * The builders in the pool, or {@code null} if they need to be looked up.
+	 */
+	private List<Builder> builders;
+	/**
+	 * The time that the builders were last looked up.
+	 */
+	private Instant timeOfLastRefresh = Instant.MIN;
+	/**
+	 * {@code true} if a thread is looking up the builders.
+	 */
+	private boolean refreshing;
+
+	/**
+	 * Creates a new pool.
+	 *
+	 * @param client              the client configuration
+	 * @param maxBuildsPerBuilder the maximum number of builds that each builder may run concurrently
+	 * @throws IllegalArgumentException if {@code maxBuildsPerBuilder} is negative or zero
+	 */
+	public DefaultBuilderPool(InternalContainerClient client, int maxBuildsPerBuilder)
+	{
+		assert client != null;
+		requireThat(maxBuildsPerBuilder, "maxBuildsPerBuilder").isPositive();
+		this.client = client;
+		this.maxBuildsPerBuilder = maxBuildsPerBuilder;
+	}
+
+	@Override
+	public BuilderPool include(Predicate<Builder> predicate)
+	{
+		requireThat(predicate, "predicate").isNotNull();
+		lock.lock();
+		try
+		{
+			this.predicate = predicate;
+			this.builders = null;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		return this;
+	}
+
+	@Override
+	public Map<Builder.Id, Integer> getLoad()
+	{
+		lock.lock();
+		try
+		{
+			return Map.copyOf(idToLoad);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public ContainerImage apply(ContainerImageBuilder imageBuilder, Path buildContext)
+		throws IOException, InterruptedException
+	{
+		requireThat(imageBuilder, "imageBuilder").isNotNull();
+		requireThat(buildContext, "buildContext").isNotNull();
+		// Work on a copy so that the caller's image builder is not modified, and may be shared across threads
+		DefaultContainerImageBuilder build = ((DefaultContainerImageBuilder) imageBuilder).copy();
+		Builder.Id builder = acquire(build.getPlatforms());
+		try
+		{
+			return build.builder(builder).apply(buildContext);
+		}
+		finally
+		{
+			release(builder);
+		}
+	}
+
+	/**
+	 * Reserves a slot on the least-loaded eligible builder, blocking until one becomes available.
+	 *
+	 * @param platforms the platforms that the build targets
+	 * @return the builder
+	 * @throws BuilderNotFoundException if none of the builders in the pool are eligible to run the build
+	 * @throws IOException              if an I/O error occurs. These errors are typically transient, and
+	 *                                  retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted before the operation completes. This can
+	 *                                  happen due to shutdown signals.
+	 */
+	private Builder.Id acquire(Set<String> platforms) throws IOException, InterruptedException
+	{
+		while (true)
+		{
+			Predicate<Builder> predicateToRefresh;
+			lock.lockInterruptibly();
+			try
+			{
+				if (builders != null && Instant.now().isBefore(timeOfLastRefresh.plus(REFRESH_INTERVAL)))
+				{
+					Builder.Id builder = reserve(platforms);
+					if (builder != null)
+						return builder;
+					// Wake up periodically to pick up changes in the builders' health
+					long _ = buildCompleted.awaitNanos(REFRESH_INTERVAL.toNanos());
+					continue;
+				}
+				if (refreshing)
+				{
+					// Wait for the thread that is looking up the builders
+					refreshCompleted.await();
+					continue;
+				}
+				refreshing = true;
+				predicateToRefresh = predicate;
+			}
+			finally
+			{
+				lock.unlock();
+			}
+
+			// Look up the builders without holding the lock, so that other threads may release their slots in
+			// the meantime
+			List<Builder> refreshed = null;
+			try
+			{
+				refreshed = client.getBuilders(predicateToRefresh);
+			}
+			finally
+			{
+				lock.lock();
+				try
+				{
+					refreshing = false;
+					// Discard the builders if the predicate changed while they were being looked up. If the lookup
+					// failed, one of the waiting threads tries again.
+					if (refreshed != null && predicate == predicateToRefresh)
+					{
+						builders = refreshed;
+						timeOfLastRefresh = Instant.now();
+					}
+					refreshCompleted.signalAll();
+				}
+				finally
+				{
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reserves a slot on the least-loaded eligible builder. The caller must hold the lock.
+	 * <p>
+	 * Builders whose inactive nodes might support the platforms are only used if none of the builders are
+	 * known to support them.
+	 *
+	 * @param platforms the platforms that the build targets
+	 * @return {@code null} if all the eligible builders are busy
+	 * @throws BuilderNotFoundException if none of the builders in the pool are eligible to run the build
+	 */
+	private Builder.Id reserve(Set<String> platforms) throws BuilderNotFoundException
+	{
+		Map<Eligibility, List<Builder>> eligibilityToBuilders = new EnumMap<>(Eligibility.class);
+		for (Builder candidate : builders)
+		{
+			eligibilityToBuilders.computeIfAbsent(getEligibility(candidate, platforms), _ -> new ArrayList<>()).
+				add(candidate);
+		}
+		List<Builder> candidates = eligibilityToBuilders.get(Eligibility.ELIGIBLE);
+		if (candidates == null)
+			candidates = eligibilityToBuilders.get(Eligibility.UNKNOWN);
+		if (candidates == null)
+		{
+			throw new BuilderNotFoundException("None of the builders are eligible to build " + platforms + ".\n" +
+				"Builders: " + builders);
+		}
+		Builder.Id leastLoaded = null;
+		int minimumLoad = maxBuildsPerBuilder;
+		for (Builder candidate : candidates)
+		{
+			int load = idToLoad.getOrDefault(candidate.getId(), 0);
+			if (load < minimumLoad)
+			{
+				leastLoaded = candidate.getId();
+				minimumLoad = load;
+			}
+		}
+		if (leastLoaded != null)
+			idToLoad.merge(leastLoaded, 1, Integer::sum);
+		return leastLoaded;
+	}
+
+	/**
+	 * Releases a slot that was reserved by {@link #acquire(Set)}.
+	 *
+	 * @param builder the builder
+	 */
+	private void release(Builder.Id builder)
+	{
+		lock.lock();
+		try
+		{
+			idToLoad.computeIfPresent(builder, (_, load) ->
+			{
+				if (load == 1)
+					return null;
+				return load - 1;
+			});
+			buildCompleted.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Indicates if a builder can run a build.
+	 *
+	 * @param builder   the builder
+	 * @param platforms the platforms that the build targets
+	 * @return the builder's eligibility
+	 */
+	private static Eligibility getEligibility(Builder builder, Set<String> platforms)
+	{
+		boolean healthy = false;
+		// Inactive nodes do not report their platforms until they start
+		boolean unknownPlatforms = false;
+		Set<String> supportedPlatforms = new HashSet<>();
+		for (Node node : builder.getNodes())
+		{
+			switch (node.getStatus())
+			{
+				case RUNNING, INACTIVE ->
+				{
+					healthy = true;
+					List<String> nodePlatforms = node.getPlatforms();
+					if (nodePlatforms.isEmpty())
+						unknownPlatforms = true;
+					supportedPlatforms.addAll(nodePlatforms);
+				}
+				case STARTING, STOPPING, STOPPED, ERROR ->
+				{
+				}
+			}
+		}
+		if (!healthy)
+			return Eligibility.INELIGIBLE;
+		if (supportedPlatforms.containsAll(platforms))
+			return Eligibility.ELIGIBLE;
+		if (unknownPlatforms)
+			return Eligibility.UNKNOWN;
+		return Eligibility.INELIGIBLE;
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBuilderPool.class).
+			add("maxBuildsPerBuilder", maxBuildsPerBuilder).
+			add("load", getLoad()).
+			toString();
+	}
+
+	/**
+	 * Indicates if a builder can run a build.
+	 */
+	private enum Eligibility
+	{
+		/**
+		 * At least one of the builder's nodes is running or can be started on demand, and its nodes support all
+		 * the platforms.
+		 */
+		ELIGIBLE,
+		/**
+		 * At least one of the builder's nodes is running or can be started on demand, and its inactive nodes
+		 * might support the platforms that the other nodes do not.
+		 */
+		UNKNOWN,
+		/**
+		 * The builder cannot run the build.
+		 */
+		INELIGIBLE
+	}
+}
@@ -1,42 +1,59 @@
 package io.github.cowwoc.anchor4j.container.core.internal.resource;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.cowwoc.anchor4j.container.core.internal.client.InternalContainerClient;
+import io.github.cowwoc.anchor4j.container.core.internal.util.BuildContextArchiver;
 import io.github.cowwoc.anchor4j.container.core.internal.util.ParameterValidator;
 import io.github.cowwoc.anchor4j.container.core.resource.BuildListener;
-import io.github.cowwoc.anchor4j.container.core.resource.BuildListener.Output;
 import io.github.cowwoc.anchor4j.container.core.resource.Builder;
+import io.github.cowwoc.anchor4j.container.core.resource.Builder.Node;
+import io.github.cowwoc.anchor4j.container.core.resource.Builder.Node.Status;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
 import io.github.cowwoc.anchor4j.container.core.resource.ContainerImageBuilder;
 import io.github.cowwoc.anchor4j.container.core.resource.DefaultBuildListener;
-import io.github.cowwoc.anchor4j.core.internal.util.Processes;
 import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
 import io.github.cowwoc.anchor4j.core.resource.CommandResult;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.StructuredTaskScope.ShutdownOnFailure;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
 public class DefaultContainerImageBuilder implements ContainerImageBuilder
 {
 	private final InternalContainerClient client;
+	private final BuildRunner runner;
 	private Path dockerfile;
 	private final Set<String> platforms = new HashSet<>();
 	private final Set<String> tags = new HashSet<>();
 	private final Set<String> cacheFrom = new HashSet<>();
+	private final Set<AbstractCache> cacheTo = new LinkedHashSet<>();
 	private final Set<AbstractExporter> exporters = new LinkedHashSet<>();
 	private Builder.Id builder;
+	private boolean splitPlatforms;
+	private boolean streamContext;
 	private BuildListener listener = new DefaultBuildListener();
-	private final Logger log = LoggerFactory.getLogger(DefaultContainerImageBuilder.class);
 
 	/**
 	 * Creates an image builder.
@@ -47,6 +64,28 @@ public DefaultContainerImageBuilder(InternalContainerClient client)
 	{
 		assert client != null;
 		this.client = client;
+		this.runner = new BuildRunner(client);
+	}
+
+	/**
+	 * Returns a copy of this image builder.
+	 *
+	 * @return a builder with the same configuration that can be modified independently of this one
+	 */
+	public DefaultContainerImageBuilder copy()
+	{
+		DefaultContainerImageBuilder copy = new DefaultContainerImageBuilder(client);
+		copy.dockerfile = dockerfile;
+		copy.platforms.addAll(platforms);
+		copy.tags.addAll(tags);
+		copy.cacheFrom.addAll(cacheFrom);
+		copy.cacheTo.addAll(cacheTo);
+		copy.exporters.addAll(exporters);
+		copy.builder = builder;
+		copy.splitPlatforms = splitPlatforms;
+		copy.streamContext = streamContext;
+		copy.listener = listener;
+		return copy;
 	}
 
 	@Override
@@ -65,6 +104,16 @@ public ContainerImageBuilder platform(String platform)
 		return this;
 	}
 
+	/**
+	 * Returns the platforms that the image will be built for.
+	 *
+	 * @return an empty set if the image will be built for the builder's default platform
+	 */
+	public Set<String> getPlatforms()
+	{
+		return Set.copyOf(platforms);
+	}
+
 	@Override
 	public ContainerImageBuilder reference(String reference)
 	{
@@ -81,6 +130,25 @@ public ContainerImageBuilder cacheFrom(String source)
 		return this;
 	}
 
+	@Override
+	public ContainerImageBuilder cacheFrom(Cache source)
+	{
+		requireThat(source, "source").isNotNull();
+		String commandLine = ((AbstractCache) source).toImportCommandLine(null);
+		if (commandLine == null)
+			throw new IllegalArgumentException("The cache cannot be imported: " + source);
+		this.cacheFrom.add(commandLine);
+		return this;
+	}
+
+	@Override
+	public ContainerImageBuilder cacheTo(Cache destination)
+	{
+		requireThat(destination, "destination").isNotNull();
+		this.cacheTo.add((AbstractCache) destination);
+		return this;
+	}
+
 	@Override
 	public ContainerImageBuilder export(Exporter exporter)
 	{
@@ -97,6 +165,20 @@ public ContainerImageBuilder builder(Builder.Id builder)
 		return this;
 	}
 
+	@Override
+	public ContainerImageBuilder splitPlatforms(boolean splitPlatforms)
+	{
+		this.splitPlatforms = splitPlatforms;
+		return this;
+	}
+
+	@Override
+	public ContainerImageBuilder streamContext(boolean streamContext)
+	{
+		this.streamContext = streamContext;
+		return this;
+	}
+
 	@Override
 	public ContainerImageBuilder listener(BuildListener listener)
 	{
@@ -114,58 +196,301 @@ public ContainerImage apply(String buildContext) throws IOException, Interrupted
 	@Override
 	public ContainerImage apply(Path buildContext) throws IOException, InterruptedException
 	{
-		List<String> arguments = getArguments(buildContext);
-		Path metadataJson;
-		boolean loadsIntoImageStore = false;
+		requireThat(buildContext, "buildContext").isNotNull();
+		if (splitPlatforms && platforms.size() > 1)
+			return applyPerPlatform(buildContext);
+
+		List<String> outputs = new ArrayList<>(exporters.size());
 		for (AbstractExporter exporter : exporters)
-			loadsIntoImageStore |= exporter.loadsIntoImageStore();
-		if (loadsIntoImageStore)
+			outputs.add(exporter.toCommandLine());
+		boolean loadsIntoImageStore = loadsIntoImageStore();
+		List<String> arguments = getArguments(buildContext, platforms, null, builder, outputs);
+		boolean rawJsonProgress = listener.isRawJsonProgress();
+		BuildRunner.Input input = getInput(buildContext, arguments);
+		Path metadataJson;
+		if (loadsIntoImageStore && rawJsonProgress)
 		{
-			metadataJson = Files.createTempFile("", ".json");
-			arguments.add("--metadata-file");
-			arguments.add(metadataJson.toString());
+			// The progress updates are JSON-encoded, so the image ID cannot be parsed from the output. buildx
+			// replaces the metadata file atomically, so it cannot write to a pipe or /dev/stdout.
+			metadataJson = client.getScratchDirectory().newFile(".json");
+			arguments.add(arguments.size() - 1, "--metadata-file");
+			arguments.add(arguments.size() - 1, metadataJson.toString());
 		}
 		else
 			metadataJson = null;
 		try
 		{
-			return client.retry(_ ->
+			CommandResult result = runner.run(arguments, listener, input);
+			if (loadsIntoImageStore)
 			{
-				ProcessBuilder processBuilder = client.getProcessBuilder(arguments);
-				log.debug("Running: {}", processBuilder.command());
-				Process process = processBuilder.start();
-				listener.buildStarted(process.inputReader(), process.errorReader(), process::waitFor);
-				Output output = listener.waitUntilBuildCompletes();
-
-				int exitCode = output.exitCode();
-				if (exitCode != 0)
+				ContainerImage.Id id;
+				if (metadataJson != null)
 				{
-					CommandResult result = getCommandResult(processBuilder, output);
-					listener.buildFailed(result);
-					client.commandFailed(result);
-					throw result.unexpectedResponse();
+					JsonNode metadata = client.getJsonMapper().readTree(Files.readAllBytes(metadataJson));
+					id = ContainerImage.id(metadata.get("containerimage.digest").textValue());
 				}
-				listener.buildPassed();
+				else
+					id = client.getBuildXParser().getImageIdFromBuildOutput(result);
+				ContainerImage image = client.getImage(id);
+				assert image != null;
+				return image;
+			}
+			return null;
+		}
+		finally
+		{
+			if (metadataJson != null)
+				Files.deleteIfExists(metadataJson);
+		}
+	}
 
-				if (loadsIntoImageStore)
+	/**
+	 * Builds each platform separately and combines the resulting images into a manifest list.
+	 *
+	 * @param buildContext the build context, the directory relative to which paths in the Dockerfile are
+	 *                     evaluated
+	 * @return the manifest list, referenced by its digest
+	 * @throws IllegalStateException if the image does not have a reference or a registry exporter
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted before the operation completes. This can
+	 *                               happen due to shutdown signals.
+	 */
+	private ContainerImage applyPerPlatform(Path buildContext) throws IOException, InterruptedException
+	{
+		AbstractExporter registryExporter = null;
+		for (AbstractExporter exporter : exporters)
+		{
+			if (exporter.getType().equals("registry"))
+			{
+				registryExporter = exporter;
+				break;
+			}
+		}
+		if (registryExporter == null || tags.isEmpty())
+		{
+			throw new IllegalStateException("Building platforms separately requires a reference and a registry " +
+				"exporter.\n" +
+				"References: " + tags + "\n" +
+				"Exporters : " + exporters);
+		}
+		// Each platform's image is pushed without a tag. The tags are applied to the manifest list.
+		String output = registryExporter.toCommandLine() + ",push-by-digest=true,name-canonical=true";
+		String reference = tags.iterator().next();
+		String repository = getRepository(reference);
+
+		Map<String, Builder.Id> platformToBuilder = getBuilderOfEachPlatform();
+		List<Supplier<String>> digests = new ArrayList<>(platformToBuilder.size());
+		// Platforms that share a listener are built one at a time
+		Lock sharedListenerLock = new ReentrantLock();
+		try (ShutdownOnFailure scope = new ShutdownOnFailure("ContainerImageBuilder",
+			Thread.ofVirtual().name("imagebuilder-", 1).factory()))
+		{
+			for (Entry<String, Builder.Id> entry : platformToBuilder.entrySet())
+			{
+				String platform = entry.getKey();
+				BuildListener platformListener = listener.forPlatform(platform);
+				if (platformListener != listener)
 				{
-					CommandResult result = getCommandResult(processBuilder, output);
-					ContainerImage.Id id = client.getBuildXParser().getImageIdFromBuildOutput(result);
-					ContainerImage image = client.getImage(id);
-					assert image != null;
-					return image;
+					digests.add(scope.fork(() ->
+						buildPlatform(buildContext, platform, entry.getValue(), output, platformListener)));
+					continue;
 				}
-				return null;
-			});
+				digests.add(scope.fork(() ->
+				{
+					sharedListenerLock.lockInterruptibly();
+					try
+					{
+						return buildPlatform(buildContext, platform, entry.getValue(), output, platformListener);
+					}
+					finally
+					{
+						sharedListenerLock.unlock();
+					}
+				}));
+			}
+			try
+			{
+				scope.join().throwIfFailed();
+			}
+			catch (ExecutionException e)
+			{
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException ioe)
+					throw ioe;
+				if (cause instanceof RuntimeException re)
+					throw re;
+				throw WrappedCheckedException.wrap(e);
+			}
+		}
+
+		// https://docs.docker.com/reference/cli/docker/buildx/imagetools/create/
+		List<String> arguments = new ArrayList<>(3 + tags.size() * 2 + digests.size());
+		arguments.add("buildx");
+		arguments.add("imagetools");
+		arguments.add("create");
+		for (String tag : tags)
+		{
+			arguments.add("--tag");
+			arguments.add(tag);
+		}
+		for (Supplier<String> digest : digests)
+			arguments.add(repository + "@" + digest.get());
+		CommandResult result = client.retry(_ -> client.run(arguments));
+		if (result.exitCode() != 0)
+			throw result.unexpectedResponse();
+
+		// The manifest list only exists in the registry, so it cannot be looked up in the local image store
+		// https://docs.docker.com/reference/cli/docker/buildx/imagetools/inspect/
+		List<String> inspectArguments = List.of("buildx", "imagetools", "inspect", reference, "--format",
+			"{{json .Manifest}}");
+		result = client.retry(_ -> client.run(inspectArguments));
+		String digest = client.getBuildXParser().getManifestDigest(result);
+		return new DefaultContainerImage(ContainerImage.id(repository + "@" + digest));
+	}
+
+	/**
+	 * Builds the image for a single platform, pushing it to the registry by digest.
+	 *
+	 * @param buildContext the build context, the directory relative to which paths in the Dockerfile are
+	 *                     evaluated
+	 * @param platform     the platform to build
+	 * @param builder      the builder to use, or {@code null} to use the default builder
+	 * @param output       the command-line representation of the exporter
+	 * @param listener     the listener of the platform's build
+	 * @return the digest of the image
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	private String buildPlatform(Path buildContext, String platform, Builder.Id builder, String output,
+		BuildListener listener) throws IOException, InterruptedException
+	{
+		List<String> arguments = getArguments(buildContext, Set.of(platform), platform, builder, List.of(output));
+		BuildRunner.Input input = getInput(buildContext, arguments);
+		Path metadataJson = client.getScratchDirectory().newFile(".json");
+		try
+		{
+			arguments.add(arguments.size() - 1, "--metadata-file");
+			arguments.add(arguments.size() - 1, metadataJson.toString());
+			runner.run(arguments, listener, input);
+			JsonNode metadata = client.getJsonMapper().readTree(Files.readAllBytes(metadataJson));
+			return metadata.get("containerimage.digest").textValue();
 		}
 		finally
 		{
-			listener.buildCompleted();
-			if (metadataJson != null)
-				Files.delete(metadataJson);
+			Files.deleteIfExists(metadataJson);
 		}
 	}
 
+	/**
+	 * Returns the build's standard input stream.
+	 * <p>
+	 * If the build context is {@link #streamContext(boolean) streamed}, the arguments are updated to read the
+	 * build context from stdin, and the Dockerfile from the build context.
+	 *
+	 * @param buildContext the build context, the directory relative to which paths in the Dockerfile are
+	 *                     evaluated
+	 * @param arguments    the build's command-line arguments, ending with the build context
+	 * @return {@code null} if the build reads the build context from the filesystem
+	 * @throws IOException if an error occurs while reading the {@code .dockerignore} file
+	 */
+	private BuildRunner.Input getInput(Path buildContext, List<String> arguments) throws IOException
+	{
+		if (!streamContext)
+			return null;
+		BuildContextArchiver archiver = new BuildContextArchiver(buildContext, dockerfile);
+		arguments.set(arguments.size() - 1, "-");
+		int fileIndex = arguments.indexOf("--file");
+		if (fileIndex != -1)
+			arguments.set(fileIndex + 1, archiver.getDockerfileEntry());
+		return archiver::writeTo;
+	}
+
+	/**
+	 * Selects the builder to use for each platform.
+	 * <p>
+	 * Builders that support a platform natively are preferred over ones that emulate it. If no builder
+	 * supports a platform, the {@link #builder(Builder.Id) configured builder} is used.
+	 *
+	 * @return a map from each platform to the builder that should build it, or {@code null} to use the default
+	 * 	builder
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	private Map<String, Builder.Id> getBuilderOfEachPlatform() throws IOException, InterruptedException
+	{
+		List<Builder> builders = client.getBuilders();
+		Map<String, Builder.Id> platformToBuilder = new HashMap<>();
+		for (String platform : platforms)
+		{
+			Builder.Id nativeBuilder = null;
+			Builder.Id emulatedBuilder = null;
+			for (Builder candidate : builders)
+			{
+				for (Node node : candidate.getNodes())
+				{
+					List<String> nodePlatforms = node.getPlatforms();
+					if (node.getStatus() == Status.ERROR || !nodePlatforms.contains(platform))
+						continue;
+					// Prefer the configured builder over other builders of the same tier
+					boolean preferred = candidate.getId().equals(builder);
+					if (getArchitecture(nodePlatforms.getFirst()).equals(getArchitecture(platform)))
+					{
+						if (nativeBuilder == null || preferred)
+							nativeBuilder = candidate.getId();
+					}
+					else if (emulatedBuilder == null || preferred)
+						emulatedBuilder = candidate.getId();
+				}
+			}
+			if (nativeBuilder != null)
+				platformToBuilder.put(platform, nativeBuilder);
+			else if (emulatedBuilder != null)
+				platformToBuilder.put(platform, emulatedBuilder);
+			else
+				platformToBuilder.put(platform, builder);
+		}
+		return platformToBuilder;
+	}
+
+	/**
+	 * Returns the operating system and architecture of a platform, without its variant.
+	 *
+	 * @param platform a platform (e.g. {@code linux/arm64/v8})
+	 * @return the operating system and architecture (e.g. {@code linux/arm64})
+	 */
+	private static String getArchitecture(String platform)
+	{
+		int firstSlash = platform.indexOf('/');
+		if (firstSlash == -1)
+			return platform;
+		int secondSlash = platform.indexOf('/', firstSlash + 1);
+		if (secondSlash == -1)
+			return platform;
+		return platform.substring(0, secondSlash);
+	}
+
+	/**
+	 * Returns the repository of an image reference.
+	 *
+	 * @param reference an image reference (e.g. {@code docker.io/library/nginx:latest})
+	 * @return the reference without its tag or digest (e.g. {@code docker.io/library/nginx})
+	 */
+	private static String getRepository(String reference)
+	{
+		int digest = reference.indexOf('@');
+		if (digest != -1)
+			reference = reference.substring(0, digest);
+		int tag = reference.lastIndexOf(':');
+		if (tag > reference.lastIndexOf('/'))
+			reference = reference.substring(0, tag);
+		return reference;
+	}
+
 	/**
 	 * @return the builder that will be used to build the image
 	 */
@@ -177,16 +502,68 @@ private Builder getBuilder() throws IOException, InterruptedException
 	}
 
 	/**
-	 * @param processBuilder the ProcessBuilder used to run the build
-	 * @param output         the build output
-	 * @return the CommandResult for the build
+	 * Indicates whether the image will be loaded into an image store, such as the Docker Engine or a remote
+	 * image registry.
+	 *
+	 * @return {@code true} if at least one of the exporters loads the image into an image store
+	 */
+	public boolean loadsIntoImageStore()
+	{
+		for (AbstractExporter exporter : exporters)
+		{
+			if (exporter.loadsIntoImageStore())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the bake target that builds this image.
+	 *
+	 * @param jsonMapper   the JSON configuration
+	 * @param buildContext the build context, the directory relative to which paths in the Dockerfile are
+	 *                     evaluated
+	 * @return the JSON representation of the target
+	 * @throws NullPointerException if any of the arguments are null
 	 */
-	private CommandResult getCommandResult(ProcessBuilder processBuilder, Output output)
+	public ObjectNode toBakeTarget(JsonMapper jsonMapper, Path buildContext)
 	{
-		List<String> command = List.copyOf(processBuilder.command());
-		Path workingDirectory = Processes.getWorkingDirectory(processBuilder);
-		return new CommandResult(command, workingDirectory, output.stdout(),
-			output.stderr(), output.exitCode());
+		// https://docs.docker.com/build/bake/reference/#target
+		ObjectNode target = jsonMapper.createObjectNode();
+		target.put("context", buildContext.toAbsolutePath().normalize().toString());
+		if (dockerfile != null)
+			target.put("dockerfile", dockerfile.toAbsolutePath().toString());
+		if (!platforms.isEmpty())
+		{
+			ArrayNode platformsNode = target.putArray("platforms");
+			for (String platform : platforms)
+				platformsNode.add(platform);
+		}
+		if (!tags.isEmpty())
+		{
+			ArrayNode tagsNode = target.putArray("tags");
+			for (String tag : tags)
+				tagsNode.add(tag);
+		}
+		if (!cacheFrom.isEmpty())
+		{
+			ArrayNode cacheFromNode = target.putArray("cache-from");
+			for (String source : cacheFrom)
+				cacheFromNode.add(source);
+		}
+		if (!cacheTo.isEmpty())
+		{
+			ArrayNode cacheToNode = target.putArray("cache-to");
+			for (AbstractCache destination : cacheTo)
+				cacheToNode.add(destination.toExportCommandLine(null));
+		}
+		if (!exporters.isEmpty())
+		{
+			ArrayNode outputNode = target.putArray("output");
+			for (AbstractExporter exporter : exporters)
+				outputNode.add(exporter.toCommandLine());
+		}
+		return target;
 	}
 
 	/**
@@ -194,16 +571,23 @@ private CommandResult getCommandResult(ProcessBuilder processBuilder, Output out
 	 *
 	 * @param buildContext the build context, the directory relative to which paths in the Dockerfile are
 	 *                     evaluated
-	 * @return the command-line arguments
+	 * @param platforms    the platforms to build
+	 * @param platform     the platform that is built separately, or {@code null} if all the platforms are
+	 *                     built together
+	 * @param builder      the builder to use, or {@code null} to use the default builder
+	 * @param outputs      the command-line representation of the exporters
+	 * @return the command-line arguments, ending with the build context
 	 * @throws NullPointerException if {@code buildContext} is null
 	 */
-	private List<String> getArguments(Path buildContext)
+	private List<String> getArguments(Path buildContext, Set<String> platforms, String platform,
+		Builder.Id builder, List<String> outputs)
 	{
 		// Path.relativize() requires both Paths to be relative or absolute
 		Path absoluteBuildContext = buildContext.toAbsolutePath().normalize();
 
 		// https://docs.docker.com/reference/cli/docker/buildx/build/
-		List<String> arguments = new ArrayList<>(2 + cacheFrom.size() + 2 + 1 + exporters.size() * 2 +
+		List<String> arguments = new ArrayList<>(2 + cacheFrom.size() + cacheTo.size() * 2 + 2 + 1 +
+			outputs.size() * 2 +
 			tags.size() * 2 + 2 + 2 + 1);
 		arguments.add("buildx");
 		arguments.add("build");
@@ -212,6 +596,16 @@ private List<String> getArguments(Path buildContext)
 			for (String source : cacheFrom)
 				arguments.add("--cache-from=" + source);
 		}
+		for (AbstractCache destination : cacheTo)
+		{
+			arguments.add("--cache-to=" + destination.toExportCommandLine(platform));
+			if (platform == null)
+				continue;
+			// Import the cache that the platform exported during previous builds
+			String source = destination.toImportCommandLine(platform);
+			if (source != null)
+				arguments.add("--cache-from=" + source);
+		}
 		if (dockerfile != null)
 		{
 			arguments.add("--file");
@@ -220,10 +614,10 @@ private List<String> getArguments(Path buildContext)
 		if (!platforms.isEmpty())
 			arguments.add("--platform=" + String.join(",", platforms));
 
-		for (AbstractExporter exporter : exporters)
+		for (String output : outputs)
 		{
 			arguments.add("--output");
-			arguments.add(exporter.toCommandLine());
+			arguments.add(output);
 		}
 		for (String tag : tags)
 		{
@@ -245,6 +639,8 @@ public String toString()
 		return new ToStringBuilder(DefaultContainerImageBuilder.class).
 			add("platforms", platforms).
 			add("tags", tags).
+			add("splitPlatforms", splitPlatforms).
+			add("streamContext", streamContext).
 			toString();
 	}
 
@@ -660,4 +1056,345 @@ public String toCommandLine()
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	public abstract static sealed class AbstractCache implements Cache
+	{
+		/**
+		 * Returns the command-line representation of this cache when it is used as a source.
+		 *
+		 * @param platform the platform that is built separately, or {@code null} if all the platforms are built
+		 *                 together
+		 * @return {@code null} if the cache cannot be imported
+		 */
+		protected abstract String toImportCommandLine(String platform);
+
+		/**
+		 * Returns the command-line representation of this cache when it is used as a destination.
+		 *
+		 * @param platform the platform that is built separately, or {@code null} if all the platforms are built
+		 *                 together
+		 * @return the command-line value
+		 */
+		protected abstract String toExportCommandLine(String platform);
+
+		@Override
+		public int hashCode()
+		{
+			return toExportCommandLine(null).hashCode();
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			return o instanceof AbstractCache other &&
+				other.toExportCommandLine(null).equals(toExportCommandLine(null));
+		}
+
+		@Override
+		public String toString()
+		{
+			return toExportCommandLine(null);
+		}
+	}
+
+	/**
+	 * A cache that is embedded in the image.
+	 */
+	public static final class InlineCache extends AbstractCache
+	{
+		/**
+		 * The singleton instance.
+		 */
+		public static final InlineCache INSTANCE = new InlineCache();
+
+		/**
+		 * Prevent construction.
+		 */
+		private InlineCache()
+		{
+		}
+
+		@Override
+		protected String toImportCommandLine(String platform)
+		{
+			return null;
+		}
+
+		@Override
+		protected String toExportCommandLine(String platform)
+		{
+			return "type=inline";
+		}
+	}
+
+	/**
+	 * Builds an external cache location.
+	 */
+	public abstract static class AbstractCacheBuilder implements CacheBuilder
+	{
+		private static final Pattern SCOPE = Pattern.compile("^[a-zA-Z0-9_.-]+$");
+		/**
+		 * The scope of the cache.
+		 */
+		protected String scope = "buildcache";
+		/**
+		 * The layers that are exported.
+		 */
+		protected CacheMode mode = CacheMode.MIN;
+		/**
+		 * The type of compression to use, or {@code null} to use the builder's default.
+		 */
+		protected CompressionType compressionType;
+		/**
+		 * The compression level to use, or {@code -1} to use the builder's default.
+		 */
+		protected int compressionLevel = -1;
+
+		@Override
+		public CacheBuilder scope(String scope)
+		{
+			requireThat(scope, "scope").matches(SCOPE);
+			this.scope = scope;
+			return this;
+		}
+
+		@Override
+		public CacheBuilder mode(CacheMode mode)
+		{
+			requireThat(mode, "mode").isNotNull();
+			this.mode = mode;
+			return this;
+		}
+
+		@Override
+		public CacheBuilder compressionType(CompressionType type)
+		{
+			requireThat(type, "type").isNotNull();
+			this.compressionType = type;
+			return this;
+		}
+
+		@Override
+		public CacheBuilder compressionLevel(int compressionLevel)
+		{
+			requireThat(compressionLevel, "compressionLevel").isNotNegative();
+			this.compressionLevel = compressionLevel;
+			return this;
+		}
+
+		/**
+		 * Returns the command-line options that apply when the cache is exported.
+		 *
+		 * @return the command-line options, each prefixed by a comma
+		 * @throws IllegalArgumentException if {@code compressionLevel} is out of range for the compression type
+		 */
+		protected String getExportOptions()
+		{
+			if (compressionLevel != -1)
+			{
+				CompressionType type = compressionType;
+				if (type == null)
+					type = CompressionType.GZIP;
+				switch (type)
+				{
+					case UNCOMPRESSED ->
+					{
+					}
+					case GZIP, ESTARGZ -> requireThat(compressionLevel, "compressionLevel").isBetween(0, 9);
+					case ZSTD -> requireThat(compressionLevel, "compressionLevel").isBetween(0, 22);
+				}
+			}
+			StringBuilder options = new StringBuilder(",mode=").append(mode.toCommandLine());
+			if (compressionType != null)
+				options.append(",compression=").append(compressionType.toCommandLine());
+			if (compressionLevel != -1)
+				options.append(",compression-level=").append(compressionLevel);
+			return options.toString();
+		}
+
+		/**
+		 * Returns the scope of the cache that is used by a build.
+		 *
+		 * @param scope    the scope of the cache
+		 * @param platform the platform that is built separately, or {@code null} if all the platforms are built
+		 *                 together
+		 * @return the scope, suffixed by the platform (e.g. {@code buildcache-linux-arm64}) if it is built
+		 * 	separately
+		 */
+		protected static String getScope(String scope, String platform)
+		{
+			if (platform == null)
+				return scope;
+			return scope + "-" + platform.replace('/', '-');
+		}
+	}
+
+	/**
+	 * Builds a cache that is stored in an image registry.
+	 */
+	public static final class DefaultRegistryCacheBuilder extends AbstractCacheBuilder
+		implements RegistryCacheBuilder
+	{
+		private final String repository;
+
+		/**
+		 * Creates a DefaultRegistryCacheBuilder.
+		 *
+		 * @param repository the repository to store the cache in
+		 * @throws NullPointerException     if {@code repository} is null
+		 * @throws IllegalArgumentException if {@code repository} contains whitespace, a tag or a digest, or is
+		 *                                  empty
+		 */
+		public DefaultRegistryCacheBuilder(String repository)
+		{
+			requireThat(repository, "repository").doesNotContainWhitespace().isNotEmpty().doesNotContain("@");
+			requireThat(repository.lastIndexOf(':') <= repository.lastIndexOf('/'),
+				"repository.lastIndexOf(':') <= repository.lastIndexOf('/')").isTrue();
+			this.repository = repository;
+		}
+
+		@Override
+		public RegistryCacheBuilder scope(String scope)
+		{
+			return (RegistryCacheBuilder) super.scope(scope);
+		}
+
+		@Override
+		public RegistryCacheBuilder mode(CacheMode mode)
+		{
+			return (RegistryCacheBuilder) super.mode(mode);
+		}
+
+		@Override
+		public RegistryCacheBuilder compressionType(CompressionType type)
+		{
+			return (RegistryCacheBuilder) super.compressionType(type);
+		}
+
+		@Override
+		public RegistryCacheBuilder compressionLevel(int compressionLevel)
+		{
+			return (RegistryCacheBuilder) super.compressionLevel(compressionLevel);
+		}
+
+		@Override
+		public Cache build()
+		{
+			String scope = this.scope;
+			String exportOptions = getExportOptions();
+			return new CacheAdapter(platform -> "type=registry,ref=" + repository + ":" + getScope(scope, platform),
+				exportOptions);
+		}
+	}
+
+	/**
+	 * Builds a cache that is stored in a local directory.
+	 */
+	public static final class DefaultLocalCacheBuilder extends AbstractCacheBuilder
+		implements LocalCacheBuilder
+	{
+		private final String directory;
+
+		/**
+		 * Creates a DefaultLocalCacheBuilder.
+		 *
+		 * @param directory the path of the directory
+		 * @throws NullPointerException     if {@code directory} is null
+		 * @throws IllegalArgumentException if {@code directory} contains whitespace or is empty
+		 */
+		public DefaultLocalCacheBuilder(String directory)
+		{
+			requireThat(directory, "directory").doesNotContainWhitespace().isNotEmpty();
+			this.directory = directory;
+		}
+
+		@Override
+		public LocalCacheBuilder scope(String scope)
+		{
+			return (LocalCacheBuilder) super.scope(scope);
+		}
+
+		@Override
+		public LocalCacheBuilder mode(CacheMode mode)
+		{
+			return (LocalCacheBuilder) super.mode(mode);
+		}
+
+		@Override
+		public LocalCacheBuilder compressionType(CompressionType type)
+		{
+			return (LocalCacheBuilder) super.compressionType(type);
+		}
+
+		@Override
+		public LocalCacheBuilder compressionLevel(int compressionLevel)
+		{
+			return (LocalCacheBuilder) super.compressionLevel(compressionLevel);
+		}
+
+		@Override
+		public Cache build()
+		{
+			String scope = this.scope;
+			String exportOptions = getExportOptions();
+			return new CacheAdapter(platform -> "type=local,src=" + Path.of(directory, getScope(scope, platform)),
+				platform -> "type=local,dest=" + Path.of(directory, getScope(scope, platform)) + exportOptions);
+		}
+	}
+
+	/**
+	 * An external cache location whose command-line representation is computed when it is built, so that
+	 * later changes to its builder have no effect on it.
+	 */
+	private static final class CacheAdapter extends AbstractCache
+	{
+		private final Function<String, String> platformToImportCommandLine;
+		private final Function<String, String> platformToExportCommandLine;
+
+		/**
+		 * Creates a new instance whose export command-line consists of its import command-line, followed by
+		 * export options.
+		 *
+		 * @param platformToImportCommandLine a function that returns the command-line representation of the
+		 *                                    cache when it is used as a source by a platform, or by all platforms
+		 *                                    if the platform is {@code null}
+		 * @param exportOptions               the command-line options that apply when the cache is exported
+		 */
+		private CacheAdapter(Function<String, String> platformToImportCommandLine, String exportOptions)
+		{
+			this(platformToImportCommandLine, platform -> platformToImportCommandLine.apply(platform) +
+				exportOptions);
+		}
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param platformToImportCommandLine a function that returns the command-line representation of the
+		 *                                    cache when it is used as a source by a platform, or by all platforms
+		 *                                    if the platform is {@code null}
+		 * @param platformToExportCommandLine a function that returns the command-line representation of the
+		 *                                    cache when it is used as a destination by a platform, or by all
+		 *                                    platforms if the platform is {@code null}
+		 */
+		private CacheAdapter(Function<String, String> platformToImportCommandLine,
+			Function<String, String> platformToExportCommandLine)
+		{
+			assert platformToImportCommandLine != null;
+			assert platformToExportCommandLine != null;
+			this.platformToImportCommandLine = platformToImportCommandLine;
+			this.platformToExportCommandLine = platformToExportCommandLine;
+		}
+
+		@Override
+		protected String toImportCommandLine(String platform)
+		{
+			return platformToImportCommandLine.apply(platform);
+		}
+
+		@Override
+		protected String toExportCommandLine(String platform)
+		{
+			return platformToExportCommandLine.apply(platform);
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package io.github.cowwoc.anchor4j.container.core.internal.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Streams a build context as a TAR archive, omitting the files that are excluded by {@code .dockerignore}.
+ * <p>
+ * The archive is generated while it is being written, so the build context is never held in memory or
+ * written to disk.
+ */
+public final class BuildContextArchiver
+{
+	/**
+	 * The name of the archive entry that contains a Dockerfile that resides outside the build context.
+	 */
+	private static final String EXTERNAL_DOCKERFILE = ".anchor4j.Dockerfile";
+	private static final int BLOCK_SIZE = 512;
+	/**
+	 * The maximum value of an 11-digit octal field.
+	 */
+	private static final long MAXIMUM_OCTAL_SIZE = 077777777777L;
+	private final Path buildContext;
+	private final Path dockerfile;
+	private final String dockerfileEntry;
+	private final DockerIgnore dockerIgnore;
+
+	/**
+	 * Creates a new archiver.
+	 *
+	 * @param buildContext the build context
+	 * @param dockerfile   the path of the Dockerfile, or {@code null} to use the {@code Dockerfile} at the
+	 *                     root of the build context
+	 * @throws FileNotFoundException if {@code buildContext} or {@code dockerfile} do not exist
+	 * @throws IOException           if an I/O error occurs while reading the {@code .dockerignore} file
+	 */
+	public BuildContextArchiver(Path buildContext, Path dockerfile) throws IOException
+	{
+		assert buildContext != null;
+		this.buildContext = buildContext.toAbsolutePath().normalize();
+		if (!Files.isDirectory(this.buildContext))
+			throw new FileNotFoundException(this.buildContext.toString());
+		if (dockerfile == null)
+		{
+			this.dockerfile = null;
+			this.dockerfileEntry = null;
+		}
+		else
+		{
+			this.dockerfile = dockerfile.toAbsolutePath().normalize();
+			if (!Files.isRegularFile(this.dockerfile))
+				throw new FileNotFoundException(this.dockerfile.toString());
+			if (this.dockerfile.startsWith(this.buildContext))
+				this.dockerfileEntry = toEntryName(this.buildContext.relativize(this.dockerfile));
+			else
+				this.dockerfileEntry = EXTERNAL_DOCKERFILE;
+		}
+		this.dockerIgnore = DockerIgnore.load(this.buildContext, this.dockerfile);
+	}
+
+	/**
+	 * Returns the location of the Dockerfile within the archive.
+	 *
+	 * @return {@code null} if the {@code Dockerfile} at the root of the archive is used
+	 */
+	public String getDockerfileEntry()
+	{
+		return dockerfileEntry;
+	}
+
+	/**
+	 * Writes the archive.
+	 *
+	 * @param out the stream to write into. The stream is not closed.
+	 * @throws IOException if an I/O error occurs while reading the build context or writing the archive
+	 */
+	public void writeTo(OutputStream out) throws IOException
+	{
+		Files.walkFileTree(buildContext, new SimpleFileVisitor<>()
+		{
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException
+			{
+				if (dir.equals(buildContext))
+					return FileVisitResult.CONTINUE;
+				String name = toEntryName(buildContext.relativize(dir));
+				if (dockerIgnore.isExcluded(name))
+				{
+					// Exceptions may re-include files inside excluded directories
+					if (dockerIgnore.hasExceptions() || (dockerfile != null && dockerfile.startsWith(dir)))
+						return FileVisitResult.CONTINUE;
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				writeHeader(out, name + "/", getMode(dir, true), 0, attrs, '5', "");
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+			{
+				String name = toEntryName(buildContext.relativize(file));
+				// The Dockerfile and .dockerignore file are always sent to the builder
+				if (!file.equals(dockerfile) && !name.equals(".dockerignore") && dockerIgnore.isExcluded(name))
+					return FileVisitResult.CONTINUE;
+				if (attrs.isSymbolicLink())
+				{
+					String target = Files.readSymbolicLink(file).toString().replace('\\', '/');
+					writeHeader(out, name, 0777, 0, attrs, '2', target);
+				}
+				else if (attrs.isRegularFile())
+					writeFile(out, name, file, attrs);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		if (EXTERNAL_DOCKERFILE.equals(dockerfileEntry))
+		{
+			writeFile(out, EXTERNAL_DOCKERFILE, dockerfile,
+				Files.readAttributes(dockerfile, BasicFileAttributes.class));
+		}
+		// The end of the archive is marked by two empty blocks
+		out.write(new byte[BLOCK_SIZE * 2]);
+		out.flush();
+	}
+
+	/**
+	 * Writes a regular file into the archive.
+	 *
+	 * @param out   the stream to write into
+	 * @param name  the name of the entry
+	 * @param file  the file
+	 * @param attrs the file's attributes
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeFile(OutputStream out, String name, Path file, BasicFileAttributes attrs)
+		throws IOException
+	{
+		long size = attrs.size();
+		writeHeader(out, name, getMode(file, false), size, attrs, '0', "");
+		long remaining = size;
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = Files.newInputStream(file))
+		{
+			while (remaining > 0)
+			{
+				int count = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (count == -1)
+					break;
+				out.write(buffer, 0, count);
+				remaining -= count;
+			}
+		}
+		// If the file shrank after its size was recorded, pad it to the size declared by the header
+		Arrays.fill(buffer, (byte) 0);
+		while (remaining > 0)
+		{
+			int count = (int) Math.min(buffer.length, remaining);
+			out.write(buffer, 0, count);
+			remaining -= count;
+		}
+		writePadding(out, size);
+	}
+
+	/**
+	 * Writes the header of an entry, preceded by a PAX extended header if the entry's properties do not fit
+	 * into a USTAR header.
+	 *
+	 * @param out      the stream to write into
+	 * @param name     the name of the entry
+	 * @param mode     the permissions of the entry
+	 * @param size     the size of the entry's contents
+	 * @param attrs    the attributes of the file
+	 * @param type     the type of the entry
+	 * @param linkName the target of a symbolic link, or an empty string if the entry is not a link
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writeHeader(OutputStream out, String name, int mode, long size,
+		BasicFileAttributes attrs, char type, String linkName) throws IOException
+	{
+		byte[] nameBytes = name.getBytes(UTF_8);
+		byte[] linkNameBytes = linkName.getBytes(UTF_8);
+		StringBuilder paxRecords = new StringBuilder();
+		if (nameBytes.length > 100 || nameBytes.length != name.length())
+			addPaxRecord(paxRecords, "path", name);
+		if (linkNameBytes.length > 100 || linkNameBytes.length != linkName.length())
+			addPaxRecord(paxRecords, "linkpath", linkName);
+		if (size > MAXIMUM_OCTAL_SIZE)
+			addPaxRecord(paxRecords, "size", String.valueOf(size));
+		long mtime = attrs.lastModifiedTime().toMillis() / 1000;
+		if (!paxRecords.isEmpty())
+		{
+			byte[] paxBytes = paxRecords.toString().getBytes(UTF_8);
+			out.write(getHeader("PaxHeader", 0644, paxBytes.length, mtime, 'x', ""));
+			out.write(paxBytes);
+			writePadding(out, paxBytes.length);
+		}
+		out.write(getHeader(name, mode, Math.min(size, MAXIMUM_OCTAL_SIZE), mtime, type, linkName));
+	}
+
+	/**
+	 * Returns a USTAR header.
+	 *
+	 * @param name     the name of the entry, truncated if necessary
+	 * @param mode     the permissions of the entry
+	 * @param size     the size of the entry's contents
+	 * @param mtime    the last modified time of the entry, in seconds since the epoch
+	 * @param type     the type of the entry
+	 * @param linkName the target of a symbolic link, truncated if necessary
+	 * @return the header
+	 */
+	private static byte[] getHeader(String name, int mode, long size, long mtime, char type, String linkName)
+	{
+		// https://www.gnu.org/software/tar/manual/html_node/Standard.html
+		byte[] header = new byte[BLOCK_SIZE];
+		putString(header, 0, 100, name);
+		putOctal(header, 100, 8, mode);
+		putOctal(header, 108, 8, 0);
+		putOctal(header, 116, 8, 0);
+		putOctal(header, 124, 12, size);
+		putOctal(header, 136, 12, mtime);
+		header[156] = (byte) type;
+		putString(header, 157, 100, linkName);
+		putString(header, 257, 6, "ustar");
+		putString(header, 263, 2, "00");
+
+		// The checksum is calculated with the checksum field set to spaces
+		Arrays.fill(header, 148, 156, (byte) ' ');
+		int checksum = 0;
+		for (byte b : header)
+			checksum += b & 0xFF;
+		putOctal(header, 148, 7, checksum);
+		return header;
+	}
+
+	/**
+	 * Adds a record to a PAX extended header.
+	 *
+	 * @param records the records
+	 * @param key     the key of the record
+	 * @param value   the value of the record
+	 */
+	private static void addPaxRecord(StringBuilder records, String key, String value)
+	{
+		// Each record has the format "<length> <key>=<value>\n" where the length includes its own digits
+		int length = key.getBytes(UTF_8).length + value.getBytes(UTF_8).length + 3;
+		int digits = String.valueOf(length).length();
+		if (String.valueOf(length + digits).length() > digits)
+			++digits;
+		records.append(length + digits).append(' ').append(key).append('=').append(value).append('\n');
+	}
+
+	/**
+	 * Writes the padding that follows an entry's contents.
+	 *
+	 * @param out  the stream to write into
+	 * @param size the size of the entry's contents
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void writePadding(OutputStream out, long size) throws IOException
+	{
+		int remainder = (int) (size % BLOCK_SIZE);
+		if (remainder != 0)
+			out.write(new byte[BLOCK_SIZE - remainder]);
+	}
+
+	/**
+	 * Writes a NUL-terminated string into a header field.
+	 *
+	 * @param header the header
+	 * @param offset the offset of the field
+	 * @param length the length of the field
+	 * @param value  the value, truncated if it does not fit
+	 */
+	private static void putString(byte[] header, int offset, int length, String value)
+	{
+		byte[] bytes = value.getBytes(UTF_8);
+		System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, length));
+	}
+
+	/**
+	 * Writes a NUL-terminated octal number into a header field.
+	 *
+	 * @param header the header
+	 * @param offset the offset of the field
+	 * @param length the length of the field, including the terminator
+	 * @param value  the value
+	 */
+	private static void putOctal(byte[] header, int offset, int length, long value)
+	{
+		String octal = String.format("%0" + (length - 1) + "o", value);
+		System.arraycopy(octal.getBytes(US_ASCII), 0, header, offset, length - 1);
+		header[offset + length - 1] = 0;
+	}
+
+	/**
+	 * Returns the permissions of a file.
+	 *
+	 * @param path        the path of the file
+	 * @param isDirectory {@code true} if the file is a directory
+	 * @return the permissions
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static int getMode(Path path, boolean isDirectory) throws IOException
+	{
+		Set<PosixFilePermission> permissions;
+		try
+		{
+			permissions = Files.getPosixFilePermissions(path);
+		}
+		catch (UnsupportedOperationException _)
+		{
+			// Docker assigns these permissions to files that are sent from Windows
+			return 0755;
+		}
+		int mode = 0;
+		for (PosixFilePermission permission : permissions)
+			mode |= 1 << (8 - permission.ordinal());
+		if (isDirectory)
+			mode |= 0700;
+		return mode;
+	}
+
+	/**
+	 * Returns the name of an archive entry.
+	 *
+	 * @param relativePath a path relative to the build context
+	 * @return the name of the entry, using {@code /} as the separator
+	 */
+	private static String toEntryName(Path relativePath)
+	{
+		return relativePath.toString().replace('\\', '/');
+	}
+}
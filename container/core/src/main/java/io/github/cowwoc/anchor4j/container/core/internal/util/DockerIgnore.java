@@ -0,0 +1,272 @@
+package io.github.cowwoc.anchor4j.container.core.internal.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The rules of a {@code .dockerignore} file.
+ * <p>
+ * A path is excluded if the last pattern that matches it, or one of its parent directories, is not an
+ * exception ({@code !pattern}).
+ *
+ * @see <a href="https://docs.docker.com/build/concepts/context/#dockerignore-files">.dockerignore files</a>
+ */
+public final class DockerIgnore
+{
+	/**
+	 * Rules that do not exclude any files.
+	 */
+	public static final DockerIgnore EMPTY = new DockerIgnore(List.of());
+	private final List<Rule> rules;
+	private final boolean hasExceptions;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param rules the rules, in the order that they were declared
+	 */
+	private DockerIgnore(List<Rule> rules)
+	{
+		assert rules != null;
+		this.rules = rules;
+		boolean hasExceptions = false;
+		for (Rule rule : rules)
+		{
+			if (rule.exception())
+			{
+				hasExceptions = true;
+				break;
+			}
+		}
+		this.hasExceptions = hasExceptions;
+	}
+
+	/**
+	 * Loads the rules that apply to a build.
+	 * <p>
+	 * A Dockerfile-specific ignore file (e.g. {@code Dockerfile.dockerignore} next to {@code Dockerfile})
+	 * takes precedence over the {@code .dockerignore} file at the root of the build context.
+	 *
+	 * @param buildContext the build context
+	 * @param dockerfile   the path of the Dockerfile, or {@code null} if the default Dockerfile is used
+	 * @return the rules
+	 * @throws IOException if an I/O error occurs while reading the file
+	 */
+	public static DockerIgnore load(Path buildContext, Path dockerfile) throws IOException
+	{
+		if (dockerfile != null)
+		{
+			Path specificFile = dockerfile.resolveSibling(dockerfile.getFileName() + ".dockerignore");
+			if (Files.isRegularFile(specificFile))
+				return parse(Files.readAllLines(specificFile, UTF_8));
+		}
+		Path file = buildContext.resolve(".dockerignore");
+		if (Files.isRegularFile(file))
+			return parse(Files.readAllLines(file, UTF_8));
+		return EMPTY;
+	}
+
+	/**
+	 * Parses the contents of a {@code .dockerignore} file, using the separator of the local filesystem.
+	 *
+	 * @param lines the lines of the file
+	 * @return the rules
+	 */
+	public static DockerIgnore parse(List<String> lines)
+	{
+		return parse(lines, File.separatorChar);
+	}
+
+	/**
+	 * Parses the contents of a {@code .dockerignore} file.
+	 * <p>
+	 * If the separator is {@code \}, backslashes separate path elements. Otherwise, they escape the character
+	 * that follows them.
+	 *
+	 * @param lines     the lines of the file
+	 * @param separator the separator of the filesystem that the build context resides on
+	 * @return the rules
+	 */
+	public static DockerIgnore parse(List<String> lines, char separator)
+	{
+		boolean backslashIsSeparator = separator == '\\';
+		List<Rule> rules = new ArrayList<>();
+		for (String line : lines)
+		{
+			String pattern = line.strip();
+			if (pattern.isEmpty() || pattern.startsWith("#"))
+				continue;
+			boolean exception = pattern.startsWith("!");
+			if (exception)
+				pattern = pattern.substring(1).strip();
+			pattern = clean(pattern, backslashIsSeparator);
+			if (pattern.isEmpty())
+				continue;
+			rules.add(new Rule(toRegex(pattern), exception));
+		}
+		return new DockerIgnore(List.copyOf(rules));
+	}
+
+	/**
+	 * Normalizes a pattern the same way that Docker does, using {@code /} as the separator and removing
+	 * leading, trailing and redundant separators as well as {@code .} and {@code ..} elements.
+	 *
+	 * @param pattern              the pattern
+	 * @param backslashIsSeparator {@code true} if backslashes separate path elements
+	 * @return the normalized pattern
+	 */
+	private static String clean(String pattern, boolean backslashIsSeparator)
+	{
+		if (backslashIsSeparator)
+			pattern = pattern.replace('\\', '/');
+		List<String> elements = new ArrayList<>();
+		for (String element : pattern.split("/"))
+		{
+			if (element.isEmpty() || element.equals("."))
+				continue;
+			if (element.equals(".."))
+			{
+				if (!elements.isEmpty())
+					elements.removeLast();
+				continue;
+			}
+			elements.add(element);
+		}
+		return String.join("/", elements);
+	}
+
+	/**
+	 * Converts a pattern to a regular expression.
+	 *
+	 * @param pattern a normalized pattern, in which backslashes escape the character that follows them
+	 * @return the regular expression
+	 */
+	private static Pattern toRegex(String pattern)
+	{
+		// Based on https://github.com/moby/patternmatcher/blob/main/patternmatcher.go
+		StringBuilder regex = new StringBuilder("^");
+		int length = pattern.length();
+		for (int i = 0; i < length; ++i)
+		{
+			char c = pattern.charAt(i);
+			switch (c)
+			{
+				case '*' ->
+				{
+					if (i + 1 < length && pattern.charAt(i + 1) == '*')
+					{
+						// "**" matches any number of directories
+						++i;
+						if (i + 1 < length && pattern.charAt(i + 1) == '/')
+						{
+							// "**/" also matches zero directories
+							++i;
+							regex.append("(?:.*/)?");
+						}
+						else
+							regex.append(".*");
+					}
+					else
+						regex.append("[^/]*");
+				}
+				case '?' -> regex.append("[^/]");
+				case '\\' ->
+				{
+					// A trailing backslash has nothing to escape, so it is matched literally
+					if (i + 1 < length)
+						++i;
+					regex.append(Pattern.quote(String.valueOf(pattern.charAt(i))));
+				}
+				case '[' ->
+				{
+					int end = pattern.indexOf(']', i + 1);
+					if (end == -1)
+						regex.append("\\[");
+					else
+					{
+						String characterClass = pattern.substring(i + 1, end);
+						if (characterClass.startsWith("^"))
+							characterClass = "!" + characterClass.substring(1);
+						if (characterClass.startsWith("!"))
+							regex.append("[^").append(characterClass, 1, characterClass.length()).append(']');
+						else
+							regex.append('[').append(characterClass).append(']');
+						i = end;
+					}
+				}
+				default -> regex.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		regex.append('$');
+		return Pattern.compile(regex.toString());
+	}
+
+	/**
+	 * Indicates if any of the rules are exceptions. If so, an excluded directory may contain files that are
+	 * included.
+	 *
+	 * @return {@code true} if at least one rule is an exception
+	 */
+	public boolean hasExceptions()
+	{
+		return hasExceptions;
+	}
+
+	/**
+	 * Indicates if a path is excluded from the build context.
+	 *
+	 * @param path a path relative to the build context, using {@code /} as the separator
+	 * @return {@code true} if the path is excluded
+	 */
+	public boolean isExcluded(String path)
+	{
+		boolean excluded = false;
+		for (Rule rule : rules)
+		{
+			// Exceptions can only re-include paths that were excluded, and vice versa
+			if (rule.exception() != excluded)
+				continue;
+			if (matchesOrParentMatches(rule.pattern(), path))
+				excluded = !rule.exception();
+		}
+		return excluded;
+	}
+
+	/**
+	 * Indicates if a pattern matches a path or any of its parent directories.
+	 *
+	 * @param pattern the pattern
+	 * @param path    a path relative to the build context, using {@code /} as the separator
+	 * @return {@code true} on match
+	 */
+	private static boolean matchesOrParentMatches(Pattern pattern, String path)
+	{
+		if (pattern.matcher(path).matches())
+			return true;
+		int separator = path.indexOf('/');
+		while (separator != -1)
+		{
+			if (pattern.matcher(path.substring(0, separator)).matches())
+				return true;
+			separator = path.indexOf('/', separator + 1);
+		}
+		return false;
+	}
+
+	/**
+	 * A rule in a {@code .dockerignore} file.
+	 *
+	 * @param pattern   the pattern that paths are matched against
+	 * @param exception {@code true} if matching paths are re-included
+	 */
+	private record Rule(Pattern pattern, boolean exception)
+	{
+	}
+}
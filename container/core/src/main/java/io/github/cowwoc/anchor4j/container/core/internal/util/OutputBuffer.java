@@ -0,0 +1,85 @@
+package io.github.cowwoc.anchor4j.container.core.internal.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.StringJoiner;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Retains the last lines of a process' output.
+ * <p>
+ * Once the retained lines exceed the capacity, the oldest lines are discarded. Errors are typically reported
+ * at the end of the output, so the lines that are retained are the ones that are most useful for diagnosing
+ * failures.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class OutputBuffer
+{
+	private final int capacity;
+	private final Deque<String> lines = new ArrayDeque<>();
+	/**
+	 * The total number of characters in {@code lines}.
+	 */
+	private int size;
+	/**
+	 * The number of lines that were discarded.
+	 */
+	private int linesDiscarded;
+
+	/**
+	 * Creates a new buffer.
+	 *
+	 * @param capacity the maximum number of characters to retain. The last line is retained even if it is
+	 *                 longer.
+	 * @throws IllegalArgumentException if {@code capacity} is negative or zero
+	 */
+	public OutputBuffer(int capacity)
+	{
+		requireThat(capacity, "capacity").isPositive();
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a line to the buffer.
+	 *
+	 * @param line a line of output
+	 * @throws NullPointerException if {@code line} is null
+	 */
+	public synchronized void add(String line)
+	{
+		requireThat(line, "line").isNotNull();
+		lines.addLast(line);
+		size += line.length();
+		while (size > capacity && lines.size() > 1)
+		{
+			size -= lines.removeFirst().length();
+			++linesDiscarded;
+		}
+	}
+
+	/**
+	 * Returns the number of lines that were discarded because the buffer was full.
+	 *
+	 * @return the number of lines
+	 */
+	public synchronized int getLinesDiscarded()
+	{
+		return linesDiscarded;
+	}
+
+	/**
+	 * Returns the retained lines.
+	 *
+	 * @return the lines, separated by {@code \n}
+	 */
+	@Override
+	public synchronized String toString()
+	{
+		StringJoiner joiner = new StringJoiner("\n");
+		for (String line : lines)
+			joiner.add(line);
+		return joiner.toString();
+	}
+}
@@ -0,0 +1,248 @@
+package io.github.cowwoc.anchor4j.container.core.internal.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A directory that holds short-lived files, such as the metadata files that commands write their results
+ * into.
+ * <p>
+ * The directory is created on first use and deleted when it is closed. The directory contains a lock file
+ * that is locked for as long as the directory is open. Directories that were left behind by processes that
+ * crashed are deleted the next time that a scratch directory is created, provided that they contain a lock
+ * file that is no longer locked and that they have not been modified for {@link #ABANDONED_AFTER}.
+ * Directories without a lock file are never deleted, because they might not belong to a scratch directory.
+ */
+public final class ScratchDirectory implements AutoCloseable
+{
+	/**
+	 * The amount of time that a directory must go unmodified before it may be considered abandoned.
+	 */
+	public static final Duration ABANDONED_AFTER = Duration.ofHours(1);
+	private static final String PREFIX = "anchor4j-scratch-";
+	/**
+	 * The name of the file that is locked by the owner of a scratch directory.
+	 */
+	private static final String LOCK_FILE = ".lock";
+	private final Lock lock = new ReentrantLock();
+	private final AtomicLong nextId = new AtomicLong();
+	/**
+	 * The directory, or {@code null} if it has not been created yet.
+	 */
+	private Path directory;
+	/**
+	 * The lock file's channel, or {@code null} if the directory has not been created yet.
+	 */
+	private FileChannel lockChannel;
+	private boolean closed;
+	private final Logger log = LoggerFactory.getLogger(ScratchDirectory.class);
+
+	/**
+	 * Creates a new scratch directory.
+	 */
+	public ScratchDirectory()
+	{
+	}
+
+	/**
+	 * Returns the path of a new file in the scratch directory. The file is not created.
+	 * <p>
+	 * The caller is responsible for deleting the file once it is no longer needed.
+	 *
+	 * @param suffix the suffix of the file name (e.g. {@code .json})
+	 * @return the path of the file
+	 * @throws IllegalStateException if the directory is closed
+	 * @throws IOException           if an I/O error occurs while creating the directory
+	 */
+	public Path newFile(String suffix) throws IOException
+	{
+		return getDirectory().resolve(nextId.getAndIncrement() + suffix);
+	}
+
+	/**
+	 * Returns the directory, creating it if necessary.
+	 *
+	 * @return the directory
+	 * @throws IllegalStateException if the directory is closed
+	 * @throws IOException           if an I/O error occurs while creating the directory
+	 */
+	private Path getDirectory() throws IOException
+	{
+		lock.lock();
+		try
+		{
+			if (closed)
+				throw new IllegalStateException("The scratch directory is closed");
+			if (directory == null)
+			{
+				Path parent = Path.of(System.getProperty("java.io.tmpdir"));
+				deleteAbandonedDirectories(parent);
+				Path newDirectory = Files.createTempDirectory(parent, PREFIX);
+				FileChannel channel = FileChannel.open(newDirectory.resolve(LOCK_FILE), CREATE, WRITE);
+				try
+				{
+					// The lock is held until the channel is closed
+					channel.lock();
+				}
+				catch (IOException | RuntimeException e)
+				{
+					channel.close();
+					deleteRecursively(newDirectory);
+					throw e;
+				}
+				directory = newDirectory;
+				lockChannel = channel;
+			}
+			return directory;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Deletes the scratch directories that are no longer in use.
+	 *
+	 * @param parent the directory that contains the scratch directories
+	 */
+	private void deleteAbandonedDirectories(Path parent)
+	{
+		Instant modifiedBefore = Instant.now().minus(ABANDONED_AFTER);
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(parent, PREFIX + "*"))
+		{
+			for (Path candidate : stream)
+			{
+				try
+				{
+					if (isAbandoned(candidate, modifiedBefore))
+						deleteRecursively(candidate);
+				}
+				catch (IOException e)
+				{
+					log.debug("Failed to delete {}", candidate, e);
+				}
+			}
+		}
+		catch (IOException e)
+		{
+			// Failing to clean up after other processes should not prevent this process from running
+			log.debug("Failed to list {}", parent, e);
+		}
+	}
+
+	/**
+	 * Deletes a directory and its contents.
+	 *
+	 * @param path the directory
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static void deleteRecursively(Path path) throws IOException
+	{
+		Files.walkFileTree(path, new SimpleFileVisitor<>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException
+			{
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException
+			{
+				if (e != null)
+					throw e;
+				Files.delete(dir);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/**
+	 * Indicates if a scratch directory is no longer in use.
+	 *
+	 * @param candidate      the directory
+	 * @param modifiedBefore the time that the directory must have been last modified before
+	 * @return {@code true} if the directory was not modified recently, and it contains a lock file that is not
+	 * 	locked
+	 * @throws IOException if an I/O error occurs
+	 */
+	private static boolean isAbandoned(Path candidate, Instant modifiedBefore) throws IOException
+	{
+		Path lockFile = candidate.resolve(LOCK_FILE);
+		if (!Files.isDirectory(candidate, NOFOLLOW_LINKS) || !Files.isRegularFile(lockFile, NOFOLLOW_LINKS) ||
+			!Files.getLastModifiedTime(candidate).toInstant().isBefore(modifiedBefore))
+		{
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(lockFile, WRITE, NOFOLLOW_LINKS);
+		     FileLock fileLock = channel.tryLock())
+		{
+			// The lock is released before the directory is deleted
+			return fileLock != null;
+		}
+		catch (NoSuchFileException _)
+		{
+			// The lock file was deleted by its owner
+			return false;
+		}
+		catch (OverlappingFileLockException _)
+		{
+			// The directory belongs to another client in this JVM
+			return false;
+		}
+	}
+
+	/**
+	 * Deletes the directory and its contents. Subsequent invocations have no effect.
+	 */
+	@Override
+	public void close()
+	{
+		lock.lock();
+		try
+		{
+			if (closed)
+				return;
+			closed = true;
+			if (directory == null)
+				return;
+			try
+			{
+				// Some platforms cannot delete files that are open
+				lockChannel.close();
+				deleteRecursively(directory);
+			}
+			catch (IOException e)
+			{
+				log.warn("Failed to delete {}", directory, e);
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package io.github.cowwoc.anchor4j.container.core.resource;
+
+import io.github.cowwoc.anchor4j.container.core.exception.ContextNotFoundException;
+import io.github.cowwoc.anchor4j.container.core.exception.UnsupportedExporterException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Builds multiple images using a single {@code buildx bake} invocation.
+ * <p>
+ * Building the images together allows BuildKit to deduplicate build stages and context uploads that the
+ * images share.
+ */
+public interface BakeBuilder
+{
+	/**
+	 * Adds an image to build.
+	 * <p>
+	 * The image is built using the configuration of {@code definition}, except for its
+	 * {@link ContainerImageBuilder#builder(Builder.Id) builder},
+	 * {@link ContainerImageBuilder#listener(BuildListener) listener} and
+	 * {@link ContainerImageBuilder#splitPlatforms(boolean) splitPlatforms} settings which are ignored. Changes
+	 * to {@code definition} after this method returns do not affect the target.
+	 *
+	 * @param name         the name of the bake target
+	 * @param definition   the image's build configuration
+	 * @param buildContext the build context, the directory relative to which paths in the Dockerfile are
+	 *                     evaluated
+	 * @return this
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code name} contains characters other than letters, digits,
+	 *                                  {@code '_'} or {@code '-'}. If a target with the same name was already
+	 *                                  added.
+	 */
+	BakeBuilder target(String name, ContainerImageBuilder definition, Path buildContext);
+
+	/**
+	 * Sets the builder instance to use for building the images.
+	 *
+	 * @param builder the builder
+	 * @return this
+	 * @throws NullPointerException if {@code builder} is null
+	 */
+	BakeBuilder builder(Builder.Id builder);
+
+	/**
+	 * Sets the build listener.
+	 *
+	 * @param listener the build listener
+	 * @return this
+	 * @throws NullPointerException if {@code listener} is null
+	 */
+	BakeBuilder listener(BuildListener listener);
+
+	/**
+	 * Builds the images.
+	 *
+	 * @return a map from the name of each target to the image that it built, or {@code null} if none of the
+	 * 	target's exports output an image, in the order that the targets were added
+	 * @throws IllegalStateException        if no targets were added
+	 * @throws FileNotFoundException        if a referenced path does not exist
+	 * @throws UnsupportedExporterException if the builder does not support one of the requested exporters
+	 * @throws ContextNotFoundException     if the Docker context cannot be found or resolved
+	 * @throws IOException                  if an I/O error occurs. These errors are typically transient, and
+	 *                                      retrying the request may resolve the issue.
+	 * @throws InterruptedException         if the thread is interrupted before the operation completes. This
+	 *                                      can happen due to shutdown signals.
+	 */
+	Map<String, ContainerImage> apply() throws IOException, InterruptedException;
+}
@@ -0,0 +1,69 @@
+package io.github.cowwoc.anchor4j.container.core.resource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Removes entries from a builder's local build cache.
+ * <p>
+ * By default, only dangling entries that are not referenced by any image are removed.
+ */
+public interface BuildCachePruner
+{
+	/**
+	 * Sets the builder whose cache should be pruned. By default, the default builder is used.
+	 *
+	 * @param builder the builder
+	 * @return this
+	 * @throws NullPointerException if {@code builder} is null
+	 */
+	BuildCachePruner builder(Builder.Id builder);
+
+	/**
+	 * Removes all the reclaimable entries, not just dangling ones.
+	 *
+	 * @return this
+	 */
+	BuildCachePruner all();
+
+	/**
+	 * Only removes entries that were not used recently.
+	 *
+	 * @param duration the minimum amount of time since an entry was last used
+	 * @return this
+	 * @throws NullPointerException     if {@code duration} is null
+	 * @throws IllegalArgumentException if {@code duration} is negative or zero
+	 */
+	BuildCachePruner unusedFor(Duration duration);
+
+	/**
+	 * Retains the most recently used entries, up to a total size.
+	 *
+	 * @param bytes the amount of disk space to retain
+	 * @return this
+	 * @throws IllegalArgumentException if {@code bytes} is negative
+	 */
+	BuildCachePruner keepStorage(long bytes);
+
+	/**
+	 * Adds a filter that entries must match in order to be removed.
+	 *
+	 * @param filter the filter (e.g. {@code type=exec.cachemount})
+	 * @return this
+	 * @throws NullPointerException     if {@code filter} is null
+	 * @throws IllegalArgumentException if {@code filter} contains whitespace or is empty
+	 * @see <a href="https://docs.docker.com/reference/cli/docker/buildx/prune/#filter">Possible values</a>
+	 */
+	BuildCachePruner filter(String filter);
+
+	/**
+	 * Prunes the build cache.
+	 *
+	 * @return the amount of disk space that was reclaimed, in bytes
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	long apply() throws IOException, InterruptedException;
+}
@@ -0,0 +1,42 @@
+package io.github.cowwoc.anchor4j.container.core.resource;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * An entry in a builder's local build cache.
+ *
+ * @param id          the ID of the entry
+ * @param type        the type of the entry (e.g. {@code regular}, {@code source.local} or
+ *                    {@code exec.cachemount})
+ * @param description a description of the entry (e.g. the build step that created it)
+ * @param size        the disk space used by the entry, in bytes
+ * @param reclaimable {@code true} if the entry is not in use and may be pruned
+ * @param shared      {@code true} if the entry's data is shared with other entries
+ * @param usageCount  the number of times that the entry was used
+ */
+public record BuildCacheRecord(String id, String type, String description, long size, boolean reclaimable,
+                               boolean shared, int usageCount)
+{
+	/**
+	 * Creates a new record.
+	 *
+	 * @param id          the ID of the entry
+	 * @param type        the type of the entry
+	 * @param description a description of the entry
+	 * @param size        the disk space used by the entry, in bytes
+	 * @param reclaimable {@code true} if the entry is not in use and may be pruned
+	 * @param shared      {@code true} if the entry's data is shared with other entries
+	 * @param usageCount  the number of times that the entry was used
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code id} contains whitespace or is empty. If {@code size} or
+	 *                                  {@code usageCount} are negative.
+	 */
+	public BuildCacheRecord
+	{
+		requireThat(id, "id").doesNotContainWhitespace().isNotEmpty();
+		requireThat(type, "type").isNotNull();
+		requireThat(description, "description").isNotNull();
+		requireThat(size, "size").isNotNegative();
+		requireThat(usageCount, "usageCount").isNotNegative();
+	}
+}
@@ -15,6 +15,36 @@
  */
 public interface BuildListener
 {
+	/**
+	 * Indicates if the build should report its progress using {@code --progress=rawjson}, instead of plain
+	 * text.
+	 *
+	 * @return {@code true} to request JSON-encoded progress updates on the build's standard error stream
+	 */
+	default boolean isRawJsonProgress()
+	{
+		return false;
+	}
+
+	/**
+	 * Returns the listener of a build that produces a single platform of the image, when platforms are built
+	 * separately. Platforms that have their own listener are built concurrently. Platforms that share this
+	 * listener are built one at a time.
+	 * <p>
+	 * The default implementation returns this listener. Implementations should override this method to allow
+	 * the platforms to be built concurrently.
+	 *
+	 * @param platform the platform (e.g. {@code linux/amd64})
+	 * @return this listener, or a listener that is not shared with the builds of other platforms
+	 * @throws NullPointerException if {@code platform} is null
+	 * @see ContainerImageBuilder#splitPlatforms(boolean)
+	 */
+	default BuildListener forPlatform(String platform)
+	{
+		requireThat(platform, "platform").isNotNull();
+		return this;
+	}
+
 	/**
 	 * Invoked after the build starts.
 	 * <p>
@@ -59,9 +89,11 @@
 
 	/**
 	 * The build's output.
+	 * <p>
+	 * Listeners may omit the oldest lines of each stream to limit memory usage.
 	 *
-	 * @param stdout   the full contents of the build's standard output stream
-	 * @param stderr   the full contents of the build's standard error stream
+	 * @param stdout   the contents of the build's standard output stream
+	 * @param stderr   the contents of the build's standard error stream
 	 * @param exitCode the exit code returned by the build process
 	 */
 	record Output(String stdout, String stderr, int exitCode)
@@ -69,8 +101,8 @@ record Output(String stdout, String stderr, int exitCode)
 		/**
 		 * Creates an Output.
 		 *
-		 * @param stdout   the full contents of the build's standard output stream
-		 * @param stderr   the full contents of the build's standard error stream
+		 * @param stdout   the contents of the build's standard output stream
+		 * @param stderr   the contents of the build's standard error stream
 		 * @param exitCode the exit code returned by the build process
 		 * @throws NullPointerException if any of the arguments are null
 		 */
@@ -0,0 +1,89 @@
+package io.github.cowwoc.anchor4j.container.core.resource;
+
+import java.time.Duration;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Observes the progress of the individual steps of an image build.
+ * <p>
+ * Events are reported as the build's output is received, in the order that BuildKit emits them. If the build
+ * is retried due to intermittent failures, the events of the new attempt are reported from the beginning.
+ * <p>
+ * All methods do nothing by default.
+ */
+public interface BuildProgressListener
+{
+	/**
+	 * Invoked when a step starts running.
+	 *
+	 * @param step the step
+	 */
+	default void stepStarted(Step step)
+	{
+	}
+
+	/**
+	 * Invoked when the result of a step is loaded from the build cache instead of running the step.
+	 *
+	 * @param step the step
+	 */
+	default void stepCached(Step step)
+	{
+	}
+
+	/**
+	 * Invoked when a step completes successfully.
+	 *
+	 * @param step     the step
+	 * @param duration the amount of time the step took to run, or {@link Duration#ZERO} if it was cached
+	 */
+	default void stepCompleted(Step step, Duration duration)
+	{
+	}
+
+	/**
+	 * Invoked when a step fails.
+	 *
+	 * @param step  the step
+	 * @param error the error message
+	 */
+	default void stepFailed(Step step, String error)
+	{
+	}
+
+	/**
+	 * Invoked when a step transfers data, such as while pulling image layers or uploading the build context.
+	 *
+	 * @param step    the step
+	 * @param id      the ID of the transfer (e.g. the digest of a layer)
+	 * @param current the number of bytes transferred so far
+	 * @param total   the total number of bytes to transfer, or {@code 0} if unknown
+	 */
+	default void bytesTransferred(Step step, String id, long current, long total)
+	{
+	}
+
+	/**
+	 * A build step.
+	 *
+	 * @param digest the digest that uniquely identifies the step within the build
+	 * @param name   the name of the step (e.g. {@code [2/3] RUN make})
+	 */
+	record Step(String digest, String name)
+	{
+		/**
+		 * Creates a new step.
+		 *
+		 * @param digest the digest that uniquely identifies the step within the build
+		 * @param name   the name of the step
+		 * @throws NullPointerException     if any of the arguments are null
+		 * @throws IllegalArgumentException if {@code digest} contains whitespace or is empty
+		 */
+		public Step
+		{
+			requireThat(digest, "digest").doesNotContainWhitespace().isNotEmpty();
+			requireThat(name, "name").isNotNull();
+		}
+	}
+}
@@ -136,6 +136,14 @@ static Node.Id id(String value)
 		 */
 		String getError();
 
+		/**
+		 * Returns the platforms that the node can build images for.
+		 *
+		 * @return the platforms, starting with the ones that the node supports natively. Emulated platforms, if
+		 * 	any, are listed last.
+		 */
+		List<String> getPlatforms();
+
 		/**
 		 * A type-safe identifier for this type of resource.
 		 * <p>
@@ -0,0 +1,61 @@
+package io.github.cowwoc.anchor4j.container.core.resource;
+
+import io.github.cowwoc.anchor4j.container.core.exception.BuilderNotFoundException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Distributes image builds across multiple builders.
+ * <p>
+ * Each build is dispatched to the eligible builder with the fewest builds in flight. A builder is eligible
+ * if at least one of its nodes is running or can be started on demand, and its nodes support all the
+ * platforms that the build targets. If every eligible builder is saturated, the build waits until one of
+ * them completes a build.
+ * <p>
+ * Inactive nodes do not report their platforms until they start. If none of the builders are known to
+ * support the platforms, builders with inactive nodes are assumed to support them, and the build starts
+ * their nodes.
+ * <p>
+ * <b>Thread Safety</b>: Implementations must be thread-safe.
+ */
+public interface BuilderPool
+{
+	/**
+	 * Determines which builders belong to the pool. By default, all builders belong to the pool.
+	 *
+	 * @param predicate returns {@code true} for builders that belong to the pool
+	 * @return this
+	 * @throws NullPointerException if {@code predicate} is null
+	 */
+	BuilderPool include(Predicate<Builder> predicate);
+
+	/**
+	 * Returns the number of builds that are in flight on each builder.
+	 *
+	 * @return a map from each builder to the number of builds that it is running
+	 */
+	Map<Builder.Id, Integer> getLoad();
+
+	/**
+	 * Builds an image using the least-loaded eligible builder, overriding the builder that
+	 * {@code imageBuilder} is configured with. {@code imageBuilder} itself is not modified, so it may be
+	 * submitted concurrently by multiple threads.
+	 *
+	 * @param imageBuilder the build configuration
+	 * @param buildContext the build context, the directory relative to which paths in the Dockerfile are
+	 *                     evaluated
+	 * @return the new image, or null if none of the exports output an image
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws BuilderNotFoundException if none of the builders in the pool are eligible to run the build
+	 * @throws IOException              if an I/O error occurs. These errors are typically transient, and
+	 *                                  retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted before the operation completes. This can
+	 *                                  happen due to shutdown signals.
+	 * @see ContainerImageBuilder#apply(Path)
+	 */
+	ContainerImage apply(ContainerImageBuilder imageBuilder, Path buildContext)
+		throws IOException, InterruptedException;
+}
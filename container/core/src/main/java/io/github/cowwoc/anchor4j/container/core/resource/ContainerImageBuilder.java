@@ -2,11 +2,15 @@
 
 import io.github.cowwoc.anchor4j.container.core.exception.ContextNotFoundException;
 import io.github.cowwoc.anchor4j.container.core.exception.UnsupportedExporterException;
+import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.AbstractCache;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.AbstractExporter;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.DefaultContentsExporterBuilder;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.DefaultDockerImageExporterBuilder;
+import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.DefaultLocalCacheBuilder;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.DefaultOciImageExporterBuilder;
+import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.DefaultRegistryCacheBuilder;
 import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.DefaultRegistryExporterBuilder;
+import io.github.cowwoc.anchor4j.container.core.internal.resource.DefaultContainerImageBuilder.InlineCache;
 import io.github.cowwoc.requirements12.annotation.CheckReturnValue;
 
 import java.io.FileNotFoundException;
@@ -65,6 +69,35 @@
 	 */
 	ContainerImageBuilder cacheFrom(String source);
 
+	/**
+	 * Adds an external cache source to use. By default, no external cache sources are used.
+	 * <p>
+	 * Multiple sources may be added. For example, a build may import the cache of its own branch and fall
+	 * back to the cache of the main branch.
+	 *
+	 * @param source the external cache source
+	 * @return this
+	 * @throws NullPointerException     if {@code source} is null
+	 * @throws IllegalArgumentException if {@code source} cannot be imported (e.g. {@link Cache#inline()})
+	 */
+	ContainerImageBuilder cacheFrom(Cache source);
+
+	/**
+	 * Adds an external cache destination to export the build cache to. By default, the build cache is only
+	 * retained by the builder.
+	 * <p>
+	 * Exporting the cache allows builds that run on other machines, such as ephemeral CI agents, to reuse it.
+	 * <p>
+	 * If {@link #splitPlatforms(boolean) platforms are built separately}, each platform exports its cache to
+	 * a scope that is suffixed by the platform (e.g. {@code buildcache-linux-arm64}) so that the builds do not
+	 * overwrite each other's cache, and imports the cache from the same scope.
+	 *
+	 * @param destination the external cache destination
+	 * @return this
+	 * @throws NullPointerException if {@code destination} is null
+	 */
+	ContainerImageBuilder cacheTo(Cache destination);
+
 	/**
 	 * Adds an output format and location for the image. By default, a build has no exporters, meaning the
 	 * resulting image is discarded after the build completes. However, multiple exporters can be configured to
@@ -87,8 +120,44 @@
 	 */
 	ContainerImageBuilder builder(Builder.Id builder);
 
+	/**
+	 * Determines if a multi-platform image should be built using a separate build for each platform. By
+	 * default, a single builder builds all the platforms.
+	 * <p>
+	 * When enabled, the platforms are built concurrently, each by a builder that supports the platform
+	 * natively if one is available, and the resulting images are combined into a manifest list. The
+	 * per-platform images are pushed to a registry before they are combined, so the build requires a
+	 * {@link #reference(String) reference} and a {@link RegistryExporterBuilder registry exporter}. Other
+	 * exporters are ignored, and each per-platform build reports to the listener returned by
+	 * {@link BuildListener#forPlatform(String)}.
+	 *
+	 * @param splitPlatforms {@code true} to build each platform separately
+	 * @return this
+	 */
+	ContainerImageBuilder splitPlatforms(boolean splitPlatforms);
+
+	/**
+	 * Determines if the build context should be streamed to the builder as a TAR archive, instead of letting
+	 * the builder read it from the filesystem. By default, the builder reads the build context directly.
+	 * <p>
+	 * When enabled, the files that are excluded by {@code .dockerignore} are filtered out locally, and the
+	 * remaining files are archived while they are being sent over the builder's standard input stream. This
+	 * avoids walking excluded directories (e.g. {@code node_modules} or build outputs), and allows the build
+	 * context to be sent to remote builders that cannot access the local filesystem.
+	 * <p>
+	 * If {@link #splitPlatforms(boolean) platforms are built separately}, the build context is streamed to
+	 * each platform's build.
+	 *
+	 * @param streamContext {@code true} to stream the build context
+	 * @return this
+	 */
+	ContainerImageBuilder streamContext(boolean streamContext);
+
 	/**
 	 * Adds a build listener.
+	 * <p>
+	 * To observe the timing and cache usage of individual build steps, use
+	 * {@link DefaultBuildListener#DefaultBuildListener(BuildProgressListener)}.
 	 *
 	 * @param listener the build listener
 	 * @return this
@@ -108,6 +177,8 @@
 	 * @throws NullPointerException         if {@code buildContext} is null
 	 * @throws IllegalArgumentException     if {@code buildContext} is not a valid {@code Path}
 	 * @throws FileNotFoundException        if a referenced path does not exist
+	 * @throws IllegalStateException        if {@link #splitPlatforms(boolean) platforms are built separately}
+	 *                                      but the image does not have a reference or a registry exporter
 	 * @throws UnsupportedExporterException if the builder does not support one of the requested exporters
 	 * @throws ContextNotFoundException     if the Docker context cannot be found or resolved
 	 * @throws IOException                  if an I/O error occurs. These errors are typically transient, and
@@ -128,6 +199,8 @@
 	 * @return the new image, or null if none of the {@link #export(Exporter) exports} output an image
 	 * @throws NullPointerException         if {@code buildContext} is null
 	 * @throws FileNotFoundException        if a referenced path does not exist
+	 * @throws IllegalStateException        if {@link #splitPlatforms(boolean) platforms are built separately}
+	 *                                      but the image does not have a reference or a registry exporter
 	 * @throws UnsupportedExporterException if the builder does not support one of the requested exporters
 	 * @throws ContextNotFoundException     if the Docker context cannot be found or resolved
 	 * @throws IOException                  if an I/O error occurs. These errors are typically transient, and
@@ -461,4 +534,178 @@ public String toCommandLine()
 			return name().toLowerCase(Locale.ROOT);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * An external location that stores the build cache.
+	 */
+	sealed interface Cache permits AbstractCache
+	{
+		/**
+		 * Stores the cache in an image registry, separately from the image.
+		 *
+		 * @param repository the repository to store the cache in (e.g. {@code docker.io/user/app}). The cache
+		 *                   is tagged using its {@link CacheBuilder#scope(String) scope}.
+		 * @return the cache
+		 * @throws NullPointerException     if {@code repository} is null
+		 * @throws IllegalArgumentException if {@code repository} contains whitespace, a tag or a digest, or is
+		 *                                  empty
+		 */
+		@CheckReturnValue
+		static RegistryCacheBuilder registry(String repository)
+		{
+			return new DefaultRegistryCacheBuilder(repository);
+		}
+
+		/**
+		 * Stores the cache in a local directory.
+		 * <p>
+		 * When the directory is shared between build agents (e.g. using a network file system or a CI cache),
+		 * this is a stand-in for the GitHub Actions cache: each {@link CacheBuilder#scope(String) scope} is
+		 * stored in its own subdirectory.
+		 *
+		 * @param directory the path of the directory
+		 * @return the cache
+		 * @throws NullPointerException     if {@code directory} is null
+		 * @throws IllegalArgumentException if {@code directory} contains whitespace or is empty
+		 */
+		@CheckReturnValue
+		static LocalCacheBuilder local(String directory)
+		{
+			return new DefaultLocalCacheBuilder(directory);
+		}
+
+		/**
+		 * Embeds the cache in the image that is pushed to the registry.
+		 * <p>
+		 * Inline caches only contain the layers of the final stage ({@link CacheMode#MIN}), and can only be used
+		 * as a {@link ContainerImageBuilder#cacheTo(Cache) destination}. To import an inline cache, pass the
+		 * image's reference to {@link ContainerImageBuilder#cacheFrom(String)}.
+		 *
+		 * @return the cache
+		 */
+		@CheckReturnValue
+		static Cache inline()
+		{
+			return InlineCache.INSTANCE;
+		}
+	}
+
+	/**
+	 * Builds an external cache location.
+	 */
+	interface CacheBuilder
+	{
+		/**
+		 * Sets the scope of the cache, which allows builds of different branches or variants to maintain
+		 * separate caches at the same location. By default, the scope is {@code buildcache}.
+		 *
+		 * @param scope the scope (e.g. the name of a branch)
+		 * @return this
+		 * @throws NullPointerException     if {@code scope} is null
+		 * @throws IllegalArgumentException if {@code scope} contains characters other than letters, digits,
+		 *                                  {@code '_'}, {@code '.'} or {@code '-'}, or is empty
+		 */
+		CacheBuilder scope(String scope);
+
+		/**
+		 * Sets the layers that are exported. By default, {@link CacheMode#MIN} is used.
+		 * <p>
+		 * This setting has no effect when importing the cache.
+		 *
+		 * @param mode the cache mode
+		 * @return this
+		 * @throws NullPointerException if {@code mode} is null
+		 */
+		CacheBuilder mode(CacheMode mode);
+
+		/**
+		 * Sets the compression type used when exporting the cache.
+		 *
+		 * @param type the type
+		 * @return this
+		 * @throws NullPointerException if {@code type} is null
+		 */
+		CacheBuilder compressionType(CompressionType type);
+
+		/**
+		 * Sets the compression level used when exporting the cache.
+		 *
+		 * @param compressionLevel the compression level, increasing the compression effort as the level
+		 *                         increases
+		 * @return this
+		 * @throws IllegalArgumentException if {@code compressionLevel} is negative
+		 * @see ImageExporterBuilder#compressionLevel(int)
+		 */
+		CacheBuilder compressionLevel(int compressionLevel);
+
+		/**
+		 * Builds the cache location. Later changes to this builder have no effect on the returned value.
+		 *
+		 * @return the cache location
+		 * @throws IllegalArgumentException if the compression level is out of range for the compression type
+		 */
+		Cache build();
+	}
+
+	/**
+	 * Builds a cache that is stored in an image registry.
+	 */
+	interface RegistryCacheBuilder extends CacheBuilder
+	{
+		@Override
+		RegistryCacheBuilder scope(String scope);
+
+		@Override
+		RegistryCacheBuilder mode(CacheMode mode);
+
+		@Override
+		RegistryCacheBuilder compressionType(CompressionType type);
+
+		@Override
+		RegistryCacheBuilder compressionLevel(int compressionLevel);
+	}
+
+	/**
+	 * Builds a cache that is stored in a local directory.
+	 */
+	interface LocalCacheBuilder extends CacheBuilder
+	{
+		@Override
+		LocalCacheBuilder scope(String scope);
+
+		@Override
+		LocalCacheBuilder mode(CacheMode mode);
+
+		@Override
+		LocalCacheBuilder compressionType(CompressionType type);
+
+		@Override
+		LocalCacheBuilder compressionLevel(int compressionLevel);
+	}
+
+	/**
+	 * The layers that are exported to a cache.
+	 */
+	enum CacheMode
+	{
+		/**
+		 * Only export the layers of the resulting image.
+		 */
+		MIN,
+		/**
+		 * Export the layers of all the intermediate stages. This maximizes cache hits at the expense of a
+		 * larger cache.
+		 */
+		MAX;
+
+		/**
+		 * Returns the command-line representation of this option.
+		 *
+		 * @return the command-line value
+		 */
+		public String toCommandLine()
+		{
+			return name().toLowerCase(Locale.ROOT);
+		}
+	}
+}
@@ -1,9 +1,12 @@
 package io.github.cowwoc.anchor4j.container.core.resource;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.github.cowwoc.anchor4j.container.core.exception.BuilderNotFoundException;
 import io.github.cowwoc.anchor4j.container.core.exception.ContextNotFoundException;
 import io.github.cowwoc.anchor4j.container.core.exception.UnsupportedExporterException;
+import io.github.cowwoc.anchor4j.container.core.internal.parser.BuildProgressParser;
 import io.github.cowwoc.anchor4j.container.core.internal.parser.BuildXParser;
+import io.github.cowwoc.anchor4j.container.core.internal.util.OutputBuffer;
 import io.github.cowwoc.anchor4j.core.internal.util.Exceptions;
 import io.github.cowwoc.anchor4j.core.internal.util.Processes;
 import io.github.cowwoc.anchor4j.core.internal.util.Threads;
@@ -14,15 +17,22 @@
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.StringJoiner;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
 /**
  * The default implementation of {@code BuildListener}.
+ * <p>
+ * Only the last {@value #MAXIMUM_RETAINED_OUTPUT} characters of each output stream are retained. Long builds
+ * therefore do not accumulate their entire output in memory.
  */
 @SuppressWarnings("PMD.MoreThanOneLogger")
 public class DefaultBuildListener implements BuildListener
@@ -50,13 +60,43 @@ public class DefaultBuildListener implements BuildListener
 		it is being used by another process\\.""");
 
 	/**
-	 * The lines returned by the build's standard output stream.
+	 * The maximum number of characters to retain from each of the build's output streams.
+	 */
+	public static final int MAXIMUM_RETAINED_OUTPUT = 1024 * 1024;
+
+	/**
+	 * The build's standard output stream.
+	 *
+	 * @deprecated This field accumulates the build's entire output. Use {@link #stdoutBuffer} instead, which
+	 * 	limits memory usage.
 	 */
+	@Deprecated(forRemoval = true)
 	protected StringJoiner stdoutJoiner = new StringJoiner("\n");
 	/**
-	 * The lines returned by the build's standard error stream.
+	 * The build's standard error stream, excluding progress updates.
+	 *
+	 * @deprecated This field accumulates the build's entire output. Use {@link #stderrBuffer} instead, which
+	 * 	limits memory usage.
 	 */
+	@Deprecated(forRemoval = true)
 	protected StringJoiner stderrJoiner = new StringJoiner("\n");
+	/**
+	 * The last lines returned by the build's standard output stream.
+	 */
+	protected OutputBuffer stdoutBuffer = new OutputBuffer(MAXIMUM_RETAINED_OUTPUT);
+	/**
+	 * The last lines returned by the build's standard error stream, excluding progress updates.
+	 */
+	protected OutputBuffer stderrBuffer = new OutputBuffer(MAXIMUM_RETAINED_OUTPUT);
+	/**
+	 * The listener to notify as the build's steps progress, or {@code null} if the build reports its progress
+	 * in plain text.
+	 */
+	private final BuildProgressListener progressListener;
+	/**
+	 * The parser of progress updates, or {@code null} if the build reports its progress in plain text.
+	 */
+	private final BuildProgressParser progressParser;
 	/**
 	 * The exceptions thrown while reading the build's output.
 	 */
@@ -90,11 +130,61 @@ public class DefaultBuildListener implements BuildListener
 	 */
 	protected final Logger stderrLog = LoggerFactory.getLogger(BuildListener.class.getName() + ".stderr");
 
+	/**
+	 * Creates a listener that expects the build to report its progress in plain text.
+	 */
+	public DefaultBuildListener()
+	{
+		this.progressListener = null;
+		this.progressParser = null;
+	}
+
+	/**
+	 * Creates a listener that expects the build to report its progress using {@code --progress=rawjson}.
+	 *
+	 * @param progressListener the listener to notify as the build's steps progress
+	 * @throws NullPointerException if {@code progressListener} is null
+	 */
+	public DefaultBuildListener(BuildProgressListener progressListener)
+	{
+		requireThat(progressListener, "progressListener").isNotNull();
+		this.progressListener = progressListener;
+		this.progressParser = new BuildProgressParser(progressListener);
+	}
+
+	@Override
+	public boolean isRawJsonProgress()
+	{
+		return progressParser != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The returned listener forwards the progress of the platform's build to this listener's
+	 * {@code BuildProgressListener}, one event at a time. Subclasses that do not override this method return
+	 * this listener, so that their callbacks are invoked for each platform.
+	 */
+	@Override
+	public BuildListener forPlatform(String platform)
+	{
+		requireThat(platform, "platform").isNotNull();
+		if (getClass() != DefaultBuildListener.class)
+			return this;
+		if (progressListener == null)
+			return new DefaultBuildListener();
+		return new DefaultBuildListener(new SynchronizedProgressListener(progressListener));
+	}
+
 	@Override
 	public void buildStarted(BufferedReader stdoutReader, BufferedReader stderrReader, WaitFor waitFor)
 	{
+		this.stdoutBuffer = new OutputBuffer(MAXIMUM_RETAINED_OUTPUT);
+		this.stderrBuffer = new OutputBuffer(MAXIMUM_RETAINED_OUTPUT);
 		this.stdoutJoiner = new StringJoiner("\n");
 		this.stderrJoiner = new StringJoiner("\n");
+		if (progressParser != null)
+			progressParser.reset();
 		this.stdoutReader = stdoutReader;
 		this.stderrReader = stderrReader;
 		this.waitFor = waitFor;
@@ -121,6 +211,7 @@ public void buildStarted(BufferedReader stdoutReader, BufferedReader stderrReade
 	 */
 	protected void onStdoutLine(String line)
 	{
+		stdoutBuffer.add(line);
 		stdoutJoiner.add(line);
 		stdoutLog.debug(line);
 	}
@@ -132,9 +223,22 @@ protected void onStdoutLine(String line)
 	 */
 	protected void onStderrLine(String line)
 	{
-		stderrJoiner.add(line);
 		// Docker writes build progress to stderr; this does not indicate an error.
 		stderrLog.debug(line);
+		if (progressParser != null && BuildProgressParser.isProgress(line))
+		{
+			try
+			{
+				progressParser.accept(line);
+				return;
+			}
+			catch (JsonProcessingException _)
+			{
+				// Retain lines that merely look like progress updates
+			}
+		}
+		stderrBuffer.add(line);
+		stderrJoiner.add(line);
 	}
 
 	@Override
@@ -148,8 +252,8 @@ public Output waitUntilBuildCompletes() throws IOException, InterruptedException
 		if (exception != null)
 			throw exception;
 
-		String stdout = stdoutJoiner.toString();
-		String stderr = stderrJoiner.toString();
+		String stdout = stdoutBuffer.toString();
+		String stderr = stderrBuffer.toString();
 		int exitCode = waitFor.apply();
 		return new Output(stdout, stderr, exitCode);
 	}
@@ -224,4 +328,104 @@ public void buildCompleted() throws IOException
 		stdoutReader.close();
 		stderrReader.close();
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Serializes the progress events of builds that run concurrently.
+	 */
+	private static final class SynchronizedProgressListener implements BuildProgressListener
+	{
+		private final BuildProgressListener delegate;
+		private final ReentrantLock lock;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param delegate the listener to forward events to
+		 */
+		SynchronizedProgressListener(BuildProgressListener delegate)
+		{
+			assert delegate != null;
+			if (delegate instanceof SynchronizedProgressListener synchronizedListener)
+			{
+				// Share the lock of the outermost listener
+				this.delegate = synchronizedListener.delegate;
+				this.lock = synchronizedListener.lock;
+			}
+			else
+			{
+				this.delegate = delegate;
+				this.lock = new ReentrantLock();
+			}
+		}
+
+		@Override
+		public void stepStarted(Step step)
+		{
+			lock.lock();
+			try
+			{
+				delegate.stepStarted(step);
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void stepCached(Step step)
+		{
+			lock.lock();
+			try
+			{
+				delegate.stepCached(step);
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void stepCompleted(Step step, Duration duration)
+		{
+			lock.lock();
+			try
+			{
+				delegate.stepCompleted(step, duration);
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void stepFailed(Step step, String error)
+		{
+			lock.lock();
+			try
+			{
+				delegate.stepFailed(step, error);
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void bytesTransferred(Step step, String id, long current, long total)
+		{
+			lock.lock();
+			try
+			{
+				delegate.bytesTransferred(step, id, current, total);
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+	}
+}
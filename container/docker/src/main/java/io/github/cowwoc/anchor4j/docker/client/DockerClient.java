@@ -8,13 +8,20 @@
 import io.github.cowwoc.anchor4j.docker.exception.ResourceInUseException;
 import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
 import io.github.cowwoc.anchor4j.docker.internal.client.DefaultDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerRemover;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerStarter;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerStopper;
+import io.github.cowwoc.anchor4j.docker.resource.BulkImagePuller;
+import io.github.cowwoc.anchor4j.docker.resource.BulkImagePusher;
 import io.github.cowwoc.anchor4j.docker.resource.Config;
 import io.github.cowwoc.anchor4j.docker.resource.ConfigCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ConfigElement;
 import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCommitter;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerElement;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerLogs;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPoolCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerRemover;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerStarter;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerStopper;
@@ -26,10 +33,14 @@
 import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
 import io.github.cowwoc.anchor4j.docker.resource.DockerImageBuilder;
 import io.github.cowwoc.anchor4j.docker.resource.DockerImageElement;
+import io.github.cowwoc.anchor4j.docker.resource.FixtureImageCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ImagePuller;
 import io.github.cowwoc.anchor4j.docker.resource.ImagePusher;
 import io.github.cowwoc.anchor4j.docker.resource.ImageRemover;
 import io.github.cowwoc.anchor4j.docker.resource.JoinToken;
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpointStore;
+import io.github.cowwoc.anchor4j.docker.resource.LogMerger;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream;
 import io.github.cowwoc.anchor4j.docker.resource.Network;
 import io.github.cowwoc.anchor4j.docker.resource.NetworkElement;
 import io.github.cowwoc.anchor4j.docker.resource.Node;
@@ -39,6 +50,8 @@
 import io.github.cowwoc.anchor4j.docker.resource.Service;
 import io.github.cowwoc.anchor4j.docker.resource.ServiceCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ServiceElement;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceLogs;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceRollout;
 import io.github.cowwoc.anchor4j.docker.resource.SwarmCreator;
 import io.github.cowwoc.anchor4j.docker.resource.SwarmJoiner;
 import io.github.cowwoc.anchor4j.docker.resource.SwarmLeaver;
@@ -49,8 +62,10 @@
 import java.io.IOException;
 import java.net.ConnectException;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
@@ -266,6 +281,19 @@ List<Container> getContainers(Predicate<ContainerElement> predicate)
 	@CheckReturnValue
 	ContainerCreator createContainer(ContainerImage.Id imageId);
 
+	/**
+	 * Creates a pool of pre-started containers that are leased and reused.
+	 *
+	 * @param template creates the pool's containers. The template is copied, so later changes to it do not
+	 *                 affect the pool.
+	 * @return a container pool creator
+	 * @throws NullPointerException     if {@code template} is null
+	 * @throws IllegalArgumentException if {@code template} specifies a {@link ContainerCreator#name(String) name}
+	 *                                  or binds a container port to a specific host port
+	 */
+	@CheckReturnValue
+	ContainerPoolCreator createContainerPool(ContainerCreator template);
+
 	/**
 	 * Renames a container.
 	 *
@@ -378,6 +406,74 @@ DockerClient renameContainer(Container.Id id, String newName)
 	@CheckReturnValue
 	ContainerRemover removeContainer(Container.Id id);
 
+	/**
+	 * Starts multiple containers, passing many containers to each {@code docker} command.
+	 *
+	 * @param ids the containers' IDs or names
+	 * @return a bulk container starter
+	 * @throws NullPointerException     if {@code ids} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the IDs' format is invalid
+	 */
+	@CheckReturnValue
+	BulkContainerStarter startContainers(Collection<String> ids);
+
+	/**
+	 * Stops multiple containers, passing many containers to each {@code docker} command.
+	 *
+	 * @param ids the containers' IDs or names
+	 * @return a bulk container stopper
+	 * @throws NullPointerException     if {@code ids} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the IDs' format is invalid
+	 */
+	@CheckReturnValue
+	BulkContainerStopper stopContainers(Collection<String> ids);
+
+	/**
+	 * Removes multiple containers, passing many containers to each {@code docker} command.
+	 *
+	 * @param ids the containers' IDs or names
+	 * @return a bulk container remover
+	 * @throws NullPointerException     if {@code ids} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the IDs' format is invalid
+	 */
+	@CheckReturnValue
+	BulkContainerRemover removeContainers(Collection<String> ids);
+
+	/**
+	 * Creates an image from a container's filesystem.
+	 *
+	 * @param id the container's ID or name
+	 * @return a container committer
+	 * @throws NullPointerException     if {@code id} is null
+	 * @throws IllegalArgumentException if {@code id}'s format is invalid
+	 */
+	@CheckReturnValue
+	ContainerCommitter commitContainer(String id);
+
+	/**
+	 * Creates an image from a container's filesystem.
+	 *
+	 * @param id the container's ID or name
+	 * @return a container committer
+	 * @throws NullPointerException if {@code id} is null
+	 */
+	@CheckReturnValue
+	ContainerCommitter commitContainer(Container.Id id);
+
+	/**
+	 * Returns the image of a test fixture, creating it if it does not exist.
+	 *
+	 * @param name        the name of the fixture (e.g. {@code orders-db})
+	 * @param contentHash a hash of the fixture's contents, such as its seed data and schema. A new image is
+	 *                    created whenever the hash changes.
+	 * @return a fixture image creator
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code name} is not a valid image repository name, or
+	 *                                  {@code contentHash} is not a valid image tag
+	 */
+	@CheckReturnValue
+	FixtureImageCreator createFixtureImage(String name, String contentHash);
+
 	/**
 	 * Waits until a container stops.
 	 * <p>
@@ -464,6 +560,27 @@ Container waitUntilContainerStatus(Container.Status status, Container.Id id)
 	 */
 	ContainerLogs getContainerLogs(Container.Id id);
 
+	/**
+	 * Merges multiple log streams into a single stream that is ordered by timestamp.
+	 *
+	 * @param streams the streams to merge (e.g. the logs of each container in an application)
+	 * @return the merger
+	 * @throws NullPointerException     if {@code streams} is null or contains null elements
+	 * @throws IllegalArgumentException if {@code streams} is empty
+	 */
+	LogMerger mergeLogs(Collection<LogStream> streams);
+
+	/**
+	 * Opens a store that records the position of container log streams, creating it if it does not exist.
+	 *
+	 * @param file the path of the file to store checkpoints in
+	 * @return the store
+	 * @throws NullPointerException if {@code file} is null
+	 * @throws IOException          if an I/O error occurs while reading the file
+	 * @see ContainerLogs#checkpoints(LogCheckpointStore)
+	 */
+	LogCheckpointStore openLogCheckpointStore(Path file) throws IOException;
+
 	/**
 	 * Returns all the contexts.
 	 *
@@ -735,6 +852,18 @@ List<DockerImage> getImages(Predicate<DockerImageElement> predicate)
 	@CheckReturnValue
 	ImagePuller pullImage(String reference);
 
+	/**
+	 * Pulls multiple images from registries concurrently.
+	 *
+	 * @param references the {@link ContainerImage references} to pull. For example,
+	 *                   {@code docker.io/nasa/rocket-ship}
+	 * @return a bulk image puller
+	 * @throws NullPointerException     if {@code references} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the references' format is invalid
+	 */
+	@CheckReturnValue
+	BulkImagePuller pullImages(Collection<String> references);
+
 	/**
 	 * Pushes an image to a registry.
 	 *
@@ -748,6 +877,19 @@ List<DockerImage> getImages(Predicate<DockerImageElement> predicate)
 	@CheckReturnValue
 	ImagePusher pushImage(String reference) throws IOException, InterruptedException;
 
+	/**
+	 * Pushes multiple images to registries concurrently.
+	 *
+	 * @param references the {@link ContainerImage references} to push. For example,
+	 *                   {@code docker.io/nasa/rocket-ship}. The images must be present in the local image
+	 *                   store with the same names.
+	 * @return a bulk image pusher
+	 * @throws NullPointerException     if {@code references} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the references' format is invalid
+	 */
+	@CheckReturnValue
+	BulkImagePusher pushImages(Collection<String> references);
+
 	/**
 	 * Removes an image's tag. If the tag is the only one for the image, both the image and the tag are
 	 * removed.
@@ -1219,6 +1361,52 @@ Node.Id setNodeRole(Node.Id id, Role role, Instant deadline)
 	 */
 	List<Task> getTasksByService(Service.Id id) throws IOException, InterruptedException;
 
+	/**
+	 * Lists the tasks of multiple services. Unlike calling {@link #getTasksByService(Service.Id)} for each
+	 * service, the tasks are retrieved using a single command per batch of services.
+	 *
+	 * @param ids the services' IDs or names
+	 * @return the tasks
+	 * @throws NullPointerException     if {@code ids} is null or contains null elements
+	 * @throws IllegalArgumentException if {@code ids} is empty
+	 * @throws NotSwarmManagerException if the current node is not a swarm manager
+	 * @throws IOException              if an I/O error occurs. These errors are typically transient, and
+	 *                                  retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted before the operation completes. This can
+	 *                                  happen due to shutdown signals.
+	 */
+	List<Task> getTasksByServices(Collection<Service.Id> ids) throws IOException, InterruptedException;
+
+	/**
+	 * Waits until services are running all of their desired tasks, such as after creating or updating them.
+	 *
+	 * @param ids the services' IDs or names
+	 * @return the rollout
+	 * @throws NullPointerException     if {@code ids} is null or contains null elements
+	 * @throws IllegalArgumentException if {@code ids} is empty
+	 */
+	@CheckReturnValue
+	ServiceRollout waitForRollout(Collection<Service.Id> ids);
+
+	/**
+	 * Retrieves the logs of a service's tasks.
+	 *
+	 * @param id the service's ID or name
+	 * @return the logs
+	 * @throws NullPointerException     if {@code id} is null
+	 * @throws IllegalArgumentException if {@code id}'s format is invalid
+	 */
+	ServiceLogs getServiceLogs(String id);
+
+	/**
+	 * Retrieves the logs of a service's tasks.
+	 *
+	 * @param id the service's ID or name
+	 * @return the logs
+	 * @throws NullPointerException if {@code id} is null
+	 */
+	ServiceLogs getServiceLogs(Service.Id id);
+
 	/**
 	 * Creates a service.
 	 *
@@ -16,34 +16,56 @@
 import io.github.cowwoc.anchor4j.docker.internal.parser.ContainerParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ContextParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ImageParser;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ImageTransferProgressParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.NetworkParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.NodeParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ServiceParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.SwarmParser;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultBulkContainerRemover;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultBulkContainerStarter;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultBulkContainerStopper;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultBulkImagePuller;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultBulkImagePusher;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultConfigCreator;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContainerCommitter;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContainerCreator;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContainerLogs;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContainerPoolCreator;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContainerRemover;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContainerStarter;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContainerStopper;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContextCreator;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultContextRemover;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultDockerImageBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultFixtureImageCreator;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultImagePuller;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultImagePuller.PullKey;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultImagePusher;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultImageRemover;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultLogCheckpointStore;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultLogMerger;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultNodeRemover;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultServiceCreator;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultServiceLogs;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultServiceRollout;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultSwarmCreator;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultSwarmJoiner;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultSwarmLeaver;
+import io.github.cowwoc.anchor4j.docker.internal.util.SingleFlight;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerRemover;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerStarter;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerStopper;
+import io.github.cowwoc.anchor4j.docker.resource.BulkImagePuller;
+import io.github.cowwoc.anchor4j.docker.resource.BulkImagePusher;
 import io.github.cowwoc.anchor4j.docker.resource.Config;
 import io.github.cowwoc.anchor4j.docker.resource.ConfigCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ConfigElement;
 import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCommitter;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerElement;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerLogs;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPoolCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerRemover;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerStarter;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerStopper;
@@ -55,10 +77,14 @@
 import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
 import io.github.cowwoc.anchor4j.docker.resource.DockerImageBuilder;
 import io.github.cowwoc.anchor4j.docker.resource.DockerImageElement;
+import io.github.cowwoc.anchor4j.docker.resource.FixtureImageCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ImagePuller;
 import io.github.cowwoc.anchor4j.docker.resource.ImagePusher;
 import io.github.cowwoc.anchor4j.docker.resource.ImageRemover;
 import io.github.cowwoc.anchor4j.docker.resource.JoinToken;
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpointStore;
+import io.github.cowwoc.anchor4j.docker.resource.LogMerger;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream;
 import io.github.cowwoc.anchor4j.docker.resource.Network;
 import io.github.cowwoc.anchor4j.docker.resource.NetworkElement;
 import io.github.cowwoc.anchor4j.docker.resource.Node;
@@ -69,6 +95,8 @@
 import io.github.cowwoc.anchor4j.docker.resource.Service;
 import io.github.cowwoc.anchor4j.docker.resource.ServiceCreator;
 import io.github.cowwoc.anchor4j.docker.resource.ServiceElement;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceLogs;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceRollout;
 import io.github.cowwoc.anchor4j.docker.resource.SwarmCreator;
 import io.github.cowwoc.anchor4j.docker.resource.SwarmJoiner;
 import io.github.cowwoc.anchor4j.docker.resource.SwarmLeaver;
@@ -83,6 +111,7 @@
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -95,7 +124,6 @@
 import java.util.stream.Collectors;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
-import static java.nio.charset.StandardCharsets.UTF_8;
 
 @SuppressWarnings("PMD.MoreThanOneLogger")
 public final class DefaultDockerClient extends AbstractInternalContainerClient
@@ -129,6 +157,11 @@ private static Path getExecutableFromPath() throws IOException
 	 * The exit code returned by Docker in response to SIGTERM.
 	 */
 	private static final int SIGTERM = 143;
+	/**
+	 * The maximum number of services to pass to a single {@code docker service ps} command, to stay within the
+	 * platform's command-line length limit.
+	 */
+	private static final int SERVICES_PER_COMMAND = 100;
 	private Context.Id clientContext;
 	@SuppressWarnings("this-escape")
 	private final ConfigParser configParser = new ConfigParser(this);
@@ -146,6 +179,8 @@ private static Path getExecutableFromPath() throws IOException
 	private final ServiceParser serviceParser = new ServiceParser(this);
 	@SuppressWarnings("this-escape")
 	private final SwarmParser swarmParser = new SwarmParser(this);
+	private final SingleFlight<PullKey, ContainerImage.Id> imagePulls = new SingleFlight<>();
+	private final SingleFlight<String, DockerImage> fixtureImages = new SingleFlight<>();
 
 	/**
 	 * Creates a client that uses the {@code docker} executable located in the {@code PATH} environment
@@ -357,6 +392,12 @@ public ContainerCreator createContainer(ContainerImage.Id imageId)
 		return new DefaultContainerCreator(this, imageId);
 	}
 
+	@Override
+	public ContainerPoolCreator createContainerPool(ContainerCreator template)
+	{
+		return new DefaultContainerPoolCreator(this, template);
+	}
+
 	@Override
 	public DockerClient renameContainer(String id, String newName)
 		throws IOException, InterruptedException
@@ -414,6 +455,36 @@ public ContainerRemover removeContainer(Container.Id id)
 		return new DefaultContainerRemover(this, id);
 	}
 
+	@Override
+	public ContainerCommitter commitContainer(String id)
+	{
+		return commitContainer(Container.id(id));
+	}
+
+	@Override
+	public ContainerCommitter commitContainer(Container.Id id)
+	{
+		return new DefaultContainerCommitter(this, id);
+	}
+
+	@Override
+	public BulkContainerStarter startContainers(Collection<String> ids)
+	{
+		return new DefaultBulkContainerStarter(this, ids);
+	}
+
+	@Override
+	public BulkContainerStopper stopContainers(Collection<String> ids)
+	{
+		return new DefaultBulkContainerStopper(this, ids);
+	}
+
+	@Override
+	public BulkContainerRemover removeContainers(Collection<String> ids)
+	{
+		return new DefaultBulkContainerRemover(this, ids);
+	}
+
 	@Override
 	public int waitUntilContainerStops(String id) throws IOException, InterruptedException
 	{
@@ -580,6 +651,18 @@ public ContainerLogs getContainerLogs(Container.Id id)
 		return new DefaultContainerLogs(this, id);
 	}
 
+	@Override
+	public LogMerger mergeLogs(Collection<LogStream> streams)
+	{
+		return new DefaultLogMerger(streams);
+	}
+
+	@Override
+	public LogCheckpointStore openLogCheckpointStore(Path file) throws IOException
+	{
+		return new DefaultLogCheckpointStore(file, getJsonMapper());
+	}
+
 	@Override
 	public List<Context> getContexts() throws IOException, InterruptedException
 	{
@@ -754,18 +837,60 @@ public void tagImage(ContainerImage.Id id, String target) throws IOException, In
 		getImageParser().tag(result);
 	}
 
+	@Override
+	public SingleFlight<PullKey, ContainerImage.Id> getImagePulls()
+	{
+		return imagePulls;
+	}
+
+	@Override
+	public SingleFlight<String, DockerImage> getFixtureImages()
+	{
+		return fixtureImages;
+	}
+
+	@Override
+	public FixtureImageCreator createFixtureImage(String name, String contentHash)
+	{
+		return new DefaultFixtureImageCreator(this, name, contentHash);
+	}
+
 	@Override
 	public ImagePuller pullImage(String reference)
 	{
 		return new DefaultImagePuller(this, reference);
 	}
 
+	@Override
+	public BulkImagePuller pullImages(Collection<String> references)
+	{
+		return new DefaultBulkImagePuller(this, references);
+	}
+
 	@Override
 	public ImagePusher pushImage(String reference)
 	{
 		return new DefaultImagePusher(this, reference);
 	}
 
+	@Override
+	public BulkImagePusher pushImages(Collection<String> references)
+	{
+		return new DefaultBulkImagePusher(this, references);
+	}
+
+	@Override
+	public CommandResult run(List<String> arguments, ImageTransferProgressParser progress)
+		throws IOException, InterruptedException
+	{
+		// Discard the progress of previous attempts
+		progress.reset();
+		return new CommandRunner(getProcessBuilder(arguments)).
+			stdoutListener(progress::accept).
+			failureHandler(this::commandFailed).
+			apply();
+	}
+
 	@Override
 	public ImageRemover removeImageTag(String reference)
 	{
@@ -1125,6 +1250,49 @@ public List<Task> getTasksByService(Service.Id id) throws IOException, Interrupt
 		return getNodeParser().listTasksByService(result);
 	}
 
+	@Override
+	public List<Task> getTasksByServices(Collection<Service.Id> ids) throws IOException, InterruptedException
+	{
+		requireThat(ids, "ids").isNotEmpty().doesNotContain(null);
+
+		// https://docs.docker.com/reference/cli/docker/service/ps/
+		List<Service.Id> idsAsList = List.copyOf(ids);
+		List<Task> tasks = new ArrayList<>();
+		for (int start = 0; start < idsAsList.size(); start += SERVICES_PER_COMMAND)
+		{
+			List<Service.Id> batch = idsAsList.subList(start,
+				Math.min(start + SERVICES_PER_COMMAND, idsAsList.size()));
+			List<String> arguments = new ArrayList<>(4 + batch.size());
+			arguments.add("service");
+			arguments.add("ps");
+			arguments.add("--format");
+			arguments.add("json");
+			for (Service.Id id : batch)
+				arguments.add(id.getValue());
+			CommandResult result = retry(_ -> run(arguments));
+			tasks.addAll(getNodeParser().listTasksByService(result));
+		}
+		return tasks;
+	}
+
+	@Override
+	public ServiceRollout waitForRollout(Collection<Service.Id> ids)
+	{
+		return new DefaultServiceRollout(this, ids);
+	}
+
+	@Override
+	public ServiceLogs getServiceLogs(String id)
+	{
+		return getServiceLogs(Service.id(id));
+	}
+
+	@Override
+	public ServiceLogs getServiceLogs(Service.Id id)
+	{
+		return new DefaultServiceLogs(this, id);
+	}
+
 	@Override
 	public Task getTask(String id) throws IOException, InterruptedException
 	{
@@ -1214,12 +1382,11 @@ public List<Object> getResources(Predicate<? super Class<?>> typeFilter,
 			}
 
 			List<Service> servicesAsList = services.get();
-			List<Task> tasks = new ArrayList<>();
-			if (types.contains(Task.class))
-			{
-				for (Service service : servicesAsList)
-					tasks.addAll(getTasksByService(service.getId()));
-			}
+			List<Task> tasks;
+			if (types.contains(Task.class) && !servicesAsList.isEmpty())
+				tasks = getTasksByServices(servicesAsList.stream().map(Service::getId).toList());
+			else
+				tasks = List.of();
 
 			return Lists.combine(configs.get(), containers.get(), contexts.get(), dockerImages.get(), nodes.get(),
 				servicesAsList, tasks);
@@ -1229,5 +1396,6 @@ public List<Object> getResources(Predicate<? super Class<?>> typeFilter,
 	@Override
 	public void close()
 	{
+		super.close();
 	}
-}
\ No newline at end of file
+}
@@ -1,15 +1,24 @@
 package io.github.cowwoc.anchor4j.docker.internal.client;
 
 import io.github.cowwoc.anchor4j.container.core.internal.client.InternalContainerClient;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
 import io.github.cowwoc.anchor4j.docker.client.DockerClient;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ConfigParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ContainerParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ContextParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ImageParser;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ImageTransferProgressParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.NetworkParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.NodeParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.ServiceParser;
 import io.github.cowwoc.anchor4j.docker.internal.parser.SwarmParser;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultImagePuller.PullKey;
+import io.github.cowwoc.anchor4j.docker.internal.util.SingleFlight;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+
+import java.io.IOException;
+import java.util.List;
 
 /**
  * The internals of a Docker client.
@@ -55,4 +64,34 @@ public interface InternalDockerClient extends InternalContainerClient, DockerCli
 	 * @return a {@code SwarmParser}
 	 */
 	SwarmParser getSwarmParser();
-}
\ No newline at end of file
+
+	/**
+	 * Returns the image pulls that are in progress. Concurrent pulls of the same image join a single
+	 * {@code docker image pull} process.
+	 *
+	 * @return the image pulls
+	 */
+	SingleFlight<PullKey, ContainerImage.Id> getImagePulls();
+
+	/**
+	 * Returns the fixture images that are being looked up or created. Concurrent requests for the same
+	 * fixture share a single initialization.
+	 *
+	 * @return the fixture images, keyed by their reference
+	 */
+	SingleFlight<String, DockerImage> getFixtureImages();
+
+	/**
+	 * Runs a command that transfers an image, passing each line of stdout to a progress parser.
+	 *
+	 * @param arguments the command-line arguments to pass to the executable
+	 * @param progress  the parser to pass the command's output to
+	 * @return the result of the command
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	CommandResult run(List<String> arguments, ImageTransferProgressParser progress)
+		throws IOException, InterruptedException;
+}
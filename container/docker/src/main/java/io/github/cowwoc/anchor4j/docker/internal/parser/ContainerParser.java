@@ -4,6 +4,7 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.github.cowwoc.anchor4j.container.core.internal.parser.AbstractContainerParser;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
 import io.github.cowwoc.anchor4j.core.resource.CommandResult;
 import io.github.cowwoc.anchor4j.docker.exception.ResourceInUseException;
 import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
@@ -16,19 +17,29 @@
 import io.github.cowwoc.anchor4j.docker.resource.Container.Status;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerElement;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerRemover;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
 import io.github.cowwoc.anchor4j.docker.resource.Protocol;
 
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.that;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.regex.Pattern.DOTALL;
 
 /**
@@ -43,6 +54,11 @@ public final class ContainerParser extends AbstractContainerParser
 	private static final Pattern CONTAINER_IN_USE = Pattern.compile("""
 		Error response from daemon: cannot remove container "([^"]+)": container is running: stop the \
 		container before removing or force remove""");
+	/**
+	 * The summary that follows the errors of a bulk operation, e.g.
+	 * {@code Error: failed to start containers: a, b}.
+	 */
+	private static final Pattern BULK_FAILURE_SUMMARY = Pattern.compile("^Error: failed to \\S+ containers: .*");
 	private static final Pattern CONFLICTING_NAME = Pattern.compile("""
 		Error response from daemon: Conflict\\. The container name "([^"]+)" is already in use by container \
 		"([^"]+)"\\. You have to remove \\(or rename\\) that container to be able to reuse that name\\.""");
@@ -286,6 +302,84 @@ public void stop(CommandResult result) throws ResourceNotFoundException
 		}
 	}
 
+	/**
+	 * Returns the reason that retrieving a container's logs failed.
+	 *
+	 * @param result the result of executing a command that returned a non-zero exit code
+	 * @return a {@code ResourceNotFoundException} if the container does not exist, or an
+	 *         {@code AssertionError} if the response was unexpected
+	 */
+	public Throwable getLogsFailure(CommandResult result)
+	{
+		assert result.exitCode() != 0 : result;
+		Matcher matcher = CONTAINER_NOT_FOUND.matcher(result.stderr());
+		if (matcher.matches())
+			return new ResourceNotFoundException("Container not found: " + matcher.group(1));
+		return result.unexpectedResponse();
+	}
+
+	/**
+	 * Parses a line of {@code docker container logs --timestamps}.
+	 * <p>
+	 * Lines that do not begin with a timestamp are typically error messages generated by the CLI.
+	 *
+	 * @param source the ID or name of the container
+	 * @param stream the stream that the line was read from
+	 * @param line   the line, excluding the line terminator
+	 * @return {@code null} if the line does not begin with a timestamp
+	 */
+	public LogLine logLine(String source, Stream stream, byte[] line)
+	{
+		// Format: "<RFC3339Nano timestamp> <message>"
+		int separator = indexOf(line, (byte) ' ', 0);
+		if (separator == -1)
+			return null;
+		Instant timestamp = getTimestamp(line, 0, separator);
+		if (timestamp == null)
+			return null;
+		int start = separator + 1;
+		return new LogLine(source, timestamp, stream, ByteBuffer.wrap(line, start, line.length - start).slice());
+	}
+
+	/**
+	 * Returns the index of a byte.
+	 *
+	 * @param bytes     the bytes to search
+	 * @param value     the value to search for
+	 * @param fromIndex the index to start searching at
+	 * @return {@code -1} if the value was not found
+	 */
+	static int indexOf(byte[] bytes, byte value, int fromIndex)
+	{
+		for (int i = fromIndex; i < bytes.length; ++i)
+		{
+			if (bytes[i] == value)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Parses a log timestamp.
+	 *
+	 * @param bytes the bytes that contain the timestamp
+	 * @param start the index of the first byte of the timestamp
+	 * @param end   the index after the last byte of the timestamp
+	 * @return {@code null} if the bytes do not contain a timestamp
+	 */
+	static Instant getTimestamp(byte[] bytes, int start, int end)
+	{
+		try
+		{
+			return DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(new String(bytes, start, end - start, US_ASCII),
+				Instant::from);
+		}
+		catch (DateTimeParseException _)
+		{
+			return null;
+		}
+	}
+
 	/**
 	 * Waits until the container stops. If the container is already stopped, this method has no effect.
 	 *
@@ -335,4 +429,100 @@ public void remove(CommandResult result) throws ResourceInUseException
 			throw result.unexpectedResponse();
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Creates an image from a container.
+	 *
+	 * @param result the result of executing a command
+	 * @return the ID of the image
+	 * @throws ResourceNotFoundException if the container does not exist
+	 */
+	public ContainerImage.Id commit(CommandResult result) throws ResourceNotFoundException
+	{
+		if (result.exitCode() != 0)
+		{
+			String stderr = result.stderr();
+			Matcher matcher = CONTAINER_NOT_FOUND.matcher(stderr);
+			if (matcher.matches())
+				throw new ResourceNotFoundException("Container not found: " + matcher.group(1));
+			throw result.unexpectedResponse();
+		}
+		// The output is the image's ID, e.g. "sha256:<hash>"
+		String stdout = result.stdout().strip();
+		if (stdout.isEmpty())
+			throw result.unexpectedResponse();
+		return ContainerImage.id(stdout);
+	}
+
+	/**
+	 * Parses the result of applying an operation to multiple containers.
+	 * <p>
+	 * The CLI writes the ID or name of each container that succeeded to stdout, and an error message for each
+	 * container that failed to stderr. Containers whose outcome the command did not report, such as when the
+	 * connection to the daemon is lost partway through, are omitted from the returned map.
+	 *
+	 * @param result        the result of executing a command
+	 * @param ids           the IDs or names of the containers that were passed to the command
+	 * @param ignoreMissing {@code true} if containers that do not exist should be reported as successful
+	 * @return a map from the ID or name of each container whose outcome was reported to the reason that it
+	 *         failed, or {@code null} if it succeeded
+	 */
+	public Map<String, Exception> bulkOperation(CommandResult result, List<String> ids, boolean ignoreMissing)
+	{
+		Map<String, Exception> idToFailure = new HashMap<>();
+		for (String line : SPLIT_LINES.split(result.stdout()))
+		{
+			if (!line.isBlank())
+				idToFailure.put(line.strip(), null);
+		}
+		for (String line : SPLIT_LINES.split(result.stderr()))
+		{
+			if (line.isBlank() || BULK_FAILURE_SUMMARY.matcher(line).matches())
+				continue;
+			Matcher matcher = CONTAINER_NOT_FOUND.matcher(line);
+			if (matcher.matches())
+			{
+				String id = matcher.group(1);
+				if (ignoreMissing)
+					idToFailure.put(id, null);
+				else
+					idToFailure.put(id, new ResourceNotFoundException("Container not found: " + id));
+				continue;
+			}
+			matcher = CONTAINER_IN_USE.matcher(line);
+			if (matcher.matches())
+			{
+				// The daemon refers to containers by their name, prefixed by a slash
+				String id = matcher.group(1);
+				if (id.startsWith("/"))
+					id = id.substring(1);
+				idToFailure.put(id, new ResourceInUseException("Container must be stopped first: " + id));
+				continue;
+			}
+			// Other errors are reported as "<id>: <message>", optionally preceded by a prefix such as
+			// "Error response from daemon: cannot stop container: "
+			String id = getBulkFailureId(line, ids);
+			if (id != null)
+				idToFailure.put(id, new IOException(line));
+		}
+		idToFailure.keySet().retainAll(ids);
+		return idToFailure;
+	}
+
+	/**
+	 * Looks up the container that an error message refers to.
+	 *
+	 * @param line an error message
+	 * @param ids  the IDs or names of the containers that were passed to the command
+	 * @return null if the message does not refer to any of the containers
+	 */
+	private static String getBulkFailureId(String line, List<String> ids)
+	{
+		for (String id : ids)
+		{
+			if (line.startsWith(id + ": ") || line.contains(" " + id + ": "))
+				return id;
+		}
+		return null;
+	}
+}
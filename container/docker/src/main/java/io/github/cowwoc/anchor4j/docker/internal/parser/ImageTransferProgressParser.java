@@ -0,0 +1,73 @@
+package io.github.cowwoc.anchor4j.docker.internal.parser;
+
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferListener;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts the output of {@code docker image pull} and {@code docker image push} into
+ * {@link ImageTransferListener} events.
+ * <p>
+ * When stdout is not a terminal, the CLI prints a line whenever the status of a layer changes (e.g.
+ * {@code 4f4fb700ef54: Pull complete}).
+ */
+public final class ImageTransferProgressParser
+{
+	private static final Pattern LAYER_STATUS = Pattern.compile("^([0-9a-f]{12}): (.+)$");
+	/**
+	 * The statuses of layers that no longer need to be transferred.
+	 */
+	private static final Set<String> COMPLETED = Set.of("Pull complete", "Already exists", "Pushed",
+		"Layer already exists");
+	private final String reference;
+	private final ImageTransferListener listener;
+	private final Set<String> layers = new HashSet<>();
+	private final Set<String> completedLayers = new HashSet<>();
+
+	/**
+	 * Creates a new parser.
+	 *
+	 * @param reference the reference of the image that is being transferred
+	 * @param listener  the listener to notify
+	 */
+	public ImageTransferProgressParser(String reference, ImageTransferListener listener)
+	{
+		assert reference != null;
+		assert listener != null;
+		this.reference = reference;
+		this.listener = listener;
+	}
+
+	/**
+	 * Discards the state of previous attempts.
+	 */
+	public void reset()
+	{
+		layers.clear();
+		completedLayers.clear();
+	}
+
+	/**
+	 * Parses a line of output, notifying the listener of any progress that it contains.
+	 *
+	 * @param line a line of stdout
+	 */
+	public void accept(String line)
+	{
+		Matcher matcher = LAYER_STATUS.matcher(line);
+		if (!matcher.matches())
+			return;
+		String layer = matcher.group(1);
+		String status = matcher.group(2);
+		listener.layerUpdated(reference, layer, status);
+
+		boolean progressChanged = layers.add(layer);
+		if (COMPLETED.contains(status) || status.startsWith("Mounted from "))
+			progressChanged |= completedLayers.add(layer);
+		if (progressChanged)
+			listener.progressUpdated(reference, completedLayers.size(), layers.size());
+	}
+}
@@ -11,18 +11,24 @@
 import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
 import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
 import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultService;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
 import io.github.cowwoc.anchor4j.docker.resource.Service;
 import io.github.cowwoc.anchor4j.docker.resource.ServiceElement;
 
 import java.io.FileNotFoundException;
 import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static io.github.cowwoc.anchor4j.docker.internal.parser.NodeParser.NOT_SWARM_MANAGER;
 import static io.github.cowwoc.anchor4j.docker.internal.parser.NodeParser.UNIX_SOCKET_MISSING;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.util.regex.Pattern.DOTALL;
 
 /**
@@ -35,6 +41,16 @@ public class ServiceParser extends AbstractContainerParser
 	private static final Pattern CONFLICTING_NAME = Pattern.compile("""
 		Error response from daemon: Conflict. The container name "([^"]+)" is already in use by container \
 		"([^"]+)"\\. You have to remove \\(or rename\\) that container to be able to reuse that name\\.""");
+	private static final Pattern SERVICE_NOT_FOUND = Pattern.compile(
+		"^Error response from daemon: (?:service ([^ ]+) not found|No such service: ([^ ]+)).*", DOTALL);
+	/**
+	 * Separates the task context from the message in the output of {@code docker service logs}.
+	 */
+	private static final byte[] CONTEXT_SEPARATOR = "| ".getBytes(US_ASCII);
+	/**
+	 * Matches the number of running and desired tasks in the output of {@code docker service ls}.
+	 */
+	private static final Pattern REPLICAS = Pattern.compile("^(\\d+)/(\\d+)");
 	private static final String NOT_A_MANAGER = """
 		Error response from daemon: This node is not a swarm manager. Worker nodes can't be used to view or \
 		modify cluster state. Please run this command on a manager node or promote the current node to a \
@@ -182,4 +198,335 @@ public List<ServiceElement> listServices(CommandResult result)
 			throw new AssertionError(e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Lists the number of running and desired tasks of each service in a swarm.
+	 *
+	 * @param result the result of executing a command
+	 * @return the replica counts
+	 * @throws NotSwarmManagerException if the current node is not a swarm manager
+	 */
+	public List<ServiceReplicas> listReplicas(CommandResult result)
+	{
+		if (result.exitCode() != 0)
+		{
+			if (result.stderr().startsWith(NOT_SWARM_MANAGER))
+				throw new NotSwarmManagerException();
+			throw result.unexpectedResponse();
+		}
+
+		JsonMapper jm = getClient().getJsonMapper();
+		try
+		{
+			String[] lines = SPLIT_LINES.split(result.stdout());
+			List<ServiceReplicas> services = new ArrayList<>(lines.length);
+			for (String line : lines)
+			{
+				if (line.isBlank())
+					continue;
+				JsonNode json = jm.readTree(line);
+				Service.Id id = Service.id(json.get("ID").textValue());
+				String name = json.get("Name").textValue();
+				// Format: "<running>/<desired>", optionally followed by a description of the placement or job
+				String replicas = json.get("Replicas").textValue();
+				Matcher matcher = REPLICAS.matcher(replicas);
+				if (!matcher.find())
+					throw result.unexpectedResponse();
+				int running = Integer.parseInt(matcher.group(1));
+				int desired = Integer.parseInt(matcher.group(2));
+				services.add(new ServiceReplicas(id, name, running, desired));
+			}
+			return services;
+		}
+		catch (JsonProcessingException e)
+		{
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Looks up the most recent update of multiple services.
+	 *
+	 * @param result the result of executing a command
+	 * @return the update of each service
+	 * @throws NotSwarmManagerException  if the current node is not a swarm manager
+	 * @throws ResourceNotFoundException if one of the services does not exist
+	 */
+	public List<ServiceUpdate> listUpdates(CommandResult result) throws ResourceNotFoundException
+	{
+		if (result.exitCode() != 0)
+		{
+			String stderr = result.stderr();
+			if (stderr.startsWith(NOT_SWARM_MANAGER))
+				throw new NotSwarmManagerException();
+			throwIfServiceNotFound(stderr);
+			throw result.unexpectedResponse();
+		}
+
+		JsonMapper jm = getClient().getJsonMapper();
+		try
+		{
+			List<ServiceUpdate> updates = new ArrayList<>();
+			for (JsonNode service : jm.readTree(result.stdout()))
+			{
+				Service.Id id = serviceIdFromServer(service.get("ID"));
+				String name = service.get("Spec").get("Name").textValue();
+				JsonNode updateStatus = service.path("UpdateStatus");
+				JsonNode stateNode = updateStatus.path("State");
+				String state;
+				if (stateNode.isTextual())
+					state = stateNode.textValue();
+				else
+					state = null;
+				JsonNode startedAtNode = updateStatus.path("StartedAt");
+				Instant startedAt;
+				if (startedAtNode.isTextual())
+					startedAt = Instant.parse(startedAtNode.textValue());
+				else
+					startedAt = null;
+				updates.add(new ServiceUpdate(id, name, state, startedAt));
+			}
+			return updates;
+		}
+		catch (JsonProcessingException e)
+		{
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Parses a line of {@code docker events --format json} that describes a service.
+	 *
+	 * @param line the line
+	 * @return the event
+	 */
+	public ServiceEvent event(String line)
+	{
+		JsonMapper jm = getClient().getJsonMapper();
+		try
+		{
+			JsonNode json = jm.readTree(line);
+			JsonNode actor = json.get("Actor");
+			JsonNode attributes = actor.get("Attributes");
+			String name = attributes.path("name").textValue();
+			String updateState = attributes.path("updatestate.new").textValue();
+			if (updateState != null && updateState.isEmpty())
+				updateState = null;
+			return new ServiceEvent(Service.id(actor.get("ID").textValue()), name,
+				json.get("Action").textValue(), updateState);
+		}
+		catch (JsonProcessingException e)
+		{
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns the reason that retrieving a service's logs failed.
+	 *
+	 * @param result the result of executing a command that returned a non-zero exit code
+	 * @return a {@code NotSwarmManagerException} if the current node is not a swarm manager, a
+	 *         {@code ResourceNotFoundException} if the service does not exist, or an
+	 *         {@code AssertionError} if the response was unexpected
+	 */
+	public Throwable getLogsFailure(CommandResult result)
+	{
+		assert result.exitCode() != 0 : result;
+		String stderr = result.stderr();
+		if (stderr.startsWith(NOT_SWARM_MANAGER))
+			return new NotSwarmManagerException();
+		try
+		{
+			throwIfServiceNotFound(stderr);
+		}
+		catch (ResourceNotFoundException e)
+		{
+			return e;
+		}
+		return result.unexpectedResponse();
+	}
+
+	/**
+	 * Throws an exception if a command failed because a service does not exist.
+	 *
+	 * @param stderr the command's error output
+	 * @throws ResourceNotFoundException if the service does not exist
+	 */
+	private void throwIfServiceNotFound(String stderr) throws ResourceNotFoundException
+	{
+		Matcher matcher = SERVICE_NOT_FOUND.matcher(stderr);
+		if (matcher.matches())
+		{
+			String id = matcher.group(1);
+			if (id == null)
+				id = matcher.group(2);
+			throw new ResourceNotFoundException("Service not found: " + id);
+		}
+	}
+
+	/**
+	 * Parses a line of {@code docker service logs --timestamps}.
+	 * <p>
+	 * Lines that do not contain a task context and a timestamp are typically error messages generated by the
+	 * CLI.
+	 *
+	 * @param stream the stream that the line was read from
+	 * @param line   the line, excluding the line terminator
+	 * @return {@code null} if the line does not contain a task context or a timestamp
+	 */
+	public LogLine logLine(Stream stream, byte[] line)
+	{
+		// Format: "<RFC3339Nano timestamp> <task>@<node>    | <message>"
+		int separator = indexOf(line, CONTEXT_SEPARATOR);
+		if (separator == -1)
+			return null;
+		int messageStart = separator + CONTEXT_SEPARATOR.length;
+
+		// The context is padded with spaces to align the messages of different tasks
+		List<String> tokens = new ArrayList<>(2);
+		int tokenStart = -1;
+		for (int i = 0; i < separator; ++i)
+		{
+			if (line[i] == ' ')
+			{
+				if (tokenStart != -1)
+				{
+					tokens.add(new String(line, tokenStart, i - tokenStart, US_ASCII));
+					tokenStart = -1;
+				}
+			}
+			else if (tokenStart == -1)
+				tokenStart = i;
+		}
+		if (tokenStart != -1)
+			tokens.add(new String(line, tokenStart, separator - tokenStart, US_ASCII));
+
+		Instant timestamp;
+		String source;
+		switch (tokens.size())
+		{
+			case 1 ->
+			{
+				// Older clients write the timestamp after the context separator
+				source = tokens.getFirst();
+				int timestampEnd = ContainerParser.indexOf(line, (byte) ' ', messageStart);
+				if (timestampEnd == -1)
+					return null;
+				timestamp = ContainerParser.getTimestamp(line, messageStart, timestampEnd);
+				messageStart = timestampEnd + 1;
+			}
+			case 2 ->
+			{
+				byte[] timestampBytes = tokens.getFirst().getBytes(US_ASCII);
+				timestamp = ContainerParser.getTimestamp(timestampBytes, 0, timestampBytes.length);
+				source = tokens.getLast();
+			}
+			default ->
+			{
+				return null;
+			}
+		}
+		if (timestamp == null)
+			return null;
+		return new LogLine(source, timestamp, stream,
+			ByteBuffer.wrap(line, messageStart, line.length - messageStart).slice());
+	}
+
+	/**
+	 * Returns the index of a sequence of bytes.
+	 *
+	 * @param bytes the bytes to search
+	 * @param value the sequence to search for
+	 * @return {@code -1} if the sequence was not found
+	 */
+	private static int indexOf(byte[] bytes, byte[] value)
+	{
+		int i = ContainerParser.indexOf(bytes, value[0], 0);
+		while (i != -1 && i + value.length <= bytes.length)
+		{
+			if (Arrays.equals(bytes, i, i + value.length, value, 0, value.length))
+				return i;
+			i = ContainerParser.indexOf(bytes, value[0], i + 1);
+		}
+		return -1;
+	}
+
+	/**
+	 * The number of running and desired tasks of a service.
+	 *
+	 * @param id      the service's ID
+	 * @param name    the service's name
+	 * @param running the number of tasks that are running
+	 * @param desired the number of tasks that the service should be running
+	 */
+	public record ServiceReplicas(Service.Id id, String name, int running, int desired)
+	{
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param id      the service's ID
+		 * @param name    the service's name
+		 * @param running the number of tasks that are running
+		 * @param desired the number of tasks that the service should be running
+		 */
+		public ServiceReplicas
+		{
+			assert id != null;
+			assert name != null;
+			assert running >= 0 : running;
+			assert desired >= 0 : desired;
+		}
+	}
+
+	/**
+	 * The most recent update of a service.
+	 *
+	 * @param id        the service's ID
+	 * @param name      the service's name
+	 * @param state     the state of the update (e.g. {@code completed}), or {@code null} if the service was
+	 *                  never updated
+	 * @param startedAt the time that the update started, or {@code null} if it was not reported
+	 */
+	public record ServiceUpdate(Service.Id id, String name, String state, Instant startedAt)
+	{
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param id        the service's ID
+		 * @param name      the service's name
+		 * @param state     the state of the update (e.g. {@code completed}), or {@code null} if the service was
+		 *                  never updated
+		 * @param startedAt the time that the update started, or {@code null} if it was not reported
+		 */
+		public ServiceUpdate
+		{
+			assert id != null;
+			assert name != null;
+		}
+	}
+
+	/**
+	 * An event that describes a change to a service.
+	 *
+	 * @param id          the service's ID
+	 * @param name        the service's name, or {@code null} if it was not reported
+	 * @param action      the type of change (e.g. {@code create}, {@code update} or {@code remove})
+	 * @param updateState the state of the service's update, or {@code null} if it did not change
+	 */
+	public record ServiceEvent(Service.Id id, String name, String action, String updateState)
+	{
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param id          the service's ID
+		 * @param name        the service's name, or {@code null} if it was not reported
+		 * @param action      the type of change (e.g. {@code create}, {@code update} or {@code remove})
+		 * @param updateState the state of the service's update, or {@code null} if it did not change
+		 */
+		public ServiceEvent
+		{
+			assert id != null;
+			assert action != null;
+		}
+	}
+}
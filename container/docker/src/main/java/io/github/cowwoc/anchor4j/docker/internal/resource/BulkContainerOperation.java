@@ -0,0 +1,157 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.client.CommandRunner;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerOperationResult;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+
+/**
+ * Applies a command to multiple containers, passing many containers to each invocation of the command.
+ * <p>
+ * A single {@code docker container stop a b c} replaces one process per container, and its output identifies
+ * which containers succeeded. Batches run concurrently, and the failure of one batch does not affect the
+ * others.
+ */
+public final class BulkContainerOperation
+{
+	/**
+	 * The default maximum number of containers to pass to a single command.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 50;
+	/**
+	 * The default maximum number of commands to run at the same time.
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/**
+	 * Applies a command to containers.
+	 *
+	 * @param client        the client configuration
+	 * @param command       the command-line arguments that precede the IDs of the containers
+	 * @param ids           the IDs or names of the containers
+	 * @param batchSize     the maximum number of containers to pass to a single command
+	 * @param parallelism   the maximum number of commands to run at the same time
+	 * @param ignoreMissing {@code true} if containers that do not exist should be reported as successful
+	 * @return the outcome of each container, in the same order as {@code ids}
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	public static List<ContainerOperationResult> apply(InternalDockerClient client, List<String> command,
+		List<String> ids, int batchSize, int parallelism, boolean ignoreMissing) throws InterruptedException
+	{
+		assert client != null;
+		assert command != null;
+		assert ids != null;
+		assert batchSize > 0;
+		assert parallelism > 0;
+		Semaphore permits = new Semaphore(parallelism);
+		try (StructuredTaskScope<List<ContainerOperationResult>> scope = new StructuredTaskScope<>())
+		{
+			List<Subtask<List<ContainerOperationResult>>> subtasks = new ArrayList<>();
+			for (int start = 0; start < ids.size(); start += batchSize)
+			{
+				List<String> batch = ids.subList(start, Math.min(start + batchSize, ids.size()));
+				subtasks.add(scope.fork(() -> apply(client, command, batch, permits, ignoreMissing)));
+			}
+			scope.join();
+
+			List<ContainerOperationResult> results = new ArrayList<>(ids.size());
+			for (Subtask<List<ContainerOperationResult>> subtask : subtasks)
+			{
+				if (subtask.state() == Subtask.State.FAILED)
+				{
+					Throwable cause = subtask.exception();
+					if (cause instanceof InterruptedException ie)
+						throw ie;
+					if (cause instanceof RuntimeException re)
+						throw re;
+					if (cause instanceof Error error)
+						throw error;
+					throw WrappedCheckedException.wrap(cause);
+				}
+				results.addAll(subtask.get());
+			}
+			return results;
+		}
+	}
+
+	/**
+	 * Applies a command to a single batch of containers.
+	 * <p>
+	 * If the command fails due to an intermittent error, it is retried with the containers whose outcome it did
+	 * not report. Containers that already succeeded or failed are not passed to the command again.
+	 *
+	 * @param client        the client configuration
+	 * @param command       the command-line arguments that precede the IDs of the containers
+	 * @param batch         the IDs or names of the containers
+	 * @param permits       limits the number of commands that run at the same time
+	 * @param ignoreMissing {@code true} if containers that do not exist should be reported as successful
+	 * @return the outcome of each container, in the same order as {@code batch}
+	 * @throws InterruptedException if the thread is interrupted before the operation completes
+	 */
+	private static List<ContainerOperationResult> apply(InternalDockerClient client, List<String> command,
+		List<String> batch, Semaphore permits, boolean ignoreMissing) throws InterruptedException
+	{
+		Map<String, Exception> idToFailure = new HashMap<>();
+		List<String> pending = new ArrayList<>(batch);
+		permits.acquire();
+		try
+		{
+			client.retry(_ ->
+			{
+				List<String> arguments = new ArrayList<>(command.size() + pending.size());
+				arguments.addAll(command);
+				arguments.addAll(pending);
+				// The output must be parsed even if the command failed due to an intermittent error, because it
+				// identifies the containers that were processed before the failure
+				CommandResult result = new CommandRunner(client.getProcessBuilder(arguments)).apply();
+				Map<String, Exception> outcomes = client.getContainerParser().
+					bulkOperation(result, pending, ignoreMissing);
+				idToFailure.putAll(outcomes);
+				pending.removeAll(outcomes.keySet());
+				if (pending.isEmpty())
+					return null;
+
+				// Throws an IOException if the remaining containers should be retried
+				client.commandFailed(result);
+				IOException failure = new IOException(result.command() + " did not report the outcome of " +
+					pending + ".\n" +
+					"exitCode: " + result.exitCode() + "\n" +
+					"stderr  : " + result.stderr());
+				for (String id : pending)
+					idToFailure.put(id, failure);
+				pending.clear();
+				return null;
+			});
+		}
+		catch (IOException | RuntimeException e)
+		{
+			// The retry timeout expired before the outcome of the remaining containers was reported, or the
+			// command failed in an unexpected way. Either way, only this batch is affected.
+			for (String id : pending)
+				idToFailure.put(id, e);
+		}
+		finally
+		{
+			permits.release();
+		}
+		List<ContainerOperationResult> results = new ArrayList<>(batch.size());
+		for (String id : batch)
+			results.add(new ContainerOperationResult(id, idToFailure.get(id)));
+		return results;
+	}
+
+	private BulkContainerOperation()
+	{
+	}
+}
@@ -0,0 +1,127 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.docker.internal.parser.ImageTransferProgressParser;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferListener;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferResult;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+
+/**
+ * Transfers multiple images concurrently, isolating the failure of each transfer from the others.
+ */
+public final class BulkImageTransfer
+{
+	/**
+	 * The default maximum number of images to transfer at the same time.
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/**
+	 * Transfers images.
+	 *
+	 * @param references  the references of the images
+	 * @param parallelism the maximum number of images to transfer at the same time
+	 * @param listener    the listener to notify of the transfers' progress
+	 * @param transfer    transfers a single image
+	 * @return the outcome of each transfer, in the same order as {@code references}
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	public static List<ImageTransferResult> apply(List<String> references, int parallelism,
+		ImageTransferListener listener, Transfer transfer) throws InterruptedException
+	{
+		assert references != null;
+		assert parallelism > 0;
+		assert listener != null;
+		assert transfer != null;
+		Semaphore permits = new Semaphore(parallelism);
+		try (StructuredTaskScope<ImageTransferResult> scope = new StructuredTaskScope<>())
+		{
+			List<Subtask<ImageTransferResult>> subtasks = new ArrayList<>(references.size());
+			for (String reference : references)
+				subtasks.add(scope.fork(() -> apply(reference, permits, listener, transfer)));
+			scope.join();
+
+			List<ImageTransferResult> results = new ArrayList<>(subtasks.size());
+			for (Subtask<ImageTransferResult> subtask : subtasks)
+			{
+				if (subtask.state() == Subtask.State.FAILED)
+				{
+					Throwable cause = subtask.exception();
+					if (cause instanceof InterruptedException ie)
+						throw ie;
+					if (cause instanceof RuntimeException re)
+						throw re;
+					if (cause instanceof Error error)
+						throw error;
+					throw WrappedCheckedException.wrap(cause);
+				}
+				results.add(subtask.get());
+			}
+			return results;
+		}
+	}
+
+	/**
+	 * Transfers a single image.
+	 *
+	 * @param reference the reference of the image
+	 * @param permits   limits the number of images that are transferred at the same time
+	 * @param listener  the listener to notify of the transfer's progress
+	 * @param transfer  transfers the image
+	 * @return the outcome of the transfer
+	 * @throws InterruptedException if the thread is interrupted before the operation completes
+	 */
+	private static ImageTransferResult apply(String reference, Semaphore permits,
+		ImageTransferListener listener, Transfer transfer) throws InterruptedException
+	{
+		permits.acquire();
+		try
+		{
+			DockerImage image = transfer.apply(reference, new ImageTransferProgressParser(reference, listener));
+			listener.imageCompleted(reference);
+			return new ImageTransferResult(reference, image, null);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			listener.imageFailed(reference, e);
+			return new ImageTransferResult(reference, null, e);
+		}
+		finally
+		{
+			permits.release();
+		}
+	}
+
+	/**
+	 * Transfers a single image.
+	 */
+	@FunctionalInterface
+	public interface Transfer
+	{
+		/**
+		 * Transfers an image.
+		 *
+		 * @param reference the reference of the image
+		 * @param progress  the parser that the output of the transfer should be passed to
+		 * @return the image
+		 * @throws IOException          if an I/O error occurs. These errors are typically transient, and
+		 *                              retrying the request may resolve the issue.
+		 * @throws InterruptedException if the thread is interrupted before the operation completes. This can
+		 *                              happen due to shutdown signals.
+		 */
+		DockerImage apply(String reference, ImageTransferProgressParser progress)
+			throws IOException, InterruptedException;
+	}
+
+	private BulkImageTransfer()
+	{
+	}
+}
@@ -0,0 +1,100 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerRemover;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerOperationResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code BulkContainerRemover}.
+ */
+public final class DefaultBulkContainerRemover implements BulkContainerRemover
+{
+	private final InternalDockerClient client;
+	private final List<String> ids;
+	private boolean force;
+	private boolean volumes;
+	private int batchSize = BulkContainerOperation.DEFAULT_BATCH_SIZE;
+	private int parallelism = BulkContainerOperation.DEFAULT_PARALLELISM;
+
+	/**
+	 * Creates a bulk container remover.
+	 *
+	 * @param client the client configuration
+	 * @param ids    the IDs or names of the containers
+	 * @throws NullPointerException     if {@code ids} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the IDs' format is invalid
+	 */
+	public DefaultBulkContainerRemover(InternalDockerClient client, Collection<String> ids)
+	{
+		assert client != null;
+		requireThat(ids, "ids").isNotNull();
+		for (String id : ids)
+			Container.id(id);
+		this.client = client;
+		this.ids = List.copyOf(ids);
+	}
+
+	@Override
+	public BulkContainerRemover kill()
+	{
+		this.force = true;
+		return this;
+	}
+
+	@Override
+	public BulkContainerRemover removeAnonymousVolumes()
+	{
+		this.volumes = true;
+		return this;
+	}
+
+	@Override
+	public BulkContainerRemover batchSize(int batchSize)
+	{
+		requireThat(batchSize, "batchSize").isPositive();
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	@Override
+	public BulkContainerRemover parallelism(int parallelism)
+	{
+		requireThat(parallelism, "parallelism").isPositive();
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	@Override
+	public List<ContainerOperationResult> apply() throws InterruptedException
+	{
+		// https://docs.docker.com/reference/cli/docker/container/rm/
+		List<String> command = new ArrayList<>(4);
+		command.add("container");
+		command.add("rm");
+		if (force)
+			command.add("--force");
+		if (volumes)
+			command.add("--volumes");
+		return BulkContainerOperation.apply(client, command, ids, batchSize, parallelism, true);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBulkContainerRemover.class).
+			add("ids", ids).
+			add("force", force).
+			add("volumes", volumes).
+			add("batchSize", batchSize).
+			add("parallelism", parallelism).
+			toString();
+	}
+}
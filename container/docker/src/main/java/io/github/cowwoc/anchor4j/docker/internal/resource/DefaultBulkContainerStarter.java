@@ -0,0 +1,75 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerStarter;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerOperationResult;
+
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code BulkContainerStarter}.
+ */
+public final class DefaultBulkContainerStarter implements BulkContainerStarter
+{
+	private final InternalDockerClient client;
+	private final List<String> ids;
+	private int batchSize = BulkContainerOperation.DEFAULT_BATCH_SIZE;
+	private int parallelism = BulkContainerOperation.DEFAULT_PARALLELISM;
+
+	/**
+	 * Creates a bulk container starter.
+	 *
+	 * @param client the client configuration
+	 * @param ids    the IDs or names of the containers
+	 * @throws NullPointerException     if {@code ids} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the IDs' format is invalid
+	 */
+	public DefaultBulkContainerStarter(InternalDockerClient client, Collection<String> ids)
+	{
+		assert client != null;
+		requireThat(ids, "ids").isNotNull();
+		for (String id : ids)
+			Container.id(id);
+		this.client = client;
+		this.ids = List.copyOf(ids);
+	}
+
+	@Override
+	public BulkContainerStarter batchSize(int batchSize)
+	{
+		requireThat(batchSize, "batchSize").isPositive();
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	@Override
+	public BulkContainerStarter parallelism(int parallelism)
+	{
+		requireThat(parallelism, "parallelism").isPositive();
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	@Override
+	public List<ContainerOperationResult> apply() throws InterruptedException
+	{
+		// https://docs.docker.com/reference/cli/docker/container/start/
+		return BulkContainerOperation.apply(client, List.of("container", "start"), ids, batchSize, parallelism,
+			false);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBulkContainerStarter.class).
+			add("ids", ids).
+			add("batchSize", batchSize).
+			add("parallelism", parallelism).
+			toString();
+	}
+}
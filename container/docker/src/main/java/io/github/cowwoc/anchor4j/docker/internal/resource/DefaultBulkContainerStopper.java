@@ -0,0 +1,111 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.BulkContainerStopper;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerOperationResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code BulkContainerStopper}.
+ */
+public final class DefaultBulkContainerStopper implements BulkContainerStopper
+{
+	private final InternalDockerClient client;
+	private final List<String> ids;
+	private String signal = "";
+	private Duration timeout;
+	private int batchSize = BulkContainerOperation.DEFAULT_BATCH_SIZE;
+	private int parallelism = BulkContainerOperation.DEFAULT_PARALLELISM;
+
+	/**
+	 * Creates a bulk container stopper.
+	 *
+	 * @param client the client configuration
+	 * @param ids    the IDs or names of the containers
+	 * @throws NullPointerException     if {@code ids} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the IDs' format is invalid
+	 */
+	public DefaultBulkContainerStopper(InternalDockerClient client, Collection<String> ids)
+	{
+		assert client != null;
+		requireThat(ids, "ids").isNotNull();
+		for (String id : ids)
+			Container.id(id);
+		this.client = client;
+		this.ids = List.copyOf(ids);
+	}
+
+	@Override
+	public BulkContainerStopper signal(String signal)
+	{
+		requireThat(signal, "signal").doesNotContainWhitespace();
+		this.signal = signal;
+		return this;
+	}
+
+	@Override
+	public BulkContainerStopper timeout(Duration timeout)
+	{
+		this.timeout = timeout;
+		return this;
+	}
+
+	@Override
+	public BulkContainerStopper batchSize(int batchSize)
+	{
+		requireThat(batchSize, "batchSize").isPositive();
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	@Override
+	public BulkContainerStopper parallelism(int parallelism)
+	{
+		requireThat(parallelism, "parallelism").isPositive();
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	@Override
+	public List<ContainerOperationResult> apply() throws InterruptedException
+	{
+		// https://docs.docker.com/reference/cli/docker/container/stop/
+		List<String> command = new ArrayList<>(6);
+		command.add("container");
+		command.add("stop");
+		if (!signal.isEmpty())
+		{
+			command.add("--signal");
+			command.add(signal);
+		}
+		if (timeout != null)
+		{
+			command.add("--timeout");
+			if (timeout.isNegative())
+				command.add("-1");
+			else
+				command.add(String.valueOf(timeout.toSeconds()));
+		}
+		return BulkContainerOperation.apply(client, command, ids, batchSize, parallelism, false);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBulkContainerStopper.class).
+			add("ids", ids).
+			add("signal", signal).
+			add("timeout", timeout).
+			add("batchSize", batchSize).
+			add("parallelism", parallelism).
+			toString();
+	}
+}
@@ -0,0 +1,101 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.util.ParameterValidator;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.BulkImagePuller;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferListener;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferResult;
+
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code BulkImagePuller}.
+ */
+public final class DefaultBulkImagePuller implements BulkImagePuller
+{
+	private final InternalDockerClient client;
+	private final List<String> references;
+	private String platform = "";
+	private boolean onlyIfMissing;
+	private int parallelism = BulkImageTransfer.DEFAULT_PARALLELISM;
+	private ImageTransferListener listener = new ImageTransferListener()
+	{
+	};
+
+	/**
+	 * Creates a bulk image puller.
+	 *
+	 * @param client     the client configuration
+	 * @param references the references to pull
+	 * @throws NullPointerException     if {@code references} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the references' format is invalid
+	 */
+	public DefaultBulkImagePuller(InternalDockerClient client, Collection<String> references)
+	{
+		assert client != null;
+		requireThat(references, "references").isNotNull();
+		for (String reference : references)
+			ParameterValidator.validateImageReference(reference, "reference");
+		this.client = client;
+		this.references = List.copyOf(references);
+	}
+
+	@Override
+	public BulkImagePuller platform(String platform)
+	{
+		requireThat(platform, "platform").doesNotContainWhitespace().isNotEmpty();
+		this.platform = platform;
+		return this;
+	}
+
+	@Override
+	public BulkImagePuller onlyIfMissing(boolean onlyIfMissing)
+	{
+		this.onlyIfMissing = onlyIfMissing;
+		return this;
+	}
+
+	@Override
+	public BulkImagePuller parallelism(int parallelism)
+	{
+		requireThat(parallelism, "parallelism").isPositive();
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	@Override
+	public BulkImagePuller listener(ImageTransferListener listener)
+	{
+		requireThat(listener, "listener").isNotNull();
+		this.listener = listener;
+		return this;
+	}
+
+	@Override
+	public List<ImageTransferResult> apply() throws InterruptedException
+	{
+		return BulkImageTransfer.apply(references, parallelism, listener, (reference, progress) ->
+		{
+			DefaultImagePuller puller = new DefaultImagePuller(client, reference);
+			if (!platform.isEmpty())
+				puller.platform(platform);
+			puller.onlyIfMissing(onlyIfMissing);
+			return puller.apply(progress);
+		});
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBulkImagePuller.class).
+			add("references", references).
+			add("platform", platform).
+			add("onlyIfMissing", onlyIfMissing).
+			add("parallelism", parallelism).
+			toString();
+	}
+}
@@ -0,0 +1,91 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.util.ParameterValidator;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.BulkImagePusher;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferListener;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferResult;
+
+import java.util.Collection;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code BulkImagePusher}.
+ */
+public final class DefaultBulkImagePusher implements BulkImagePusher
+{
+	private final InternalDockerClient client;
+	private final List<String> references;
+	private String platform = "";
+	private int parallelism = BulkImageTransfer.DEFAULT_PARALLELISM;
+	private ImageTransferListener listener = new ImageTransferListener()
+	{
+	};
+
+	/**
+	 * Creates a bulk image pusher.
+	 *
+	 * @param client     the client configuration
+	 * @param references the references to push. The images must be present in the local image store with the
+	 *                   same names.
+	 * @throws NullPointerException     if {@code references} or any of its elements are null
+	 * @throws IllegalArgumentException if any of the references' format is invalid
+	 */
+	public DefaultBulkImagePusher(InternalDockerClient client, Collection<String> references)
+	{
+		assert client != null;
+		requireThat(references, "references").isNotNull();
+		for (String reference : references)
+			ParameterValidator.validateImageReference(reference, "reference");
+		this.client = client;
+		this.references = List.copyOf(references);
+	}
+
+	@Override
+	public BulkImagePusher platform(String platform)
+	{
+		requireThat(platform, "platform").doesNotContainWhitespace();
+		this.platform = platform;
+		return this;
+	}
+
+	@Override
+	public BulkImagePusher parallelism(int parallelism)
+	{
+		requireThat(parallelism, "parallelism").isPositive();
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	@Override
+	public BulkImagePusher listener(ImageTransferListener listener)
+	{
+		requireThat(listener, "listener").isNotNull();
+		this.listener = listener;
+		return this;
+	}
+
+	@Override
+	public List<ImageTransferResult> apply() throws InterruptedException
+	{
+		return BulkImageTransfer.apply(references, parallelism, listener, (reference, progress) ->
+		{
+			DefaultImagePusher pusher = new DefaultImagePusher(client, reference);
+			pusher.platform(platform);
+			return pusher.apply(progress);
+		});
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultBulkImagePusher.class).
+			add("references", references).
+			add("platform", platform).
+			add("parallelism", parallelism).
+			toString();
+	}
+}
@@ -3,6 +3,7 @@
 import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
 import io.github.cowwoc.anchor4j.core.resource.CommandResult;
 import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.internal.util.Buffers;
 import io.github.cowwoc.anchor4j.docker.resource.Config;
 import io.github.cowwoc.anchor4j.docker.resource.Config.Id;
 import io.github.cowwoc.anchor4j.docker.resource.ConfigCreator;
@@ -71,9 +72,11 @@ public Config apply(String name, ByteBuffer value) throws IOException, Interrupt
 		}
 		arguments.add(name);
 		arguments.add("-");
+		// Copy the value before it is consumed by the process' stdin
+		ByteBuffer valueCopy = Buffers.copyOf(value);
 		CommandResult result = client.retry(_ -> client.run(arguments, value));
 		Id id = Config.id(client.getConfigParser().create(result));
-		return client.getConfig(id);
+		return new DefaultConfig(client, id, name, valueCopy);
 	}
 
 	@Override
@@ -3,6 +3,7 @@
 import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
 import io.github.cowwoc.anchor4j.docker.client.DockerClient;
 import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCommitter;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerLogs;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerRemover;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerStarter;
@@ -10,7 +11,6 @@
 import io.github.cowwoc.requirements12.annotation.CheckReturnValue;
 
 import java.io.IOException;
-import java.util.Objects;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
@@ -135,18 +135,23 @@ public ContainerLogs getLogs()
 		return client.getContainerLogs(id);
 	}
 
+	@Override
+	@CheckReturnValue
+	public ContainerCommitter commit()
+	{
+		return client.commitContainer(id);
+	}
+
 	@Override
 	public int hashCode()
 	{
-		return Objects.hash(id, name, hostConfiguration, networkConfiguration, status);
+		return id.hashCode();
 	}
 
 	@Override
 	public boolean equals(Object o)
 	{
-		return o instanceof DefaultContainer other && other.id.equals(id) && other.name.equals(name) &&
-			other.hostConfiguration.equals(hostConfiguration) &&
-			other.networkConfiguration.equals(networkConfiguration);
+		return o instanceof Container other && other.getId().equals(id);
 	}
 
 	@Override
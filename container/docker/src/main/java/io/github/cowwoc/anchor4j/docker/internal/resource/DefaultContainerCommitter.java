@@ -0,0 +1,115 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.util.ParameterValidator;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCommitter;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code ContainerCommitter}.
+ */
+public final class DefaultContainerCommitter implements ContainerCommitter
+{
+	private final InternalDockerClient client;
+	private final Container.Id id;
+	private String reference = "";
+	private final List<String> changes = new ArrayList<>();
+	private String message = "";
+	private boolean pause = true;
+
+	/**
+	 * Creates a container committer.
+	 *
+	 * @param client the client configuration
+	 * @param id     the container's ID or name
+	 * @throws NullPointerException if {@code id} is null
+	 */
+	public DefaultContainerCommitter(InternalDockerClient client, Container.Id id)
+	{
+		assert client != null;
+		requireThat(id, "id").isNotNull();
+		this.client = client;
+		this.id = id;
+	}
+
+	@Override
+	public ContainerCommitter reference(String reference)
+	{
+		ParameterValidator.validateImageReference(reference, "reference");
+		this.reference = reference;
+		return this;
+	}
+
+	@Override
+	public ContainerCommitter change(String instruction)
+	{
+		requireThat(instruction, "instruction").isStripped().isNotEmpty();
+		changes.add(instruction);
+		return this;
+	}
+
+	@Override
+	public ContainerCommitter message(String message)
+	{
+		requireThat(message, "message").isNotNull();
+		this.message = message;
+		return this;
+	}
+
+	@Override
+	public ContainerCommitter pause(boolean pause)
+	{
+		this.pause = pause;
+		return this;
+	}
+
+	@Override
+	public DockerImage apply() throws IOException, InterruptedException
+	{
+		// https://docs.docker.com/reference/cli/docker/container/commit/
+		List<String> arguments = new ArrayList<>(7 + changes.size() * 2);
+		arguments.add("container");
+		arguments.add("commit");
+		for (String change : changes)
+		{
+			arguments.add("--change");
+			arguments.add(change);
+		}
+		if (!message.isEmpty())
+		{
+			arguments.add("--message");
+			arguments.add(message);
+		}
+		if (!pause)
+			arguments.add("--pause=false");
+		arguments.add(id.getValue());
+		if (!reference.isEmpty())
+			arguments.add(reference);
+		// Retrying could create duplicate images if the first attempt succeeded but its response was lost
+		CommandResult result = client.run(arguments);
+		ContainerImage.Id imageId = client.getContainerParser().commit(result);
+		return new LazyDockerImage(client, imageId);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultContainerCommitter.class).
+			add("id", id).
+			add("reference", reference).
+			add("changes", changes).
+			add("message", message).
+			add("pause", pause).
+			toString();
+	}
+}
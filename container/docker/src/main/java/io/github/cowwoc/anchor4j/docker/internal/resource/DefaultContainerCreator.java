@@ -41,6 +41,7 @@ public final class DefaultContainerCreator implements ContainerCreator
 	private final Map<String, String> environmentVariables = new HashMap<>();
 	private final Map<Path, BindMount> hostPathToBindMount = new HashMap<>();
 	private final Map<PortAndProtocol, InetSocketAddress> containerToHostPort = new HashMap<>();
+	private final Map<String, Long> containerPathToTmpfsSize = new HashMap<>();
 	private boolean removeOnExit;
 	private RestartPolicy restartPolicy = new RestartPolicy(RestartPolicyCondition.NO, 0);
 
@@ -59,6 +60,52 @@ public DefaultContainerCreator(InternalDockerClient client, ContainerImage.Id im
 		this.imageId = imageId;
 	}
 
+	/**
+	 * Returns a copy of this container creator.
+	 *
+	 * @return a creator with the same configuration that can be modified independently of this one
+	 */
+	public DefaultContainerCreator copy()
+	{
+		DefaultContainerCreator copy = new DefaultContainerCreator(client, imageId);
+		copy.name = name;
+		copy.platform = platform;
+		copy.privileged = privileged;
+		copy.entrypoint = entrypoint;
+		copy.arguments = arguments;
+		copy.workingDirectory = workingDirectory;
+		copy.environmentVariables.putAll(environmentVariables);
+		copy.hostPathToBindMount.putAll(hostPathToBindMount);
+		copy.containerToHostPort.putAll(containerToHostPort);
+		copy.containerPathToTmpfsSize.putAll(containerPathToTmpfsSize);
+		copy.removeOnExit = removeOnExit;
+		copy.restartPolicy = restartPolicy;
+		return copy;
+	}
+
+	/**
+	 * Returns the name of the container.
+	 *
+	 * @return an empty string if Docker will generate a name
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Indicates if any of the container's ports is bound to a specific host port.
+	 *
+	 * @return {@code false} if all the container's ports are bound to host ports that are chosen by Docker
+	 */
+	public boolean bindsFixedHostPort()
+	{
+		for (InetSocketAddress host : containerToHostPort.values())
+			if (host.getPort() != 0)
+				return true;
+		return false;
+	}
+
 	@Override
 	public ContainerCreator name(String name)
 	{
@@ -151,6 +198,17 @@ public ContainerCreator bindPort(PortBinding portBinding)
 		return this;
 	}
 
+	@Override
+	public ContainerCreator tmpfs(String containerPath, long maximumSize)
+	{
+		// Commas would be interpreted as separators between the options of "--mount"
+		requireThat(containerPath, "containerPath").doesNotContainWhitespace().startsWith("/").
+			doesNotContain(",");
+		requireThat(maximumSize, "maximumSize").isNotNegative();
+		containerPathToTmpfsSize.put(containerPath, maximumSize);
+		return this;
+	}
+
 	@Override
 	public ContainerCreator removeOnExit()
 	{
@@ -200,7 +258,8 @@ public Container apply() throws IOException, InterruptedException
 	{
 		// https://docs.docker.com/reference/cli/docker/container/create/
 		List<String> arguments = new ArrayList<>(4 + environmentVariables.size() * 2 +
-			hostPathToBindMount.size() * 2 + 5 + containerToHostPort.size() * 2 + 3 + entrypoint.size() +
+			hostPathToBindMount.size() * 2 + containerPathToTmpfsSize.size() * 2 + 5 +
+			containerToHostPort.size() * 2 + 3 + entrypoint.size() +
 			this.arguments.size());
 		arguments.add("container");
 		arguments.add("create");
@@ -225,6 +284,7 @@ public Container apply() throws IOException, InterruptedException
 			}
 		}
 		addBindPathArguments(arguments);
+		addTmpfsArguments(arguments);
 		if (!name.isEmpty())
 		{
 			arguments.add("--name");
@@ -259,7 +319,7 @@ public Container apply() throws IOException, InterruptedException
 		if (!this.arguments.isEmpty())
 			arguments.addAll(this.arguments);
 		CommandResult result = client.retry(_ -> client.run(arguments));
-		return client.getContainer(client.getContainerParser().create(result));
+		return new LazyContainer(client, client.getContainerParser().create(result));
 	}
 
 	private void addBindPathArguments(List<String> arguments)
@@ -282,6 +342,22 @@ private void addBindPathArguments(List<String> arguments)
 		}
 	}
 
+	private void addTmpfsArguments(List<String> arguments)
+	{
+		for (Entry<String, Long> entry : containerPathToTmpfsSize.entrySet())
+		{
+			// https://docs.docker.com/engine/storage/tmpfs/#options-for---mount
+			arguments.add("--mount");
+			StringJoiner options = new StringJoiner(",");
+			options.add("type=tmpfs");
+			options.add("target=" + entry.getKey());
+			long maximumSize = entry.getValue();
+			if (maximumSize > 0)
+				options.add("tmpfs-size=" + maximumSize);
+			arguments.add(options.toString());
+		}
+	}
+
 	private void addBindPortArguments(List<String> arguments)
 	{
 		if (containerToHostPort.isEmpty())
@@ -316,6 +392,7 @@ public String toString()
 			add("environmentVariables", environmentVariables).
 			add("hostPathToBindMount", hostPathToBindMount).
 			add("containerToHostPort", containerToHostPort).
+			add("containerPathToTmpfsSize", containerPathToTmpfsSize).
 			add("removeOnExit", removeOnExit).
 			add("restartPolicy", restartPolicy).
 			toString();
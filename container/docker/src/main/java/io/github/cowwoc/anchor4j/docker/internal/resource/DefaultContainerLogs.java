@@ -4,6 +4,9 @@
 import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
 import io.github.cowwoc.anchor4j.docker.resource.Container.Id;
 import io.github.cowwoc.anchor4j.docker.resource.ContainerLogs;
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpointStore;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream.OverflowPolicy;
 import io.github.cowwoc.anchor4j.docker.resource.ProcessListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +17,7 @@
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
@@ -26,6 +30,9 @@ public final class DefaultContainerLogs implements ContainerLogs
 	private Instant until;
 	private boolean timestamps;
 	private int linesFromEnd = Integer.MAX_VALUE;
+	private int bufferSize = DefaultLogStream.DEFAULT_BUFFER_SIZE;
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+	private LogCheckpointStore checkpoints;
 	private final Logger log = LoggerFactory.getLogger(DefaultContainerLogs.class);
 
 	/**
@@ -79,8 +86,106 @@ public ContainerLogs linesFromEnd(int linesFromEnd)
 		return this;
 	}
 
+	@Override
+	public ContainerLogs bufferSize(int bufferSize)
+	{
+		requireThat(bufferSize, "bufferSize").isPositive();
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	@Override
+	public ContainerLogs overflowPolicy(OverflowPolicy overflowPolicy)
+	{
+		requireThat(overflowPolicy, "overflowPolicy").isNotNull();
+		this.overflowPolicy = overflowPolicy;
+		return this;
+	}
+
+	@Override
+	public ContainerLogs checkpoints(LogCheckpointStore checkpoints)
+	{
+		this.checkpoints = checkpoints;
+		return this;
+	}
+
 	@Override
 	public ProcessListener apply() throws IOException
+	{
+		List<String> arguments = getArguments(timestamps, since);
+		ProcessBuilder processBuilder = client.getProcessBuilder(arguments);
+		log.debug("Running: {}", processBuilder.command());
+		Process process = processBuilder.start();
+		return new DefaultProcessListener(process);
+	}
+
+	@Override
+	public LogStream stream()
+	{
+		String source = id.getValue();
+		Instant since = this.since;
+		List<String> arguments = getArguments(true, null);
+		Supplier<LogCheckpointer> checkpointers;
+		if (checkpoints == null)
+			checkpointers = null;
+		else
+		{
+			// The checkpoints are read each time that a subscriber subscribes
+			LogCheckpointStore store = checkpoints;
+			checkpointers = () -> new LogCheckpointer(store, source);
+		}
+		return new DefaultLogStream(client,
+			checkpointer -> withSince(arguments, getStartTime(since, checkpointer)), bufferSize, overflowPolicy,
+			(stream, line) -> client.getContainerParser().logLine(source, stream, line),
+			client.getContainerParser()::getLogsFailure, checkpointers);
+	}
+
+	/**
+	 * Returns the time to start reading the logs at.
+	 *
+	 * @param since        the time that the user requested, or {@code null} to read the logs from the beginning
+	 * @param checkpointer the subscription's checkpointer, or {@code null} if checkpoints are disabled
+	 * @return the later of {@code since} and the time to resume the logs from, or {@code null} to read the
+	 *         logs from the beginning
+	 */
+	private static Instant getStartTime(Instant since, LogCheckpointer checkpointer)
+	{
+		if (checkpointer == null)
+			return since;
+		Instant resumeAt = checkpointer.getStartTime();
+		if (resumeAt != null && (since == null || resumeAt.isAfter(since)))
+			return resumeAt;
+		return since;
+	}
+
+	/**
+	 * Adds a start time to the arguments returned by {@link #getArguments(boolean, Instant)}.
+	 *
+	 * @param arguments the arguments, which do not specify a start time
+	 * @param since     the time to start reading the logs at, or {@code null} to read them from the beginning
+	 * @return the updated arguments
+	 */
+	private static List<String> withSince(List<String> arguments, Instant since)
+	{
+		if (since == null)
+			return arguments;
+		// Options follow "container logs"
+		List<String> argumentsWithSince = new ArrayList<>(arguments.size() + 2);
+		argumentsWithSince.addAll(arguments.subList(0, 2));
+		argumentsWithSince.add("--since");
+		argumentsWithSince.add(toUnixTime(since));
+		argumentsWithSince.addAll(arguments.subList(2, arguments.size()));
+		return argumentsWithSince;
+	}
+
+	/**
+	 * Returns the command-line arguments that retrieve the logs.
+	 *
+	 * @param timestamps {@code true} to prefix each line with its timestamp
+	 * @param since      the time to start reading the logs at, or {@code null} to read them from the beginning
+	 * @return the arguments
+	 */
+	private List<String> getArguments(boolean timestamps, Instant since)
 	{
 		// https://docs.docker.com/reference/cli/docker/container/logs/
 		List<String> arguments = new ArrayList<>(11);
@@ -91,12 +196,12 @@ public ProcessListener apply() throws IOException
 		if (since != null)
 		{
 			arguments.add("--since");
-			arguments.add(String.valueOf(since.toEpochMilli()));
+			arguments.add(toUnixTime(since));
 		}
 		if (until != null)
 		{
 			arguments.add("--until");
-			arguments.add(String.valueOf(until.toEpochMilli()));
+			arguments.add(toUnixTime(until));
 		}
 		if (linesFromEnd < Integer.MAX_VALUE)
 		{
@@ -106,10 +211,19 @@ public ProcessListener apply() throws IOException
 		if (timestamps)
 			arguments.add("--timestamps");
 		arguments.add(id.getValue());
-		ProcessBuilder processBuilder = client.getProcessBuilder(arguments);
-		log.debug("Running: {}", processBuilder.command());
-		Process process = processBuilder.start();
-		return new DefaultProcessListener(process);
+		return arguments;
+	}
+
+	/**
+	 * Converts a time to the format expected by {@code --since} and {@code --until}.
+	 *
+	 * @param time a time
+	 * @return the number of seconds since the epoch, with a nanosecond fraction
+	 */
+	static String toUnixTime(Instant time)
+	{
+		// Docker interprets integers as seconds, not milliseconds
+		return time.getEpochSecond() + "." + String.format("%09d", time.getNano());
 	}
 
 	@Override
@@ -122,6 +236,9 @@ public String toString()
 			add("until", until).
 			add("linesFromEnd", linesFromEnd).
 			add("timestamps", timestamps).
+			add("bufferSize", bufferSize).
+			add("overflowPolicy", overflowPolicy).
+			add("checkpoints", checkpoints).
 			toString();
 	}
 
@@ -0,0 +1,433 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCreator;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerLease;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerOperationResult;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Default implementation of {@code ContainerPool}.
+ * <p>
+ * Containers are created, reset and removed by virtual threads, so that leasing a container never waits for
+ * more than the time it takes for one to become idle.
+ */
+public final class DefaultContainerPool implements ContainerPool
+{
+	private final InternalDockerClient client;
+	private final ContainerCreator template;
+	private final int size;
+	private final Hook onStart;
+	private final Hook onRelease;
+	private final Lock lock = new ReentrantLock();
+	/**
+	 * Signaled whenever a container becomes idle, a replacement fails or the pool is closed.
+	 */
+	private final Condition stateChanged = lock.newCondition();
+	private final Deque<Container> idle = new ArrayDeque<>();
+	/**
+	 * The number of containers that are idle, leased, being reset or being created.
+	 */
+	private int members;
+	/**
+	 * The reason that the last replacement container could not be created, or {@code null} if it was
+	 * reported to a caller of {@link #lease()}.
+	 */
+	private IOException failure;
+	private boolean closed;
+	private final Logger log = LoggerFactory.getLogger(DefaultContainerPool.class);
+
+	/**
+	 * Creates a container pool.
+	 *
+	 * @param client    the client configuration
+	 * @param template  creates the pool's containers
+	 * @param size      the number of containers in the pool
+	 * @param onStart   the hook that runs after a container is started
+	 * @param onRelease the hook that resets a container after its lease is closed
+	 */
+	DefaultContainerPool(InternalDockerClient client, ContainerCreator template, int size, Hook onStart,
+		Hook onRelease)
+	{
+		assert client != null;
+		assert template != null;
+		assert size > 0;
+		assert onStart != null;
+		assert onRelease != null;
+		this.client = client;
+		this.template = template;
+		this.size = size;
+		this.onStart = onStart;
+		this.onRelease = onRelease;
+	}
+
+	/**
+	 * Starts creating the pool's containers.
+	 */
+	void start()
+	{
+		lock.lock();
+		try
+		{
+			replenish();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Creates containers until the pool reaches its size.
+	 * <p>
+	 * The caller must hold the lock.
+	 */
+	private void replenish()
+	{
+		while (!closed && members < size)
+		{
+			++members;
+			Thread.startVirtualThread(this::create);
+		}
+	}
+
+	/**
+	 * Creates, starts and prepares a container, then adds it to the pool.
+	 */
+	private void create()
+	{
+		Container container = null;
+		try
+		{
+			container = template.apply();
+			container = container.start().apply();
+			onStart.apply(container);
+			onIdle(container);
+		}
+		catch (IOException | RuntimeException e)
+		{
+			log.warn("Failed to create a container for the pool", e);
+			if (container != null)
+				remove(container);
+			lock.lock();
+			try
+			{
+				--members;
+				if (e instanceof IOException ioe)
+					failure = ioe;
+				else
+					failure = new IOException(e);
+				stateChanged.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+		catch (InterruptedException _)
+		{
+			if (container != null)
+				remove(container);
+			onRemoved();
+		}
+	}
+
+	/**
+	 * Adds a container to the idle set, or removes it if the pool is closed.
+	 *
+	 * @param container the container
+	 */
+	private void onIdle(Container container)
+	{
+		lock.lock();
+		try
+		{
+			if (!closed)
+			{
+				idle.addLast(container);
+				stateChanged.signalAll();
+				return;
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		remove(container);
+		onRemoved();
+	}
+
+	/**
+	 * Updates the pool after one of its containers was removed, and creates a replacement.
+	 */
+	private void onRemoved()
+	{
+		lock.lock();
+		try
+		{
+			--members;
+			replenish();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes a container. Failures are logged but otherwise ignored.
+	 *
+	 * @param container the container
+	 */
+	private void remove(Container container)
+	{
+		try
+		{
+			container.remove().kill().removeAnonymousVolumes().apply();
+		}
+		catch (IOException | InterruptedException | RuntimeException e)
+		{
+			log.warn("Failed to remove {}", container.getId(), e);
+		}
+	}
+
+	@Override
+	public ContainerLease lease() throws IOException, InterruptedException
+	{
+		try
+		{
+			return lease(-1);
+		}
+		catch (TimeoutException e)
+		{
+			throw new AssertionError(e);
+		}
+	}
+
+	@Override
+	public ContainerLease lease(Duration timeout) throws IOException, InterruptedException, TimeoutException
+	{
+		requireThat(timeout, "timeout").isNotNull();
+		return lease(Math.max(0, timeout.toNanos()));
+	}
+
+	/**
+	 * Waits until a container is available and leases it.
+	 *
+	 * @param timeout the maximum number of nanoseconds to wait, or {@code -1} to wait indefinitely
+	 * @return the lease
+	 * @throws IllegalStateException if the pool is closed
+	 * @throws IOException           if the pool failed to create a replacement container
+	 * @throws InterruptedException  if the thread is interrupted before the operation completes
+	 * @throws TimeoutException      if no container became available before the timeout elapsed
+	 */
+	private ContainerLease lease(long timeout) throws IOException, InterruptedException, TimeoutException
+	{
+		lock.lock();
+		try
+		{
+			long remaining = timeout;
+			while (true)
+			{
+				if (closed)
+					throw new IllegalStateException("The pool is closed");
+				Container container = idle.pollFirst();
+				if (container != null)
+					return new DefaultContainerLease(container);
+				if (failure != null)
+				{
+					IOException e = failure;
+					failure = null;
+					replenish();
+					throw e;
+				}
+				if (timeout == -1)
+					stateChanged.await();
+				else
+				{
+					if (remaining <= 0)
+					{
+						throw new TimeoutException("No container became available within " +
+							Duration.ofNanos(timeout));
+					}
+					remaining = stateChanged.awaitNanos(remaining);
+				}
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int getIdleCount()
+	{
+		lock.lock();
+		try
+		{
+			return idle.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void close() throws InterruptedException
+	{
+		List<String> ids;
+		lock.lock();
+		try
+		{
+			if (closed)
+				return;
+			closed = true;
+			ids = new ArrayList<>(idle.size());
+			for (Container container : idle)
+				ids.add(container.getId().getValue());
+			members -= idle.size();
+			idle.clear();
+			stateChanged.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		if (ids.isEmpty())
+			return;
+		List<ContainerOperationResult> results = client.removeContainers(ids).kill().removeAnonymousVolumes().
+			apply();
+		for (ContainerOperationResult result : results)
+		{
+			if (!result.isSuccess())
+				log.warn("Failed to remove {}", result.id(), result.failure());
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		lock.lock();
+		try
+		{
+			return new ToStringBuilder(DefaultContainerPool.class).
+				add("size", size).
+				add("members", members).
+				add("idle", idle.size()).
+				add("closed", closed).
+				toString();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * A lease on one of the pool's containers.
+	 */
+	private final class DefaultContainerLease implements ContainerLease
+	{
+		private final Container container;
+		private final Lock leaseLock = new ReentrantLock();
+		private boolean released;
+
+		/**
+		 * @param container the leased container
+		 */
+		private DefaultContainerLease(Container container)
+		{
+			assert container != null;
+			this.container = container;
+		}
+
+		@Override
+		public Container getContainer()
+		{
+			return container;
+		}
+
+		/**
+		 * Ends the lease.
+		 *
+		 * @return {@code false} if the lease already ended
+		 */
+		private boolean release()
+		{
+			leaseLock.lock();
+			try
+			{
+				if (released)
+					return false;
+				released = true;
+				return true;
+			}
+			finally
+			{
+				leaseLock.unlock();
+			}
+		}
+
+		@Override
+		public void discard()
+		{
+			if (!release())
+				return;
+			Thread.startVirtualThread(() ->
+			{
+				remove(container);
+				onRemoved();
+			});
+		}
+
+		@Override
+		public void close()
+		{
+			if (!release())
+				return;
+			Thread.startVirtualThread(() ->
+			{
+				try
+				{
+					onRelease.apply(container);
+					onIdle(container);
+				}
+				catch (IOException | InterruptedException | RuntimeException e)
+				{
+					log.warn("Failed to reset {}. Replacing it.", container.getId(), e);
+					remove(container);
+					onRemoved();
+				}
+			});
+		}
+
+		@Override
+		public String toString()
+		{
+			return new ToStringBuilder(DefaultContainerLease.class).
+				add("container", container.getId()).
+				add("released", released).
+				toString();
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCreator;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPool;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPool.Hook;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPoolCreator;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code ContainerPoolCreator}.
+ */
+public final class DefaultContainerPoolCreator implements ContainerPoolCreator
+{
+	private final InternalDockerClient client;
+	private final DefaultContainerCreator template;
+	private int size = 2;
+	private Hook onStart = _ ->
+	{
+	};
+	private Hook onRelease = _ ->
+	{
+	};
+
+	/**
+	 * Creates a container pool creator.
+	 *
+	 * @param client   the client configuration
+	 * @param template creates the pool's containers. The template is copied, so later changes to it do not
+	 *                 affect the pool.
+	 * @throws NullPointerException     if {@code template} is null
+	 * @throws IllegalArgumentException if {@code template} specifies a name or binds a container port to a
+	 *                                  specific host port, because only one container could be created
+	 */
+	public DefaultContainerPoolCreator(InternalDockerClient client, ContainerCreator template)
+	{
+		assert client != null;
+		requireThat(template, "template").isNotNull();
+		// Containers are created concurrently, so each thread reads the same copy without modifying it
+		DefaultContainerCreator copy = ((DefaultContainerCreator) template).copy();
+		if (!copy.getName().isEmpty())
+		{
+			throw new IllegalArgumentException("template may not specify a name, because the names of the " +
+				"pool's containers must be unique.\n" +
+				"Actual: " + copy.getName());
+		}
+		if (copy.bindsFixedHostPort())
+		{
+			throw new IllegalArgumentException("template may not bind a container port to a specific host port, " +
+				"because the pool's containers cannot share it.\n" +
+				"Actual: " + template);
+		}
+		this.client = client;
+		this.template = copy;
+	}
+
+	@Override
+	public ContainerPoolCreator size(int size)
+	{
+		requireThat(size, "size").isPositive();
+		this.size = size;
+		return this;
+	}
+
+	@Override
+	public ContainerPoolCreator onStart(Hook onStart)
+	{
+		requireThat(onStart, "onStart").isNotNull();
+		this.onStart = onStart;
+		return this;
+	}
+
+	@Override
+	public ContainerPoolCreator onRelease(Hook onRelease)
+	{
+		requireThat(onRelease, "onRelease").isNotNull();
+		this.onRelease = onRelease;
+		return this;
+	}
+
+	@Override
+	public ContainerPool apply()
+	{
+		DefaultContainerPool pool = new DefaultContainerPool(client, template, size, onStart, onRelease);
+		pool.start();
+		return pool;
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultContainerPoolCreator.class).
+			add("template", template).
+			add("size", size).
+			toString();
+	}
+}
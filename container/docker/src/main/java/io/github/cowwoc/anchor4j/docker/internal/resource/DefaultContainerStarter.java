@@ -45,7 +45,7 @@ public Container apply() throws IOException, InterruptedException
 		List<String> arguments = List.of("container", "start", id.getValue());
 		CommandResult result = client.retry(_ -> client.run(arguments));
 		client.getContainerParser().start(result);
-		return client.getContainer(id);
+		return new LazyContainer(client, id);
 	}
 
 	@Override
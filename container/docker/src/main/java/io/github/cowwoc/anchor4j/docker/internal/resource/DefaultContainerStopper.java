@@ -77,7 +77,7 @@ public Container apply() throws IOException, InterruptedException
 		}
 		CommandResult result = client.retry(_ -> client.run(arguments));
 		client.getContainerParser().stop(result);
-		return client.getContainer(id);
+		return new LazyContainer(client, id);
 	}
 
 	@Override
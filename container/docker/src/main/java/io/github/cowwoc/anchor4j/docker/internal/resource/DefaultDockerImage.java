@@ -12,7 +12,6 @@
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
@@ -104,15 +103,13 @@ public ImageRemover remove()
 	@Override
 	public int hashCode()
 	{
-		return Objects.hash(id, referenceToTags, referenceToDigest);
+		return id.hashCode();
 	}
 
 	@Override
 	public boolean equals(Object o)
 	{
-		return o instanceof DockerImage other && other.getId().equals(id) &&
-			other.referenceToTags().equals(referenceToTags) &&
-			other.referenceToDigest().equals(referenceToDigest);
+		return o instanceof DockerImage other && other.getId().equals(id);
 	}
 
 	@Override
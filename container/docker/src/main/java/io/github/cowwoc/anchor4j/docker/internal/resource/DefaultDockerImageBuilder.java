@@ -50,6 +50,18 @@ public DockerImageBuilder cacheFrom(String source)
 		return (DockerImageBuilder) super.cacheFrom(source);
 	}
 
+	@Override
+	public DockerImageBuilder cacheFrom(Cache source)
+	{
+		return (DockerImageBuilder) super.cacheFrom(source);
+	}
+
+	@Override
+	public DockerImageBuilder cacheTo(Cache destination)
+	{
+		return (DockerImageBuilder) super.cacheTo(destination);
+	}
+
 	@Override
 	public DockerImageBuilder export(Exporter exporter)
 	{
@@ -62,6 +74,18 @@ public DockerImageBuilder builder(Builder.Id builder)
 		return (DockerImageBuilder) super.builder(builder);
 	}
 
+	@Override
+	public DockerImageBuilder splitPlatforms(boolean splitPlatforms)
+	{
+		return (DockerImageBuilder) super.splitPlatforms(splitPlatforms);
+	}
+
+	@Override
+	public DockerImageBuilder streamContext(boolean streamContext)
+	{
+		return (DockerImageBuilder) super.streamContext(streamContext);
+	}
+
 	@Override
 	public DockerImageBuilder listener(BuildListener listener)
 	{
@@ -0,0 +1,129 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.util.ParameterValidator;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCommitter;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+import io.github.cowwoc.anchor4j.docker.resource.FixtureImageCreator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Default implementation of {@code FixtureImageCreator}.
+ * <p>
+ * The local image store acts as the cache. Each fixture is stored under
+ * {@code anchor4j-fixture/<name>:<contentHash>}, so the presence of the reference indicates that the fixture
+ * was already captured.
+ */
+public final class DefaultFixtureImageCreator implements FixtureImageCreator
+{
+	/**
+	 * The repository that fixture images are stored in.
+	 */
+	private static final String REPOSITORY = "anchor4j-fixture";
+	private final InternalDockerClient client;
+	private final String name;
+	private final String contentHash;
+	private final String reference;
+	private final List<String> changes = new ArrayList<>();
+	private final Logger log = LoggerFactory.getLogger(DefaultFixtureImageCreator.class);
+
+	/**
+	 * Creates a fixture image creator.
+	 *
+	 * @param client      the client configuration
+	 * @param name        the name of the fixture
+	 * @param contentHash a hash of the fixture's contents
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code name} or {@code contentHash} are not valid components of an
+	 *                                  image reference
+	 */
+	public DefaultFixtureImageCreator(InternalDockerClient client, String name, String contentHash)
+	{
+		assert client != null;
+		requireThat(name, "name").isNotNull();
+		requireThat(contentHash, "contentHash").isNotNull();
+		String reference = REPOSITORY + "/" + name + ":" + contentHash;
+		ParameterValidator.validateImageReference(reference, "reference");
+		this.client = client;
+		this.name = name;
+		this.contentHash = contentHash;
+		this.reference = reference;
+	}
+
+	@Override
+	public FixtureImageCreator change(String instruction)
+	{
+		requireThat(instruction, "instruction").isStripped().isNotEmpty();
+		changes.add(instruction);
+		return this;
+	}
+
+	@Override
+	public DockerImage apply(Initializer initializer) throws IOException, InterruptedException
+	{
+		requireThat(initializer, "initializer").isNotNull();
+		return client.getFixtureImages().apply(reference, () ->
+		{
+			DockerImage image = client.getImage(reference);
+			if (image != null)
+				return image;
+			return create(initializer);
+		});
+	}
+
+	/**
+	 * Creates the fixture's image.
+	 *
+	 * @param initializer creates and seeds the container that the fixture is captured from
+	 * @return the image
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	private DockerImage create(Initializer initializer) throws IOException, InterruptedException
+	{
+		log.debug("Capturing fixture {}", reference);
+		Container container = initializer.apply();
+		try
+		{
+			ContainerCommitter committer = container.commit().
+				reference(reference).
+				change("LABEL anchor4j.fixture=" + name).
+				change("LABEL anchor4j.fixture.hash=" + contentHash).
+				message("Fixture " + name);
+			for (String change : changes)
+				committer.change(change);
+			return committer.apply();
+		}
+		finally
+		{
+			try
+			{
+				container.remove().kill().removeAnonymousVolumes().apply();
+			}
+			catch (IOException | RuntimeException e)
+			{
+				log.warn("Failed to remove {}", container.getId(), e);
+			}
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultFixtureImageCreator.class).
+			add("reference", reference).
+			add("changes", changes).
+			toString();
+	}
+}
@@ -1,9 +1,12 @@
 package io.github.cowwoc.anchor4j.docker.internal.resource;
 
 import io.github.cowwoc.anchor4j.container.core.internal.util.ParameterValidator;
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
 import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
 import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
 import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ImageTransferProgressParser;
 import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
 import io.github.cowwoc.anchor4j.docker.resource.ImagePuller;
 
@@ -21,6 +24,7 @@ public final class DefaultImagePuller implements ImagePuller
 	private final InternalDockerClient client;
 	private final String reference;
 	private String platform = "";
+	private boolean onlyIfMissing;
 
 	/**
 	 * Creates an image puller.
@@ -46,8 +50,55 @@ public ImagePuller platform(String platform)
 		return this;
 	}
 
+	@Override
+	public ImagePuller onlyIfMissing(boolean onlyIfMissing)
+	{
+		this.onlyIfMissing = onlyIfMissing;
+		return this;
+	}
+
 	@Override
 	public DockerImage apply() throws IOException, InterruptedException
+	{
+		return apply(null);
+	}
+
+	/**
+	 * Pulls the image.
+	 *
+	 * @param progress the parser to pass the command's output to, or {@code null} to ignore the progress
+	 * @return the image
+	 * @throws ResourceNotFoundException if the image does not exist or may require {@code docker login}
+	 * @throws IOException               if an I/O error occurs. These errors are typically transient, and
+	 *                                   retrying the request may resolve the issue.
+	 * @throws InterruptedException      if the thread is interrupted before the operation completes. This can
+	 *                                   happen due to shutdown signals.
+	 */
+	DockerImage apply(ImageTransferProgressParser progress) throws IOException, InterruptedException
+	{
+		if (onlyIfMissing)
+		{
+			DockerImage image = client.getImage(reference);
+			if (image != null)
+				return image;
+		}
+		client.getImagePulls().apply(new PullKey(normalize(reference), platform), () -> pull(progress));
+		// The image's ID is looked up on demand
+		return new LazyDockerImage(client, reference);
+	}
+
+	/**
+	 * Pulls the image.
+	 *
+	 * @param progress the parser to pass the command's output to, or {@code null} to ignore the progress
+	 * @return the digest of the image's manifest
+	 * @throws ResourceNotFoundException if the image does not exist or may require {@code docker login}
+	 * @throws IOException               if an I/O error occurs. These errors are typically transient, and
+	 *                                   retrying the request may resolve the issue.
+	 * @throws InterruptedException      if the thread is interrupted before the operation completes. This can
+	 *                                   happen due to shutdown signals.
+	 */
+	private ContainerImage.Id pull(ImageTransferProgressParser progress) throws IOException, InterruptedException
 	{
 		// https://docs.docker.com/reference/cli/docker/image/pull/
 		List<String> arguments = new ArrayList<>(5);
@@ -55,12 +106,57 @@ public DockerImage apply() throws IOException, InterruptedException
 		arguments.add("pull");
 		if (!platform.isEmpty())
 		{
-			arguments.add("platform");
+			arguments.add("--platform");
 			arguments.add(platform);
 		}
 		arguments.add(reference);
-		CommandResult result = client.retry(_ -> client.run(arguments));
-		return client.getImage(client.getImageParser().pull(result, reference));
+		CommandResult result;
+		if (progress == null)
+			result = client.retry(_ -> client.run(arguments));
+		else
+			result = client.retry(_ -> client.run(arguments, progress));
+		return client.getImageParser().pull(result, reference);
+	}
+
+	/**
+	 * Returns the fully qualified form of a reference, so that equivalent references pull the image once.
+	 * <p>
+	 * For example, {@code postgres:16} becomes {@code docker.io/library/postgres:16} and
+	 * {@code nasa/rocket-ship} becomes {@code docker.io/nasa/rocket-ship:latest}.
+	 *
+	 * @param reference an image reference
+	 * @return the normalized reference
+	 */
+	public static String normalize(String reference)
+	{
+		// https://github.com/distribution/reference/blob/main/normalize.go
+		String registry;
+		String remainder;
+		int slash = reference.indexOf('/');
+		String firstComponent;
+		if (slash == -1)
+			firstComponent = "";
+		else
+			firstComponent = reference.substring(0, slash);
+		if (firstComponent.contains(".") || firstComponent.contains(":") || firstComponent.equals("localhost"))
+		{
+			registry = firstComponent;
+			remainder = reference.substring(slash + 1);
+		}
+		else
+		{
+			registry = "docker.io";
+			remainder = reference;
+		}
+		if (registry.equals("index.docker.io"))
+			registry = "docker.io";
+		if (registry.equals("docker.io") && remainder.indexOf('/') == -1)
+			remainder = "library/" + remainder;
+
+		int lastSlash = remainder.lastIndexOf('/');
+		if (remainder.indexOf('@') == -1 && remainder.indexOf(':', lastSlash + 1) == -1)
+			remainder += ":latest";
+		return registry + "/" + remainder;
 	}
 
 	@Override
@@ -69,6 +165,28 @@ public String toString()
 		return new ToStringBuilder(DefaultImagePuller.class).
 			add("reference", reference).
 			add("platform", platform).
+			add("onlyIfMissing", onlyIfMissing).
 			toString();
 	}
+
+	/**
+	 * Identifies concurrent pulls of the same image.
+	 *
+	 * @param reference the normalized reference to pull
+	 * @param platform  the platform to pull, or an empty string to pull the default platform
+	 */
+	public record PullKey(String reference, String platform)
+	{
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param reference the normalized reference to pull
+		 * @param platform  the platform to pull, or an empty string to pull the default platform
+		 */
+		public PullKey
+		{
+			assert reference != null;
+			assert platform != null;
+		}
+	}
 }
\ No newline at end of file
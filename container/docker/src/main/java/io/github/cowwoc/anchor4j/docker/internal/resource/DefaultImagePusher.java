@@ -1,10 +1,11 @@
 package io.github.cowwoc.anchor4j.docker.internal.resource;
 
 import io.github.cowwoc.anchor4j.container.core.internal.util.ParameterValidator;
-import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
 import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
 import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
 import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ImageTransferProgressParser;
 import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
 import io.github.cowwoc.anchor4j.docker.resource.ImagePusher;
 
@@ -50,6 +51,22 @@ public ImagePusher platform(String platform)
 
 	@Override
 	public DockerImage apply() throws IOException, InterruptedException
+	{
+		return apply(null);
+	}
+
+	/**
+	 * Pushes the image.
+	 *
+	 * @param progress the parser to pass the command's output to, or {@code null} to ignore the progress
+	 * @return the image
+	 * @throws ResourceNotFoundException if the referenced image could not be found
+	 * @throws IOException               if an I/O error occurs. These errors are typically transient, and
+	 *                                   retrying the request may resolve the issue.
+	 * @throws InterruptedException      if the thread is interrupted before the operation completes. This can
+	 *                                   happen due to shutdown signals.
+	 */
+	DockerImage apply(ImageTransferProgressParser progress) throws IOException, InterruptedException
 	{
 		// https://docs.docker.com/reference/cli/docker/image/push/
 		List<String> arguments = new ArrayList<>(5);
@@ -61,9 +78,14 @@ public DockerImage apply() throws IOException, InterruptedException
 			arguments.add(platform);
 		}
 		arguments.add(reference);
-		CommandResult result = client.retry(_ -> client.run(arguments));
+		CommandResult result;
+		if (progress == null)
+			result = client.retry(_ -> client.run(arguments));
+		else
+			result = client.retry(_ -> client.run(arguments, progress));
 		client.getImageParser().push(result);
-		return client.getImage(ContainerImage.id(reference));
+		// The image's ID is looked up on demand
+		return new LazyDockerImage(client, reference);
 	}
 
 	@Override
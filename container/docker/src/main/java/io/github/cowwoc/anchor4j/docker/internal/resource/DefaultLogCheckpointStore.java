@@ -0,0 +1,229 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpoint;
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpointStore;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Stores checkpoints in a file containing one JSON record per container stream.
+ * <p>
+ * The file is small (one line per container stream), so it is rewritten in its entirety and atomically replaced on
+ * every flush. A crash therefore leaves either the previous or the new version of the file, never a mix.
+ */
+public final class DefaultLogCheckpointStore implements LogCheckpointStore
+{
+	/**
+	 * The minimum amount of time between writes that are triggered by {@link #put(LogCheckpoint)}.
+	 */
+	private static final long FLUSH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+	private final Path file;
+	private final JsonMapper jsonMapper;
+	private final Lock lock = new ReentrantLock();
+	private final Map<Key, LogCheckpoint> keyToCheckpoint = new HashMap<>();
+	/**
+	 * {@code true} if {@link #keyToCheckpoint} contains updates that were not written to disk.
+	 */
+	private boolean dirty;
+	/**
+	 * The value of {@link System#nanoTime()} the last time that the file was written.
+	 */
+	private long lastFlush = System.nanoTime();
+	private boolean closed;
+
+	/**
+	 * Loads a checkpoint store, creating it if it does not exist.
+	 *
+	 * @param file       the path of the file
+	 * @param jsonMapper the JSON configuration
+	 * @throws NullPointerException if {@code file} is null
+	 * @throws IOException          if an I/O error occurs while reading the file
+	 */
+	public DefaultLogCheckpointStore(Path file, JsonMapper jsonMapper) throws IOException
+	{
+		requireThat(file, "file").isNotNull();
+		assert jsonMapper != null;
+		this.file = file;
+		this.jsonMapper = jsonMapper;
+		if (Files.notExists(file))
+			return;
+		try (BufferedReader reader = Files.newBufferedReader(file, UTF_8))
+		{
+			while (true)
+			{
+				String line = reader.readLine();
+				if (line == null)
+					break;
+				if (line.isBlank())
+					continue;
+				JsonNode record = jsonMapper.readTree(line);
+				String source = record.get("source").textValue();
+				Stream stream = Stream.valueOf(record.get("stream").textValue());
+				Instant timestamp = Instant.parse(record.get("timestamp").textValue());
+				long linesAtTimestamp = record.get("linesAtTimestamp").longValue();
+				keyToCheckpoint.put(new Key(source, stream),
+					new LogCheckpoint(source, stream, timestamp, linesAtTimestamp));
+			}
+		}
+	}
+
+	@Override
+	public LogCheckpoint get(String source, Stream stream)
+	{
+		requireThat(source, "source").isNotNull();
+		requireThat(stream, "stream").isNotNull();
+		lock.lock();
+		try
+		{
+			return keyToCheckpoint.get(new Key(source, stream));
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void put(LogCheckpoint checkpoint) throws IOException
+	{
+		requireThat(checkpoint, "checkpoint").isNotNull();
+		lock.lock();
+		try
+		{
+			ensureOpen();
+			keyToCheckpoint.put(new Key(checkpoint.source(), checkpoint.stream()), checkpoint);
+			dirty = true;
+			if (System.nanoTime() - lastFlush >= FLUSH_INTERVAL)
+				write();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void flush() throws IOException
+	{
+		lock.lock();
+		try
+		{
+			ensureOpen();
+			if (dirty)
+				write();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @throws IllegalStateException if the store is closed
+	 */
+	private void ensureOpen()
+	{
+		if (closed)
+			throw new IllegalStateException("The checkpoint store is closed");
+	}
+
+	/**
+	 * Replaces the file with the current checkpoints.
+	 * <p>
+	 * The caller must hold the lock.
+	 *
+	 * @throws IOException if an I/O error occurs while writing the file
+	 */
+	private void write() throws IOException
+	{
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+		try
+		{
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8))
+			{
+				for (LogCheckpoint checkpoint : keyToCheckpoint.values())
+				{
+					writer.write(jsonMapper.writeValueAsString(jsonMapper.createObjectNode().
+						put("source", checkpoint.source()).
+						put("stream", checkpoint.stream().name()).
+						put("timestamp", checkpoint.timestamp().toString()).
+						put("linesAtTimestamp", checkpoint.linesAtTimestamp())));
+					writer.newLine();
+				}
+			}
+			Files.move(tempFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+			dirty = false;
+			lastFlush = System.nanoTime();
+		}
+		finally
+		{
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		lock.lock();
+		try
+		{
+			if (closed)
+				return;
+			if (dirty)
+				write();
+			closed = true;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultLogCheckpointStore.class).
+			add("file", file).
+			toString();
+	}
+
+	/**
+	 * Identifies a checkpoint.
+	 *
+	 * @param source the ID or name of the container
+	 * @param stream the stream
+	 */
+	private record Key(String source, Stream stream)
+	{
+		/**
+		 * @param source the ID or name of the container
+		 * @param stream the stream
+		 */
+		private Key
+		{
+			assert source != null;
+			assert stream != null;
+		}
+	}
+}
@@ -0,0 +1,517 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine;
+import io.github.cowwoc.anchor4j.docker.resource.LogMerger;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public final class DefaultLogMerger implements LogMerger
+{
+	/**
+	 * The default maximum number of lines to buffer for each of the merged streams.
+	 */
+	private static final int DEFAULT_BUFFER_SIZE = 64;
+	private final List<LogStream> streams;
+	private Duration reorderWindow = Duration.ofMillis(100);
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	/**
+	 * Creates a DefaultLogMerger.
+	 *
+	 * @param streams the streams to merge
+	 * @throws NullPointerException     if {@code streams} is null or contains null elements
+	 * @throws IllegalArgumentException if {@code streams} is empty
+	 */
+	public DefaultLogMerger(Collection<LogStream> streams)
+	{
+		requireThat(streams, "streams").isNotEmpty().doesNotContain(null);
+		this.streams = List.copyOf(streams);
+	}
+
+	@Override
+	public LogMerger reorderWindow(Duration reorderWindow)
+	{
+		requireThat(reorderWindow, "reorderWindow").isGreaterThanOrEqualTo(Duration.ZERO);
+		this.reorderWindow = reorderWindow;
+		return this;
+	}
+
+	@Override
+	public LogMerger bufferSize(int bufferSize)
+	{
+		requireThat(bufferSize, "bufferSize").isPositive();
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	@Override
+	public LogStream stream()
+	{
+		return new MergedLogStream(streams, reorderWindow.toNanos(), bufferSize);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultLogMerger.class).
+			add("streams", streams).
+			add("reorderWindow", reorderWindow).
+			add("bufferSize", bufferSize).
+			toString();
+	}
+
+	/**
+	 * A stream that merges the lines of other streams by timestamp.
+	 *
+	 * @param streams       the streams to merge
+	 * @param reorderWindow the maximum number of nanoseconds that a line is held back
+	 * @param bufferSize    the maximum number of lines to buffer for each of the merged streams
+	 */
+	private record MergedLogStream(List<LogStream> streams, long reorderWindow, int bufferSize)
+		implements LogStream
+	{
+		/**
+		 * Creates a new stream.
+		 *
+		 * @param streams       the streams to merge
+		 * @param reorderWindow the maximum number of nanoseconds that a line is held back
+		 * @param bufferSize    the maximum number of lines to buffer for each of the merged streams
+		 */
+		private MergedLogStream
+		{
+			assert streams != null;
+			assert reorderWindow >= 0 : reorderWindow;
+			assert bufferSize > 0 : bufferSize;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super LogLine> subscriber)
+		{
+			requireThat(subscriber, "subscriber").isNotNull();
+			MergedSubscription subscription = new MergedSubscription(this, subscriber);
+			subscriber.onSubscribe(subscription);
+			subscription.start();
+		}
+	}
+
+	/**
+	 * A line that is waiting to be delivered.
+	 *
+	 * @param line       the line
+	 * @param source     the stream that the line was read from
+	 * @param sequence   the order in which the line was received, used to order lines with the same timestamp
+	 * @param receivedAt the value of {@link System#nanoTime()} when the line was received
+	 */
+	private record PendingLine(LogLine line, Source source, long sequence, long receivedAt)
+	{
+		/**
+		 * Orders lines by timestamp, and lines with the same timestamp by the order in which they were received.
+		 */
+		static final Comparator<PendingLine> ORDER = Comparator.
+			<PendingLine, Instant>comparing(pending -> pending.line.timestamp()).
+			thenComparingLong(PendingLine::sequence);
+	}
+
+	/**
+	 * The state of a single subscriber.
+	 * <p>
+	 * Each merged stream's lines are added to a priority queue, and a dedicated thread delivers the oldest
+	 * line to the subscriber once it is known to be the oldest, or once it has been held back for longer than
+	 * the reorder window.
+	 */
+	private static final class MergedSubscription implements Subscription
+	{
+		private final MergedLogStream stream;
+		private final Subscriber<? super LogLine> subscriber;
+		private final List<Source> sources;
+		private final Lock lock = new ReentrantLock();
+		/**
+		 * Signaled whenever the queue, demand or termination state changes.
+		 */
+		private final Condition stateChanged = lock.newCondition();
+		private final Queue<PendingLine> queue = new PriorityQueue<>(PendingLine.ORDER);
+		private long nextSequence;
+		private long demand;
+		private int activeSources;
+		private boolean cancelled;
+		/**
+		 * The error to report to the subscriber, or {@code null} if none.
+		 */
+		private Throwable failure;
+		private final Logger log = LoggerFactory.getLogger(MergedSubscription.class);
+
+		/**
+		 * @param stream     the merged stream
+		 * @param subscriber the subscriber
+		 */
+		private MergedSubscription(MergedLogStream stream, Subscriber<? super LogLine> subscriber)
+		{
+			assert stream != null;
+			assert subscriber != null;
+			this.stream = stream;
+			this.subscriber = subscriber;
+			this.sources = new ArrayList<>(stream.streams.size());
+			for (int i = 0; i < stream.streams.size(); ++i)
+				sources.add(new Source(this));
+			this.activeSources = sources.size();
+		}
+
+		/**
+		 * Subscribes to the merged streams.
+		 */
+		public void start()
+		{
+			for (int i = 0; i < sources.size(); ++i)
+				stream.streams.get(i).subscribe(sources.get(i));
+			Thread.startVirtualThread(this::deliver);
+		}
+
+		@Override
+		public void request(long n)
+		{
+			if (n <= 0)
+			{
+				// https://github.com/reactive-streams/reactive-streams-jvm#3.9
+				List<Subscription> subscriptions;
+				lock.lock();
+				try
+				{
+					subscriptions = fail(new IllegalArgumentException("n must be positive: " + n));
+				}
+				finally
+				{
+					lock.unlock();
+				}
+				cancelAll(subscriptions);
+				return;
+			}
+			lock.lock();
+			try
+			{
+				demand += n;
+				if (demand < 0)
+				{
+					// Overflow
+					demand = Long.MAX_VALUE;
+				}
+				stateChanged.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void cancel()
+		{
+			List<Subscription> subscriptions;
+			lock.lock();
+			try
+			{
+				subscriptions = terminate();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+			cancelAll(subscriptions);
+		}
+
+		/**
+		 * Terminates the subscription, reporting an error to the subscriber.
+		 * <p>
+		 * The caller must hold the lock, and must pass the return value to {@link #cancelAll(List)} after
+		 * releasing it.
+		 *
+		 * @param failure the error to report
+		 * @return the subscriptions to the merged streams that must be cancelled
+		 */
+		private List<Subscription> fail(Throwable failure)
+		{
+			if (cancelled)
+				return List.of();
+			this.failure = failure;
+			return terminate();
+		}
+
+		/**
+		 * Discards any buffered lines and returns the subscriptions to the merged streams that must be
+		 * cancelled.
+		 * <p>
+		 * The caller must hold the lock, and must pass the return value to {@link #cancelAll(List)} after
+		 * releasing it. The streams are not cancelled while the lock is held because they may block or invoke
+		 * this subscription's methods from another thread.
+		 *
+		 * @return the subscriptions to cancel
+		 */
+		private List<Subscription> terminate()
+		{
+			if (cancelled)
+				return List.of();
+			cancelled = true;
+			queue.clear();
+			List<Subscription> subscriptions = new ArrayList<>(sources.size());
+			for (Source source : sources)
+			{
+				if (source.subscription != null && !source.completed)
+					subscriptions.add(source.subscription);
+			}
+			stateChanged.signalAll();
+			return subscriptions;
+		}
+
+		/**
+		 * Cancels subscriptions to the merged streams.
+		 * <p>
+		 * The caller must not hold the lock.
+		 *
+		 * @param subscriptions the subscriptions
+		 */
+		private static void cancelAll(List<Subscription> subscriptions)
+		{
+			for (Subscription subscription : subscriptions)
+				subscription.cancel();
+		}
+
+		/**
+		 * Indicates if the oldest buffered line is known to be older than any line that has yet to be received.
+		 * <p>
+		 * The caller must hold the lock.
+		 *
+		 * @return {@code true} if every stream that has not completed has a buffered line
+		 */
+		private boolean isOldestKnown()
+		{
+			for (Source source : sources)
+			{
+				if (!source.completed && source.buffered == 0)
+					return false;
+			}
+			return true;
+		}
+
+		/**
+		 * Delivers buffered lines to the subscriber, followed by the outcome of the merged streams.
+		 */
+		private void deliver()
+		{
+			try
+			{
+				while (true)
+				{
+					PendingLine next;
+					Throwable error = null;
+					boolean complete = false;
+					lock.lock();
+					try
+					{
+						while (true)
+						{
+							if (cancelled)
+							{
+								if (failure == null)
+									return;
+								error = failure;
+								break;
+							}
+							if (queue.isEmpty())
+							{
+								if (activeSources == 0)
+								{
+									complete = true;
+									break;
+								}
+								stateChanged.await();
+								continue;
+							}
+							if (demand == 0)
+							{
+								stateChanged.await();
+								continue;
+							}
+							PendingLine head = queue.element();
+							long remaining = head.receivedAt + stream.reorderWindow - System.nanoTime();
+							if (remaining <= 0 || isOldestKnown())
+								break;
+							stateChanged.await(remaining, NANOSECONDS);
+						}
+						if (complete || error != null)
+							next = null;
+						else
+						{
+							next = queue.remove();
+							--next.source.buffered;
+							if (demand != Long.MAX_VALUE)
+								--demand;
+						}
+					}
+					finally
+					{
+						lock.unlock();
+					}
+					if (error != null)
+					{
+						subscriber.onError(error);
+						return;
+					}
+					if (complete)
+					{
+						subscriber.onComplete();
+						return;
+					}
+					subscriber.onNext(next.line);
+					next.source.request();
+				}
+			}
+			catch (InterruptedException _)
+			{
+				cancel();
+			}
+			catch (RuntimeException e)
+			{
+				// https://github.com/reactive-streams/reactive-streams-jvm#2.13
+				log.warn("The subscriber threw an exception. Cancelling the subscription.", e);
+				cancel();
+			}
+		}
+
+		/**
+		 * Receives the lines of one of the merged streams.
+		 */
+		private static final class Source implements Subscriber<LogLine>
+		{
+			private final MergedSubscription merger;
+			/**
+			 * The subscription to the stream, or {@code null} if the stream has not invoked
+			 * {@link #onSubscribe(Subscription)} yet.
+			 */
+			private Subscription subscription;
+			/**
+			 * The number of lines in the queue that were read from this stream.
+			 */
+			private int buffered;
+			private boolean completed;
+
+			/**
+			 * @param merger the subscription that merges this stream's lines
+			 */
+			private Source(MergedSubscription merger)
+			{
+				assert merger != null;
+				this.merger = merger;
+			}
+
+			@Override
+			public void onSubscribe(Subscription subscription)
+			{
+				boolean cancelled;
+				merger.lock.lock();
+				try
+				{
+					cancelled = merger.cancelled;
+					if (!cancelled)
+						this.subscription = subscription;
+				}
+				finally
+				{
+					merger.lock.unlock();
+				}
+				if (cancelled)
+					subscription.cancel();
+				else
+					subscription.request(merger.stream.bufferSize);
+			}
+
+			/**
+			 * Requests the line that replaces a delivered one.
+			 */
+			private void request()
+			{
+				Subscription subscription;
+				merger.lock.lock();
+				try
+				{
+					if (completed || merger.cancelled)
+						return;
+					subscription = this.subscription;
+				}
+				finally
+				{
+					merger.lock.unlock();
+				}
+				subscription.request(1);
+			}
+
+			@Override
+			public void onNext(LogLine line)
+			{
+				merger.lock.lock();
+				try
+				{
+					if (merger.cancelled)
+						return;
+					merger.queue.add(new PendingLine(line, this, merger.nextSequence++, System.nanoTime()));
+					++buffered;
+					merger.stateChanged.signalAll();
+				}
+				finally
+				{
+					merger.lock.unlock();
+				}
+			}
+
+			@Override
+			public void onError(Throwable throwable)
+			{
+				List<Subscription> subscriptions;
+				merger.lock.lock();
+				try
+				{
+					completed = true;
+					subscriptions = merger.fail(throwable);
+				}
+				finally
+				{
+					merger.lock.unlock();
+				}
+				cancelAll(subscriptions);
+			}
+
+			@Override
+			public void onComplete()
+			{
+				merger.lock.lock();
+				try
+				{
+					completed = true;
+					--merger.activeSources;
+					merger.stateChanged.signalAll();
+				}
+				finally
+				{
+					merger.lock.unlock();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,500 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.util.OutputBuffer;
+import io.github.cowwoc.anchor4j.core.internal.util.Processes;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Publishes the lines that a {@code docker} command writes to stdout and stderr.
+ */
+public final class DefaultLogStream implements LogStream
+{
+	/**
+	 * The default maximum number of lines to buffer for each subscriber.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1024;
+	/**
+	 * The maximum number of characters of diagnostic output to retain.
+	 */
+	private static final int MAXIMUM_DIAGNOSTICS = 64 * 1024;
+	private final InternalDockerClient client;
+	/**
+	 * Returns the command-line arguments of a subscription, given its checkpointer.
+	 */
+	private final Function<LogCheckpointer, List<String>> arguments;
+	private final int bufferSize;
+	private final OverflowPolicy overflowPolicy;
+	private final LineParser lineParser;
+	private final FailureParser failureParser;
+	/**
+	 * Returns a new checkpointer for each subscription, or {@code null} if checkpoints are disabled.
+	 */
+	private final Supplier<LogCheckpointer> checkpointers;
+	private final Logger log = LoggerFactory.getLogger(DefaultLogStream.class);
+
+	/**
+	 * Creates a new stream.
+	 *
+	 * @param client         the client configuration
+	 * @param arguments      returns the command-line arguments to pass to the executable, given the
+	 *                       subscription's checkpointer (which is {@code null} if checkpoints are disabled)
+	 * @param bufferSize     the maximum number of lines to buffer for each subscriber
+	 * @param overflowPolicy what to do when a subscriber's buffer is full
+	 * @param lineParser     converts lines of output to log lines
+	 * @param failureParser  returns the reason that the command failed if it returns a non-zero exit code
+	 * @param checkpointers  returns the checkpointer of each subscription, or {@code null} to disable
+	 *                       checkpoints
+	 */
+	public DefaultLogStream(InternalDockerClient client, Function<LogCheckpointer, List<String>> arguments,
+		int bufferSize, OverflowPolicy overflowPolicy, LineParser lineParser, FailureParser failureParser,
+		Supplier<LogCheckpointer> checkpointers)
+	{
+		assert client != null;
+		assert arguments != null;
+		assert bufferSize > 0;
+		assert overflowPolicy != null;
+		assert lineParser != null;
+		assert failureParser != null;
+		this.client = client;
+		this.arguments = arguments;
+		this.bufferSize = bufferSize;
+		this.overflowPolicy = overflowPolicy;
+		this.lineParser = lineParser;
+		this.failureParser = failureParser;
+		this.checkpointers = checkpointers;
+	}
+
+	@Override
+	public void subscribe(Subscriber<? super LogLine> subscriber)
+	{
+		requireThat(subscriber, "subscriber").isNotNull();
+		LogSubscription subscription = new LogSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		subscription.start();
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultLogStream.class).
+			add("bufferSize", bufferSize).
+			add("overflowPolicy", overflowPolicy).
+			toString();
+	}
+
+	/**
+	 * Converts lines of output to log lines.
+	 */
+	@FunctionalInterface
+	public interface LineParser
+	{
+		/**
+		 * Parses a line of output.
+		 *
+		 * @param stream the stream that the line was read from
+		 * @param line   the line, excluding the line terminator
+		 * @return {@code null} if the line does not contain a log entry (e.g. it contains an error message)
+		 */
+		LogLine parse(Stream stream, byte[] line);
+	}
+
+	/**
+	 * Determines why a command failed.
+	 */
+	@FunctionalInterface
+	public interface FailureParser
+	{
+		/**
+		 * Returns the reason that a command failed.
+		 *
+		 * @param result the result of executing a command that returned a non-zero exit code
+		 * @return the error to report to the subscriber
+		 */
+		Throwable getFailure(CommandResult result);
+	}
+
+	/**
+	 * The state of a single subscriber.
+	 * <p>
+	 * Two threads read the process' stdout and stderr into a bounded buffer, and a third thread delivers
+	 * buffered lines to the subscriber as it requests them.
+	 */
+	private final class LogSubscription implements Subscription
+	{
+		private final Subscriber<? super LogLine> subscriber;
+		private final Lock lock = new ReentrantLock();
+		/**
+		 * Signaled whenever the buffer, demand or termination state changes.
+		 */
+		private final Condition stateChanged = lock.newCondition();
+		private final Deque<LogLine> buffer = new ArrayDeque<>();
+		/**
+		 * Output that is not part of the logs, such as error messages generated by the CLI.
+		 */
+		private final OutputBuffer diagnostics = new OutputBuffer(MAXIMUM_DIAGNOSTICS);
+		/**
+		 * Tracks the position of the subscription, or {@code null} if checkpoints are disabled.
+		 */
+		private final LogCheckpointer checkpointer;
+		private Process process;
+		private long demand;
+		private int activeReaders;
+		private long linesDropped;
+		private boolean cancelled;
+		/**
+		 * The error to report to the subscriber, or {@code null} if none.
+		 */
+		private Throwable failure;
+
+		/**
+		 * @param subscriber the subscriber
+		 */
+		private LogSubscription(Subscriber<? super LogLine> subscriber)
+		{
+			assert subscriber != null;
+			this.subscriber = subscriber;
+			if (checkpointers == null)
+				this.checkpointer = null;
+			else
+				this.checkpointer = checkpointers.get();
+		}
+
+		/**
+		 * Starts the process.
+		 */
+		public void start()
+		{
+			ProcessBuilder processBuilder = client.getProcessBuilder(arguments.apply(checkpointer));
+			log.debug("Running: {}", processBuilder.command());
+			Throwable error;
+			lock.lock();
+			try
+			{
+				if (cancelled)
+				{
+					// The subscriber cancelled the subscription, or requested an invalid number of lines, before the
+					// process started
+					error = failure;
+				}
+				else
+				{
+					process = processBuilder.start();
+					activeReaders = 2;
+					error = null;
+				}
+			}
+			catch (IOException e)
+			{
+				cancelled = true;
+				error = e;
+			}
+			finally
+			{
+				lock.unlock();
+			}
+			if (error != null)
+				subscriber.onError(error);
+			if (process == null)
+				return;
+			Thread.startVirtualThread(() -> read(process.getInputStream(), Stream.STDOUT));
+			Thread.startVirtualThread(() -> read(process.getErrorStream(), Stream.STDERR));
+			Thread.startVirtualThread(() -> deliver(processBuilder));
+		}
+
+		@Override
+		public void request(long n)
+		{
+			lock.lock();
+			try
+			{
+				if (n <= 0)
+				{
+					// https://github.com/reactive-streams/reactive-streams-jvm#3.9
+					fail(new IllegalArgumentException("n must be positive: " + n));
+					return;
+				}
+				demand += n;
+				if (demand < 0)
+				{
+					// Overflow
+					demand = Long.MAX_VALUE;
+				}
+				stateChanged.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void cancel()
+		{
+			lock.lock();
+			try
+			{
+				terminate();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Terminates the subscription, reporting an error to the subscriber.
+		 * <p>
+		 * The caller must hold the lock.
+		 *
+		 * @param failure the error to report
+		 */
+		private void fail(Throwable failure)
+		{
+			if (cancelled)
+				return;
+			this.failure = failure;
+			terminate();
+		}
+
+		/**
+		 * Stops reading the logs and releases their resources.
+		 * <p>
+		 * The caller must hold the lock.
+		 */
+		private void terminate()
+		{
+			if (cancelled)
+				return;
+			cancelled = true;
+			buffer.clear();
+			if (process != null)
+				process.destroy();
+			stateChanged.signalAll();
+		}
+
+		/**
+		 * Reads the lines of a stream.
+		 *
+		 * @param in     the stream
+		 * @param stream the type of stream
+		 */
+		private void read(InputStream in, Stream stream)
+		{
+			try (InputStream bufferedIn = new BufferedInputStream(in))
+			{
+				ByteArrayOutputStream line = new ByteArrayOutputStream();
+				while (true)
+				{
+					int b = bufferedIn.read();
+					if (b == -1)
+						break;
+					if (b == '\n')
+					{
+						if (!onLine(stream, line.toByteArray()))
+							return;
+						line.reset();
+					}
+					else
+						line.write(b);
+				}
+				if (line.size() > 0)
+					onLine(stream, line.toByteArray());
+			}
+			catch (IOException e)
+			{
+				lock.lock();
+				try
+				{
+					// Streams are closed when the process is destroyed
+					if (!cancelled)
+						fail(e);
+				}
+				finally
+				{
+					lock.unlock();
+				}
+			}
+			finally
+			{
+				lock.lock();
+				try
+				{
+					--activeReaders;
+					stateChanged.signalAll();
+				}
+				finally
+				{
+					lock.unlock();
+				}
+			}
+		}
+
+		/**
+		 * Buffers a line of output.
+		 *
+		 * @param stream the stream that the line was read from
+		 * @param bytes  the line, excluding the line terminator
+		 * @return {@code false} if the subscription was cancelled
+		 */
+		private boolean onLine(Stream stream, byte[] bytes)
+		{
+			LogLine line = lineParser.parse(stream, bytes);
+			if (line == null)
+			{
+				diagnostics.add(new String(bytes, UTF_8));
+				return true;
+			}
+			lock.lock();
+			try
+			{
+				if (checkpointer != null && checkpointer.isAlreadyDelivered(line))
+					return true;
+				while (buffer.size() >= bufferSize && !cancelled)
+				{
+					switch (overflowPolicy)
+					{
+						case BLOCK -> stateChanged.await();
+						case DROP_OLDEST ->
+						{
+							buffer.removeFirst();
+							++linesDropped;
+						}
+						case DROP_NEWEST ->
+						{
+							++linesDropped;
+							return true;
+						}
+					}
+				}
+				if (cancelled)
+					return false;
+				buffer.addLast(line);
+				stateChanged.signalAll();
+				return true;
+			}
+			catch (InterruptedException _)
+			{
+				return false;
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Delivers buffered lines to the subscriber, followed by the outcome of the command.
+		 *
+		 * @param processBuilder the {@code ProcessBuilder} that started the process
+		 */
+		private void deliver(ProcessBuilder processBuilder)
+		{
+			try
+			{
+				while (true)
+				{
+					LogLine line;
+					Throwable error;
+					lock.lock();
+					try
+					{
+						while (!cancelled && (buffer.isEmpty() ? activeReaders > 0 : demand == 0))
+							stateChanged.await();
+						if (cancelled)
+						{
+							line = null;
+							error = failure;
+						}
+						else if (buffer.isEmpty())
+						{
+							// All the output was read
+							break;
+						}
+						else
+						{
+							line = buffer.removeFirst();
+							error = null;
+							if (demand != Long.MAX_VALUE)
+								--demand;
+							stateChanged.signalAll();
+						}
+					}
+					finally
+					{
+						lock.unlock();
+					}
+					// Signal the subscriber without holding the lock so that it may invoke request() or cancel()
+					if (line == null)
+					{
+						if (error != null)
+							subscriber.onError(error);
+						return;
+					}
+					subscriber.onNext(line);
+					if (checkpointer != null)
+						checkpointer.onDelivered(line);
+				}
+
+				int exitCode = process.waitFor();
+				if (linesDropped > 0)
+					log.debug("Dropped {} lines of {}", linesDropped, processBuilder.command());
+				if (exitCode == 0)
+				{
+					subscriber.onComplete();
+					return;
+				}
+				CommandResult result = new CommandResult(processBuilder.command(),
+					Processes.getWorkingDirectory(processBuilder), "", diagnostics.toString(), exitCode);
+				Throwable error = failureParser.getFailure(result);
+				cancel();
+				subscriber.onError(error);
+			}
+			catch (InterruptedException _)
+			{
+				cancel();
+			}
+			catch (IOException e)
+			{
+				// Failed to save the checkpoint
+				cancel();
+				subscriber.onError(e);
+			}
+			catch (RuntimeException e)
+			{
+				// https://github.com/reactive-streams/reactive-streams-jvm#2.13
+				log.warn("The subscriber threw an exception. Cancelling the subscription.", e);
+				cancel();
+			}
+			finally
+			{
+				if (checkpointer != null)
+					checkpointer.flush();
+			}
+		}
+	}
+}
@@ -4,6 +4,7 @@
 import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
 import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
 import io.github.cowwoc.anchor4j.docker.resource.Service;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceLogs;
 import io.github.cowwoc.anchor4j.docker.resource.Task;
 
 import java.io.IOException;
@@ -51,6 +52,12 @@ public List<Task> listTasks() throws IOException, InterruptedException
 		return client.getTasksByService(id);
 	}
 
+	@Override
+	public ServiceLogs getLogs()
+	{
+		return client.getServiceLogs(id);
+	}
+
 	@Override
 	public int hashCode()
 	{
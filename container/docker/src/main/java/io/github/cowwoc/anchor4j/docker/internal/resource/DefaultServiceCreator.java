@@ -253,7 +253,13 @@ public Service apply() throws IOException, InterruptedException
 		if (!this.arguments.isEmpty())
 			arguments.addAll(this.arguments);
 		CommandResult result = client.retry(_ -> client.run(arguments));
-		return client.getService(client.getServiceParser().create(result));
+		Service.Id id = client.getServiceParser().create(result);
+		if (name.isEmpty())
+		{
+			// The server generated the service's name
+			return new LazyService(client, id);
+		}
+		return new DefaultService(client, id, name);
 	}
 
 	/**
@@ -0,0 +1,117 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream.OverflowPolicy;
+import io.github.cowwoc.anchor4j.docker.resource.Service.Id;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceLogs;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DefaultServiceLogs implements ServiceLogs
+{
+	private final InternalDockerClient client;
+	private final Id id;
+	private boolean follow;
+	private Instant since;
+	private int linesFromEnd = Integer.MAX_VALUE;
+	private int bufferSize = DefaultLogStream.DEFAULT_BUFFER_SIZE;
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	/**
+	 * Creates a DefaultServiceLogs.
+	 *
+	 * @param client the client configuration
+	 * @param id     the service's ID or name
+	 * @throws NullPointerException if {@code id} is null
+	 */
+	public DefaultServiceLogs(InternalDockerClient client, Id id)
+	{
+		assert client != null;
+		requireThat(id, "id").isNotNull();
+		this.client = client;
+		this.id = id;
+	}
+
+	@Override
+	public ServiceLogs follow()
+	{
+		this.follow = true;
+		return this;
+	}
+
+	@Override
+	public ServiceLogs since(Instant since)
+	{
+		this.since = since;
+		return this;
+	}
+
+	@Override
+	public ServiceLogs linesFromEnd(int linesFromEnd)
+	{
+		requireThat(linesFromEnd, "linesFromEnd").isNotNegative();
+		this.linesFromEnd = linesFromEnd;
+		return this;
+	}
+
+	@Override
+	public ServiceLogs bufferSize(int bufferSize)
+	{
+		requireThat(bufferSize, "bufferSize").isPositive();
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	@Override
+	public ServiceLogs overflowPolicy(OverflowPolicy overflowPolicy)
+	{
+		requireThat(overflowPolicy, "overflowPolicy").isNotNull();
+		this.overflowPolicy = overflowPolicy;
+		return this;
+	}
+
+	@Override
+	public LogStream stream()
+	{
+		// https://docs.docker.com/reference/cli/docker/service/logs/
+		List<String> arguments = new ArrayList<>(10);
+		arguments.add("service");
+		arguments.add("logs");
+		if (follow)
+			arguments.add("--follow");
+		if (since != null)
+		{
+			arguments.add("--since");
+			arguments.add(DefaultContainerLogs.toUnixTime(since));
+		}
+		if (linesFromEnd < Integer.MAX_VALUE)
+		{
+			arguments.add("--tail");
+			arguments.add(String.valueOf(linesFromEnd));
+		}
+		arguments.add("--timestamps");
+		arguments.add("--no-trunc");
+		arguments.add(id.getValue());
+		return new DefaultLogStream(client, _ -> arguments, bufferSize, overflowPolicy,
+			client.getServiceParser()::logLine, client.getServiceParser()::getLogsFailure, null);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder().
+			add("id", id).
+			add("follow", follow).
+			add("since", since).
+			add("linesFromEnd", linesFromEnd).
+			add("bufferSize", bufferSize).
+			add("overflowPolicy", overflowPolicy).
+			toString();
+	}
+}
@@ -0,0 +1,441 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ServiceParser.ServiceEvent;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ServiceParser.ServiceReplicas;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ServiceParser.ServiceUpdate;
+import io.github.cowwoc.anchor4j.docker.resource.Service;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceRollout;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceRolloutListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Default implementation of {@code ServiceRollout}.
+ */
+public final class DefaultServiceRollout implements ServiceRollout
+{
+	/**
+	 * The default maximum amount of time between refreshes of the replica counts.
+	 */
+	public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(2);
+	/**
+	 * The update states that do not change until the service is updated again.
+	 */
+	private static final Set<String> FINAL_UPDATE_STATES = Set.of("completed", "paused", "rollback_completed",
+		"rollback_paused");
+	private static final ServiceRolloutListener NO_LISTENER = new ServiceRolloutListener()
+	{
+	};
+	private final InternalDockerClient client;
+	private final Set<Service.Id> ids;
+	private Duration pollInterval = DEFAULT_POLL_INTERVAL;
+	private ServiceRolloutListener listener = NO_LISTENER;
+	/**
+	 * The last update state that was reported for each service. Only accessed by the thread that invokes
+	 * {@link #apply(Duration)}.
+	 */
+	private final Map<Service.Id, String> idToUpdateState = new HashMap<>();
+	/**
+	 * The start time of each service's update that had already ended when {@link #apply(Duration)} was
+	 * invoked. Only accessed by the thread that invokes {@link #apply(Duration)}.
+	 */
+	private final Map<Service.Id, Instant> idToStaleUpdate = new HashMap<>();
+	private final Logger log = LoggerFactory.getLogger(DefaultServiceRollout.class);
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param client the client configuration
+	 * @param ids    the IDs or names of the services to wait for
+	 * @throws NullPointerException     if {@code ids} is null or contains null elements
+	 * @throws IllegalArgumentException if {@code ids} is empty
+	 */
+	public DefaultServiceRollout(InternalDockerClient client, Collection<Service.Id> ids)
+	{
+		assert client != null;
+		requireThat(ids, "ids").isNotEmpty().doesNotContain(null);
+		this.client = client;
+		this.ids = new LinkedHashSet<>(ids);
+	}
+
+	@Override
+	public ServiceRollout pollInterval(Duration pollInterval)
+	{
+		requireThat(pollInterval, "pollInterval").isGreaterThan(Duration.ZERO);
+		this.pollInterval = pollInterval;
+		return this;
+	}
+
+	@Override
+	public ServiceRollout listener(ServiceRolloutListener listener)
+	{
+		requireThat(listener, "listener").isNotNull();
+		this.listener = listener;
+		return this;
+	}
+
+	@Override
+	public void apply(Duration timeout) throws IOException, InterruptedException, TimeoutException
+	{
+		requireThat(timeout, "timeout").isGreaterThanOrEqualTo(Duration.ZERO);
+		Instant deadline = Instant.now().plus(timeout);
+		Map<Service.Id, ServiceReplicas> idToReplicas = new HashMap<>();
+		Set<Service.Id> converged = new HashSet<>();
+		idToStaleUpdate.clear();
+		try (EventWatcher events = new EventWatcher())
+		{
+			// Subscribe to events before the first refresh so that no changes are missed
+			events.start();
+			while (true)
+			{
+				// Listeners are only invoked by this thread, so the updates reported by the event thread are
+				// forwarded to them here
+				for (Entry<Service.Id, String> entry : events.clear().entrySet())
+					onUpdateState(entry.getKey(), entry.getValue());
+				refresh(idToReplicas, converged);
+				if (converged.size() == ids.size())
+					return;
+				Duration remaining = Duration.between(Instant.now(), deadline);
+				if (!remaining.isPositive())
+				{
+					Set<Service.Id> pending = new LinkedHashSet<>(ids);
+					pending.removeAll(converged);
+					throw new TimeoutException("The following services did not converge within " + timeout + ": " +
+						pending);
+				}
+				if (remaining.compareTo(pollInterval) > 0)
+					remaining = pollInterval;
+				events.await(remaining);
+			}
+		}
+	}
+
+	/**
+	 * Refreshes the replica counts of the services.
+	 * <p>
+	 * The first refresh records the updates that already ended, such as an update that was rolled back before
+	 * the rollout started. These updates are ignored, so the services converge once their replica counts
+	 * match.
+	 *
+	 * @param idToReplicas the last replica counts of each service, or an empty map on the first refresh
+	 * @param converged    the services that are running all of their desired tasks
+	 * @throws ResourceNotFoundException if one of the services does not exist
+	 * @throws IllegalStateException     if the update of a service is paused or rolled back
+	 * @throws IOException               if an I/O error occurs. These errors are typically transient, and
+	 *                                   retrying the request may resolve the issue.
+	 * @throws InterruptedException      if the thread is interrupted before the operation completes. This can
+	 *                                   happen due to shutdown signals.
+	 */
+	private void refresh(Map<Service.Id, ServiceReplicas> idToReplicas, Set<Service.Id> converged)
+		throws IOException, InterruptedException
+	{
+		// "service inspect" accepts the IDs or names of the services, and returns the state of their updates
+		// https://docs.docker.com/reference/cli/docker/service/inspect/
+		List<String> inspectArguments = new ArrayList<>(4 + ids.size());
+		Collections.addAll(inspectArguments, "service", "inspect", "--format", "json");
+		for (Service.Id id : ids)
+			inspectArguments.add(id.getValue());
+		CommandResult result = client.retry(_ -> client.run(inspectArguments));
+		List<ServiceUpdate> updates = client.getServiceParser().listUpdates(result);
+		Map<Service.Id, ServiceUpdate> idToUpdate = new LinkedHashMap<>();
+		for (Service.Id id : ids)
+		{
+			ServiceUpdate update = findUpdate(updates, id);
+			if (update == null)
+				throw new ResourceNotFoundException("Service not found: " + id);
+			idToUpdate.put(id, update);
+			if (idToReplicas.isEmpty() && update.state() != null && FINAL_UPDATE_STATES.contains(update.state()))
+				idToStaleUpdate.put(id, update.startedAt());
+		}
+
+		// A single command returns the replica counts of the services
+		// https://docs.docker.com/reference/cli/docker/service/ls/
+		List<String> arguments = new ArrayList<>(5 + idToUpdate.size() * 2);
+		Collections.addAll(arguments, "service", "ls", "--format", "json", "--no-trunc");
+		for (ServiceUpdate update : idToUpdate.values())
+		{
+			arguments.add("--filter");
+			arguments.add("id=" + update.id().getValue());
+		}
+		result = client.retry(_ -> client.run(arguments));
+		List<ServiceReplicas> services = client.getServiceParser().listReplicas(result);
+
+		for (Entry<Service.Id, ServiceUpdate> entry : idToUpdate.entrySet())
+		{
+			Service.Id id = entry.getKey();
+			ServiceUpdate update = entry.getValue();
+			ServiceReplicas replicas = findReplicas(services, update.id());
+			if (replicas == null)
+				throw new ResourceNotFoundException("Service not found: " + id);
+			ServiceReplicas previous = idToReplicas.put(id, replicas);
+			if (previous == null || previous.running() != replicas.running() ||
+				previous.desired() != replicas.desired())
+			{
+				listener.progressUpdated(id, replicas.running(), replicas.desired());
+			}
+
+			// The replica counts include the old tasks of a service that is being updated, so the update must
+			// complete before the service is considered to have converged. The update states are inspected so
+			// that paused or rolled back updates are detected before their replica counts match.
+			String updateState = update.state();
+			if (updateState != null && idToStaleUpdate.containsKey(id) &&
+				Objects.equals(idToStaleUpdate.get(id), update.startedAt()))
+			{
+				// The update ended before the rollout started
+				updateState = null;
+			}
+			if (updateState != null)
+				onUpdateState(id, updateState);
+			if (replicas.running() == replicas.desired() &&
+				(updateState == null || updateState.equals("completed")))
+			{
+				if (converged.add(id))
+					listener.serviceConverged(id);
+			}
+			else
+				converged.remove(id);
+		}
+	}
+
+	/**
+	 * Looks up the replica counts of a service.
+	 *
+	 * @param services the replica counts of the services
+	 * @param id       the service's ID
+	 * @return null if no match is found
+	 */
+	private static ServiceReplicas findReplicas(List<ServiceReplicas> services, Service.Id id)
+	{
+		for (ServiceReplicas service : services)
+			if (service.id().equals(id))
+				return service;
+		return null;
+	}
+
+	/**
+	 * Looks up the update of a service.
+	 *
+	 * @param updates the updates of the services
+	 * @param id      the service's ID or name
+	 * @return null if no match is found
+	 */
+	private static ServiceUpdate findUpdate(List<ServiceUpdate> updates, Service.Id id)
+	{
+		for (ServiceUpdate update : updates)
+			if (update.id().equals(id) || update.name().equals(id.getValue()))
+				return update;
+		return null;
+	}
+
+	/**
+	 * Reports the state of a service's update to the listener if it changed.
+	 *
+	 * @param id          the service's ID or name
+	 * @param updateState the state of the service's update
+	 * @throws IllegalStateException if the update is paused or rolled back
+	 */
+	private void onUpdateState(Service.Id id, String updateState)
+	{
+		if (!Objects.equals(idToUpdateState.put(id, updateState), updateState))
+			listener.updateStateChanged(id, updateState);
+		// https://docs.docker.com/engine/api/v1.47/#tag/Service/operation/ServiceInspect
+		// The service cannot converge until the user resumes the update or updates the service again
+		if (updateState.equals("paused") || updateState.startsWith("rollback_"))
+			throw new IllegalStateException("The update of " + id + " is " + updateState);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultServiceRollout.class).
+			add("ids", ids).
+			add("pollInterval", pollInterval).
+			toString();
+	}
+
+	/**
+	 * Listens for changes to the services.
+	 * <p>
+	 * Events only indicate that the replica counts must be refreshed. If the event stream cannot be read, the
+	 * counts are refreshed at every poll interval instead.
+	 */
+	private final class EventWatcher implements AutoCloseable
+	{
+		private final Lock lock = new ReentrantLock();
+		/**
+		 * Signaled when a service changes.
+		 */
+		private final Condition changed = lock.newCondition();
+		private boolean pendingChange;
+		/**
+		 * The update states that were reported since the changes were last cleared.
+		 */
+		private final Map<Service.Id, String> idToPendingUpdateState = new LinkedHashMap<>();
+		private Process process;
+
+		/**
+		 * Starts listening for events.
+		 */
+		public void start()
+		{
+			// https://docs.docker.com/reference/cli/docker/system/events/
+			List<String> arguments = new ArrayList<>(6 + ids.size() * 2);
+			arguments.add("events");
+			arguments.add("--format");
+			arguments.add("json");
+			arguments.add("--filter");
+			arguments.add("type=service");
+			for (Service.Id id : ids)
+			{
+				arguments.add("--filter");
+				arguments.add("service=" + id.getValue());
+			}
+			ProcessBuilder processBuilder = client.getProcessBuilder(arguments).redirectErrorStream(true);
+			log.debug("Running: {}", processBuilder.command());
+			try
+			{
+				process = processBuilder.start();
+			}
+			catch (IOException e)
+			{
+				log.debug("Unable to listen for service events. Polling for changes instead.", e);
+				return;
+			}
+			Thread.startVirtualThread(this::read);
+		}
+
+		/**
+		 * Reads events until the process exits.
+		 */
+		private void read()
+		{
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+				UTF_8)))
+			{
+				while (true)
+				{
+					String line = reader.readLine();
+					if (line == null)
+						break;
+					if (!line.startsWith("{"))
+					{
+						// Error messages generated by the CLI
+						log.debug("Service events: {}", line);
+						continue;
+					}
+					onEvent(client.getServiceParser().event(line));
+				}
+			}
+			catch (IOException e)
+			{
+				// The stream is closed when the process is destroyed
+				log.debug("Stopped reading service events", e);
+			}
+		}
+
+		/**
+		 * Handles an event.
+		 *
+		 * @param event the event
+		 */
+		private void onEvent(ServiceEvent event)
+		{
+			lock.lock();
+			try
+			{
+				if (event.updateState() != null)
+				{
+					for (Service.Id id : ids)
+					{
+						if (id.equals(event.id()) || id.getValue().equals(event.name()))
+							idToPendingUpdateState.put(id, event.updateState());
+					}
+				}
+				pendingChange = true;
+				changed.signalAll();
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Discards the changes that were reported so far.
+		 *
+		 * @return the update states that were reported since the last invocation
+		 */
+		public Map<Service.Id, String> clear()
+		{
+			lock.lock();
+			try
+			{
+				pendingChange = false;
+				Map<Service.Id, String> updateStates = new LinkedHashMap<>(idToPendingUpdateState);
+				idToPendingUpdateState.clear();
+				return updateStates;
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Waits until a service changes.
+		 *
+		 * @param timeout the maximum amount of time to wait
+		 * @throws InterruptedException if the thread is interrupted while waiting
+		 */
+		public void await(Duration timeout) throws InterruptedException
+		{
+			long nanos = timeout.toNanos();
+			lock.lock();
+			try
+			{
+				while (!pendingChange && nanos > 0)
+					nanos = changed.awaitNanos(nanos);
+			}
+			finally
+			{
+				lock.unlock();
+			}
+		}
+
+		@Override
+		public void close()
+		{
+			if (process != null)
+				process.destroy();
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCommitter;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerLogs;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerRemover;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerStarter;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerStopper;
+import io.github.cowwoc.pouch.core.ConcurrentLazyReference;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
+import io.github.cowwoc.requirements12.annotation.CheckReturnValue;
+
+import java.io.IOException;
+
+/**
+ * A container whose state is retrieved the first time that a property other than its ID is accessed.
+ * <p>
+ * Operations that only require the container's ID, such as {@link #start()} or {@link #stop()}, never
+ * retrieve its state. If the state cannot be retrieved, the getters throw a {@code WrappedCheckedException}.
+ */
+public final class LazyContainer implements Container
+{
+	private final InternalDockerClient client;
+	private final Id id;
+	private final ConcurrentLazyReference<Container> state;
+
+	/**
+	 * Creates a LazyContainer.
+	 *
+	 * @param client the client configuration
+	 * @param id     the ID of the container
+	 */
+	public LazyContainer(InternalDockerClient client, Id id)
+	{
+		assert client != null;
+		assert id != null;
+		this.client = client;
+		this.id = id;
+		this.state = ConcurrentLazyReference.create(() ->
+		{
+			try
+			{
+				Container container = client.getContainer(id);
+				if (container == null)
+					throw new ResourceNotFoundException("Container not found: " + id);
+				return container;
+			}
+			catch (IOException | InterruptedException e)
+			{
+				throw WrappedCheckedException.wrap(e);
+			}
+		});
+	}
+
+	@Override
+	public Id getId()
+	{
+		return id;
+	}
+
+	@Override
+	public String getName()
+	{
+		return state.getValue().getName();
+	}
+
+	@Override
+	public HostConfiguration getHostConfiguration()
+	{
+		return state.getValue().getHostConfiguration();
+	}
+
+	@Override
+	public NetworkConfiguration getNetworkConfiguration()
+	{
+		return state.getValue().getNetworkConfiguration();
+	}
+
+	@Override
+	public Status getStatus()
+	{
+		return state.getValue().getStatus();
+	}
+
+	@Override
+	@CheckReturnValue
+	public Container reload() throws IOException, InterruptedException
+	{
+		return client.getContainer(id);
+	}
+
+	@Override
+	public Container rename(String newName) throws IOException, InterruptedException
+	{
+		client.renameContainer(id, newName);
+		return new LazyContainer(client, id);
+	}
+
+	@Override
+	@CheckReturnValue
+	public ContainerStarter start()
+	{
+		return client.startContainer(id);
+	}
+
+	@Override
+	@CheckReturnValue
+	public ContainerStopper stop()
+	{
+		return client.stopContainer(id);
+	}
+
+	@Override
+	@CheckReturnValue
+	public ContainerRemover remove()
+	{
+		return client.removeContainer(id);
+	}
+
+	@Override
+	public int waitUntilStop() throws IOException, InterruptedException
+	{
+		return client.waitUntilContainerStops(id);
+	}
+
+	@Override
+	public Container waitUntilStatus(Status status) throws IOException, InterruptedException
+	{
+		return client.waitUntilContainerStatus(status, id);
+	}
+
+	@Override
+	public ContainerLogs getLogs()
+	{
+		return client.getContainerLogs(id);
+	}
+
+	@Override
+	@CheckReturnValue
+	public ContainerCommitter commit()
+	{
+		return client.commitContainer(id);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return id.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		return o instanceof Container other && other.getId().equals(id);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(LazyContainer.class).
+			add("id", id).
+			toString();
+	}
+}
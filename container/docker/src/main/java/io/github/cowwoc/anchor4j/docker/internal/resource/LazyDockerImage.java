@@ -0,0 +1,163 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.container.core.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCreator;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+import io.github.cowwoc.anchor4j.docker.resource.ImageRemover;
+import io.github.cowwoc.pouch.core.ConcurrentLazyReference;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
+import io.github.cowwoc.requirements12.annotation.CheckReturnValue;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An image whose state is retrieved the first time that a property other than its ID is accessed.
+ * <p>
+ * If the image was identified by a reference (e.g. {@code docker.io/nasa/rocket-ship}), its ID is part of
+ * its state, so it is retrieved the first time that {@link #getId()}, {@link #equals(Object)} or
+ * {@link #hashCode()} is invoked. Operations that accept a reference, such as {@link #createContainer()},
+ * never retrieve the state. If the state cannot be retrieved, the getters throw a
+ * {@code WrappedCheckedException}.
+ */
+public final class LazyDockerImage implements DockerImage
+{
+	private final InternalDockerClient client;
+	/**
+	 * The image's ID or reference.
+	 */
+	private final Id id;
+	/**
+	 * {@code true} if {@link #id} is the image's ID, {@code false} if it is a reference.
+	 */
+	private final boolean isId;
+	private final ConcurrentLazyReference<DockerImage> state;
+
+	/**
+	 * Creates a LazyDockerImage from the image's ID.
+	 *
+	 * @param client the client configuration
+	 * @param id     the image's ID
+	 */
+	public LazyDockerImage(InternalDockerClient client, Id id)
+	{
+		this(client, id, true);
+	}
+
+	/**
+	 * Creates a LazyDockerImage from a reference to the image.
+	 *
+	 * @param client    the client configuration
+	 * @param reference a reference to the image
+	 */
+	public LazyDockerImage(InternalDockerClient client, String reference)
+	{
+		this(client, ContainerImage.id(reference), false);
+	}
+
+	/**
+	 * Creates a LazyDockerImage.
+	 *
+	 * @param client the client configuration
+	 * @param id     the image's ID or reference
+	 * @param isId   {@code true} if {@code id} is the image's ID, {@code false} if it is a reference
+	 */
+	private LazyDockerImage(InternalDockerClient client, Id id, boolean isId)
+	{
+		assert client != null;
+		assert id != null;
+		this.client = client;
+		this.id = id;
+		this.isId = isId;
+		this.state = ConcurrentLazyReference.create(() ->
+		{
+			try
+			{
+				DockerImage image = client.getImage(id);
+				if (image == null)
+					throw new ResourceNotFoundException("Image not found: " + id);
+				return image;
+			}
+			catch (IOException | InterruptedException e)
+			{
+				throw WrappedCheckedException.wrap(e);
+			}
+		});
+	}
+
+	@Override
+	public Id getId()
+	{
+		if (isId)
+			return id;
+		return state.getValue().getId();
+	}
+
+	@Override
+	public Map<String, Set<String>> referenceToTags()
+	{
+		return state.getValue().referenceToTags();
+	}
+
+	@Override
+	public Map<String, String> referenceToDigest()
+	{
+		return state.getValue().referenceToDigest();
+	}
+
+	@Override
+	@CheckReturnValue
+	public DockerImage reload() throws IOException, InterruptedException
+	{
+		return client.getImage(id);
+	}
+
+	@Override
+	public ContainerCreator createContainer()
+	{
+		return client.createContainer(id);
+	}
+
+	@Override
+	public DockerImage addTag(String reference) throws IOException, InterruptedException
+	{
+		client.tagImage(id, reference);
+		return this;
+	}
+
+	@Override
+	public ImageRemover removeTag(String reference)
+	{
+		return client.removeImageTag(reference);
+	}
+
+	@Override
+	public ImageRemover remove()
+	{
+		return client.removeImage(id);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return getId().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		return o instanceof DockerImage other && other.getId().equals(getId());
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(LazyDockerImage.class).
+			add("id", id).
+			toString();
+	}
+}
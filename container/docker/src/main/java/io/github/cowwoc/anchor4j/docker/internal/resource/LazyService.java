@@ -0,0 +1,97 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.Service;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceLogs;
+import io.github.cowwoc.anchor4j.docker.resource.Task;
+import io.github.cowwoc.pouch.core.ConcurrentLazyReference;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A service whose state is retrieved the first time that a property other than its ID is accessed.
+ * <p>
+ * If the state cannot be retrieved, the getters throw a {@code WrappedCheckedException}.
+ */
+public final class LazyService implements Service
+{
+	private final InternalDockerClient client;
+	private final Id id;
+	private final ConcurrentLazyReference<Service> state;
+
+	/**
+	 * Creates a LazyService.
+	 *
+	 * @param client the client configuration
+	 * @param id     the ID of the service
+	 */
+	public LazyService(InternalDockerClient client, Id id)
+	{
+		assert client != null;
+		assert id != null;
+		this.client = client;
+		this.id = id;
+		this.state = ConcurrentLazyReference.create(() ->
+		{
+			try
+			{
+				Service service = client.getService(id);
+				if (service == null)
+					throw new ResourceNotFoundException("Service not found: " + id);
+				return service;
+			}
+			catch (IOException | InterruptedException e)
+			{
+				throw WrappedCheckedException.wrap(e);
+			}
+		});
+	}
+
+	@Override
+	public Id getId()
+	{
+		return id;
+	}
+
+	@Override
+	public String getName()
+	{
+		return state.getValue().getName();
+	}
+
+	@Override
+	public List<Task> listTasks() throws IOException, InterruptedException
+	{
+		return client.getTasksByService(id);
+	}
+
+	@Override
+	public ServiceLogs getLogs()
+	{
+		return client.getServiceLogs(id);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return id.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		return o instanceof Service other && other.getId().equals(id);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(LazyService.class).
+			add("id", id).
+			toString();
+	}
+}
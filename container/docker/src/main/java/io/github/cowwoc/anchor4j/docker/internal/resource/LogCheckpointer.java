@@ -0,0 +1,174 @@
+package io.github.cowwoc.anchor4j.docker.internal.resource;
+
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpoint;
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpointStore;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tracks the position of a single subscription to a container's logs.
+ * <p>
+ * stdout and stderr are read independently, so the position of each stream is tracked separately.
+ * {@code docker logs --since} includes lines whose timestamp is equal to the start time, so the lines that
+ * were delivered at a checkpoint's timestamp are received again. They are identified by counting the lines of
+ * each stream.
+ */
+public final class LogCheckpointer
+{
+	private final LogCheckpointStore store;
+	private final String source;
+	private final Map<Stream, StreamPosition> streamToPosition = new EnumMap<>(Stream.class);
+	private final Logger log = LoggerFactory.getLogger(LogCheckpointer.class);
+
+	/**
+	 * Creates a new instance, resuming from the checkpoints that are currently in the store.
+	 *
+	 * @param store  the store to read and record the position in
+	 * @param source the ID or name of the container
+	 */
+	public LogCheckpointer(LogCheckpointStore store, String source)
+	{
+		assert store != null;
+		assert source != null;
+		this.store = store;
+		this.source = source;
+		for (Stream stream : Stream.values())
+			streamToPosition.put(stream, new StreamPosition(store.get(source, stream)));
+	}
+
+	/**
+	 * Returns the time that the logs must be resumed from so that no stream misses a line.
+	 *
+	 * @return the timestamp of the oldest checkpoint, or {@code null} if the logs must be read from the
+	 *         beginning because a stream does not have a checkpoint
+	 */
+	public Instant getStartTime()
+	{
+		Instant startTime = null;
+		for (StreamPosition position : streamToPosition.values())
+		{
+			if (position.start == null)
+				return null;
+			Instant timestamp = position.start.timestamp();
+			if (startTime == null || timestamp.isBefore(startTime))
+				startTime = timestamp;
+		}
+		return startTime;
+	}
+
+	/**
+	 * Indicates if a line was delivered before the logs were resumed.
+	 * <p>
+	 * This method must be invoked on the lines of each stream in the order that they were received.
+	 *
+	 * @param line a line that was received
+	 * @return {@code true} if the line should be skipped
+	 */
+	public boolean isAlreadyDelivered(LogLine line)
+	{
+		return streamToPosition.get(line.stream()).isAlreadyDelivered(line);
+	}
+
+	/**
+	 * Records that a line was delivered.
+	 *
+	 * @param line the line
+	 * @throws IOException if an I/O error occurs while writing the checkpoint to disk
+	 */
+	public void onDelivered(LogLine line) throws IOException
+	{
+		store.put(streamToPosition.get(line.stream()).onDelivered(source, line));
+	}
+
+	/**
+	 * Writes the position to disk. Errors are logged but otherwise ignored, because the position is written
+	 * again the next time that a line is delivered.
+	 */
+	public void flush()
+	{
+		try
+		{
+			store.flush();
+		}
+		catch (IOException | IllegalStateException e)
+		{
+			log.warn("Failed to save the log checkpoint of {}", source, e);
+		}
+	}
+
+	/**
+	 * The position of a single stream.
+	 * <p>
+	 * {@link #isAlreadyDelivered(LogLine)} is only invoked by the thread that reads the stream, and
+	 * {@link #onDelivered(String, LogLine)} is only invoked by the thread that delivers lines to the
+	 * subscriber.
+	 */
+	private static final class StreamPosition
+	{
+		/**
+		 * The position that the stream was resumed from, or {@code null} if it is read from the beginning.
+		 */
+		private final LogCheckpoint start;
+		/**
+		 * The number of lines at the start position that have yet to be skipped.
+		 */
+		private long linesToSkip;
+		/**
+		 * The position of the last line that was delivered, or {@code null} if no lines were delivered.
+		 */
+		private LogCheckpoint current;
+
+		/**
+		 * @param start the position that the stream is resumed from, or {@code null} if it is read from the
+		 *              beginning
+		 */
+		private StreamPosition(LogCheckpoint start)
+		{
+			this.start = start;
+			this.current = start;
+			if (start != null)
+				this.linesToSkip = start.linesAtTimestamp();
+		}
+
+		/**
+		 * @param line a line of this stream that was received
+		 * @return {@code true} if the line should be skipped
+		 */
+		private boolean isAlreadyDelivered(LogLine line)
+		{
+			if (start == null)
+				return false;
+			int comparison = line.timestamp().compareTo(start.timestamp());
+			if (comparison < 0)
+				return true;
+			if (comparison == 0 && linesToSkip > 0)
+			{
+				--linesToSkip;
+				return true;
+			}
+			linesToSkip = 0;
+			return false;
+		}
+
+		/**
+		 * @param source the ID or name of the container
+		 * @param line   a line of this stream that was delivered
+		 * @return the updated position
+		 */
+		private LogCheckpoint onDelivered(String source, LogLine line)
+		{
+			if (current == null)
+				current = new LogCheckpoint(source, line.stream(), line.timestamp(), 1);
+			else
+				current = current.advance(line);
+			return current;
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package io.github.cowwoc.anchor4j.docker.internal.util;
+
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Ensures that only one operation runs at a time for a given key.
+ * <p>
+ * Threads that request a key while an operation is already running for it wait for that operation to
+ * complete, and receive its result, instead of running the operation again.
+ * <p>
+ * <b>Thread Safety</b>: This class is thread-safe.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values returned by operations
+ */
+public final class SingleFlight<K, V>
+{
+	private final ConcurrentMap<K, CompletableFuture<V>> keyToOperation = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new instance.
+	 */
+	public SingleFlight()
+	{
+	}
+
+	/**
+	 * Runs an operation, or joins the operation that is already running for the same key.
+	 *
+	 * @param key       the key that identifies the operation
+	 * @param operation the operation to run
+	 * @return the value returned by the operation
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	public V apply(K key, Operation<V> operation) throws IOException, InterruptedException
+	{
+		assert key != null;
+		assert operation != null;
+		while (true)
+		{
+			CompletableFuture<V> newFuture = new CompletableFuture<>();
+			CompletableFuture<V> existingFuture = keyToOperation.putIfAbsent(key, newFuture);
+			if (existingFuture == null)
+				return run(key, operation, newFuture);
+			try
+			{
+				return existingFuture.get();
+			}
+			catch (ExecutionException e)
+			{
+				Throwable cause = e.getCause();
+				// If the thread that ran the operation was interrupted, run the operation again
+				if (cause instanceof InterruptedException)
+					continue;
+				if (cause instanceof IOException ioe)
+					throw ioe;
+				if (cause instanceof RuntimeException re)
+					throw re;
+				if (cause instanceof Error error)
+					throw error;
+				throw WrappedCheckedException.wrap(cause);
+			}
+		}
+	}
+
+	/**
+	 * Runs an operation on behalf of all the threads that requested the same key.
+	 *
+	 * @param key       the key that identifies the operation
+	 * @param operation the operation to run
+	 * @param future    the future that the other threads are waiting on
+	 * @return the value returned by the operation
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	private V run(K key, Operation<V> operation, CompletableFuture<V> future)
+		throws IOException, InterruptedException
+	{
+		try
+		{
+			V value = operation.run();
+			future.complete(value);
+			return value;
+		}
+		catch (Throwable t)
+		{
+			future.completeExceptionally(t);
+			throw t;
+		}
+		finally
+		{
+			keyToOperation.remove(key, future);
+		}
+	}
+
+	/**
+	 * An operation whose result is shared by all the threads that request the same key.
+	 *
+	 * @param <V> the type of value returned by the operation
+	 */
+	@FunctionalInterface
+	public interface Operation<V>
+	{
+		/**
+		 * Runs the operation.
+		 *
+		 * @return the value returned by the operation
+		 * @throws IOException          if an I/O error occurs. These errors are typically transient, and
+		 *                              retrying the request may resolve the issue.
+		 * @throws InterruptedException if the thread is interrupted before the operation completes. This can
+		 *                              happen due to shutdown signals.
+		 */
+		V run() throws IOException, InterruptedException;
+	}
+}
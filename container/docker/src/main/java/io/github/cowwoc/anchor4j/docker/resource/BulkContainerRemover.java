@@ -0,0 +1,59 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.util.List;
+
+/**
+ * Removes multiple containers.
+ * <p>
+ * Containers are passed to {@code docker container rm} in batches, and batches run concurrently.
+ */
+public interface BulkContainerRemover
+{
+	/**
+	 * Indicates that running containers should be killed before they are removed.
+	 *
+	 * @return this
+	 * @see ContainerRemover#kill()
+	 */
+	BulkContainerRemover kill();
+
+	/**
+	 * Indicates that any anonymous volumes associated with the containers should be automatically removed
+	 * when they are deleted.
+	 *
+	 * @return this
+	 * @see ContainerRemover#removeAnonymousVolumes()
+	 */
+	BulkContainerRemover removeAnonymousVolumes();
+
+	/**
+	 * Sets the maximum number of containers to pass to a single command. By default, up to {@code 50}
+	 * containers are passed to each command.
+	 *
+	 * @param batchSize the maximum number of containers per command
+	 * @return this
+	 * @throws IllegalArgumentException if {@code batchSize} is negative or zero
+	 */
+	BulkContainerRemover batchSize(int batchSize);
+
+	/**
+	 * Sets the maximum number of commands to run at the same time. By default, up to {@code 4} commands run
+	 * at the same time.
+	 *
+	 * @param parallelism the maximum number of concurrent commands
+	 * @return this
+	 * @throws IllegalArgumentException if {@code parallelism} is negative or zero
+	 */
+	BulkContainerRemover parallelism(int parallelism);
+
+	/**
+	 * Removes the containers. If a container does not exist, it is reported as successful.
+	 * <p>
+	 * The failure to remove one container does not prevent the remaining containers from being removed.
+	 *
+	 * @return the outcome of each container, in the order that they were specified
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	List<ContainerOperationResult> apply() throws InterruptedException;
+}
@@ -0,0 +1,42 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.util.List;
+
+/**
+ * Starts multiple containers.
+ * <p>
+ * Containers are passed to {@code docker container start} in batches, and batches run concurrently.
+ */
+public interface BulkContainerStarter
+{
+	/**
+	 * Sets the maximum number of containers to pass to a single command. By default, up to {@code 50}
+	 * containers are passed to each command.
+	 *
+	 * @param batchSize the maximum number of containers per command
+	 * @return this
+	 * @throws IllegalArgumentException if {@code batchSize} is negative or zero
+	 */
+	BulkContainerStarter batchSize(int batchSize);
+
+	/**
+	 * Sets the maximum number of commands to run at the same time. By default, up to {@code 4} commands run
+	 * at the same time.
+	 *
+	 * @param parallelism the maximum number of concurrent commands
+	 * @return this
+	 * @throws IllegalArgumentException if {@code parallelism} is negative or zero
+	 */
+	BulkContainerStarter parallelism(int parallelism);
+
+	/**
+	 * Starts the containers. If a container is already running, it is reported as successful.
+	 * <p>
+	 * The failure to start one container does not prevent the remaining containers from being started.
+	 *
+	 * @return the outcome of each container, in the order that they were specified
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	List<ContainerOperationResult> apply() throws InterruptedException;
+}
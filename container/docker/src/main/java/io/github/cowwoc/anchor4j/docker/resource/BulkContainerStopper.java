@@ -0,0 +1,64 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Stops multiple containers.
+ * <p>
+ * Containers are passed to {@code docker container stop} in batches, and batches run concurrently.
+ */
+public interface BulkContainerStopper
+{
+	/**
+	 * Sets the signal to send to the containers.
+	 *
+	 * @param signal the signal to send, or an empty string to use each container's default signal
+	 * @return this
+	 * @throws NullPointerException     if {@code signal} is null
+	 * @throws IllegalArgumentException if {@code signal} contains whitespace
+	 * @see ContainerStopper#signal(String)
+	 */
+	BulkContainerStopper signal(String signal);
+
+	/**
+	 * Sets the maximum amount of time to wait for the containers to stop before they are killed.
+	 *
+	 * @param timeout the maximum duration, a negative value to wait indefinitely, or {@code null} to use each
+	 *                container's default timeout
+	 * @return this
+	 * @see ContainerStopper#timeout(Duration)
+	 */
+	BulkContainerStopper timeout(Duration timeout);
+
+	/**
+	 * Sets the maximum number of containers to pass to a single command. By default, up to {@code 50}
+	 * containers are passed to each command.
+	 *
+	 * @param batchSize the maximum number of containers per command
+	 * @return this
+	 * @throws IllegalArgumentException if {@code batchSize} is negative or zero
+	 */
+	BulkContainerStopper batchSize(int batchSize);
+
+	/**
+	 * Sets the maximum number of commands to run at the same time. By default, up to {@code 4} commands run
+	 * at the same time.
+	 *
+	 * @param parallelism the maximum number of concurrent commands
+	 * @return this
+	 * @throws IllegalArgumentException if {@code parallelism} is negative or zero
+	 */
+	BulkContainerStopper parallelism(int parallelism);
+
+	/**
+	 * Stops the containers. If a container is already stopped, it is reported as successful.
+	 * <p>
+	 * The failure to stop one container does not prevent the remaining containers from being stopped.
+	 *
+	 * @return the outcome of each container, in the order that they were specified
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	List<ContainerOperationResult> apply() throws InterruptedException;
+}
@@ -0,0 +1,58 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.util.List;
+
+/**
+ * Pulls multiple images from registries concurrently.
+ */
+public interface BulkImagePuller
+{
+	/**
+	 * Sets the platform to pull.
+	 *
+	 * @param platform the platform of the images
+	 * @return this
+	 * @throws NullPointerException     if {@code platform} is null
+	 * @throws IllegalArgumentException if {@code platform} contains whitespace or is empty
+	 */
+	BulkImagePuller platform(String platform);
+
+	/**
+	 * Indicates if images should only be pulled if they are missing from the local image store.
+	 *
+	 * @param onlyIfMissing {@code true} to skip images that are present in the local image store
+	 * @return this
+	 * @see ImagePuller#onlyIfMissing(boolean)
+	 */
+	BulkImagePuller onlyIfMissing(boolean onlyIfMissing);
+
+	/**
+	 * Sets the maximum number of images to pull at the same time. By default, up to {@code 4} images are
+	 * pulled at the same time.
+	 *
+	 * @param parallelism the maximum number of concurrent pulls
+	 * @return this
+	 * @throws IllegalArgumentException if {@code parallelism} is negative or zero
+	 */
+	BulkImagePuller parallelism(int parallelism);
+
+	/**
+	 * Sets the listener that is notified of the pulls' progress.
+	 *
+	 * @param listener the listener
+	 * @return this
+	 * @throws NullPointerException if {@code listener} is null
+	 */
+	BulkImagePuller listener(ImageTransferListener listener);
+
+	/**
+	 * Pulls the images.
+	 * <p>
+	 * The failure to pull one image does not prevent the remaining images from being pulled.
+	 *
+	 * @return the outcome of each pull, in the order that the references were specified
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	List<ImageTransferResult> apply() throws InterruptedException;
+}
@@ -0,0 +1,49 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.util.List;
+
+/**
+ * Pushes multiple images to registries concurrently.
+ */
+public interface BulkImagePusher
+{
+	/**
+	 * Sets the platform to push. By default, all platforms are pushed.
+	 *
+	 * @param platform the platform of the images
+	 * @return this
+	 * @throws NullPointerException     if {@code platform} is null
+	 * @throws IllegalArgumentException if {@code platform} contains whitespace
+	 */
+	BulkImagePusher platform(String platform);
+
+	/**
+	 * Sets the maximum number of images to push at the same time. By default, up to {@code 4} images are
+	 * pushed at the same time.
+	 *
+	 * @param parallelism the maximum number of concurrent pushes
+	 * @return this
+	 * @throws IllegalArgumentException if {@code parallelism} is negative or zero
+	 */
+	BulkImagePusher parallelism(int parallelism);
+
+	/**
+	 * Sets the listener that is notified of the pushes' progress.
+	 *
+	 * @param listener the listener
+	 * @return this
+	 * @throws NullPointerException if {@code listener} is null
+	 */
+	BulkImagePusher listener(ImageTransferListener listener);
+
+	/**
+	 * Pushes the images.
+	 * <p>
+	 * The failure to push one image does not prevent the remaining images from being pushed.
+	 *
+	 * @return the outcome of each push, in the order that the references were specified
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	List<ImageTransferResult> apply() throws InterruptedException;
+}
@@ -15,6 +15,8 @@
 /**
  * A docker container, which is a running instance of an image.
  * <p>
+ * Two containers are equal if they have the same ID, even if their state was retrieved at different times.
+ * <p>
  * <b>Thread Safety</b>: This class is immutable and thread-safe.
  */
 public interface Container
@@ -161,6 +163,14 @@ static Id id(String value)
 	 */
 	ContainerLogs getLogs();
 
+	/**
+	 * Creates an image from the container's filesystem.
+	 *
+	 * @return a container committer
+	 */
+	@CheckReturnValue
+	ContainerCommitter commit();
+
 	/**
 	 * A type-safe identifier for this type of resource.
 	 * <p>
@@ -0,0 +1,69 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+
+/**
+ * Creates an image from a container's filesystem.
+ * <p>
+ * The contents of volumes, including anonymous volumes that the image declares using {@code VOLUME}, are not
+ * included in the image.
+ */
+public interface ContainerCommitter
+{
+	/**
+	 * Sets the reference of the image. By default, the image does not have a reference and can only be looked
+	 * up by its ID.
+	 *
+	 * @param reference the {@link io.github.cowwoc.anchor4j.container.core.resource.ContainerImage reference}
+	 *                  of the image
+	 * @return this
+	 * @throws NullPointerException     if {@code reference} is null
+	 * @throws IllegalArgumentException if {@code reference}'s format is invalid
+	 */
+	ContainerCommitter reference(String reference);
+
+	/**
+	 * Applies a Dockerfile instruction to the image, such as {@code LABEL}, {@code ENV} or {@code CMD}.
+	 *
+	 * @param instruction the instruction (e.g. {@code LABEL fixture=orders})
+	 * @return this
+	 * @throws NullPointerException     if {@code instruction} is null
+	 * @throws IllegalArgumentException if {@code instruction} contains leading or trailing whitespace or is
+	 *                                  empty
+	 */
+	ContainerCommitter change(String instruction);
+
+	/**
+	 * Sets the commit message.
+	 *
+	 * @param message the message
+	 * @return this
+	 * @throws NullPointerException if {@code message} is null
+	 */
+	ContainerCommitter message(String message);
+
+	/**
+	 * Indicates if the container should be paused while it is committed. By default, the container is paused
+	 * so that the image does not capture a filesystem that is in the middle of being modified.
+	 *
+	 * @param pause {@code true} to pause the container
+	 * @return this
+	 */
+	ContainerCommitter pause(boolean pause);
+
+	/**
+	 * Creates the image.
+	 * <p>
+	 * The image's state is retrieved the first time that a property other than its ID is accessed.
+	 *
+	 * @return the image
+	 * @throws ResourceNotFoundException if the container does not exist
+	 * @throws IOException               if an I/O error occurs. These errors are typically transient, and
+	 *                                   retrying the request may resolve the issue.
+	 * @throws InterruptedException      if the thread is interrupted before the operation completes. This can
+	 *                                   happen due to shutdown signals.
+	 */
+	DockerImage apply() throws IOException, InterruptedException;
+}
@@ -144,6 +144,26 @@
 	 */
 	ContainerCreator bindPort(PortBinding portBinding);
 
+	/**
+	 * Mounts an in-memory filesystem in the container. Its contents are discarded when the container stops,
+	 * and are not included in {@link Container#commit() commits}.
+	 * <p>
+	 * This is typically used for data directories whose contents are disposable, such as the database files
+	 * of a test fixture, to avoid the cost of writing them to disk.
+	 *
+	 * @param containerPath a path on the container
+	 * @param maximumSize   the maximum size of the filesystem in bytes, or {@code 0} for no limit
+	 * @return this
+	 * @throws NullPointerException     if {@code containerPath} is null
+	 * @throws IllegalArgumentException if:
+	 *                                  <ul>
+	 *                                    <li>{@code containerPath} contains whitespace or a comma.</li>
+	 *                                    <li>{@code containerPath} is not an absolute path.</li>
+	 *                                    <li>{@code maximumSize} is negative.</li>
+	 *                                  </ul>
+	 */
+	ContainerCreator tmpfs(String containerPath, long maximumSize);
+
 	/**
 	 * Indicates that the container and its associated anonymous volumes should be automatically removed upon
 	 * exit.
@@ -205,6 +225,8 @@
 
 	/**
 	 * Creates the container.
+	 * <p>
+	 * The container's state is retrieved the first time that a property other than its ID is accessed.
 	 *
 	 * @return the new container
 	 * @throws ResourceNotFoundException if the referenced image is not available locally and cannot be pulled
@@ -0,0 +1,32 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+/**
+ * Exclusive use of a container that belongs to a {@link ContainerPool}.
+ * <p>
+ * Closing the lease returns the container to the pool, which resets it before leasing it again.
+ */
+public interface ContainerLease extends AutoCloseable
+{
+	/**
+	 * Returns the leased container.
+	 *
+	 * @return the container
+	 */
+	Container getContainer();
+
+	/**
+	 * Removes the container instead of returning it to the pool, and ends the lease. The pool creates a
+	 * replacement in the background. Use this method if the container's state cannot be reset, for example
+	 * because the work that it was leased for failed.
+	 * <p>
+	 * Subsequent invocations of this method and {@link #close()} have no effect.
+	 */
+	void discard();
+
+	/**
+	 * Returns the container to the pool and ends the lease. Subsequent invocations of this method and
+	 * {@link #discard()} have no effect.
+	 */
+	@Override
+	void close();
+}
@@ -1,6 +1,10 @@
 package io.github.cowwoc.anchor4j.docker.resource;
 
+import io.github.cowwoc.anchor4j.docker.client.DockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.LogStream.OverflowPolicy;
+
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
 
 /**
@@ -48,6 +52,44 @@
 	 */
 	ContainerLogs linesFromEnd(int linesFromEnd);
 
+	/**
+	 * Sets the maximum number of lines that {@link #stream()} buffers for each subscriber. By default, up to
+	 * {@code 1024} lines are buffered.
+	 *
+	 * @param bufferSize the maximum number of lines
+	 * @return this
+	 * @throws IllegalArgumentException if {@code bufferSize} is negative or zero
+	 */
+	ContainerLogs bufferSize(int bufferSize);
+
+	/**
+	 * Sets what {@link #stream()} does when a subscriber's buffer is full. By default,
+	 * {@link OverflowPolicy#BLOCK} is used.
+	 *
+	 * @param overflowPolicy the policy
+	 * @return this
+	 * @throws NullPointerException if {@code overflowPolicy} is null
+	 */
+	ContainerLogs overflowPolicy(OverflowPolicy overflowPolicy);
+
+	/**
+	 * Resumes {@link #stream()} from the position recorded in a checkpoint store, and records the position of
+	 * every line that is delivered. By default, checkpoints are disabled.
+	 * <p>
+	 * stdout and stderr are checkpointed separately. The stream begins at the later of
+	 * {@link #since(Instant)} and the older of the two checkpoints, or at {@code since()} if either stream
+	 * does not have a checkpoint. Lines of each stream that were already delivered are skipped, so no line is
+	 * delivered twice unless the process exits before the store is flushed.
+	 * <p>
+	 * The checkpoints are read each time that a subscriber subscribes to the stream, so a stream that is
+	 * subscribed to again resumes from where the previous subscriber left off.
+	 *
+	 * @param checkpoints the store, or {@code null} to disable checkpoints
+	 * @return this
+	 * @see DockerClient#openLogCheckpointStore(Path)
+	 */
+	ContainerLogs checkpoints(LogCheckpointStore checkpoints);
+
 	/**
 	 * Streams the container's logs.
 	 *
@@ -56,4 +98,12 @@
 	 *                     request may resolve the issue.
 	 */
 	ProcessListener apply() throws IOException;
+
+	/**
+	 * Publishes the container's logs, one line at a time. The timestamp of each line is always retrieved,
+	 * regardless of whether {@link #timestamps()} was invoked.
+	 *
+	 * @return the stream
+	 */
+	LogStream stream();
 }
\ No newline at end of file
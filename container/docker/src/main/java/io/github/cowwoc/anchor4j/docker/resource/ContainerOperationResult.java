@@ -0,0 +1,34 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * The outcome of applying an operation to one container as part of a bulk start, stop or removal.
+ *
+ * @param id      the container's ID or name
+ * @param failure the reason that the operation failed, or {@code null} if it succeeded
+ */
+public record ContainerOperationResult(String id, Exception failure)
+{
+	/**
+	 * Creates a new result.
+	 *
+	 * @param id      the container's ID or name
+	 * @param failure the reason that the operation failed, or {@code null} if it succeeded
+	 * @throws NullPointerException if {@code id} is null
+	 */
+	public ContainerOperationResult
+	{
+		requireThat(id, "id").isNotNull();
+	}
+
+	/**
+	 * Indicates if the operation succeeded.
+	 *
+	 * @return {@code true} on success
+	 */
+	public boolean isSuccess()
+	{
+		return failure == null;
+	}
+}
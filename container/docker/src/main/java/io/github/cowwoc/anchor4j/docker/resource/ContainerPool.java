@@ -0,0 +1,80 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A set of pre-started containers that are handed out, reset and reused.
+ * <p>
+ * Creating and starting a container, then waiting for it to become ready, often takes longer than the work
+ * that it is needed for. A pool does this ahead of time, and replaces containers in the background as they
+ * are discarded.
+ * <p>
+ * <b>Thread Safety</b>: This class is thread-safe.
+ *
+ * @see ContainerPoolCreator
+ */
+public interface ContainerPool extends AutoCloseable
+{
+	/**
+	 * Waits until a container is available and leases it.
+	 *
+	 * @return the lease
+	 * @throws IllegalStateException if the pool is closed
+	 * @throws IOException           if the pool failed to create a replacement container. These errors are
+	 *                               typically transient, and retrying the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted before the operation completes. This can
+	 *                               happen due to shutdown signals.
+	 */
+	ContainerLease lease() throws IOException, InterruptedException;
+
+	/**
+	 * Waits until a container is available and leases it.
+	 *
+	 * @param timeout the maximum amount of time to wait
+	 * @return the lease
+	 * @throws NullPointerException  if {@code timeout} is null
+	 * @throws IllegalStateException if the pool is closed
+	 * @throws IOException           if the pool failed to create a replacement container. These errors are
+	 *                               typically transient, and retrying the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted before the operation completes. This can
+	 *                               happen due to shutdown signals.
+	 * @throws TimeoutException      if no container became available before the timeout elapsed
+	 */
+	ContainerLease lease(Duration timeout) throws IOException, InterruptedException, TimeoutException;
+
+	/**
+	 * Returns the number of containers that are ready to be leased.
+	 *
+	 * @return the number of idle containers
+	 */
+	int getIdleCount();
+
+	/**
+	 * Removes the pool's idle containers and prevents new leases. Leased containers are removed when their
+	 * lease is closed. Subsequent invocations have no effect.
+	 *
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	@Override
+	void close() throws InterruptedException;
+
+	/**
+	 * Prepares a container for use.
+	 */
+	@FunctionalInterface
+	interface Hook
+	{
+		/**
+		 * Prepares a container.
+		 *
+		 * @param container the container
+		 * @throws IOException          if an I/O error occurs. The container is discarded and replaced.
+		 * @throws InterruptedException if the thread is interrupted before the operation completes. This can
+		 *                              happen due to shutdown signals.
+		 */
+		void apply(Container container) throws IOException, InterruptedException;
+	}
+}
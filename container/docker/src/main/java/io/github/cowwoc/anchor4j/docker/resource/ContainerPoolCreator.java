@@ -0,0 +1,50 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPool.Hook;
+
+/**
+ * Creates a pool of containers.
+ */
+public interface ContainerPoolCreator
+{
+	/**
+	 * Sets the number of containers in the pool, including the ones that are leased. By default, the pool
+	 * contains {@code 2} containers.
+	 *
+	 * @param size the number of containers
+	 * @return this
+	 * @throws IllegalArgumentException if {@code size} is negative or zero
+	 */
+	ContainerPoolCreator size(int size);
+
+	/**
+	 * Sets the hook that runs after a container is started, before it is added to the pool. For example, the
+	 * hook may wait until the service inside the container accepts connections. By default, containers are
+	 * added to the pool as soon as they are started.
+	 *
+	 * @param onStart the hook
+	 * @return this
+	 * @throws NullPointerException if {@code onStart} is null
+	 */
+	ContainerPoolCreator onStart(Hook onStart);
+
+	/**
+	 * Sets the hook that resets a container after its lease is closed, before it is leased again. For
+	 * example, the hook may delete files that the previous lease created. By default, containers are reused
+	 * without being reset.
+	 * <p>
+	 * If the hook fails, the container is discarded and replaced.
+	 *
+	 * @param onRelease the hook
+	 * @return this
+	 * @throws NullPointerException if {@code onRelease} is null
+	 */
+	ContainerPoolCreator onRelease(Hook onRelease);
+
+	/**
+	 * Creates the pool. Its containers are created and started in the background.
+	 *
+	 * @return the pool
+	 */
+	ContainerPool apply();
+}
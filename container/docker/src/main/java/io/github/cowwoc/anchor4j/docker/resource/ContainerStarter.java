@@ -13,6 +13,8 @@
 {
 	/**
 	 * Starts a container. If the container is already started, this method has no effect.
+	 * <p>
+	 * The container's state is retrieved the first time that a property other than its ID is accessed.
 	 *
 	 * @return the container
 	 * @throws ResourceNotFoundException if the image or container no longer exist
@@ -48,6 +48,8 @@
 
 	/**
 	 * Stops a container. If the container is already stopped, this method has no effect.
+	 * <p>
+	 * The container's state is retrieved the first time that a property other than its ID is accessed.
 	 *
 	 * @return the container
 	 * @throws ResourceNotFoundException if the container no longer exists
@@ -10,6 +10,8 @@
 
 /**
  * A docker image.
+ * <p>
+ * Two images are equal if they have the same ID, even if their state was retrieved at different times.
  */
 public interface DockerImage extends ContainerImage
 {
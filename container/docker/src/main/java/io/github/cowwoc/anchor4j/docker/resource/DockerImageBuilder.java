@@ -24,12 +24,24 @@ public interface DockerImageBuilder extends ContainerImageBuilder
 	@Override
 	DockerImageBuilder cacheFrom(String source);
 
+	@Override
+	DockerImageBuilder cacheFrom(Cache source);
+
+	@Override
+	DockerImageBuilder cacheTo(Cache destination);
+
 	@Override
 	DockerImageBuilder export(Exporter exporter);
 
 	@Override
 	DockerImageBuilder builder(Builder.Id builder);
 
+	@Override
+	DockerImageBuilder splitPlatforms(boolean splitPlatforms);
+
+	@Override
+	DockerImageBuilder streamContext(boolean streamContext);
+
 	@Override
 	DockerImageBuilder listener(BuildListener listener);
 
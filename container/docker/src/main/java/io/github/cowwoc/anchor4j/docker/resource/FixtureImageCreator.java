@@ -0,0 +1,65 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.io.IOException;
+
+/**
+ * Creates an image that captures the state of a test fixture, or reuses the image if it already exists.
+ * <p>
+ * Restoring a fixture by creating a container from its image is much faster than removing, recreating and
+ * re-seeding the container that the fixture was built in. Images are identified by the fixture's name and a
+ * hash of its contents (e.g. of the seed data and schema), so changing the contents produces a new image
+ * instead of reusing a stale one.
+ * <p>
+ * The contents of volumes are not included in the image. Fixtures whose data would otherwise be stored in a
+ * volume (e.g. the data directory of a database image that declares it using {@code VOLUME}) must store it
+ * elsewhere.
+ */
+public interface FixtureImageCreator
+{
+	/**
+	 * Applies a Dockerfile instruction to the image, such as {@code ENV} or {@code CMD}.
+	 *
+	 * @param instruction the instruction
+	 * @return this
+	 * @throws NullPointerException     if {@code instruction} is null
+	 * @throws IllegalArgumentException if {@code instruction} contains leading or trailing whitespace or is
+	 *                                  empty
+	 * @see ContainerCommitter#change(String)
+	 */
+	FixtureImageCreator change(String instruction);
+
+	/**
+	 * Returns the fixture's image, creating it if it does not exist.
+	 * <p>
+	 * To create the image, {@code initializer} is invoked, the container that it returns is committed, and the
+	 * container is removed. Concurrent invocations for the same fixture, using the same client, share a single
+	 * initialization.
+	 *
+	 * @param initializer creates and seeds the container that the fixture is captured from
+	 * @return the image
+	 * @throws NullPointerException if {@code initializer} is null
+	 * @throws IOException          if an I/O error occurs. These errors are typically transient, and retrying
+	 *                              the request may resolve the issue.
+	 * @throws InterruptedException if the thread is interrupted before the operation completes. This can happen
+	 *                              due to shutdown signals.
+	 */
+	DockerImage apply(Initializer initializer) throws IOException, InterruptedException;
+
+	/**
+	 * Creates the container that a fixture is captured from.
+	 */
+	@FunctionalInterface
+	interface Initializer
+	{
+		/**
+		 * Creates, starts and seeds a container.
+		 *
+		 * @return the container
+		 * @throws IOException          if an I/O error occurs. These errors are typically transient, and
+		 *                              retrying the request may resolve the issue.
+		 * @throws InterruptedException if the thread is interrupted before the operation completes. This can
+		 *                              happen due to shutdown signals.
+		 */
+		Container apply() throws IOException, InterruptedException;
+	}
+}
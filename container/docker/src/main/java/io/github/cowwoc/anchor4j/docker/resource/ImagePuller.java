@@ -20,8 +20,23 @@
 	 */
 	ImagePuller platform(String platform);
 
+	/**
+	 * Indicates if the image should only be pulled if it is missing from the local image store. By default,
+	 * the image is always pulled so that the local copy is updated if the reference points to a newer image.
+	 * <p>
+	 * The local image is used regardless of its platform.
+	 *
+	 * @param onlyIfMissing {@code true} to skip the pull if the image is present in the local image store
+	 * @return this
+	 */
+	ImagePuller onlyIfMissing(boolean onlyIfMissing);
+
 	/**
 	 * Pulls the image from a registry.
+	 * <p>
+	 * Concurrent pulls of the same reference and platform, using the same client, share a single download.
+	 * <p>
+	 * The image's state is retrieved the first time that a property other than its ID is accessed.
 	 *
 	 * @return the image
 	 * @throws ResourceNotFoundException if the image does not exist or may require {@code docker login}
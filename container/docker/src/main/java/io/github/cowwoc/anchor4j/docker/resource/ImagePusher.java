@@ -22,6 +22,8 @@
 
 	/**
 	 * Pushes the image to a registry.
+	 * <p>
+	 * The image's state is retrieved the first time that a property other than its ID is accessed.
 	 *
 	 * @return the image
 	 * @throws ResourceNotFoundException if the referenced image could not be found
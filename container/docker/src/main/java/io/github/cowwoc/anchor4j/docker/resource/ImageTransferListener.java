@@ -0,0 +1,55 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+/**
+ * Observes the progress of bulk image pulls and pushes.
+ * <p>
+ * Images are transferred concurrently, so implementations must be thread-safe. Events that belong to the
+ * same image are reported in order. If an image is already being pulled by another thread, only its
+ * completion is reported.
+ * <p>
+ * All methods do nothing by default.
+ */
+public interface ImageTransferListener
+{
+	/**
+	 * Invoked when the status of a layer changes.
+	 *
+	 * @param reference the reference of the image
+	 * @param layer     the ID of the layer
+	 * @param status    the status reported by the CLI (e.g. {@code Downloading} or {@code Pushed})
+	 */
+	default void layerUpdated(String reference, String layer, String status)
+	{
+	}
+
+	/**
+	 * Invoked when a layer is discovered or its transfer completes.
+	 *
+	 * @param reference       the reference of the image
+	 * @param layersCompleted the number of layers that were transferred, or that were already present at the
+	 *                        destination
+	 * @param layersTotal     the number of layers discovered so far
+	 */
+	default void progressUpdated(String reference, int layersCompleted, int layersTotal)
+	{
+	}
+
+	/**
+	 * Invoked when an image is transferred successfully.
+	 *
+	 * @param reference the reference of the image
+	 */
+	default void imageCompleted(String reference)
+	{
+	}
+
+	/**
+	 * Invoked when an image cannot be transferred.
+	 *
+	 * @param reference the reference of the image
+	 * @param cause     the reason that the transfer failed
+	 */
+	default void imageFailed(String reference, Exception cause)
+	{
+	}
+}
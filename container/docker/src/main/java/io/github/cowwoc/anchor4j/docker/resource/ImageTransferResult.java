@@ -0,0 +1,43 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * The outcome of transferring one image as part of a bulk pull or push.
+ *
+ * @param reference the reference of the image
+ * @param image     the image, or {@code null} if the transfer failed
+ * @param failure   the reason that the transfer failed, or {@code null} if it succeeded
+ */
+public record ImageTransferResult(String reference, DockerImage image, Exception failure)
+{
+	/**
+	 * Creates a new result.
+	 *
+	 * @param reference the reference of the image
+	 * @param image     the image, or {@code null} if the transfer failed
+	 * @param failure   the reason that the transfer failed, or {@code null} if it succeeded
+	 * @throws NullPointerException     if {@code reference} is null
+	 * @throws IllegalArgumentException if exactly one of {@code image} or {@code failure} is not null
+	 */
+	public ImageTransferResult
+	{
+		requireThat(reference, "reference").isNotNull();
+		if ((image == null) == (failure == null))
+		{
+			throw new IllegalArgumentException("Exactly one of image or failure must be set.\n" +
+				"image  : " + image + "\n" +
+				"failure: " + failure);
+		}
+	}
+
+	/**
+	 * Indicates if the transfer succeeded.
+	 *
+	 * @return {@code true} on success
+	 */
+	public boolean isSuccess()
+	{
+		return failure == null;
+	}
+}
@@ -0,0 +1,66 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
+
+import java.time.Instant;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * The position of the last log line that was delivered from one of a container's streams.
+ * <p>
+ * Multiple lines may share the same timestamp, so a timestamp on its own is not enough to resume the logs
+ * without repeating or skipping lines. The checkpoint also records how many of the stream's lines at that
+ * timestamp were delivered. stdout and stderr are read independently, so each stream has its own checkpoint.
+ * <p>
+ * <b>Thread Safety</b>: This class is immutable and thread-safe.
+ *
+ * @param source           the ID or name of the container
+ * @param stream           the stream that the lines were read from
+ * @param timestamp        the timestamp of the last line that was delivered
+ * @param linesAtTimestamp the number of lines with the same timestamp that were delivered
+ */
+public record LogCheckpoint(String source, Stream stream, Instant timestamp, long linesAtTimestamp)
+{
+	/**
+	 * Creates a new checkpoint.
+	 *
+	 * @param source           the ID or name of the container
+	 * @param stream           the stream that the lines were read from
+	 * @param timestamp        the timestamp of the last line that was delivered
+	 * @param linesAtTimestamp the number of lines with the same timestamp that were delivered
+	 * @throws NullPointerException     if {@code source}, {@code stream} or {@code timestamp} are null
+	 * @throws IllegalArgumentException if:
+	 *                                  <ul>
+	 *                                    <li>{@code source} contains whitespace or is empty</li>
+	 *                                    <li>{@code linesAtTimestamp} is negative or zero</li>
+	 *                                  </ul>
+	 */
+	public LogCheckpoint
+	{
+		requireThat(source, "source").doesNotContainWhitespace().isNotEmpty();
+		requireThat(stream, "stream").isNotNull();
+		requireThat(timestamp, "timestamp").isNotNull();
+		requireThat(linesAtTimestamp, "linesAtTimestamp").isPositive();
+	}
+
+	/**
+	 * Returns the checkpoint that follows the delivery of a line.
+	 *
+	 * @param line a line of the same stream that was delivered after this checkpoint
+	 * @return the updated checkpoint
+	 * @throws NullPointerException     if {@code line} is null
+	 * @throws IllegalArgumentException if {@code line} was read from a different stream
+	 */
+	public LogCheckpoint advance(LogLine line)
+	{
+		requireThat(line.stream(), "line.stream()").isEqualTo(stream, "stream");
+		Instant lineTimestamp = line.timestamp();
+		if (lineTimestamp.equals(timestamp))
+			return new LogCheckpoint(source, stream, timestamp, linesAtTimestamp + 1);
+		if (lineTimestamp.isAfter(timestamp))
+			return new LogCheckpoint(source, stream, lineTimestamp, 1);
+		// The clock moved backwards. Remain at the latest position, which is where the logs will be resumed.
+		return this;
+	}
+}
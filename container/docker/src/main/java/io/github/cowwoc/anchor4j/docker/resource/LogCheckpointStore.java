@@ -0,0 +1,55 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
+
+import java.io.IOException;
+
+/**
+ * Persists {@link LogCheckpoint}s so that log streams can be resumed after the application restarts.
+ * <p>
+ * Updates are held in memory and written to disk at most once per second, and when the store is flushed or
+ * closed. If the application crashes, up to one second of lines may be delivered again after it restarts,
+ * but no lines are skipped.
+ * <p>
+ * <b>Thread Safety</b>: Implementations must be thread-safe.
+ *
+ * @see ContainerLogs#checkpoints(LogCheckpointStore)
+ */
+public interface LogCheckpointStore extends AutoCloseable
+{
+	/**
+	 * Returns the checkpoint of one of a container's streams.
+	 *
+	 * @param source the ID or name of the container
+	 * @param stream the stream
+	 * @return {@code null} if no checkpoint was recorded
+	 * @throws NullPointerException if any of the arguments are null
+	 */
+	LogCheckpoint get(String source, Stream stream);
+
+	/**
+	 * Records a checkpoint, replacing the previous checkpoint of the same container and stream.
+	 *
+	 * @param checkpoint the checkpoint
+	 * @throws NullPointerException  if {@code checkpoint} is null
+	 * @throws IllegalStateException if the store is closed
+	 * @throws IOException           if an I/O error occurs while writing to disk
+	 */
+	void put(LogCheckpoint checkpoint) throws IOException;
+
+	/**
+	 * Writes any pending updates to disk.
+	 *
+	 * @throws IllegalStateException if the store is closed
+	 * @throws IOException           if an I/O error occurs while writing to disk
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * Writes any pending updates to disk and closes the store. Subsequent invocations have no effect.
+	 *
+	 * @throws IOException if an I/O error occurs while writing to disk
+	 */
+	@Override
+	void close() throws IOException;
+}
@@ -0,0 +1,65 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A line of a container's logs.
+ * <p>
+ * <b>Thread Safety</b>: This class is immutable and thread-safe.
+ *
+ * @param source    the ID or name of the container that generated the line
+ * @param timestamp the time that the line was generated
+ * @param stream    the stream that the line was written to
+ * @param bytes     the contents of the line, excluding the line terminator
+ */
+public record LogLine(String source, Instant timestamp, Stream stream, ByteBuffer bytes)
+{
+	/**
+	 * Creates a new line.
+	 *
+	 * @param source    the ID or name of the container that generated the line
+	 * @param timestamp the time that the line was generated
+	 * @param stream    the stream that the line was written to
+	 * @param bytes     the contents of the line, excluding the line terminator. The buffer must not be modified
+	 *                  after it is passed to this constructor.
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code source} contains whitespace or is empty
+	 */
+	public LogLine
+	{
+		requireThat(source, "source").doesNotContainWhitespace().isNotEmpty();
+		requireThat(timestamp, "timestamp").isNotNull();
+		requireThat(stream, "stream").isNotNull();
+		requireThat(bytes, "bytes").isNotNull();
+		bytes = bytes.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns the contents of the line as a string.
+	 *
+	 * @return the contents, decoded using UTF-8
+	 */
+	public String asString()
+	{
+		return UTF_8.decode(bytes.duplicate()).toString();
+	}
+
+	/**
+	 * The streams that a container writes its logs to.
+	 */
+	public enum Stream
+	{
+		/**
+		 * The standard output stream.
+		 */
+		STDOUT,
+		/**
+		 * The standard error stream.
+		 */
+		STDERR
+	}
+}
@@ -0,0 +1,45 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.time.Duration;
+
+/**
+ * Merges multiple log streams into a single stream that is ordered by timestamp.
+ * <p>
+ * A line is delivered once every stream that has not completed has a line buffered, at which point the
+ * oldest line is known. Streams that are idle would otherwise hold back the others indefinitely, so lines are
+ * also delivered once they have been buffered for longer than the reorder window. Lines that arrive later
+ * than the reorder window may be delivered out of order.
+ */
+public interface LogMerger
+{
+	/**
+	 * Sets the maximum amount of time that a line is held back, waiting for older lines from other streams.
+	 * By default, lines are held back for up to 100 milliseconds.
+	 *
+	 * @param reorderWindow the maximum amount of time
+	 * @return this
+	 * @throws NullPointerException     if {@code reorderWindow} is null
+	 * @throws IllegalArgumentException if {@code reorderWindow} is negative
+	 */
+	LogMerger reorderWindow(Duration reorderWindow);
+
+	/**
+	 * Sets the maximum number of lines to buffer for each of the merged streams. By default, up to
+	 * {@code 64} lines are buffered for each stream.
+	 *
+	 * @param bufferSize the maximum number of lines
+	 * @return this
+	 * @throws IllegalArgumentException if {@code bufferSize} is negative or zero
+	 */
+	LogMerger bufferSize(int bufferSize);
+
+	/**
+	 * Returns the merged stream.
+	 * <p>
+	 * Each subscription subscribes to all the merged streams. If any of them fails, the remaining streams are
+	 * cancelled and the error is reported to the subscriber.
+	 *
+	 * @return the stream
+	 */
+	LogStream stream();
+}
@@ -0,0 +1,37 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Publishes log lines as they are read.
+ * <p>
+ * Each subscription runs its own {@code docker} process, which is terminated when the subscription is
+ * cancelled. Lines are only delivered when the subscriber requests them. Until then, they are held in a
+ * bounded buffer whose behavior, once full, is determined by the {@link OverflowPolicy}.
+ * <p>
+ * If the command fails, the subscriber is notified using {@link Flow.Subscriber#onError(Throwable)}. For
+ * example, a {@link io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException} is reported if the
+ * container does not exist.
+ */
+public interface LogStream extends Flow.Publisher<LogLine>
+{
+	/**
+	 * Determines what happens when a subscriber does not keep up with the logs.
+	 */
+	enum OverflowPolicy
+	{
+		/**
+		 * Stop reading the logs until the subscriber requests more lines. No lines are lost, but the
+		 * {@code docker} process and, in turn, the daemon are throttled to the subscriber's pace.
+		 */
+		BLOCK,
+		/**
+		 * Discard the oldest buffered line to make room for the new one.
+		 */
+		DROP_OLDEST,
+		/**
+		 * Discard the new line.
+		 */
+		DROP_NEWEST
+	}
+}
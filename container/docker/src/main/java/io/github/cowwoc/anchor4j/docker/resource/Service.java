@@ -57,6 +57,13 @@ static Id id(String value)
 	 */
 	List<Task> listTasks() throws IOException, InterruptedException;
 
+	/**
+	 * Retrieves the logs of the service's tasks.
+	 *
+	 * @return the logs
+	 */
+	ServiceLogs getLogs();
+
 	/**
 	 * A type-safe identifier for this type of resource.
 	 * <p>
@@ -0,0 +1,66 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import io.github.cowwoc.anchor4j.docker.resource.LogStream.OverflowPolicy;
+
+import java.time.Instant;
+
+/**
+ * Retrieves the logs of all the tasks of a service.
+ */
+public interface ServiceLogs
+{
+	/**
+	 * Indicates that log entries should be streamed in real-time as they are generated by the tasks.
+	 *
+	 * @return this
+	 */
+	ServiceLogs follow();
+
+	/**
+	 * Configures the stream to only return logs since the specified time. Defaults to {@code null}.
+	 *
+	 * @param since the start time or {@code null} to omit
+	 * @return this
+	 */
+	ServiceLogs since(Instant since);
+
+	/**
+	 * Configures the number of log lines to return relative to the end of the logs of each task. By default,
+	 * all lines are returned.
+	 *
+	 * @param linesFromEnd the number of lines or {@code Integer.MAX_VALUE} to return all lines
+	 * @return this
+	 * @throws IllegalArgumentException if {@code linesFromEnd} is negative
+	 */
+	ServiceLogs linesFromEnd(int linesFromEnd);
+
+	/**
+	 * Sets the maximum number of lines to buffer for each subscriber. By default, up to {@code 1024} lines are
+	 * buffered.
+	 *
+	 * @param bufferSize the maximum number of lines
+	 * @return this
+	 * @throws IllegalArgumentException if {@code bufferSize} is negative or zero
+	 */
+	ServiceLogs bufferSize(int bufferSize);
+
+	/**
+	 * Sets what happens when a subscriber's buffer is full. By default, {@link OverflowPolicy#BLOCK} is used.
+	 *
+	 * @param overflowPolicy the policy
+	 * @return this
+	 * @throws NullPointerException if {@code overflowPolicy} is null
+	 */
+	ServiceLogs overflowPolicy(OverflowPolicy overflowPolicy);
+
+	/**
+	 * Publishes the logs of the service's tasks, one line at a time.
+	 * <p>
+	 * The {@link LogLine#source() source} of each line identifies the task that generated it (e.g.
+	 * {@code web.1.2sjdnxu6yk7f@node-1}). The daemon interleaves the tasks' logs as it receives them, so lines
+	 * are not guaranteed to be ordered by timestamp. Use {@link LogMerger} to merge streams by timestamp.
+	 *
+	 * @return the stream
+	 */
+	LogStream stream();
+}
@@ -0,0 +1,61 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+import io.github.cowwoc.anchor4j.docker.exception.NotSwarmManagerException;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Waits until services are running all of their desired tasks.
+ * <p>
+ * The daemon's service events are used to detect changes as soon as they happen, and the replica counts of
+ * all the services are refreshed using a single command. If the event stream is unavailable, the counts
+ * are refreshed periodically instead.
+ */
+public interface ServiceRollout
+{
+	/**
+	 * Sets the maximum amount of time between refreshes of the replica counts. By default, the counts are
+	 * refreshed every 2 seconds and whenever one of the services changes.
+	 *
+	 * @param pollInterval the maximum amount of time between refreshes
+	 * @return this
+	 * @throws NullPointerException     if {@code pollInterval} is null
+	 * @throws IllegalArgumentException if {@code pollInterval} is not positive
+	 */
+	ServiceRollout pollInterval(Duration pollInterval);
+
+	/**
+	 * Sets the listener that is notified of the rollout's progress.
+	 *
+	 * @param listener the listener
+	 * @return this
+	 * @throws NullPointerException if {@code listener} is null
+	 */
+	ServiceRollout listener(ServiceRolloutListener listener);
+
+	/**
+	 * Waits until every service is running all of its desired tasks.
+	 * <p>
+	 * An update that is paused or rolled back prevents the service from converging, so the method fails as
+	 * soon as such an update is detected. The update's state is reported to
+	 * {@link ServiceRolloutListener#updateStateChanged(Service.Id, String)} before the method fails.
+	 * <p>
+	 * The listener is only invoked by the thread that invokes this method.
+	 *
+	 * @param timeout the maximum amount of time to wait
+	 * @throws NullPointerException      if {@code timeout} is null
+	 * @throws IllegalArgumentException  if {@code timeout} is negative
+	 * @throws NotSwarmManagerException  if the current node is not a swarm manager
+	 * @throws IllegalStateException     if the update of a service is paused or rolled back
+	 * @throws ResourceNotFoundException if one of the services does not exist
+	 * @throws IOException               if an I/O error occurs. These errors are typically transient, and
+	 *                                   retrying the request may resolve the issue.
+	 * @throws InterruptedException      if the thread is interrupted before the operation completes. This can
+	 *                                   happen due to shutdown signals.
+	 * @throws TimeoutException          if the services did not converge before the timeout elapsed
+	 */
+	void apply(Duration timeout) throws IOException, InterruptedException, TimeoutException;
+}
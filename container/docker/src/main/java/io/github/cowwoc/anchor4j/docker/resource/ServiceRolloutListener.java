@@ -0,0 +1,42 @@
+package io.github.cowwoc.anchor4j.docker.resource;
+
+/**
+ * Observes the progress of a service rollout.
+ * <p>
+ * Events are reported by the thread that waits for the rollout, one at a time.
+ * <p>
+ * All methods do nothing by default.
+ */
+public interface ServiceRolloutListener
+{
+	/**
+	 * Invoked when the number of running or desired tasks of a service changes.
+	 *
+	 * @param id      the service's ID or name
+	 * @param running the number of tasks that are running
+	 * @param desired the number of tasks that the service should be running
+	 */
+	default void progressUpdated(Service.Id id, int running, int desired)
+	{
+	}
+
+	/**
+	 * Invoked when the state of a service's update changes.
+	 *
+	 * @param id    the service's ID or name
+	 * @param state the state reported by the daemon (e.g. {@code updating}, {@code paused},
+	 *              {@code completed} or {@code rollback_started})
+	 */
+	default void updateStateChanged(Service.Id id, String state)
+	{
+	}
+
+	/**
+	 * Invoked when all the desired tasks of a service are running.
+	 *
+	 * @param id the service's ID or name
+	 */
+	default void serviceConverged(Service.Id id)
+	{
+	}
+}
@@ -0,0 +1,83 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import io.github.cowwoc.anchor4j.container.docker.test.IntegrationTestContainer;
+import io.github.cowwoc.anchor4j.docker.client.DockerClient;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.Container.Status;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerOperationResult;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.cowwoc.anchor4j.container.docker.test.resource.ImageIT.EXISTING_IMAGE;
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class BulkContainerIT
+{
+	/**
+	 * We assume that this container name will never exist.
+	 */
+	private static final String MISSING_CONTAINER = "BulkContainerIT.missing-container";
+	/**
+	 * A command that prevents the container from exiting.
+	 */
+	private static final String[] KEEP_ALIVE = {"tail", "-f", "/dev/null"};
+
+	@Test
+	public void failureIsolation() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		Container container1 = image.createContainer().arguments(KEEP_ALIVE).apply();
+		Container container2 = image.createContainer().arguments(KEEP_ALIVE).apply();
+		List<String> ids = List.of(container1.getId().getValue(), MISSING_CONTAINER,
+			container2.getId().getValue());
+
+		// Use a batch size of 2 to ensure that a failure does not affect the containers of other batches
+		List<ContainerOperationResult> results = client.startContainers(ids).batchSize(2).apply();
+		requireMissingContainerFailed(results, ids);
+		requireThat(container1.reload().getStatus(), "container1.status").isEqualTo(Status.RUNNING);
+		requireThat(container2.reload().getStatus(), "container2.status").isEqualTo(Status.RUNNING);
+
+		results = client.stopContainers(ids).apply();
+		requireMissingContainerFailed(results, ids);
+		container1.waitUntilStop();
+		container2.waitUntilStop();
+
+		// Missing containers are ignored when removing containers
+		results = client.removeContainers(ids).apply();
+		requireThat(results.size(), "results.size()").isEqualTo(ids.size());
+		for (ContainerOperationResult result : results)
+			requireThat(result.isSuccess(), "result.isSuccess()").withContext(result, "result").isTrue();
+		requireThat(client.getContainers(), "containers").isEmpty();
+		it.onSuccess();
+	}
+
+	/**
+	 * Requires the missing container to be the only one that failed.
+	 *
+	 * @param results the outcome of each container
+	 * @param ids     the IDs or names of the containers
+	 */
+	private static void requireMissingContainerFailed(List<ContainerOperationResult> results, List<String> ids)
+	{
+		requireThat(results.size(), "results.size()").isEqualTo(ids.size());
+		for (int i = 0; i < ids.size(); ++i)
+		{
+			ContainerOperationResult result = results.get(i);
+			requireThat(result.id(), "result.id()").isEqualTo(ids.get(i));
+			if (result.id().equals(MISSING_CONTAINER))
+			{
+				requireThat(result.failure(), "result.failure()").
+					isInstanceOf(ResourceNotFoundException.class);
+			}
+			else
+				requireThat(result.isSuccess(), "result.isSuccess()").withContext(result, "result").isTrue();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import io.github.cowwoc.anchor4j.docker.internal.resource.BulkImageTransfer;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferListener;
+import io.github.cowwoc.anchor4j.docker.resource.ImageTransferResult;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class BulkImageTransferTest
+{
+	private static final ImageTransferListener LISTENER = new ImageTransferListener()
+	{
+	};
+
+	@Test
+	public void failureIsolation() throws InterruptedException
+	{
+		List<String> references = List.of("first", "missing", "last");
+		List<ImageTransferResult> results = BulkImageTransfer.apply(references, 2, LISTENER,
+			(reference, _) ->
+			{
+				if (reference.equals("missing"))
+					throw new IOException("Image not found: " + reference);
+				return null;
+			});
+		requireThat(results.size(), "results.size()").isEqualTo(references.size());
+		for (int i = 0; i < references.size(); ++i)
+		{
+			ImageTransferResult result = results.get(i);
+			requireThat(result.reference(), "result.reference()").isEqualTo(references.get(i));
+			if (result.reference().equals("missing"))
+				requireThat(result.failure(), "result.failure()").isInstanceOf(IOException.class);
+			else
+				requireThat(result.isSuccess(), "result.isSuccess()").withContext(result, "result").isTrue();
+		}
+	}
+
+	@Test
+	public void parallelism() throws InterruptedException
+	{
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		BulkImageTransfer.apply(List.of("1", "2", "3", "4", "5"), 2, LISTENER, (_, _) ->
+		{
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			running.decrementAndGet();
+			return null;
+		});
+		requireThat(maxRunning.get(), "maxRunning").isBetween(1, true, 2, true);
+	}
+
+	@Test(expectedExceptions = InterruptedException.class)
+	public void interruptIsPropagated() throws InterruptedException
+	{
+		BulkImageTransfer.apply(List.of("first"), 1, LISTENER, (_, _) ->
+		{
+			throw new InterruptedException();
+		});
+	}
+
+	@Test(expectedExceptions = StackOverflowError.class)
+	public void errorIsPropagated() throws InterruptedException
+	{
+		BulkImageTransfer.apply(List.of("first"), 1, LISTENER, (_, _) ->
+		{
+			throw new StackOverflowError();
+		});
+	}
+}
\ No newline at end of file
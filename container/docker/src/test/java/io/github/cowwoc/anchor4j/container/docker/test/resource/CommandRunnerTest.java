@@ -0,0 +1,25 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import io.github.cowwoc.anchor4j.container.core.internal.client.CommandRunner;
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class CommandRunnerTest
+{
+	@Test
+	public void stdoutListener() throws IOException, InterruptedException
+	{
+		List<String> lines = new CopyOnWriteArrayList<>();
+		CommandResult result = new CommandRunner(new ProcessBuilder("printf", "first\\nsecond\\n")).
+			stdoutListener(lines::add).
+			apply();
+		requireThat(lines, "lines").isEqualTo(List.of("first", "second"));
+		requireThat(result.stdout(), "result.stdout()").isEqualTo("first\nsecond");
+	}
+}
\ No newline at end of file
@@ -238,6 +238,23 @@ public void stopMissing() throws IOException, InterruptedException, TimeoutExcep
 		}
 	}
 
+	@Test
+	public void equalsAfterStateChanges() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		Container created = image.createContainer().arguments(KEEP_ALIVE).apply();
+		Container started = created.start().apply();
+		Container loaded = client.getContainer(created.getId());
+		requireThat(started, "started").isEqualTo(created, "created");
+		requireThat(loaded, "loaded").isEqualTo(started, "started");
+		requireThat(started, "started").isEqualTo(loaded, "loaded");
+		requireThat(started.hashCode(), "started.hashCode()").
+			isEqualTo(loaded.hashCode(), "loaded.hashCode()");
+		it.onSuccess();
+	}
+
 	@Test
 	public void waitUntilStopped() throws IOException, InterruptedException, TimeoutException
 	{
@@ -373,4 +390,72 @@ public void getContainerLogs() throws IOException, InterruptedException, Timeout
 		}
 		it.onSuccess();
 	}
+
+	@Test
+	public void commit() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		Container container = image.createContainer().arguments("sh", "-c", "echo seed > /seed").apply();
+		container = container.start().apply();
+		requireThat(container.waitUntilStop(), "exitCode").isEqualTo(0);
+
+		DockerImage committed = container.commit().reference("containerit/commit").apply();
+		requireThat(client.getImage("containerit/commit"), "image").isEqualTo(committed, "committed");
+
+		// Containers created from the image see the committed changes
+		Container restored = committed.createContainer().arguments("test", "-f", "/seed").apply();
+		restored = restored.start().apply();
+		requireThat(restored.waitUntilStop(), "exitCode").isEqualTo(0);
+		it.onSuccess();
+	}
+
+	@Test
+	public void tmpfs() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		Container container = image.createContainer().
+			tmpfs("/scratch", 1024 * 1024).
+			arguments("sh", "-c", "grep -q ' /scratch tmpfs ' /proc/mounts").
+			apply();
+		container = container.start().apply();
+		requireThat(container.waitUntilStop(), "exitCode").isEqualTo(0);
+		it.onSuccess();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void tmpfsWithRelativePath() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		try
+		{
+			client.createContainer(EXISTING_IMAGE).tmpfs("scratch", 0);
+		}
+		catch (IllegalArgumentException e)
+		{
+			it.onSuccess();
+			throw e;
+		}
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void tmpfsWithComma() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		try
+		{
+			// The comma would inject the "readonly" option into the "--mount" argument
+			client.createContainer(EXISTING_IMAGE).tmpfs("/scratch,readonly", 0);
+		}
+		catch (IllegalArgumentException e)
+		{
+			it.onSuccess();
+			throw e;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.client.DockerClient;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ContainerParser;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class ContainerParserTest
+{
+	@Test
+	public void parseFailureSummary() throws IOException
+	{
+		try (DockerClient client = DockerClient.build())
+		{
+			ContainerParser parser = ((InternalDockerClient) client).getContainerParser();
+			List<String> ids = List.of("first", "missing", "last");
+			CommandResult result = new CommandResult(List.of("docker", "container", "start", "first", "missing",
+				"last"), null, "first\nlast", """
+				Error response from daemon: No such container: missing
+				Error: failed to start containers: missing""", 1);
+			Map<String, Exception> idToFailure = parser.bulkOperation(result, ids, false);
+			requireThat(idToFailure.keySet(), "idToFailure.keySet()").isEqualTo(Set.copyOf(ids));
+			requireThat(idToFailure.get("first"), "first").isNull();
+			requireThat(idToFailure.get("missing"), "missing").isInstanceOf(ResourceNotFoundException.class);
+			requireThat(idToFailure.get("last"), "last").isNull();
+		}
+	}
+
+	@Test
+	public void parseUnknownFailure() throws IOException
+	{
+		try (DockerClient client = DockerClient.build())
+		{
+			ContainerParser parser = ((InternalDockerClient) client).getContainerParser();
+			List<String> ids = List.of("first", "broken");
+			CommandResult result = new CommandResult(List.of("docker", "container", "stop", "first", "broken"),
+				null, "first", """
+				Error response from daemon: cannot stop container: broken: permission denied""", 1);
+			Map<String, Exception> idToFailure = parser.bulkOperation(result, ids, false);
+			requireThat(idToFailure.get("first"), "first").isNull();
+			requireThat(idToFailure.get("broken"), "broken").isInstanceOf(IOException.class);
+		}
+	}
+
+	@Test
+	public void parseUnreportedOutcome() throws IOException
+	{
+		try (DockerClient client = DockerClient.build())
+		{
+			ContainerParser parser = ((InternalDockerClient) client).getContainerParser();
+			List<String> ids = List.of("first", "unreported");
+			CommandResult result = new CommandResult(List.of("docker", "container", "stop", "first", "unreported"),
+				null, "first", "error during connect: Post \"http://localhost/v1.47/containers/stop\": EOF", 1);
+			Map<String, Exception> idToFailure = parser.bulkOperation(result, ids, false);
+			// The outcome of "unreported" is unknown, so the command must be retried for it alone
+			requireThat(idToFailure.keySet(), "idToFailure.keySet()").isEqualTo(Set.of("first"));
+			requireThat(idToFailure.get("first"), "first").isNull();
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import io.github.cowwoc.anchor4j.container.docker.test.IntegrationTestContainer;
+import io.github.cowwoc.anchor4j.docker.client.DockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.Container.Status;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerCreator;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerLease;
+import io.github.cowwoc.anchor4j.docker.resource.ContainerPool;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.cowwoc.anchor4j.container.docker.test.resource.ImageIT.EXISTING_IMAGE;
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class ContainerPoolIT
+{
+	/**
+	 * A command that prevents the container from exiting.
+	 */
+	private static final String[] KEEP_ALIVE = {"tail", "-f", "/dev/null"};
+
+	@Test
+	public void leaseAndRelease() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		try (ContainerPool pool = client.createContainerPool(image.createContainer().arguments(KEEP_ALIVE)).
+			size(1).
+			apply())
+		{
+			Container container;
+			try (ContainerLease lease = pool.lease())
+			{
+				container = lease.getContainer();
+				requireThat(container.reload().getStatus(), "status").isEqualTo(Status.RUNNING);
+			}
+			// Released containers are reused
+			try (ContainerLease lease = pool.lease())
+			{
+				requireThat(lease.getContainer(), "lease.getContainer()").isEqualTo(container, "container");
+			}
+		}
+		it.onSuccess();
+	}
+
+	@Test
+	public void discardIsReplenished() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		try (ContainerPool pool = client.createContainerPool(image.createContainer().arguments(KEEP_ALIVE)).
+			size(1).
+			apply())
+		{
+			ContainerLease lease = pool.lease();
+			Container discarded = lease.getContainer();
+			lease.discard();
+
+			try (ContainerLease replacement = pool.lease())
+			{
+				Container container = replacement.getContainer();
+				requireThat(container, "container").isNotEqualTo(discarded, "discarded");
+				requireThat(container.reload().getStatus(), "status").isEqualTo(Status.RUNNING);
+			}
+			requireThat(client.getContainer(discarded.getId()), "discarded").isNull();
+		}
+		it.onSuccess();
+	}
+
+	@Test
+	public void closeRemovesContainers() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		ContainerPool pool = client.createContainerPool(image.createContainer().arguments(KEEP_ALIVE)).
+			size(2).
+			apply();
+		try (ContainerLease _ = pool.lease();
+		     ContainerLease _ = pool.lease())
+		{
+			requireThat(pool.getIdleCount(), "pool.getIdleCount()").isEqualTo(0);
+		}
+		pool.close();
+		// The released containers are removed once they finish resetting
+		while (!client.getContainers().isEmpty())
+			Thread.sleep(100);
+		try
+		{
+			pool.lease();
+		}
+		catch (IllegalStateException _)
+		{
+			it.onSuccess();
+			return;
+		}
+		throw new AssertionError("lease() must fail after the pool is closed");
+	}
+
+	@Test
+	public void templateIsCopied() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		ContainerCreator template = image.createContainer().arguments(KEEP_ALIVE);
+		try (ContainerPool pool = client.createContainerPool(template).size(2).apply())
+		{
+			// Naming the template after the pool was created must not cause name conflicts
+			template.name(it.getName());
+			try (ContainerLease lease1 = pool.lease();
+			     ContainerLease lease2 = pool.lease())
+			{
+				requireThat(lease1.getContainer(), "lease1.getContainer()").
+					isNotEqualTo(lease2.getContainer(), "lease2.getContainer()");
+			}
+		}
+		it.onSuccess();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void namedTemplate() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		try
+		{
+			client.createContainerPool(image.createContainer().name(it.getName()));
+		}
+		catch (IllegalArgumentException e)
+		{
+			it.onSuccess();
+			throw e;
+		}
+	}
+}
\ No newline at end of file
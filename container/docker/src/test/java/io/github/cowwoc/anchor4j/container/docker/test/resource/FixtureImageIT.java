@@ -0,0 +1,102 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import io.github.cowwoc.anchor4j.container.docker.test.IntegrationTestContainer;
+import io.github.cowwoc.anchor4j.docker.client.DockerClient;
+import io.github.cowwoc.anchor4j.docker.resource.Container;
+import io.github.cowwoc.anchor4j.docker.resource.DockerImage;
+import io.github.cowwoc.anchor4j.docker.resource.FixtureImageCreator.Initializer;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.cowwoc.anchor4j.container.docker.test.resource.ImageIT.EXISTING_IMAGE;
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class FixtureImageIT
+{
+	@Test
+	public void cacheHit() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		AtomicInteger initializations = new AtomicInteger();
+		Initializer initializer = seed(image, initializations);
+
+		DockerImage fixture = client.createFixtureImage("seeded", "1").apply(initializer);
+		requireThat(client.getContainers(), "containers").isEmpty();
+		requireThat(client.createFixtureImage("seeded", "1").apply(initializer), "fixture").
+			isEqualTo(fixture, "fixture");
+		requireThat(initializations.get(), "initializations").isEqualTo(1);
+
+		// Containers created from the fixture see the seeded data
+		Container container = fixture.createContainer().arguments("test", "-f", "/seed").apply();
+		container = container.start().apply();
+		requireThat(container.waitUntilStop(), "exitCode").isEqualTo(0);
+		it.onSuccess();
+	}
+
+	@Test
+	public void contentHashChange() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		AtomicInteger initializations = new AtomicInteger();
+		Initializer initializer = seed(image, initializations);
+
+		DockerImage first = client.createFixtureImage("seeded", "1").apply(initializer);
+		DockerImage second = client.createFixtureImage("seeded", "2").apply(initializer);
+		requireThat(second, "second").isNotEqualTo(first, "first");
+		requireThat(initializations.get(), "initializations").isEqualTo(2);
+		it.onSuccess();
+	}
+
+	@Test
+	public void concurrentRequests() throws IOException, InterruptedException, TimeoutException,
+		ExecutionException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage image = client.pullImage(EXISTING_IMAGE).apply();
+		AtomicInteger initializations = new AtomicInteger();
+		Initializer initializer = seed(image, initializations);
+
+		List<Future<DockerImage>> fixtures = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+		{
+			for (int i = 0; i < 3; ++i)
+				fixtures.add(executor.submit(() -> client.createFixtureImage("seeded", "1").apply(initializer)));
+			DockerImage expected = fixtures.getFirst().get();
+			for (Future<DockerImage> fixture : fixtures)
+				requireThat(fixture.get(), "fixture").isEqualTo(expected, "expected");
+		}
+		requireThat(initializations.get(), "initializations").isEqualTo(1);
+		it.onSuccess();
+	}
+
+	/**
+	 * @param image           the image to create the container from
+	 * @param initializations the number of times that the fixture was initialized
+	 * @return an initializer that writes a file into a container
+	 */
+	private static Initializer seed(DockerImage image, AtomicInteger initializations)
+	{
+		return () ->
+		{
+			initializations.incrementAndGet();
+			Container container = image.createContainer().arguments("sh", "-c", "echo seed > /seed").apply();
+			container = container.start().apply();
+			container.waitUntilStop();
+			return container;
+		};
+	}
+}
\ No newline at end of file
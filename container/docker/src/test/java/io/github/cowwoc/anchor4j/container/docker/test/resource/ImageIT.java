@@ -66,6 +66,20 @@ public void alreadyPulled() throws IOException, InterruptedException, TimeoutExc
 		it.onSuccess();
 	}
 
+	@Test
+	public void pulledImageHasImageId() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer it = new IntegrationTestContainer();
+		DockerClient client = it.getClient();
+		DockerImage pulled = client.pullImage(EXISTING_IMAGE).apply();
+		DockerImage loaded = client.getImage(EXISTING_IMAGE);
+		requireThat(pulled.getId(), "pulled.getId()").isEqualTo(loaded.getId(), "loaded.getId()");
+		requireThat(loaded, "loaded").isEqualTo(pulled, "pulled");
+		requireThat(pulled.hashCode(), "pulled.hashCode()").
+			isEqualTo(loaded.hashCode(), "loaded.hashCode()");
+		it.onSuccess();
+	}
+
 	@Test(expectedExceptions = ResourceNotFoundException.class)
 	public void pullMissing() throws IOException, InterruptedException, TimeoutException
 	{
@@ -0,0 +1,44 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import org.testng.annotations.Test;
+
+import static io.github.cowwoc.anchor4j.docker.internal.resource.DefaultImagePuller.normalize;
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class ImagePullerTest
+{
+	@Test
+	public void normalizeOfficialImage()
+	{
+		String expected = "docker.io/library/postgres:16";
+		requireThat(normalize("postgres:16"), "postgres:16").isEqualTo(expected);
+		requireThat(normalize("library/postgres:16"), "library/postgres:16").isEqualTo(expected);
+		requireThat(normalize("docker.io/postgres:16"), "docker.io/postgres:16").isEqualTo(expected);
+		requireThat(normalize("index.docker.io/library/postgres:16"), "index.docker.io/library/postgres:16").
+			isEqualTo(expected);
+		requireThat(normalize(expected), "expected").isEqualTo(expected);
+	}
+
+	@Test
+	public void normalizeDefaultTag()
+	{
+		requireThat(normalize("nasa/rocket-ship"), "nasa/rocket-ship").
+			isEqualTo("docker.io/nasa/rocket-ship:latest");
+	}
+
+	@Test
+	public void normalizeOtherRegistry()
+	{
+		requireThat(normalize("localhost:5000/app"), "localhost:5000/app").
+			isEqualTo("localhost:5000/app:latest");
+		requireThat(normalize("ghcr.io/org/app:1.0"), "ghcr.io/org/app:1.0").isEqualTo("ghcr.io/org/app:1.0");
+	}
+
+	@Test
+	public void normalizeDigest()
+	{
+		String digest = "sha256:0000000000000000000000000000000000000000000000000000000000000000";
+		requireThat(normalize("postgres@" + digest), "postgres@digest").
+			isEqualTo("docker.io/library/postgres@" + digest);
+	}
+}
\ No newline at end of file
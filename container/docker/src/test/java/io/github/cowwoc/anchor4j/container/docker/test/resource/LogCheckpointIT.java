@@ -0,0 +1,105 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.github.cowwoc.anchor4j.docker.internal.resource.DefaultLogCheckpointStore;
+import io.github.cowwoc.anchor4j.docker.internal.resource.LogCheckpointer;
+import io.github.cowwoc.anchor4j.docker.resource.LogCheckpoint;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine;
+import io.github.cowwoc.anchor4j.docker.resource.LogLine.Stream;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public final class LogCheckpointIT
+{
+	private static final String SOURCE = "LogCheckpointIT.container";
+	private static final Instant TIMESTAMP = Instant.parse("2025-01-01T00:00:00Z");
+
+	@Test
+	public void resumeInterleavedStreams() throws IOException
+	{
+		Path file = Files.createTempFile(LogCheckpointIT.class.getSimpleName(), ".json");
+		try
+		{
+			JsonMapper jsonMapper = new JsonMapper();
+			try (DefaultLogCheckpointStore store = new DefaultLogCheckpointStore(file, jsonMapper))
+			{
+				LogCheckpointer checkpointer = new LogCheckpointer(store, SOURCE);
+				checkpointer.onDelivered(line(Stream.STDOUT, TIMESTAMP, "out1"));
+				checkpointer.onDelivered(line(Stream.STDERR, TIMESTAMP, "err1"));
+				checkpointer.onDelivered(line(Stream.STDOUT, TIMESTAMP, "out2"));
+			}
+
+			try (DefaultLogCheckpointStore store = new DefaultLogCheckpointStore(file, jsonMapper))
+			{
+				requireThat(store.get(SOURCE, Stream.STDOUT), "stdout").
+					isEqualTo(new LogCheckpoint(SOURCE, Stream.STDOUT, TIMESTAMP, 2));
+				requireThat(store.get(SOURCE, Stream.STDERR), "stderr").
+					isEqualTo(new LogCheckpoint(SOURCE, Stream.STDERR, TIMESTAMP, 1));
+
+				LogCheckpointer checkpointer = new LogCheckpointer(store, SOURCE);
+				requireThat(checkpointer.getStartTime(), "startTime").isEqualTo(TIMESTAMP);
+
+				// "docker logs --since" repeats every line at the checkpoint's timestamp, and the streams may be
+				// received in a different order than they were delivered in
+				requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDERR, TIMESTAMP, "err1")), "err1").
+					isTrue();
+				requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDERR, TIMESTAMP, "err2")), "err2").
+					isFalse();
+				requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDOUT, TIMESTAMP, "out1")), "out1").
+					isTrue();
+				requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDOUT, TIMESTAMP, "out2")), "out2").
+					isTrue();
+				requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDOUT, TIMESTAMP, "out3")), "out3").
+					isFalse();
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void resumeFromOldestStream() throws IOException
+	{
+		Path file = Files.createTempFile(LogCheckpointIT.class.getSimpleName(), ".json");
+		try (DefaultLogCheckpointStore store = new DefaultLogCheckpointStore(file, new JsonMapper()))
+		{
+			Instant later = TIMESTAMP.plusSeconds(10);
+			store.put(new LogCheckpoint(SOURCE, Stream.STDOUT, later, 1));
+			LogCheckpointer checkpointer = new LogCheckpointer(store, SOURCE);
+			// stderr does not have a checkpoint, so its lines must be read from the beginning
+			requireThat(checkpointer.getStartTime(), "startTime").isNull();
+
+			store.put(new LogCheckpoint(SOURCE, Stream.STDERR, TIMESTAMP, 1));
+			checkpointer = new LogCheckpointer(store, SOURCE);
+			requireThat(checkpointer.getStartTime(), "startTime").isEqualTo(TIMESTAMP);
+			requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDOUT, TIMESTAMP, "out1")), "out1").isTrue();
+			requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDOUT, later, "out2")), "out2").isTrue();
+			requireThat(checkpointer.isAlreadyDelivered(line(Stream.STDOUT, later, "out3")), "out3").isFalse();
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * @param stream    the stream that the line was written to
+	 * @param timestamp the time that the line was generated
+	 * @param text      the contents of the line
+	 * @return the line
+	 */
+	private static LogLine line(Stream stream, Instant timestamp, String text)
+	{
+		return new LogLine(SOURCE, timestamp, stream, ByteBuffer.wrap(text.getBytes(UTF_8)));
+	}
+}
@@ -2,8 +2,10 @@
 
 import io.github.cowwoc.anchor4j.container.docker.test.IntegrationTestContainer;
 import io.github.cowwoc.anchor4j.docker.exception.NotSwarmManagerException;
+import io.github.cowwoc.anchor4j.docker.exception.ResourceNotFoundException;
 import io.github.cowwoc.anchor4j.docker.resource.Node.Id;
 import io.github.cowwoc.anchor4j.docker.resource.Service;
+import io.github.cowwoc.anchor4j.docker.resource.ServiceRolloutListener;
 import io.github.cowwoc.anchor4j.docker.resource.SwarmCreator.WelcomePackage;
 import io.github.cowwoc.anchor4j.docker.resource.Task;
 import org.testng.annotations.Test;
@@ -12,6 +14,8 @@
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 
 import static io.github.cowwoc.anchor4j.container.docker.test.resource.ImageIT.EXISTING_IMAGE;
@@ -144,4 +148,83 @@ public void listTasksByNodeFromWorker() throws IOException, InterruptedException
 			throw e;
 		}
 	}
+
+	@Test
+	public void waitForRollout() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer manager = new IntegrationTestContainer("manager");
+		manager.getClient().createSwarm().apply();
+		Service service = manager.getClient().createService(EXISTING_IMAGE).arguments("tail", "-f", "/dev/null").
+			runMultipleCopies(2).
+			updateMonitor(Duration.ofSeconds(1)).
+			apply();
+
+		Set<Thread> listenerThreads = ConcurrentHashMap.newKeySet();
+		Set<Service.Id> converged = ConcurrentHashMap.newKeySet();
+		manager.getClient().waitForRollout(List.of(service.getId())).
+			listener(new ServiceRolloutListener()
+			{
+				@Override
+				public void progressUpdated(Service.Id id, int running, int desired)
+				{
+					listenerThreads.add(Thread.currentThread());
+				}
+
+				@Override
+				public void updateStateChanged(Service.Id id, String state)
+				{
+					listenerThreads.add(Thread.currentThread());
+				}
+
+				@Override
+				public void serviceConverged(Service.Id id)
+				{
+					listenerThreads.add(Thread.currentThread());
+					converged.add(id);
+				}
+			}).
+			apply(Duration.ofMinutes(1));
+		requireThat(converged, "converged").isEqualTo(Set.of(service.getId()));
+		requireThat(listenerThreads, "listenerThreads").isEqualTo(Set.of(Thread.currentThread()));
+		manager.onSuccess();
+	}
+
+	@Test(expectedExceptions = ResourceNotFoundException.class)
+	public void waitForMissingServiceRollout() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer manager = new IntegrationTestContainer("manager");
+		manager.getClient().createSwarm().apply();
+		try
+		{
+			manager.getClient().waitForRollout(List.of(Service.id("ServiceIT.missing-service"))).
+				apply(Duration.ofMinutes(1));
+		}
+		catch (ResourceNotFoundException e)
+		{
+			manager.onSuccess();
+			throw e;
+		}
+	}
+
+	@Test(expectedExceptions = NotSwarmManagerException.class)
+	public void waitForRolloutFromWorker() throws IOException, InterruptedException, TimeoutException
+	{
+		IntegrationTestContainer manager = new IntegrationTestContainer("manager");
+		WelcomePackage welcomePackage = manager.getClient().createSwarm().apply();
+
+		IntegrationTestContainer worker = new IntegrationTestContainer("worker");
+		worker.getClient().joinSwarm().join(welcomePackage.workerJoinToken());
+		Service service = manager.getClient().createService(EXISTING_IMAGE).arguments("sleep", "2").
+			updateMonitor(Duration.ofSeconds(1)).apply();
+		try
+		{
+			worker.getClient().waitForRollout(List.of(service.getId())).apply(Duration.ofMinutes(1));
+		}
+		catch (NotSwarmManagerException e)
+		{
+			manager.onSuccess();
+			worker.onSuccess();
+			throw e;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package io.github.cowwoc.anchor4j.container.docker.test.resource;
+
+import io.github.cowwoc.anchor4j.core.resource.CommandResult;
+import io.github.cowwoc.anchor4j.docker.client.DockerClient;
+import io.github.cowwoc.anchor4j.docker.internal.client.InternalDockerClient;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ServiceParser;
+import io.github.cowwoc.anchor4j.docker.internal.parser.ServiceParser.ServiceUpdate;
+import io.github.cowwoc.anchor4j.docker.resource.Service;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class ServiceParserTest
+{
+	@Test
+	public void parseUpdates() throws IOException
+	{
+		try (DockerClient client = DockerClient.build())
+		{
+			ServiceParser parser = ((InternalDockerClient) client).getServiceParser();
+			CommandResult result = new CommandResult(List.of("docker", "service", "inspect", "--format", "json",
+				"updated", "new"), null, """
+				[
+				  {
+				    "ID": "kqs8rxwlbd9qmqnm4ul0w7qf2",
+				    "Spec": {"Name": "updated"},
+				    "UpdateStatus": {
+				      "State": "rollback_completed",
+				      "StartedAt": "2025-01-02T03:04:05.123456789Z",
+				      "CompletedAt": "2025-01-02T03:05:00Z"
+				    }
+				  },
+				  {
+				    "ID": "r1w5s7ob0qbd8ckvaiq8lcvvd",
+				    "Spec": {"Name": "new"}
+				  }
+				]""", "", 0);
+			List<ServiceUpdate> updates = parser.listUpdates(result);
+			requireThat(updates, "updates").isEqualTo(List.of(
+				new ServiceUpdate(Service.id("kqs8rxwlbd9qmqnm4ul0w7qf2"), "updated", "rollback_completed",
+					Instant.parse("2025-01-02T03:04:05.123456789Z")),
+				new ServiceUpdate(Service.id("r1w5s7ob0qbd8ckvaiq8lcvvd"), "new", null, null)));
+		}
+	}
+}
\ No newline at end of file
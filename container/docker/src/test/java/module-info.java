@@ -12,6 +12,7 @@
 	requires org.bouncycastle.provider;
 	requires org.testng;
 	requires com.fasterxml.jackson.annotation;
+	requires com.fasterxml.jackson.databind;
 
 	opens io.github.cowwoc.anchor4j.container.docker.test.resource to org.testng;
 	opens io.github.cowwoc.anchor4j.container.docker.test to org.testng;
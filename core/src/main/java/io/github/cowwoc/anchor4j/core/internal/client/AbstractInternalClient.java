@@ -9,6 +9,7 @@
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
@@ -160,6 +161,37 @@ public Object getSourceState(ResourceId id)
 	public void setTargetState(ResourceId id, Object state)
 	{
 		assert id != null;
-		targetState.put(id, state);
+		synchronized (targetState)
+		{
+			targetState.put(id, state);
+		}
+	}
+
+	@Override
+	public Map<ResourceId, Object> getTargetState()
+	{
+		synchronized (targetState)
+		{
+			return Collections.unmodifiableMap(new HashMap<>(targetState));
+		}
+	}
+
+	/**
+	 * Moves a resource's expected state to a new ID, such as when the resource is renamed.
+	 *
+	 * @param oldId the resource's old ID
+	 * @param newId the resource's new ID
+	 * @param state the resource's state
+	 */
+	public void renameTargetState(ResourceId oldId, ResourceId newId, Object state)
+	{
+		assert oldId != null;
+		assert newId != null;
+		assert state != null;
+		synchronized (targetState)
+		{
+			targetState.remove(oldId);
+			targetState.put(newId, state);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package io.github.cowwoc.anchor4j.core.internal.client;
+
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A client whose resources are checked by drift detection.
+ * <p>
+ * Clients must opt into drift detection by implementing this interface and registering themselves with it.
+ */
+public interface DriftTrackingClient extends InternalClient
+{
+	/**
+	 * Returns a value that identifies the resources that this client manages, such as the account that it is
+	 * logged into. The value must be the same across processes, and must not contain secrets because it is
+	 * persisted in snapshots.
+	 *
+	 * @return the scope of the client's resources
+	 * @throws IllegalStateException if the client is closed
+	 */
+	String getSnapshotScope();
+
+	/**
+	 * Returns the types of resources that {@link #getResources(Predicate, Predicate)} may return.
+	 *
+	 * @return the resource types
+	 */
+	Set<Class<?>> getResourceTypes();
+
+	/**
+	 * Returns the ID that is used to track a resource's state.
+	 *
+	 * @param resource a resource that was returned by {@link #getResources(Predicate, Predicate)}
+	 * @return {@code null} if the resource's state is not tracked
+	 * @throws NullPointerException if {@code resource} is null
+	 */
+	ResourceId getResourceId(Object resource);
+
+	/**
+	 * Returns a string representation of a resource's state that does not change unless its configuration
+	 * changes. Two resources with the same canonical form are considered to be equal for the purpose of drift
+	 * detection.
+	 *
+	 * @param resource a resource that was returned by {@link #getResources(Predicate, Predicate)}, or the
+	 *                 expected state of a resource
+	 * @return the canonical form
+	 * @throws NullPointerException if {@code resource} is null
+	 */
+	String getCanonicalForm(Object resource);
+}
@@ -2,10 +2,12 @@
 
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import io.github.cowwoc.anchor4j.core.client.Client;
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
 /**
@@ -54,4 +56,13 @@ public interface InternalClient extends Client
 	 */
 	<V> V retry(Operation<V> operation, Instant deadline)
 		throws IOException, InterruptedException, TimeoutException;
-}
\ No newline at end of file
+
+	/**
+	 * Returns the expected state of the resources that were modified by this client.
+	 *
+	 * @return a snapshot of the resources' state, where a {@code null} value indicates that the resource was
+	 * 	destroyed
+	 */
+	Map<ResourceId, Object> getTargetState();
+
+}
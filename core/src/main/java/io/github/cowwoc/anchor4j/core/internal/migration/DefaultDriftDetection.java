@@ -1,25 +1,39 @@
 package io.github.cowwoc.anchor4j.core.internal.migration;
 
-import io.github.cowwoc.anchor4j.core.client.Client;
+import io.github.cowwoc.anchor4j.core.internal.client.DriftTrackingClient;
+import io.github.cowwoc.anchor4j.core.internal.migration.SnapshotStore.SnapshotDiff;
 import io.github.cowwoc.anchor4j.core.migration.DriftDetection;
-import io.github.cowwoc.requirements12.java.ValidationFailure;
-import io.github.cowwoc.requirements12.java.ValidationFailures;
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.StructuredTaskScope.ShutdownOnFailure;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.checkIf;
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
 public final class DefaultDriftDetection implements DriftDetection
 {
-	private List<Client> clients = new ArrayList<>();
+	private final List<DriftTrackingClient> clients = new CopyOnWriteArrayList<>();
 	private Predicate<? super Class<?>> typeFilter = _ -> true;
 	private Predicate<Object> resourceFilter = _ -> true;
+	/**
+	 * The actual state of resources as of the last report, or {@code null} if it is not persisted.
+	 */
+	private SnapshotStore snapshotStore;
 	private boolean closed;
 	private final Logger log = LoggerFactory.getLogger(DefaultDriftDetection.class);
 
@@ -28,7 +42,7 @@ public final class DefaultDriftDetection implements DriftDetection
 	 *
 	 * @param client the client
 	 */
-	public void addClient(Client client)
+	public void addClient(DriftTrackingClient client)
 	{
 		assert client != null;
 		clients.add(client);
@@ -50,22 +64,149 @@ public DriftDetection includeResource(Predicate<Object> resourceFilter)
 		return this;
 	}
 
+	@Override
+	public DriftDetection snapshotFile(Path path) throws IOException
+	{
+		ensureOpen();
+		if (path == null)
+			this.snapshotStore = null;
+		else
+			this.snapshotStore = new SnapshotStore(path);
+		return this;
+	}
+
 	@Override
 	public void report() throws IOException, InterruptedException
+	{
+		for (String message : getDrift())
+			log.error(message);
+	}
+
+	/**
+	 * Compares the actual state of all the clients' resources against their expected state.
+	 *
+	 * @return a description of each resource that drifted
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	public List<String> getDrift() throws IOException, InterruptedException
 	{
 		ensureOpen();
-		List<Object> expected = new ArrayList<>();
-		for (Client client : clients)
-			expected.addAll(client.getResources(typeFilter, resourceFilter));
-
-		List<Object> actual = new ArrayList<>();
-		for (Client client : clients)
-			actual.addAll(client.getResources(typeFilter, resourceFilter));
-
-		ValidationFailures failures = checkIf(actual, "actual").containsExactly(expected, "expected").
-			elseGetFailures();
-		for (ValidationFailure failure : failures.getFailures())
-			log.error(failure.getMessage());
+		List<Supplier<List<String>>> clientToDrift = new ArrayList<>(clients.size());
+		try (ShutdownOnFailure scope = new ShutdownOnFailure("DriftDetection",
+			Thread.ofVirtual().name("driftdetection-", 1).factory()))
+		{
+			for (DriftTrackingClient client : clients)
+				clientToDrift.add(scope.fork(() -> getDrift(client)));
+			try
+			{
+				scope.join().throwIfFailed();
+			}
+			catch (ExecutionException e)
+			{
+				if (e.getCause() instanceof IOException ioe)
+					throw ioe;
+				throw WrappedCheckedException.wrap(e);
+			}
+		}
+		List<String> drift = new ArrayList<>();
+		for (Supplier<List<String>> clientDrift : clientToDrift)
+			drift.addAll(clientDrift.get());
+		return drift;
+	}
+
+	/**
+	 * Compares the actual state of a client's resources against their expected state.
+	 *
+	 * @param client the client
+	 * @return a description of each resource that drifted
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private List<String> getDrift(DriftTrackingClient client) throws IOException, InterruptedException
+	{
+		Map<ResourceId, Object> targetState = client.getTargetState();
+		Map<ResourceId, Object> expected = new HashMap<>();
+		for (Entry<ResourceId, Object> entry : targetState.entrySet())
+		{
+			ResourceId id = entry.getKey();
+			Object state = entry.getValue();
+			if (!typeFilter.test(id.type()) || (state != null && !resourceFilter.test(state)))
+				continue;
+			expected.put(id, state);
+		}
+
+		SnapshotStore store = snapshotStore;
+		Set<Class<?>> types;
+		if (store == null)
+		{
+			// Only look up the types of resources that have an expected state
+			types = expected.keySet().stream().map(ResourceId::type).collect(Collectors.toSet());
+		}
+		else
+		{
+			// Snapshots track all the resources, including ones that do not have an expected state
+			types = client.getResourceTypes().stream().filter(typeFilter).collect(Collectors.toSet());
+		}
+		Map<ResourceId, String> idToDrift = new HashMap<>();
+		Map<ResourceId, String> actualToCanonicalForm = new HashMap<>();
+		if (!types.isEmpty())
+		{
+			Map<ResourceId, Object> actual = new HashMap<>();
+			for (Object resource : client.getResources(types::contains, resourceFilter))
+			{
+				ResourceId id = client.getResourceId(resource);
+				if (id == null)
+					continue;
+				actual.put(id, resource);
+				actualToCanonicalForm.put(id, client.getCanonicalForm(resource));
+			}
+
+			// Resources are compared by their canonical form, which does not depend on equals()
+			for (Entry<ResourceId, Object> entry : expected.entrySet())
+			{
+				ResourceId id = entry.getKey();
+				Object expectedState = entry.getValue();
+				Object actualState = actual.get(id);
+				if (expectedState == null)
+				{
+					if (actualState != null)
+					{
+						idToDrift.put(id, id + " was expected to be destroyed.\n" +
+							"Actual: " + actualState);
+					}
+				}
+				else if (actualState == null)
+				{
+					idToDrift.put(id, id + " is missing.\n" +
+						"Expected: " + expectedState);
+				}
+				else if (!client.getCanonicalForm(expectedState).equals(actualToCanonicalForm.get(id)))
+				{
+					idToDrift.put(id, id + " has drifted.\n" +
+						"Expected: " + expectedState + "\n" +
+						"Actual  : " + actualState);
+				}
+			}
+
+			if (store != null)
+			{
+				SnapshotDiff diff = store.update(client.getSnapshotScope(), actualToCanonicalForm, types);
+				for (String resource : diff.added())
+					log.info("{} was added since the last snapshot", resource);
+				for (String resource : diff.removed())
+					log.info("{} was removed since the last snapshot", resource);
+				for (String resource : diff.changed())
+					log.info("{} changed since the last snapshot", resource);
+			}
+		}
+		return new ArrayList<>(idToDrift.values());
 	}
 
 	/**
@@ -90,4 +231,4 @@ public void close()
 	{
 		closed = true;
 	}
-}
\ No newline at end of file
+}
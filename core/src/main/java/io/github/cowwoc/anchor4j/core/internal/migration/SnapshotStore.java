@@ -0,0 +1,388 @@
+package io.github.cowwoc.anchor4j.core.internal.migration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Persists the canonical form of resources across drift detection reports.
+ * <p>
+ * The snapshot is stored in an append-only log containing one JSON record per line. Each record holds a
+ * resource's canonical form, or marks the resource as removed. Resources are keyed by the scope of the client
+ * that manages them, so clients that manage different accounts do not overwrite each other's resources. The
+ * log is replayed before each update, and compacted once obsolete records outnumber the live ones.
+ * <p>
+ * Multiple processes may share the same log. Updates hold an exclusive lock on a sibling {@code .lock} file,
+ * and a record that was truncated because a process crashed while appending it is discarded.
+ */
+public final class SnapshotStore
+{
+	/**
+	 * The minimum number of records in the log before it is compacted.
+	 */
+	private static final int MINIMUM_RECORDS_BEFORE_COMPACTION = 1000;
+	/**
+	 * Prevents threads of the same process from locking the same file at the same time, which
+	 * {@link FileChannel#lock()} does not allow.
+	 */
+	private static final ConcurrentMap<Path, Lock> FILE_TO_LOCK = new ConcurrentHashMap<>();
+	private final Path file;
+	private final Path lockFile;
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	/**
+	 * The canonical form of each resource.
+	 */
+	private final Map<SnapshotKey, String> keyToState = new HashMap<>();
+	/**
+	 * The number of records in the log.
+	 */
+	private int numberOfRecords;
+	private final Logger log = LoggerFactory.getLogger(SnapshotStore.class);
+
+	/**
+	 * Loads a snapshot store, creating it if it does not exist.
+	 *
+	 * @param file the path of the log file
+	 * @throws NullPointerException if {@code file} is null
+	 * @throws IOException          if an I/O error occurs while reading the file
+	 */
+	public SnapshotStore(Path file) throws IOException
+	{
+		assert file != null;
+		this.file = file.toAbsolutePath().normalize();
+		this.lockFile = this.file.resolveSibling(this.file.getFileName() + ".lock");
+		withLock(() ->
+		{
+			load();
+			return null;
+		});
+	}
+
+	/**
+	 * Runs an operation while holding an exclusive lock on the log.
+	 *
+	 * @param <V>       the type of value returned by the operation
+	 * @param operation the operation
+	 * @return the value returned by the operation
+	 * @throws IOException if an I/O error occurs while locking the file or running the operation
+	 */
+	private <V> V withLock(LockedOperation<V> operation) throws IOException
+	{
+		Lock lock = FILE_TO_LOCK.computeIfAbsent(file, _ -> new ReentrantLock());
+		lock.lock();
+		try
+		{
+			Files.createDirectories(file.getParent());
+			try (FileChannel channel = FileChannel.open(lockFile, CREATE, WRITE);
+			     FileLock _ = channel.lock())
+			{
+				return operation.run();
+			}
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Replays the log, replacing the in-memory state.
+	 *
+	 * @throws IOException if an I/O error occurs while reading the file, or if a record other than the last
+	 *                     one is corrupt
+	 */
+	private void load() throws IOException
+	{
+		keyToState.clear();
+		numberOfRecords = 0;
+		if (Files.notExists(file))
+			return;
+		boolean truncated = false;
+		try (BufferedReader reader = Files.newBufferedReader(file, UTF_8))
+		{
+			String line = reader.readLine();
+			while (line != null)
+			{
+				String nextLine = reader.readLine();
+				if (!line.isBlank())
+				{
+					JsonNode record = parseRecord(line);
+					if (record == null)
+					{
+						if (nextLine != null)
+							throw new IOException("Corrupt record in " + file + ": " + line);
+						// The process crashed while appending the last record
+						log.warn("Discarding a truncated record at the end of {}: {}", file, line);
+						truncated = true;
+						break;
+					}
+					++numberOfRecords;
+					SnapshotKey key = new SnapshotKey(record.get("scope").textValue(),
+						record.get("type").textValue(), record.get("id").textValue());
+					JsonNode stateNode = record.get("state");
+					if (stateNode == null)
+						keyToState.remove(key);
+					else
+						keyToState.put(key, stateNode.textValue());
+				}
+				line = nextLine;
+			}
+		}
+		// Rewrite the log so that the next record is not appended to the truncated one
+		if (truncated)
+			compact();
+	}
+
+	/**
+	 * Parses a record of the log.
+	 *
+	 * @param line a line of the log
+	 * @return {@code null} if the line does not contain a valid record
+	 */
+	private JsonNode parseRecord(String line)
+	{
+		JsonNode record;
+		try
+		{
+			record = jsonMapper.readTree(line);
+		}
+		catch (JsonProcessingException _)
+		{
+			return null;
+		}
+		if (!record.path("scope").isTextual() || !record.path("type").isTextual() ||
+			!record.path("id").isTextual())
+		{
+			return null;
+		}
+		JsonNode stateNode = record.get("state");
+		if (stateNode != null && !stateNode.isTextual())
+			return null;
+		return record;
+	}
+
+	/**
+	 * Records the current state of resources, and returns the differences from the previous snapshot.
+	 * <p>
+	 * The log is replayed before the state is recorded, so that updates made by other processes are taken
+	 * into account. This method runs in {@code O(n)} time, where {@code n} is the number of resources.
+	 *
+	 * @param scope     the scope of the client that manages the resources
+	 * @param idToState the canonical form of each resource that currently exists
+	 * @param types     the types of resources that were looked up. Resources of these types that are missing
+	 *                  from {@code idToState} are considered to have been removed.
+	 * @return the differences
+	 * @throws NullPointerException if any of the arguments are null
+	 * @throws IOException          if an I/O error occurs while writing into the file
+	 */
+	public synchronized SnapshotDiff update(String scope, Map<ResourceId, String> idToState,
+		Set<Class<?>> types) throws IOException
+	{
+		assert scope != null;
+		return withLock(() ->
+		{
+			load();
+			return updateLoaded(scope, idToState, types);
+		});
+	}
+
+	/**
+	 * Records the current state of resources into a log that was just replayed.
+	 *
+	 * @param scope     the scope of the client that manages the resources
+	 * @param idToState the canonical form of each resource that currently exists
+	 * @param types     the types of resources that were looked up
+	 * @return the differences
+	 * @throws IOException if an I/O error occurs while writing into the file
+	 */
+	private SnapshotDiff updateLoaded(String scope, Map<ResourceId, String> idToState, Set<Class<?>> types)
+		throws IOException
+	{
+		Set<String> typeNames = new HashSet<>();
+		for (Class<?> type : types)
+			typeNames.add(type.getName());
+		List<String> added = new ArrayList<>();
+		List<String> changed = new ArrayList<>();
+		List<String> removed = new ArrayList<>();
+		List<ObjectNode> records = new ArrayList<>();
+		Set<SnapshotKey> currentKeys = new HashSet<>();
+		for (Entry<ResourceId, String> entry : idToState.entrySet())
+		{
+			ResourceId id = entry.getKey();
+			SnapshotKey key = new SnapshotKey(scope, id.type().getName(), id.id());
+			currentKeys.add(key);
+			String state = entry.getValue();
+			String previous = keyToState.put(key, state);
+			if (state.equals(previous))
+				continue;
+			if (previous == null)
+				added.add(key.toString());
+			else
+				changed.add(key.toString());
+			records.add(key.toJson(jsonMapper).
+				put("state", state));
+		}
+		for (SnapshotKey key : List.copyOf(keyToState.keySet()))
+		{
+			if (!key.scope().equals(scope) || !typeNames.contains(key.type()) || currentKeys.contains(key))
+				continue;
+			removed.add(key.toString());
+			keyToState.remove(key);
+			records.add(key.toJson(jsonMapper));
+		}
+		append(records);
+		return new SnapshotDiff(added, removed, changed);
+	}
+
+	/**
+	 * Appends records to the log, compacting it if necessary.
+	 *
+	 * @param records the records
+	 * @throws IOException if an I/O error occurs while writing into the file
+	 */
+	private void append(List<ObjectNode> records) throws IOException
+	{
+		if (records.isEmpty())
+			return;
+		numberOfRecords += records.size();
+		if (numberOfRecords >= MINIMUM_RECORDS_BEFORE_COMPACTION && numberOfRecords > 2 * keyToState.size())
+		{
+			compact();
+			return;
+		}
+		try (BufferedWriter writer = Files.newBufferedWriter(file, UTF_8, CREATE, APPEND))
+		{
+			for (ObjectNode record : records)
+			{
+				writer.write(jsonMapper.writeValueAsString(record));
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Replaces the log with one that only contains the latest state of each resource.
+	 *
+	 * @throws IOException if an I/O error occurs while writing into the file
+	 */
+	private void compact() throws IOException
+	{
+		Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+		try
+		{
+			try (BufferedWriter writer = Files.newBufferedWriter(tempFile, UTF_8))
+			{
+				for (Entry<SnapshotKey, String> entry : keyToState.entrySet())
+				{
+					ObjectNode record = entry.getKey().toJson(jsonMapper).
+						put("state", entry.getValue());
+					writer.write(jsonMapper.writeValueAsString(record));
+					writer.newLine();
+				}
+			}
+			Files.move(tempFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+			numberOfRecords = keyToState.size();
+		}
+		finally
+		{
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * An operation that runs while the log is locked.
+	 *
+	 * @param <V> the type of value returned by the operation
+	 */
+	@FunctionalInterface
+	private interface LockedOperation<V>
+	{
+		/**
+		 * Runs the operation.
+		 *
+		 * @return the value returned by the operation
+		 * @throws IOException if an I/O error occurs
+		 */
+		V run() throws IOException;
+	}
+
+	/**
+	 * The key that a resource is stored under.
+	 *
+	 * @param scope the scope of the client that manages the resource
+	 * @param type  the name of the resource's type
+	 * @param id    a value that identifies the resource uniquely across other resources with the same type
+	 */
+	private record SnapshotKey(String scope, String type, String id)
+	{
+		/**
+		 * Returns a record that identifies the resource.
+		 *
+		 * @param jsonMapper the JSON configuration
+		 * @return the record
+		 */
+		public ObjectNode toJson(JsonMapper jsonMapper)
+		{
+			return jsonMapper.createObjectNode().
+				put("scope", scope).
+				put("type", type).
+				put("id", id);
+		}
+
+		@Override
+		public String toString()
+		{
+			return scope + "/" + type + "/" + id;
+		}
+	}
+
+	/**
+	 * The differences between two snapshots.
+	 *
+	 * @param added   the resources that were added
+	 * @param removed the resources that were removed
+	 * @param changed the resources whose state changed
+	 */
+	public record SnapshotDiff(List<String> added, List<String> removed, List<String> changed)
+	{
+		/**
+		 * Indicates if the snapshots are equal.
+		 *
+		 * @return {@code true} if no resources were added, removed or changed
+		 */
+		public boolean isEmpty()
+		{
+			return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+		}
+	}
+}
@@ -3,6 +3,7 @@
 import io.github.cowwoc.anchor4j.core.internal.migration.DefaultDriftDetection;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.function.Predicate;
 
 /**
@@ -43,8 +44,27 @@ static DriftDetection build() throws IOException
 	 */
 	DriftDetection includeResource(Predicate<Object> resource);
 
+	/**
+	 * Persists the actual state of resources across reports. By default, the state is not persisted.
+	 * <p>
+	 * Each report records the canonical form of all the resources that match the filters, including ones that
+	 * the migration did not modify, and logs the resources that were added, removed or changed since the
+	 * previous report that used the same file. Reports
+	 * that share a file should use the same filters; otherwise, resources that were filtered out will not be
+	 * reported as removed, but resources that are filtered back in will be reported as added.
+	 *
+	 * @param path the path of the file to persist the state into, or {@code null} to disable persistence
+	 * @return this
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs while reading the file
+	 */
+	DriftDetection snapshotFile(Path path) throws IOException;
+
 	/**
 	 * Calculates and reports the cloud drift.
+	 * <p>
+	 * The actual state of each client's resources is looked up once, concurrently with the other clients, and
+	 * compared against the state that the migration expected them to have.
 	 *
 	 * @throws IllegalStateException if the client is closed
 	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
@@ -17,12 +17,15 @@
 	exports io.github.cowwoc.anchor4j.core.resource;
 
 	exports io.github.cowwoc.anchor4j.core.internal.client to
-		io.github.cowwoc.anchor4j.container.core, io.github.cowwoc.anchor4j.container.core.test,
+		io.github.cowwoc.anchor4j.core.test, io.github.cowwoc.anchor4j.container.core, io.github.cowwoc.anchor4j.container.core.test,
 		io.github.cowwoc.anchor4j.container.buildx, io.github.cowwoc.anchor4j.container.buildx.test,
 		io.github.cowwoc.anchor4j.container.docker, io.github.cowwoc.anchor4j.container.docker.test,
 		io.github.cowwoc.anchor4j.digitalocean.core, io.github.cowwoc.anchor4j.digitalocean.registry,
 		io.github.cowwoc.anchor4j.digitalocean.compute;
 
+	exports io.github.cowwoc.anchor4j.core.internal.migration to
+		io.github.cowwoc.anchor4j.core.test, io.github.cowwoc.anchor4j.digitalocean.compute;
+
 	exports io.github.cowwoc.anchor4j.core.internal.resource to
 		io.github.cowwoc.anchor4j.container.core, io.github.cowwoc.anchor4j.container.core.test,
 		io.github.cowwoc.anchor4j.container.buildx, io.github.cowwoc.anchor4j.container.buildx.test,
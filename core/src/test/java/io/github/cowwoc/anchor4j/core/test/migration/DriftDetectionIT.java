@@ -0,0 +1,109 @@
+package io.github.cowwoc.anchor4j.core.test.migration;
+
+import io.github.cowwoc.anchor4j.core.internal.migration.DefaultDriftDetection;
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
+import io.github.cowwoc.anchor4j.core.test.migration.TestClient.TestResource;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DriftDetectionIT
+{
+	@Test
+	public void noDrift() throws IOException, InterruptedException
+	{
+		TestClient client = new TestClient();
+		DefaultDriftDetection driftDetection = new DefaultDriftDetection();
+		driftDetection.addClient(client);
+
+		TestResource resource = new TestResource("resource", "value");
+		client.setTargetState(new ResourceId(TestResource.class, "resource"), resource);
+		client.setActualState(resource);
+		requireThat(driftDetection.getDrift(), "drift").isEmpty();
+	}
+
+	@Test
+	public void changed() throws IOException, InterruptedException
+	{
+		TestClient client = new TestClient();
+		DefaultDriftDetection driftDetection = new DefaultDriftDetection();
+		driftDetection.addClient(client);
+
+		client.setTargetState(new ResourceId(TestResource.class, "resource"), new TestResource("resource",
+			"expected"));
+		client.setActualState(new TestResource("resource", "actual"));
+		List<String> drift = driftDetection.getDrift();
+		requireThat(drift, "drift").size().isEqualTo(1);
+		requireThat(drift.getFirst(), "drift.getFirst()").contains("has drifted");
+	}
+
+	@Test
+	public void missing() throws IOException, InterruptedException
+	{
+		TestClient client = new TestClient();
+		DefaultDriftDetection driftDetection = new DefaultDriftDetection();
+		driftDetection.addClient(client);
+
+		client.setTargetState(new ResourceId(TestResource.class, "resource"), new TestResource("resource",
+			"value"));
+		List<String> drift = driftDetection.getDrift();
+		requireThat(drift, "drift").size().isEqualTo(1);
+		requireThat(drift.getFirst(), "drift.getFirst()").contains("is missing");
+	}
+
+	@Test
+	public void notDestroyed() throws IOException, InterruptedException
+	{
+		TestClient client = new TestClient();
+		DefaultDriftDetection driftDetection = new DefaultDriftDetection();
+		driftDetection.addClient(client);
+
+		client.setTargetState(new ResourceId(TestResource.class, "resource"), null);
+		client.setActualState(new TestResource("resource", "value"));
+		List<String> drift = driftDetection.getDrift();
+		requireThat(drift, "drift").size().isEqualTo(1);
+		requireThat(drift.getFirst(), "drift.getFirst()").contains("was expected to be destroyed");
+
+		client.removeActualState("resource");
+		requireThat(driftDetection.getDrift(), "drift").isEmpty();
+	}
+
+	@Test
+	public void outOfBandChange() throws IOException, InterruptedException
+	{
+		TestClient client = new TestClient();
+		DefaultDriftDetection driftDetection = new DefaultDriftDetection();
+		driftDetection.addClient(client);
+
+		TestResource resource = new TestResource("resource", "value");
+		client.setTargetState(new ResourceId(TestResource.class, "resource"), resource);
+		client.setActualState(resource);
+		requireThat(driftDetection.getDrift(), "drift").isEmpty();
+
+		// The expected state is unchanged, but the resource was modified outside the migration
+		client.setActualState(new TestResource("resource", "modified"));
+		List<String> drift = driftDetection.getDrift();
+		requireThat(drift, "drift").size().isEqualTo(1);
+		requireThat(drift.getFirst(), "drift.getFirst()").contains("has drifted");
+	}
+
+	@Test
+	public void renamed() throws IOException, InterruptedException
+	{
+		TestClient client = new TestClient();
+		DefaultDriftDetection driftDetection = new DefaultDriftDetection();
+		driftDetection.addClient(client);
+
+		ResourceId oldId = new ResourceId(TestResource.class, "old");
+		client.setTargetState(oldId, new TestResource("old", "value"));
+		TestResource renamed = new TestResource("new", "value");
+		client.renameTargetState(oldId, new ResourceId(TestResource.class, "new"), renamed);
+		client.setActualState(renamed);
+
+		requireThat(client.getTargetState().containsKey(oldId), "targetState.containsKey(oldId)").isFalse();
+		requireThat(driftDetection.getDrift(), "drift").isEmpty();
+	}
+}
@@ -0,0 +1,159 @@
+package io.github.cowwoc.anchor4j.core.test.migration;
+
+import io.github.cowwoc.anchor4j.core.internal.migration.DefaultDriftDetection;
+import io.github.cowwoc.anchor4j.core.internal.migration.SnapshotStore;
+import io.github.cowwoc.anchor4j.core.internal.migration.SnapshotStore.SnapshotDiff;
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
+import io.github.cowwoc.anchor4j.core.test.migration.TestClient.TestResource;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+
+public final class SnapshotStoreIT
+{
+	@Test
+	public void changed() throws IOException
+	{
+		Path file = Files.createTempFile("snapshot", ".jsonl");
+		try
+		{
+			SnapshotStore store = new SnapshotStore(file);
+			ResourceId id = new ResourceId(TestResource.class, "resource");
+			Set<Class<?>> types = Set.of(TestResource.class);
+			SnapshotDiff diff = store.update("scope", Map.of(id, "value"), types);
+			requireThat(diff.added(), "diff.added()").size().isEqualTo(1);
+
+			diff = store.update("scope", Map.of(id, "value"), types);
+			requireThat(diff.isEmpty(), "diff.isEmpty()").isTrue();
+
+			// Reload the snapshot from disk
+			store = new SnapshotStore(file);
+			diff = store.update("scope", Map.of(id, "modified"), types);
+			requireThat(diff.changed(), "diff.changed()").size().isEqualTo(1);
+		}
+		finally
+		{
+			delete(file);
+		}
+	}
+
+	@Test
+	public void scopesAreIndependent() throws IOException
+	{
+		Path file = Files.createTempFile("snapshot", ".jsonl");
+		try
+		{
+			SnapshotStore store = new SnapshotStore(file);
+			ResourceId id = new ResourceId(TestResource.class, "resource");
+			Set<Class<?>> types = Set.of(TestResource.class);
+			store.update("first", Map.of(id, "first"), types);
+
+			// A client with a different scope does not remove or overwrite the resources of the first client
+			SnapshotDiff diff = store.update("second", Map.of(), types);
+			requireThat(diff.isEmpty(), "diff.isEmpty()").isTrue();
+			diff = store.update("second", Map.of(id, "second"), types);
+			requireThat(diff.added(), "diff.added()").size().isEqualTo(1);
+			diff = store.update("first", Map.of(id, "first"), types);
+			requireThat(diff.isEmpty(), "diff.isEmpty()").isTrue();
+		}
+		finally
+		{
+			delete(file);
+		}
+	}
+
+	@Test
+	public void recordsResourcesWithoutExpectedState() throws IOException, InterruptedException
+	{
+		Path file = Files.createTempFile("snapshot", ".jsonl");
+		try
+		{
+			TestClient client = new TestClient();
+			client.setActualState(new TestResource("resource", "value"));
+			DefaultDriftDetection driftDetection = new DefaultDriftDetection();
+			driftDetection.snapshotFile(file);
+			driftDetection.addClient(client);
+			requireThat(driftDetection.getDrift(), "drift").isEmpty();
+
+			// The resource was recorded even though the migration did not modify it
+			SnapshotStore store = new SnapshotStore(file);
+			SnapshotDiff diff = store.update(client.getSnapshotScope(), Map.of(), client.getResourceTypes());
+			requireThat(diff.removed(), "diff.removed()").size().isEqualTo(1);
+		}
+		finally
+		{
+			delete(file);
+		}
+	}
+
+	@Test
+	public void truncatedRecord() throws IOException
+	{
+		Path file = Files.createTempFile("snapshot", ".jsonl");
+		try
+		{
+			SnapshotStore store = new SnapshotStore(file);
+			ResourceId id = new ResourceId(TestResource.class, "resource");
+			Set<Class<?>> types = Set.of(TestResource.class);
+			store.update("scope", Map.of(id, "value"), types);
+
+			// Simulate a process that crashed while appending a record
+			Files.writeString(file, "{\"scope\":\"scope\",\"ty", UTF_8, APPEND);
+			store = new SnapshotStore(file);
+			SnapshotDiff diff = store.update("scope", Map.of(id, "modified"), types);
+			requireThat(diff.changed(), "diff.changed()").size().isEqualTo(1);
+
+			// The record that follows the truncated one must be readable
+			store = new SnapshotStore(file);
+			diff = store.update("scope", Map.of(id, "modified"), types);
+			requireThat(diff.isEmpty(), "diff.isEmpty()").isTrue();
+		}
+		finally
+		{
+			delete(file);
+		}
+	}
+
+	@Test
+	public void sharedFile() throws IOException
+	{
+		Path file = Files.createTempFile("snapshot", ".jsonl");
+		try
+		{
+			SnapshotStore first = new SnapshotStore(file);
+			SnapshotStore second = new SnapshotStore(file);
+			ResourceId id = new ResourceId(TestResource.class, "resource");
+			Set<Class<?>> types = Set.of(TestResource.class);
+			SnapshotDiff diff = first.update("scope", Map.of(id, "value"), types);
+			requireThat(diff.added(), "diff.added()").size().isEqualTo(1);
+
+			// The second store sees the record that the first one appended after it was loaded
+			diff = second.update("scope", Map.of(id, "value"), types);
+			requireThat(diff.isEmpty(), "diff.isEmpty()").isTrue();
+		}
+		finally
+		{
+			delete(file);
+		}
+	}
+
+	/**
+	 * Deletes a snapshot and its lock file.
+	 *
+	 * @param file the path of the snapshot
+	 * @throws IOException if an I/O error occurs while deleting the files
+	 */
+	private static void delete(Path file) throws IOException
+	{
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".lock"));
+	}
+}
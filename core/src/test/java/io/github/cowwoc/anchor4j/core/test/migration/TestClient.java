@@ -0,0 +1,118 @@
+package io.github.cowwoc.anchor4j.core.test.migration;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.github.cowwoc.anchor4j.core.internal.client.AbstractInternalClient;
+import io.github.cowwoc.anchor4j.core.internal.client.DriftTrackingClient;
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A client whose actual resources are set by the test.
+ */
+public final class TestClient extends AbstractInternalClient implements DriftTrackingClient
+{
+	private final String scope;
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	/**
+	 * The actual state of each resource.
+	 */
+	private final Map<String, TestResource> nameToResource = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new client.
+	 */
+	public TestClient()
+	{
+		this("test");
+	}
+
+	/**
+	 * Creates a new client.
+	 *
+	 * @param scope the scope of the client's resources
+	 */
+	public TestClient(String scope)
+	{
+		this.scope = scope;
+	}
+
+	/**
+	 * Sets the actual state of a resource.
+	 *
+	 * @param resource the resource
+	 */
+	public void setActualState(TestResource resource)
+	{
+		nameToResource.put(resource.name(), resource);
+	}
+
+	/**
+	 * Removes a resource.
+	 *
+	 * @param name the name of the resource
+	 */
+	public void removeActualState(String name)
+	{
+		nameToResource.remove(name);
+	}
+
+	@Override
+	public JsonMapper getJsonMapper()
+	{
+		return jsonMapper;
+	}
+
+	@Override
+	public String getSnapshotScope()
+	{
+		return scope;
+	}
+
+	@Override
+	public Set<Class<?>> getResourceTypes()
+	{
+		return Set.of(TestResource.class);
+	}
+
+	@Override
+	public List<Object> getResources(Predicate<? super Class<?>> typeFilter, Predicate<Object> resourceFilter)
+	{
+		if (!typeFilter.test(TestResource.class))
+			return List.of();
+		return nameToResource.values().stream().filter(resourceFilter).map(Object.class::cast).toList();
+	}
+
+	@Override
+	public ResourceId getResourceId(Object resource)
+	{
+		if (resource instanceof TestResource testResource)
+			return new ResourceId(TestResource.class, testResource.name());
+		return null;
+	}
+
+	@Override
+	public String getCanonicalForm(Object resource)
+	{
+		return resource.toString();
+	}
+
+	@Override
+	public void close()
+	{
+	}
+
+	/**
+	 * A resource.
+	 *
+	 * @param name  the name of the resource
+	 * @param value the resource's configuration
+	 */
+	public record TestResource(String name, String value)
+	{
+	}
+}
@@ -0,0 +1,9 @@
+module io.github.cowwoc.anchor4j.core.test
+{
+	requires io.github.cowwoc.anchor4j.core;
+	requires io.github.cowwoc.requirements12.java;
+	requires com.fasterxml.jackson.databind;
+	requires org.testng;
+
+	opens io.github.cowwoc.anchor4j.core.test.migration to org.testng;
+}
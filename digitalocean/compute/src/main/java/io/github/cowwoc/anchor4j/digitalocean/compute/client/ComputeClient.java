@@ -4,6 +4,7 @@
 import io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DefaultComputeClient;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.ComputeRegion;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.Droplet;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletCreator;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletImage;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletType;
@@ -16,7 +17,10 @@
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 
 /**
@@ -265,6 +269,103 @@ List<DropletImage> getDropletImages(Predicate<DropletImage> predicate)
 	@CheckReturnValue
 	DropletCreator createDroplet(String name, DropletType.Id type, DropletImage.Id image);
 
+	/**
+	 * Destroys all the droplets that have a tag, using a single request.
+	 *
+	 * @param tag the tag
+	 * @throws NullPointerException     if {@code tag} is null
+	 * @throws IllegalArgumentException if the tag:
+	 *                                  <ul>
+	 *                                    <li>contains any characters other than letters, numbers, colons,
+	 *                                    dashes and underscores.</li>
+	 *                                    <li>is longer than 255 characters.</li>
+	 *                                  </ul>
+	 * @throws IllegalStateException    if the client is closed
+	 * @throws IOException              if an I/O error occurs. These errors are typically transient, and
+	 *                                  retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted while waiting for a response. This can
+	 *                                  happen due to shutdown signals.
+	 */
+	void destroyDroplets(String tag) throws IOException, InterruptedException;
+
+	/**
+	 * Powers off all the droplets that have a tag, using a single request.
+	 *
+	 * @param tag the tag
+	 * @return the actions that were started, one per droplet
+	 * @throws NullPointerException     if {@code tag} is null
+	 * @throws IllegalArgumentException if the tag:
+	 *                                  <ul>
+	 *                                    <li>contains any characters other than letters, numbers, colons,
+	 *                                    dashes and underscores.</li>
+	 *                                    <li>is longer than 255 characters.</li>
+	 *                                  </ul>
+	 * @throws IllegalStateException    if the client is closed
+	 * @throws IOException              if an I/O error occurs. These errors are typically transient, and
+	 *                                  retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted while waiting for a response. This can
+	 *                                  happen due to shutdown signals.
+	 * @see #waitFor(Collection, Duration)
+	 */
+	List<DropletAction> powerOffDroplets(String tag) throws IOException, InterruptedException;
+
+	/**
+	 * Takes a snapshot of all the droplets that have a tag, using a single request.
+	 *
+	 * @param tag          the tag
+	 * @param snapshotName the name of the snapshots
+	 * @return the actions that were started, one per droplet
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if:
+	 *                                  <ul>
+	 *                                    <li>{@code tag} contains any characters other than letters,
+	 *                                    numbers, colons, dashes and underscores.</li>
+	 *                                    <li>{@code tag} is longer than 255 characters.</li>
+	 *                                    <li>{@code snapshotName} contains leading or trailing whitespace
+	 *                                    or is empty.</li>
+	 *                                  </ul>
+	 * @throws IllegalStateException    if the client is closed
+	 * @throws IOException              if an I/O error occurs. These errors are typically transient, and
+	 *                                  retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted while waiting for a response. This can
+	 *                                  happen due to shutdown signals.
+	 * @see #waitFor(Collection, Duration)
+	 */
+	List<DropletAction> snapshotDroplets(String tag, String snapshotName)
+		throws IOException, InterruptedException;
+
+	/**
+	 * Looks up a droplet action by its ID.
+	 *
+	 * @param id the ID
+	 * @return the action
+	 * @throws NullPointerException  if {@code id} is null
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	DropletAction getDropletAction(DropletAction.Id id) throws IOException, InterruptedException;
+
+	/**
+	 * Blocks until all the actions complete.
+	 *
+	 * @param actions the actions to wait for
+	 * @param timeout the maximum amount of time to wait
+	 * @return the updated state of the actions, in the same order as {@code actions}
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code actions} contains null
+	 * @throws IllegalStateException    if the client is closed
+	 * @throws IOException              if any of the actions fail, or an I/O error occurs. These errors are
+	 *                                  typically transient, and retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted while waiting for a response. This can
+	 *                                  happen due to shutdown signals.
+	 * @throws TimeoutException         if the operation times out before the actions complete
+	 */
+	List<DropletAction> waitFor(Collection<DropletAction> actions, Duration timeout)
+		throws IOException, InterruptedException, TimeoutException;
+
 	/**
 	 * Returns all the SSH keys.
 	 *
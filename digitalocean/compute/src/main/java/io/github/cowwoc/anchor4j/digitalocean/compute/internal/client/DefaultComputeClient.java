@@ -2,9 +2,13 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.cowwoc.anchor4j.core.internal.client.DriftTrackingClient;
+import io.github.cowwoc.anchor4j.core.internal.migration.DefaultDriftDetection;
 import io.github.cowwoc.anchor4j.core.internal.util.Lists;
 import io.github.cowwoc.anchor4j.core.migration.DriftDetection;
+import io.github.cowwoc.anchor4j.core.migration.ResourceId;
 import io.github.cowwoc.anchor4j.digitalocean.compute.client.ComputeClient;
 import io.github.cowwoc.anchor4j.digitalocean.compute.internal.resource.ComputeParser;
 import io.github.cowwoc.anchor4j.digitalocean.compute.internal.resource.DefaultDropletCreator;
@@ -12,6 +16,7 @@
 import io.github.cowwoc.anchor4j.digitalocean.compute.internal.util.SshKeys;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.ComputeRegion;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.Droplet;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletCreator;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletImage;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletType;
@@ -31,33 +36,54 @@
 import java.net.URI;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.StructuredTaskScope.ShutdownOnFailure;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.that;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.jetty.http.HttpMethod.DELETE;
 import static org.eclipse.jetty.http.HttpMethod.GET;
 import static org.eclipse.jetty.http.HttpMethod.POST;
 import static org.eclipse.jetty.http.HttpStatus.CREATED_201;
+import static org.eclipse.jetty.http.HttpStatus.NO_CONTENT_204;
 import static org.eclipse.jetty.http.HttpStatus.OK_200;
 
 public class DefaultComputeClient extends AbstractDigitalOceanInternalClient
-	implements ComputeClient
+	implements ComputeClient, DriftTrackingClient
 {
 	private static final String DROPLET_METADATA = "http://169.254.169.254";
+	private static final Pattern TAG_PATTERN = Pattern.compile("^[a-zA-Z0-9_\\-:]+$");
+	/**
+	 * The types of resources that are tracked by drift detection.
+	 */
+	private static final Set<Class<?>> RESOURCE_TYPES = Set.of(DropletImage.class, Droplet.class,
+		SshPublicKey.class);
 	@SuppressWarnings("this-escape")
 	private final ComputeParser computeParser = new ComputeParser(this);
 	@SuppressWarnings("this-escape")
 	private final NetworkParser networkParser = new NetworkParser(this);
+	@SuppressWarnings("this-escape")
+	private final DropletActionMonitor actionMonitor = new DropletActionMonitor(this);
 	private final DriftDetection driftDetection;
 
 	/**
@@ -66,10 +92,23 @@ public class DefaultComputeClient extends AbstractDigitalOceanInternalClient
 	 * @param driftDetection the drift detection configuration
 	 * @throws NullPointerException if {@code driftDetection} is null
 	 */
+	@SuppressWarnings("this-escape")
 	public DefaultComputeClient(DriftDetection driftDetection)
 	{
 		requireThat(driftDetection, "driftDetection").isNotNull();
 		this.driftDetection = driftDetection;
+		if (driftDetection instanceof DefaultDriftDetection defaultDriftDetection)
+			defaultDriftDetection.addClient(this);
+	}
+
+	/**
+	 * Returns the monitor that waits for droplet actions to complete.
+	 *
+	 * @return the monitor
+	 */
+	public DropletActionMonitor getActionMonitor()
+	{
+		return actionMonitor;
 	}
 
 	/**
@@ -286,6 +325,142 @@ public DropletCreator createDroplet(String name, DropletType.Id type, DropletIma
 		return new DefaultDropletCreator(this, name, type, image);
 	}
 
+	/**
+	 * Validates a droplet tag.
+	 *
+	 * @param tag the tag
+	 * @throws NullPointerException     if {@code tag} is null
+	 * @throws IllegalArgumentException if {@code tag} contains characters other than letters, digits,
+	 *                                  {@code _}, {@code -} and {@code :}, or is longer than 255 characters
+	 */
+	private static void requireValidTag(String tag)
+	{
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Tags/operation/tags_create
+		requireThat(tag, "tag").matches(TAG_PATTERN).length().isLessThanOrEqualTo(255);
+	}
+
+	@Override
+	public void destroyDroplets(String tag) throws IOException, InterruptedException
+	{
+		requireValidTag(tag);
+
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplets/operation/droplets_destroy_byTag
+		Request request = createRequest(REST_SERVER.resolve("v2/droplets")).
+			param("tag_name", tag).
+			method(DELETE);
+		Response serverResponse = send(request);
+		switch (serverResponse.getStatus())
+		{
+			case NO_CONTENT_204 ->
+			{
+				// success
+			}
+			default -> throw new AssertionError("Unexpected response: " + toString(serverResponse) + "\n" +
+				"Request: " + toString(request));
+		}
+		for (Entry<ResourceId, Object> entry : getTargetState().entrySet())
+		{
+			if (entry.getValue() instanceof Droplet droplet && droplet.getTags().contains(tag))
+				setTargetState(entry.getKey(), null);
+		}
+	}
+
+	@Override
+	public List<DropletAction> powerOffDroplets(String tag) throws IOException, InterruptedException
+	{
+		requireValidTag(tag);
+		ObjectNode requestBody = getJsonMapper().createObjectNode().
+			put("type", "power_off");
+		return performDropletActionByTag(tag, requestBody);
+	}
+
+	@Override
+	public List<DropletAction> snapshotDroplets(String tag, String snapshotName)
+		throws IOException, InterruptedException
+	{
+		requireValidTag(tag);
+		requireThat(snapshotName, "snapshotName").isStripped().isNotEmpty();
+		ObjectNode requestBody = getJsonMapper().createObjectNode().
+			put("type", "snapshot").
+			put("name", snapshotName);
+		return performDropletActionByTag(tag, requestBody);
+	}
+
+	/**
+	 * Performs an action on all the droplets that have a tag.
+	 *
+	 * @param tag         the tag
+	 * @param requestBody the request body
+	 * @return the actions that were started, one per droplet
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private List<DropletAction> performDropletActionByTag(String tag, ObjectNode requestBody)
+		throws IOException, InterruptedException
+	{
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplet-Actions/operation/dropletActions_post_byTag
+		Request request = createRequest(REST_SERVER.resolve("v2/droplets/actions"), requestBody).
+			param("tag_name", tag).
+			method(POST);
+		Response serverResponse = send(request);
+		switch (serverResponse.getStatus())
+		{
+			case CREATED_201 ->
+			{
+				// success
+			}
+			default -> throw new AssertionError("Unexpected response: " + toString(serverResponse) + "\n" +
+				"Request: " + toString(request));
+		}
+		ContentResponse contentResponse = (ContentResponse) serverResponse;
+		JsonNode body = getResponseBody(contentResponse);
+		List<DropletAction> actions = new ArrayList<>();
+		for (JsonNode action : body.get("actions"))
+			actions.add(computeParser.dropletActionFromServer(action));
+		return actions;
+	}
+
+	@Override
+	public DropletAction getDropletAction(DropletAction.Id id) throws IOException, InterruptedException
+	{
+		requireThat(id, "id").isNotNull();
+
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Actions/operation/actions_get
+		return getResource(REST_SERVER.resolve("v2/actions/" + id.getValue()), body ->
+			computeParser.dropletActionFromServer(body.get("action")));
+	}
+
+	@Override
+	public List<DropletAction> waitFor(Collection<DropletAction> actions, Duration timeout)
+		throws IOException, InterruptedException, TimeoutException
+	{
+		requireThat(actions, "actions").isNotNull().doesNotContain(null);
+		requireThat(timeout, "timeout").isNotNull();
+
+		Map<DropletAction.Id, Instant> inProgress = new LinkedHashMap<>();
+		for (DropletAction action : actions)
+		{
+			if (action.getStatus() == DropletAction.Status.IN_PROGRESS)
+				inProgress.put(action.getId(), action.getStartedAt());
+		}
+		Map<DropletAction.Id, DropletAction> idToAction = new HashMap<>();
+		for (DropletAction action : actionMonitor.waitFor(inProgress, timeout))
+			idToAction.put(action.getId(), action);
+		List<DropletAction> result = new ArrayList<>(actions.size());
+		for (DropletAction action : actions)
+			result.add(idToAction.getOrDefault(action.getId(), action));
+
+		List<DropletAction> failures = result.stream().
+			filter(action -> action.getStatus() == DropletAction.Status.ERRORED).
+			toList();
+		if (!failures.isEmpty())
+			throw new IOException("Actions failed: " + failures);
+		return result;
+	}
+
 	@Override
 	public List<SshPublicKey> getSshPublicKeys() throws IOException, InterruptedException
 	{
@@ -493,13 +668,125 @@ private String getMetadataValue(URI uri) throws IOException, InterruptedExceptio
 		return contentResponse.getContentAsString();
 	}
 
+	@Override
+	public String getSnapshotScope()
+	{
+		ensureOpen();
+		if (accessToken == null)
+			return "digitalocean-compute";
+		// The access token is a secret, so only a fingerprint of it is persisted
+		try
+		{
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			byte[] fingerprint = md.digest(accessToken.getBytes(UTF_8));
+			return "digitalocean-compute/" + HexFormat.of().formatHex(fingerprint, 0, 8);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			// All JVMs are required to support SHA-256
+			throw new AssertionError(e);
+		}
+	}
+
+	@Override
+	public Set<Class<?>> getResourceTypes()
+	{
+		return RESOURCE_TYPES;
+	}
+
+	@Override
+	public ResourceId getResourceId(Object resource)
+	{
+		requireThat(resource, "resource").isNotNull();
+		return switch (resource)
+		{
+			// Droplets are tracked by name because their expected state is recorded before they have an ID
+			case Droplet droplet -> new ResourceId(Droplet.class, droplet.getName());
+			case DropletImage image -> new ResourceId(DropletImage.class,
+				String.valueOf(image.getId().getValue()));
+			case SshPublicKey key -> new ResourceId(SshPublicKey.class, String.valueOf(key.getId().getValue()));
+			default -> null;
+		};
+	}
+
+	@Override
+	public String getCanonicalForm(Object resource)
+	{
+		requireThat(resource, "resource").isNotNull();
+		return switch (resource)
+		{
+			case Droplet droplet -> getCanonicalForm(droplet);
+			case DropletImage image -> getCanonicalForm(image);
+			case SshPublicKey key -> getJsonMapper().createObjectNode().
+				put("id", key.getId().getValue()).
+				put("name", key.getName()).
+				put("fingerprint", key.getFingerprint()).
+				toString();
+			default -> resource.toString();
+		};
+	}
+
+	/**
+	 * Returns the canonical form of a droplet.
+	 *
+	 * @param droplet the droplet
+	 * @return the canonical form
+	 */
+	private String getCanonicalForm(Droplet droplet)
+	{
+		// Sets are sorted so that the canonical form does not depend on their iteration order
+		ObjectNode json = getJsonMapper().createObjectNode().
+			put("id", droplet.getId().getValue()).
+			put("name", droplet.getName()).
+			put("type", droplet.getType().getValue()).
+			put("image", droplet.getImage().getId().getValue()).
+			put("region", droplet.getRegion().name());
+		Vpc.Id vpc = droplet.getVpc();
+		if (vpc == null)
+			json.putNull("vpc");
+		else
+			json.put("vpc", vpc.getValue());
+		ArrayNode features = json.putArray("features");
+		droplet.getFeatures().stream().map(Enum::name).sorted().forEach(features::add);
+		ArrayNode tags = json.putArray("tags");
+		droplet.getTags().stream().sorted().forEach(tags::add);
+		return json.toString();
+	}
+
+	/**
+	 * Returns the canonical form of a droplet image.
+	 *
+	 * @param image the image
+	 * @return the canonical form
+	 */
+	private String getCanonicalForm(DropletImage image)
+	{
+		// Sets are sorted so that the canonical form does not depend on their iteration order
+		ObjectNode json = getJsonMapper().createObjectNode().
+			put("id", image.getId().getValue()).
+			put("slug", image.getSlug()).
+			put("name", image.getName()).
+			put("distribution", image.getDistribution()).
+			put("public", image.isPublic()).
+			put("type", image.getType().name()).
+			put("minDiskSizeInGiB", image.getMinDiskSizeInGiB()).
+			put("sizeInGiB", image.getSizeInGiB()).
+			put("description", image.getDescription()).
+			put("status", image.getStatus().name()).
+			put("errorMessage", image.getErrorMessage());
+		ArrayNode regions = json.putArray("regions");
+		image.getRegions().stream().map(Enum::name).sorted().forEach(regions::add);
+		ArrayNode tags = json.putArray("tags");
+		image.getTags().stream().sorted().forEach(tags::add);
+		return json.toString();
+	}
+
 	@Override
 	public List<Object> getResources(Predicate<? super Class<?>> typeFilter, Predicate<Object> resourceFilter)
 		throws IOException, InterruptedException
 	{
 		ensureOpen();
-		Set<Class<?>> types = Set.of(DropletImage.class, Droplet.class, SshPublicKey.class);
-		types = types.stream().filter(typeFilter).collect(Collectors.toSet());
+		Set<Class<?>> types = RESOURCE_TYPES.stream().filter(typeFilter).collect(Collectors.toSet());
 		if (types.isEmpty())
 			return List.of();
 
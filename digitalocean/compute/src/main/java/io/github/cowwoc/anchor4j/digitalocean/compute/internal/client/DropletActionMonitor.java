@@ -0,0 +1,361 @@
+package io.github.cowwoc.anchor4j.digitalocean.compute.internal.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.cowwoc.anchor4j.digitalocean.compute.internal.resource.ComputeParser;
+import io.github.cowwoc.anchor4j.digitalocean.compute.internal.util.AdaptiveDelay;
+import io.github.cowwoc.anchor4j.digitalocean.compute.internal.util.TimeLimit;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction.Status;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.cowwoc.anchor4j.digitalocean.core.internal.client.AbstractDigitalOceanInternalClient.REST_SERVER;
+
+/**
+ * Waits for droplet actions to complete.
+ * <p>
+ * A single thread polls the status of all the actions that are being waited on, regardless of how many
+ * threads are waiting. Each poll lists the account's most recent actions using a single request, and only
+ * looks up actions individually if they are missing from the list.
+ */
+public final class DropletActionMonitor
+{
+	/**
+	 * The delay between polls while droplets are expected to be provisioned.
+	 */
+	public static final Duration FAST_POLLING_DELAY = Duration.ofSeconds(1);
+	/**
+	 * The amount of time that it typically takes to provision a droplet.
+	 */
+	public static final Duration EXPECTED_PROVISIONING_TIME = Duration.ofSeconds(45);
+	/**
+	 * The maximum delay between polls.
+	 */
+	public static final Duration MAXIMUM_POLLING_DELAY = Duration.ofSeconds(15);
+	/**
+	 * The number of consecutive polls that must fail before the waiting threads are notified of the failure.
+	 */
+	private static final int MAXIMUM_CONSECUTIVE_FAILURES = 5;
+	private final DefaultComputeClient client;
+	/**
+	 * The futures of the threads that are waiting on each action.
+	 */
+	private final Map<DropletAction.Id, Set<CompletableFuture<DropletAction>>> idToFutures =
+		new ConcurrentHashMap<>();
+	/**
+	 * The time that each action that is being waited on was submitted.
+	 */
+	private final Map<DropletAction.Id, Instant> idToSubmission = new ConcurrentHashMap<>();
+	private final Lock lock = new ReentrantLock();
+	/**
+	 * The thread that polls the actions, or {@code null} if no actions are being waited on.
+	 */
+	private Thread poller;
+	/**
+	 * The exception thrown by the last poll, or {@code null} if it succeeded.
+	 */
+	private volatile IOException lastFailure;
+
+	/**
+	 * Creates a new DropletActionMonitor.
+	 *
+	 * @param client the client configuration
+	 */
+	DropletActionMonitor(DefaultComputeClient client)
+	{
+		assert client != null;
+		this.client = client;
+	}
+
+	/**
+	 * Blocks until an action completes.
+	 *
+	 * @param id          the ID of the action
+	 * @param submittedAt the time that the action was submitted
+	 * @param timeout     the maximum amount of time to wait
+	 * @return the updated state of the action
+	 * @throws NullPointerException  if any of the arguments are null
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if the action's status could not be retrieved. These errors are typically
+	 *                               transient, and retrying the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 * @throws TimeoutException      if the operation times out before the action completes
+	 */
+	public DropletAction waitFor(DropletAction.Id id, Instant submittedAt, Duration timeout)
+		throws IOException, InterruptedException, TimeoutException
+	{
+		return waitFor(Map.of(id, submittedAt), timeout).getFirst();
+	}
+
+	/**
+	 * Blocks until multiple actions complete.
+	 * <p>
+	 * The actions are polled frequently until they are expected to complete, measured from the time that each
+	 * action was submitted, and less frequently after that.
+	 *
+	 * @param idToSubmission the time that each action was submitted
+	 * @param timeout        the maximum amount of time to wait
+	 * @return the updated state of the actions, in the iteration order of {@code idToSubmission}
+	 * @throws NullPointerException  if any of the arguments are null
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if the actions' status could not be retrieved. These errors are typically
+	 *                               transient, and retrying the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 * @throws TimeoutException      if the operation times out before the actions complete
+	 */
+	public List<DropletAction> waitFor(Map<DropletAction.Id, Instant> idToSubmission, Duration timeout)
+		throws IOException, InterruptedException, TimeoutException
+	{
+		TimeLimit timeLimit = new TimeLimit(timeout);
+		List<DropletAction.Id> ids = List.copyOf(idToSubmission.keySet());
+		// Register all the actions before blocking so that they are polled together
+		List<CompletableFuture<DropletAction>> futures = new ArrayList<>(ids.size());
+		for (DropletAction.Id id : ids)
+			futures.add(watch(id, idToSubmission.get(id)));
+		List<DropletAction> actions = new ArrayList<>(ids.size());
+		try
+		{
+			for (CompletableFuture<DropletAction> future : futures)
+			{
+				Duration timeLeft = timeLimit.getTimeLeft();
+				if (timeLeft.isNegative())
+					timeLeft = Duration.ZERO;
+				actions.add(future.get(timeLeft.toNanos(), TimeUnit.NANOSECONDS));
+			}
+			return actions;
+		}
+		catch (TimeoutException _)
+		{
+			unwatch(ids, futures);
+			TimeoutException e = new TimeoutException("Operation failed after " + timeLimit.getTimeQuota());
+			// Polls may have failed intermittently without reaching MAXIMUM_CONSECUTIVE_FAILURES
+			IOException failure = lastFailure;
+			if (failure != null)
+				e.initCause(failure);
+			throw e;
+		}
+		catch (InterruptedException e)
+		{
+			unwatch(ids, futures);
+			throw e;
+		}
+		catch (ExecutionException e)
+		{
+			unwatch(ids, futures);
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioe)
+				throw ioe;
+			if (cause instanceof RuntimeException re)
+				throw re;
+			if (cause instanceof InterruptedException)
+				throw new IOException("The monitor was interrupted", cause);
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Returns a future that completes when an action completes.
+	 *
+	 * @param id          the ID of the action
+	 * @param submittedAt the time that the action was submitted
+	 * @return the future
+	 */
+	private CompletableFuture<DropletAction> watch(DropletAction.Id id, Instant submittedAt)
+	{
+		CompletableFuture<DropletAction> future = new CompletableFuture<>();
+		idToFutures.compute(id, (_, futures) ->
+		{
+			if (futures == null)
+				futures = new HashSet<>();
+			futures.add(future);
+			idToSubmission.put(id, submittedAt);
+			return futures;
+		});
+		lock.lock();
+		try
+		{
+			if (poller == null)
+				poller = Thread.ofVirtual().name("digitalocean-actionmonitor").start(this::poll);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		return future;
+	}
+
+	/**
+	 * Stops waiting on actions.
+	 *
+	 * @param ids     the IDs of the actions
+	 * @param futures the futures that were returned by {@link #watch(DropletAction.Id, Instant)}, in the same
+	 *                order as {@code ids}
+	 */
+	private void unwatch(List<DropletAction.Id> ids, List<CompletableFuture<DropletAction>> futures)
+	{
+		for (int i = 0; i < ids.size(); ++i)
+		{
+			CompletableFuture<DropletAction> future = futures.get(i);
+			idToFutures.computeIfPresent(ids.get(i), (id, candidates) ->
+			{
+				candidates.remove(future);
+				if (candidates.isEmpty())
+				{
+					idToSubmission.remove(id);
+					return null;
+				}
+				return candidates;
+			});
+		}
+	}
+
+	/**
+	 * Polls the actions until there are no more actions to wait on.
+	 */
+	private void poll()
+	{
+		AdaptiveDelay delay = new AdaptiveDelay(FAST_POLLING_DELAY, Duration.ZERO, MAXIMUM_POLLING_DELAY);
+		int consecutiveFailures = 0;
+		while (true)
+		{
+			lock.lock();
+			try
+			{
+				if (idToFutures.isEmpty())
+				{
+					poller = null;
+					lastFailure = null;
+					return;
+				}
+			}
+			finally
+			{
+				lock.unlock();
+			}
+			try
+			{
+				try
+				{
+					pollOnce();
+					consecutiveFailures = 0;
+					lastFailure = null;
+				}
+				catch (IOException e)
+				{
+					// Transient failures are retried, but persistent failures (e.g. invalid credentials or an
+					// unreachable server) are reported to the waiting threads instead of surfacing as a timeout
+					lastFailure = e;
+					++consecutiveFailures;
+					if (consecutiveFailures >= MAXIMUM_CONSECUTIVE_FAILURES)
+					{
+						failAll(e);
+						consecutiveFailures = 0;
+					}
+				}
+				// Poll frequently while any of the actions is expected to complete
+				for (Instant submittedAt : idToSubmission.values())
+					delay.fastPollUntil(submittedAt.plus(EXPECTED_PROVISIONING_TIME));
+				delay.sleep(MAXIMUM_POLLING_DELAY);
+			}
+			catch (RuntimeException | InterruptedException e)
+			{
+				// Fail all the waiting threads, including any that begin waiting before the poller exits
+				lock.lock();
+				try
+				{
+					failAll(e);
+					poller = null;
+				}
+				finally
+				{
+					lock.unlock();
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Fails all the threads that are waiting on actions.
+	 *
+	 * @param cause the reason that the actions' status could not be retrieved
+	 */
+	private void failAll(Throwable cause)
+	{
+		for (DropletAction.Id id : Set.copyOf(idToFutures.keySet()))
+		{
+			Set<CompletableFuture<DropletAction>> futures = idToFutures.remove(id);
+			idToSubmission.remove(id);
+			if (futures != null)
+			{
+				for (CompletableFuture<DropletAction> future : futures)
+					future.completeExceptionally(cause);
+			}
+		}
+	}
+
+	/**
+	 * Updates the status of all the actions that are being waited on.
+	 *
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private void pollOnce() throws IOException, InterruptedException
+	{
+		// Actions are listed from newest to oldest, so the actions that are being waited on are typically on
+		// the first page.
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Actions/operation/actions_list
+		Set<DropletAction.Id> missing = new HashSet<>(idToFutures.keySet());
+		ComputeParser parser = client.getParser();
+		client.getResource(REST_SERVER.resolve("v2/actions?per_page=200"), body ->
+		{
+			for (JsonNode actionNode : body.get("actions"))
+			{
+				if (!actionNode.get("resource_type").textValue().equals("droplet"))
+					continue;
+				DropletAction action = parser.dropletActionFromServer(actionNode);
+				if (missing.remove(action.getId()))
+					update(action);
+			}
+			return null;
+		});
+		for (DropletAction.Id id : missing)
+			update(client.getDropletAction(id));
+	}
+
+	/**
+	 * Completes the futures associated with an action if the action is no longer in progress.
+	 *
+	 * @param action the updated state of the action
+	 */
+	private void update(DropletAction action)
+	{
+		if (action.getStatus() == Status.IN_PROGRESS)
+			return;
+		Set<CompletableFuture<DropletAction>> futures = idToFutures.remove(action.getId());
+		idToSubmission.remove(action.getId());
+		if (futures == null)
+			return;
+		for (CompletableFuture<DropletAction> future : futures)
+			future.complete(action);
+	}
+}
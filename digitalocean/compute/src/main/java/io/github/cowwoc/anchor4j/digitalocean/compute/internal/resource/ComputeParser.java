@@ -6,6 +6,7 @@
 import io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DefaultComputeClient;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.ComputeRegion;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.Droplet;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletFeature;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletImage;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletType;
@@ -185,10 +186,25 @@ public DropletType dropletTypeFromServer(JsonNode json)
 	 * @throws IllegalArgumentException if the server response could not be parsed
 	 */
 	public Droplet dropletFromServer(JsonNode json)
+	{
+		return dropletFromServer(json, null);
+	}
+
+	/**
+	 * Convert a newly created Droplet from its server representation.
+	 *
+	 * @param json         the JSON representation
+	 * @param createAction the action that is creating the droplet, or {@code null} if unknown
+	 * @return the droplet
+	 * @throws NullPointerException     if {@code json} is null
+	 * @throws IllegalArgumentException if the server response could not be parsed
+	 */
+	public Droplet dropletFromServer(JsonNode json, DropletAction.Id createAction)
 	{
 		// https://docs.digitalocean.com/reference/api/api-reference/#operation/droplets_get
 		Droplet.Id id = Droplet.id(getInt(json, "id"));
 		String name = json.get("name").textValue();
+		Droplet.Status status = dropletStatusFromServer(json.get("status"));
 		Instant createdAt = Instant.parse(json.get("created_at").textValue());
 		DropletType.Id type = DropletType.id(json.get("size_slug").textValue());
 
@@ -227,7 +243,7 @@ public Droplet dropletFromServer(JsonNode json)
 		{
 			Set<String> tags = getElements(json, "tags", JsonNode::textValue);
 			return new DefaultDroplet(getClient(), id, name, type, image, region, vpc, addresses, features, tags,
-				createdAt);
+				createdAt, status, createAction);
 		}
 		catch (IOException | InterruptedException e)
 		{
@@ -236,6 +252,61 @@ public Droplet dropletFromServer(JsonNode json)
 		}
 	}
 
+	/**
+	 * Convert a Droplet.Status from its server representation.
+	 *
+	 * @param json the JSON representation
+	 * @return the droplet status
+	 * @throws NullPointerException     if {@code json} is null
+	 * @throws IllegalArgumentException if no match is found
+	 */
+	public Droplet.Status dropletStatusFromServer(JsonNode json)
+	{
+		String name = json.textValue();
+		requireThat(name, "name").isStripped().isNotEmpty();
+		return Droplet.Status.valueOf(name.toUpperCase(Locale.ROOT));
+	}
+
+	/**
+	 * Convert a DropletAction from its server representation.
+	 *
+	 * @param json the JSON representation
+	 * @return the droplet action
+	 * @throws NullPointerException     if {@code json} is null
+	 * @throws IllegalArgumentException if the server response could not be parsed
+	 */
+	public DropletAction dropletActionFromServer(JsonNode json)
+	{
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Actions/operation/actions_get
+		DropletAction.Id id = DropletAction.id(getInt(json, "id"));
+		String type = json.get("type").textValue();
+		DropletAction.Status status = dropletActionStatusFromServer(json.get("status"));
+		Droplet.Id droplet = Droplet.id(getInt(json, "resource_id"));
+		Instant startedAt = Instant.parse(json.get("started_at").textValue());
+		JsonNode completedAtNode = json.get("completed_at");
+		Instant completedAt;
+		if (completedAtNode == null || completedAtNode.isNull())
+			completedAt = null;
+		else
+			completedAt = Instant.parse(completedAtNode.textValue());
+		return new DefaultDropletAction(getClient(), id, type, status, droplet, startedAt, completedAt);
+	}
+
+	/**
+	 * Convert a DropletAction.Status from its server representation.
+	 *
+	 * @param json the JSON representation
+	 * @return the action status
+	 * @throws NullPointerException     if {@code json} is null
+	 * @throws IllegalArgumentException if no match is found
+	 */
+	public DropletAction.Status dropletActionStatusFromServer(JsonNode json)
+	{
+		String name = json.textValue();
+		requireThat(name, "name").isStripped().isNotEmpty();
+		return DropletAction.Status.valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+	}
+
 	/**
 	 * Convert a DropletImage from its server representation.
 	 *
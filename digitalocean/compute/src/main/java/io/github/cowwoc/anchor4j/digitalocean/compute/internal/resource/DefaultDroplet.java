@@ -7,7 +7,10 @@
 import io.github.cowwoc.anchor4j.core.migration.ResourceId;
 import io.github.cowwoc.anchor4j.digitalocean.compute.client.ComputeClient;
 import io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DefaultComputeClient;
+import io.github.cowwoc.anchor4j.digitalocean.compute.internal.util.AdaptiveDelay;
+import io.github.cowwoc.anchor4j.digitalocean.compute.internal.util.TimeLimit;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.Droplet;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletFeature;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletImage;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletType;
@@ -17,15 +20,23 @@
 import org.eclipse.jetty.client.ContentResponse;
 import org.eclipse.jetty.client.Request;
 import org.eclipse.jetty.client.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
+import static io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DropletActionMonitor.EXPECTED_PROVISIONING_TIME;
+import static io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DropletActionMonitor.FAST_POLLING_DELAY;
+import static io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DropletActionMonitor.MAXIMUM_POLLING_DELAY;
 import static io.github.cowwoc.anchor4j.digitalocean.core.internal.client.AbstractDigitalOceanInternalClient.REST_SERVER;
+import static io.github.cowwoc.anchor4j.digitalocean.core.internal.client.DigitalOceanInternalClient.PROGRESS_FREQUENCY;
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 import static org.eclipse.jetty.http.HttpStatus.CREATED_201;
 
@@ -42,30 +53,36 @@ public final class DefaultDroplet implements Droplet
 	private final Set<DropletFeature> features;
 	private final Set<String> tags;
 	private final Instant createdAt;
+	private final Status status;
+	private final DropletAction.Id createAction;
+	private final Logger log = LoggerFactory.getLogger(DefaultDroplet.class);
 
 	/**
 	 * Creates a new droplet.
 	 *
-	 * @param client    the client configuration
-	 * @param id        the ID of the droplet
-	 * @param name      the name of the droplet
-	 * @param type      the machine type
-	 * @param image     the image ID of a public or private image or the slug identifier for a public image that
-	 *                  will be used to boot this droplet
-	 * @param region    the region that the droplet is deployed in
-	 * @param vpc       the VPC that the droplet is deployed in
-	 * @param addresses the droplet's IP addresses
-	 * @param features  the features that are enabled on the droplet
-	 * @param tags      the tags that are associated with the droplet
-	 * @param createdAt the time the droplet was created
-	 * @throws NullPointerException     if any of the arguments are null
+	 * @param client       the client configuration
+	 * @param id           the ID of the droplet
+	 * @param name         the name of the droplet
+	 * @param type         the machine type
+	 * @param image        the image ID of a public or private image or the slug identifier for a public image
+	 *                     that will be used to boot this droplet
+	 * @param region       the region that the droplet is deployed in
+	 * @param vpc          the VPC that the droplet is deployed in
+	 * @param addresses    the droplet's IP addresses
+	 * @param features     the features that are enabled on the droplet
+	 * @param tags         the tags that are associated with the droplet
+	 * @param createdAt    the time the droplet was created
+	 * @param status       the status of the droplet
+	 * @param createAction the action that is creating the droplet, or {@code null} if unknown
+	 * @throws NullPointerException     if any of the arguments, except for {@code createAction}, are null
 	 * @throws IllegalArgumentException if any of the arguments contain leading or trailing whitespace or are
 	 *                                  empty
 	 * @see ComputeClient#getDefaultVpc(Region.Id)
 	 */
 	public DefaultDroplet(DefaultComputeClient client, Id id, String name, DropletType.Id type,
 		DropletImage image, Region.Id region, Vpc.Id vpc, Set<InetAddress> addresses,
-		Set<DropletFeature> features, Set<String> tags, Instant createdAt)
+		Set<DropletFeature> features, Set<String> tags, Instant createdAt, Status status,
+		DropletAction.Id createAction)
 	{
 		requireThat(client, "client").isNotNull();
 		requireThat(name, "name").isStripped().isNotEmpty();
@@ -79,6 +96,7 @@ public DefaultDroplet(DefaultComputeClient client, Id id, String name, DropletTy
 		for (String tag : tags)
 			requireThat(tag, "tag").withContext(tags, "tags").isStripped().isNotEmpty();
 		requireThat(createdAt, "createdAt").isNotNull();
+		requireThat(status, "status").isNotNull();
 
 		this.client = client;
 		this.id = id;
@@ -91,6 +109,14 @@ public DefaultDroplet(DefaultComputeClient client, Id id, String name, DropletTy
 		this.features = EnumSet.copyOf(features);
 		this.tags = Set.copyOf(tags);
 		this.createdAt = createdAt;
+		this.status = status;
+		this.createAction = createAction;
+	}
+
+	@Override
+	public Id getId()
+	{
+		return id;
 	}
 
 	@Override
@@ -147,6 +173,12 @@ public Instant getCreatedAt()
 		return createdAt;
 	}
 
+	@Override
+	public Status getStatus()
+	{
+		return status;
+	}
+
 	@Override
 	@CheckReturnValue
 	public Droplet reload() throws IOException, InterruptedException
@@ -154,6 +186,48 @@ public Droplet reload() throws IOException, InterruptedException
 		return client.getDroplet(id);
 	}
 
+	@Override
+	public Droplet waitFor(Status status, Duration timeout)
+		throws IOException, InterruptedException, TimeoutException
+	{
+		requireThat(status, "status").isNotNull();
+		requireThat(timeout, "timeout").isNotNull();
+		if (this.status == status)
+			return this;
+		TimeLimit timeLimit = new TimeLimit(timeout);
+		if (createAction != null && this.status == Status.NEW)
+		{
+			// Droplets that are being created share a single poller, instead of polling their state individually
+			DropletAction action = client.getActionMonitor().waitFor(createAction, createdAt,
+				timeLimit.getTimeLeft());
+			if (action.getStatus() == DropletAction.Status.ERRORED)
+				throw new IOException("Failed to create droplet " + name);
+		}
+
+		AdaptiveDelay delay = new AdaptiveDelay(FAST_POLLING_DELAY, EXPECTED_PROVISIONING_TIME,
+			MAXIMUM_POLLING_DELAY);
+		Instant timeOfLastStatus = Instant.MIN;
+		while (true)
+		{
+			Droplet droplet = reload();
+			if (droplet.getStatus() == status)
+			{
+				if (timeOfLastStatus != Instant.MIN)
+					log.info("The status of {} is {}", name, status);
+				return droplet;
+			}
+			if (!timeLimit.getTimeLeft().isPositive())
+				throw new TimeoutException("Operation failed after " + timeLimit.getTimeQuota());
+			Instant now = Instant.now();
+			if (Duration.between(timeOfLastStatus, now).compareTo(PROGRESS_FREQUENCY) >= 0)
+			{
+				log.info("Waiting for the status of {} to change from {} to {}", name, droplet.getStatus(), status);
+				timeOfLastStatus = now;
+			}
+			delay.sleep(timeLimit.getTimeLeft());
+		}
+	}
+
 	@Override
 	public Droplet renameTo(String newName) throws IOException, InterruptedException
 	{
@@ -194,7 +268,8 @@ public Droplet renameTo(String newName) throws IOException, InterruptedException
 			case "completed" ->
 			{
 				Droplet reload = reload();
-				client.setTargetState(new ResourceId(Droplet.class, name), reload);
+				client.renameTargetState(new ResourceId(Droplet.class, name), new ResourceId(Droplet.class, newName),
+					reload);
 				yield reload;
 			}
 			case "errored" -> throw new IOException("Failed to rename droplet " + id + " to " + newName);
@@ -208,6 +283,23 @@ public void destroy() throws IOException, InterruptedException
 	{
 		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplets/operation/droplets_destroy
 		client.destroyResource(REST_SERVER.resolve("v2/droplets/" + id));
+		client.setTargetState(new ResourceId(Droplet.class, name), null);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return id.hashCode();
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		// Excludes properties that change after creation, such as the status and IP addresses, so that drift
+		// detection only reports changes to the droplet's configuration
+		return o instanceof DefaultDroplet other && other.id.equals(id) && other.name.equals(name) &&
+			other.type.equals(type) && other.image.equals(image) && other.region.equals(region) &&
+			other.vpc.equals(vpc) && other.features.equals(features) && other.tags.equals(tags);
 	}
 
 	@Override
@@ -224,6 +316,7 @@ public String toString()
 			add("features", features).
 			add("tags", tags).
 			add("createdAt", createdAt).
+			add("status", status).
 			toString();
 	}
 }
\ No newline at end of file
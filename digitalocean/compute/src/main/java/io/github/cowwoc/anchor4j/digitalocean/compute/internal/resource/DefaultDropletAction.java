@@ -0,0 +1,110 @@
+package io.github.cowwoc.anchor4j.digitalocean.compute.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DefaultComputeClient;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.Droplet;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction;
+import io.github.cowwoc.requirements12.annotation.CheckReturnValue;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DefaultDropletAction implements DropletAction
+{
+	private final DefaultComputeClient client;
+	private final Id id;
+	private final String type;
+	private final Status status;
+	private final Droplet.Id droplet;
+	private final Instant startedAt;
+	private final Instant completedAt;
+
+	/**
+	 * Creates a new action.
+	 *
+	 * @param client      the client configuration
+	 * @param id          the ID of the action
+	 * @param type        the type of the action
+	 * @param status      the status of the action
+	 * @param droplet     the droplet that the action was performed on
+	 * @param startedAt   the time that the action was started
+	 * @param completedAt the time that the action completed, or {@code null} if it is in progress
+	 * @throws NullPointerException     if any of the arguments, except for {@code completedAt}, are null
+	 * @throws IllegalArgumentException if {@code type} contains leading or trailing whitespace or is empty
+	 */
+	public DefaultDropletAction(DefaultComputeClient client, Id id, String type, Status status,
+		Droplet.Id droplet, Instant startedAt, Instant completedAt)
+	{
+		assert client != null;
+		requireThat(id, "id").isNotNull();
+		requireThat(type, "type").isStripped().isNotEmpty();
+		requireThat(status, "status").isNotNull();
+		requireThat(droplet, "droplet").isNotNull();
+		requireThat(startedAt, "startedAt").isNotNull();
+		this.client = client;
+		this.id = id;
+		this.type = type;
+		this.status = status;
+		this.droplet = droplet;
+		this.startedAt = startedAt;
+		this.completedAt = completedAt;
+	}
+
+	@Override
+	public Id getId()
+	{
+		return id;
+	}
+
+	@Override
+	public String getType()
+	{
+		return type;
+	}
+
+	@Override
+	public Status getStatus()
+	{
+		return status;
+	}
+
+	@Override
+	public Droplet.Id getDroplet()
+	{
+		return droplet;
+	}
+
+	@Override
+	public Instant getStartedAt()
+	{
+		return startedAt;
+	}
+
+	@Override
+	public Instant getCompletedAt()
+	{
+		return completedAt;
+	}
+
+	@Override
+	@CheckReturnValue
+	public DropletAction reload() throws IOException, InterruptedException
+	{
+		return client.getDropletAction(id);
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultDropletAction.class).
+			add("id", id).
+			add("type", type).
+			add("status", status).
+			add("droplet", droplet).
+			add("startedAt", startedAt).
+			add("completedAt", completedAt).
+			toString();
+	}
+}
@@ -10,25 +10,36 @@
 import io.github.cowwoc.anchor4j.core.migration.ResourceId;
 import io.github.cowwoc.anchor4j.digitalocean.compute.internal.client.DefaultComputeClient;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.Droplet;
+import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletAction;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletCreator;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletFeature;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletImage;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletType;
 import io.github.cowwoc.anchor4j.digitalocean.compute.resource.SshPublicKey;
+import io.github.cowwoc.anchor4j.digitalocean.core.exception.TooManyRequestsException;
 import io.github.cowwoc.anchor4j.digitalocean.network.resource.Region;
 import io.github.cowwoc.anchor4j.digitalocean.network.resource.Vpc;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
 import org.eclipse.jetty.client.ContentResponse;
 import org.eclipse.jetty.client.Request;
 import org.eclipse.jetty.client.Response;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.regex.Pattern;
 
 import static io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletFeature.MONITORING;
 import static io.github.cowwoc.anchor4j.digitalocean.compute.resource.DropletFeature.PRIVATE_NETWORKING;
@@ -36,10 +47,21 @@
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 import static org.eclipse.jetty.http.HttpMethod.POST;
 import static org.eclipse.jetty.http.HttpStatus.ACCEPTED_202;
+import static org.eclipse.jetty.http.HttpStatus.TOO_MANY_REQUESTS_429;
 import static org.eclipse.jetty.http.HttpStatus.UNPROCESSABLE_ENTITY_422;
 
 public final class DefaultDropletCreator implements DropletCreator
 {
+	// Taken from https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplets/operation/droplets_create
+	private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9]?[a-z0-9A-Z.\\-]*[a-z0-9A-Z]$");
+	/**
+	 * The maximum number of droplets that may be created by a single request.
+	 */
+	private static final int MAX_NAMES_PER_REQUEST = 10;
+	/**
+	 * The maximum number of concurrent requests that may be sent by {@link #apply(List)}.
+	 */
+	private static final int MAX_CONCURRENT_REQUESTS = 5;
 	private final DefaultComputeClient client;
 	private final String name;
 	private final DropletType.Id type;
@@ -77,8 +99,7 @@ public DefaultDropletCreator(DefaultComputeClient client, String name, DropletTy
 		DropletImage.Id image)
 	{
 		requireThat(client, "client").isNotNull();
-		// Taken from https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplets/operation/droplets_create
-		requireThat(name, "name").matches("^[a-zA-Z0-9]?[a-z0-9A-Z.\\-]*[a-z0-9A-Z]$");
+		requireThat(name, "name").matches(NAME_PATTERN);
 		requireThat(type, "type").isNotNull();
 		requireThat(image, "image").isNotNull();
 		this.client = client;
@@ -176,9 +197,210 @@ public DropletCreator failOnUnsupportedOperatingSystem(boolean failOnUnsupported
 	public Droplet apply() throws AccessDeniedException, IOException, InterruptedException
 	{
 		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplets/operation/droplets_create
+		ObjectNode requestBody = getRequestBody().
+			put("name", name);
+		Request request = client.createRequest(REST_SERVER.resolve("v2/droplets"), requestBody).
+			method(POST);
+		JsonNode body = send(request);
+		JsonNode dropletNode = body.get("droplet");
+		if (dropletNode == null)
+			throw new AssertionError("Unexpected response: " + body.toPrettyString());
+		List<DropletAction.Id> createActions = getCreateActions(body);
+		DropletAction.Id createAction;
+		if (createActions.size() == 1)
+			createAction = createActions.getFirst();
+		else
+			createAction = null;
+		Droplet droplet = client.getParser().dropletFromServer(dropletNode, createAction);
+		client.setTargetState(new ResourceId(Droplet.class, name), droplet);
+		return droplet;
+	}
+
+	@Override
+	public List<Droplet> apply(List<String> names)
+		throws AccessDeniedException, IOException, InterruptedException
+	{
+		requireThat(names, "names").isNotEmpty();
+		// Droplet names are hostnames, which are case-insensitive
+		List<String> lowerCaseNames = new ArrayList<>(names.size());
+		for (String name : names)
+		{
+			requireThat(name, "name").withContext(names, "names").matches(NAME_PATTERN);
+			lowerCaseNames.add(name.toLowerCase(Locale.ROOT));
+		}
+		requireThat(lowerCaseNames, "lowerCaseNames").withContext(names, "names").doesNotContainDuplicates();
+
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplets/operation/droplets_create
+		ObjectNode template = getRequestBody();
+		List<List<String>> batches = new ArrayList<>();
+		for (int i = 0; i < names.size(); i += MAX_NAMES_PER_REQUEST)
+			batches.add(names.subList(i, Math.min(i + MAX_NAMES_PER_REQUEST, names.size())));
+
+		Semaphore concurrentRequests = new Semaphore(MAX_CONCURRENT_REQUESTS);
+		List<Subtask<List<Droplet>>> subtasks = new ArrayList<>(batches.size());
+		try (StructuredTaskScope<List<Droplet>> scope = new StructuredTaskScope<>("DigitalOcean.DropletCreator",
+			Thread.ofVirtual().name("digitalocean-dropletcreator-", 1).factory()))
+		{
+			// Wait for all the batches, even if one of them fails, so that no droplets are left untracked
+			for (List<String> batch : batches)
+			{
+				subtasks.add(scope.fork(() ->
+				{
+					concurrentRequests.acquire();
+					try
+					{
+						return createBatch(template, batch);
+					}
+					finally
+					{
+						concurrentRequests.release();
+					}
+				}));
+			}
+			scope.join();
+		}
+
+		List<Droplet> droplets = new ArrayList<>(names.size());
+		Throwable failure = null;
+		for (Subtask<List<Droplet>> subtask : subtasks)
+		{
+			switch (subtask.state())
+			{
+				case SUCCESS -> droplets.addAll(subtask.get());
+				case FAILED ->
+				{
+					if (failure == null)
+						failure = subtask.exception();
+					else
+						failure.addSuppressed(subtask.exception());
+				}
+				case UNAVAILABLE -> throw new AssertionError("Subtask did not complete: " + subtask);
+			}
+		}
+		if (failure != null)
+		{
+			destroyAfterFailure(droplets, failure);
+			if (failure instanceof IOException ioe)
+				throw ioe;
+			if (failure instanceof RuntimeException re)
+				throw re;
+			if (failure instanceof Error error)
+				throw error;
+			throw WrappedCheckedException.wrap(failure);
+		}
+
+		for (Droplet droplet : droplets)
+			client.setTargetState(new ResourceId(Droplet.class, droplet.getName()), droplet);
+		return droplets;
+	}
+
+	/**
+	 * Destroys the droplets that were created by a bulk operation that failed, so that they do not outlive the
+	 * failure.
+	 *
+	 * @param droplets the droplets that were created
+	 * @param failure  the exception that caused the operation to fail. Any exceptions that are thrown while
+	 *                 destroying the droplets are added to it as suppressed exceptions.
+	 * @throws InterruptedException if the thread is interrupted while waiting for a response. This can happen
+	 *                              due to shutdown signals.
+	 */
+	private void destroyAfterFailure(List<Droplet> droplets, Throwable failure) throws InterruptedException
+	{
+		for (Droplet droplet : droplets)
+		{
+			try
+			{
+				droplet.destroy();
+			}
+			catch (IOException | RuntimeException e)
+			{
+				failure.addSuppressed(new IOException("Failed to destroy " + droplet.getName() + " (" +
+					droplet.getId() + ") after another batch failed", e));
+			}
+		}
+	}
+
+	/**
+	 * Creates a batch of droplets using a single request.
+	 *
+	 * @param template the request body shared by all droplets
+	 * @param names    the names of the droplets to create
+	 * @return the new droplets
+	 * @throws IllegalStateException if the client is closed
+	 * @throws AccessDeniedException if the client does not have sufficient privileges to execute this request
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private List<Droplet> createBatch(ObjectNode template, List<String> names)
+		throws IOException, InterruptedException
+	{
+		assert names.size() <= MAX_NAMES_PER_REQUEST : names;
+		ObjectNode requestBody = template.deepCopy();
+		ArrayNode namesNode = requestBody.putArray("names");
+		for (String name : names)
+			namesNode.add(name);
+		Request request = client.createRequest(REST_SERVER.resolve("v2/droplets"), requestBody).
+			method(POST);
+		JsonNode body = send(request);
+		JsonNode dropletsNode = body.get("droplets");
+		if (dropletsNode == null)
+			throw new AssertionError("Unexpected response: " + body.toPrettyString());
+		ComputeParser parser = client.getParser();
+		// The server lists one create action per droplet, in the same order as the droplets. If this is ever not
+		// the case, Droplet.waitFor() falls back to polling the droplets individually.
+		List<DropletAction.Id> createActions = getCreateActions(body);
+		boolean actionPerDroplet = createActions.size() == dropletsNode.size();
+		List<Droplet> droplets = new ArrayList<>(dropletsNode.size());
+		for (int i = 0; i < dropletsNode.size(); ++i)
+		{
+			DropletAction.Id createAction;
+			if (actionPerDroplet)
+				createAction = createActions.get(i);
+			else
+				createAction = null;
+			droplets.add(parser.dropletFromServer(dropletsNode.get(i), createAction));
+		}
+		return droplets;
+	}
+
+	/**
+	 * Returns the create actions that are referenced by a response.
+	 *
+	 * @param body the response body
+	 * @return the IDs of the actions
+	 */
+	private List<DropletAction.Id> getCreateActions(JsonNode body)
+	{
+		// https://docs.digitalocean.com/reference/api/digitalocean/#tag/Droplets/operation/droplets_create
+		JsonNode linksNode = body.get("links");
+		if (linksNode == null)
+			return List.of();
+		JsonNode actionsNode = linksNode.get("actions");
+		if (actionsNode == null)
+			return List.of();
+		ComputeParser parser = client.getParser();
+		List<DropletAction.Id> actions = new ArrayList<>(actionsNode.size());
+		for (JsonNode actionNode : actionsNode)
+		{
+			if (actionNode.get("rel").textValue().equals("create"))
+				actions.add(DropletAction.id(parser.getInt(actionNode, "id")));
+		}
+		return actions;
+	}
+
+	/**
+	 * Returns the request body shared by all the droplets that are created by this creator, excluding their
+	 * names.
+	 *
+	 * @return the request body
+	 * @throws IllegalStateException if the client is closed
+	 */
+	private ObjectNode getRequestBody()
+	{
 		JsonMapper jm = client.getJsonMapper();
 		ObjectNode requestBody = jm.createObjectNode().
-			put("name", name).
 			put("size", type.toString()).
 			put("image", image.getValue());
 		if (region != null)
@@ -212,37 +434,53 @@ public Droplet apply() throws AccessDeniedException, IOException, InterruptedExc
 			requestBody.put("user_data", userData);
 		if (failOnUnsupportedOperatingSystem)
 			requestBody.put("with_droplet_agent", true);
+		return requestBody;
+	}
 
-		Request request = client.createRequest(REST_SERVER.resolve("v2/droplets"), requestBody).
-			method(POST);
-		Response serverResponse = client.send(request);
-		ContentResponse contentResponse = (ContentResponse) serverResponse;
-		String responseAsString = contentResponse.getContentAsString();
-		switch (serverResponse.getStatus())
+	/**
+	 * Sends a request to create one or more droplets, waiting for the server's rate limit to reset if
+	 * necessary.
+	 *
+	 * @param request the request
+	 * @return the response body
+	 * @throws IllegalStateException if the client is closed
+	 * @throws AccessDeniedException if the client does not have sufficient privileges to execute this request
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private JsonNode send(Request request) throws IOException, InterruptedException
+	{
+		Instant deadline = Instant.now().plus(client.getRetryTimeout());
+		while (true)
 		{
-			case ACCEPTED_202 ->
+			Response serverResponse = client.send(request);
+			ContentResponse contentResponse = (ContentResponse) serverResponse;
+			switch (serverResponse.getStatus())
 			{
-				// success
+				case ACCEPTED_202 ->
+				{
+					return client.getResponseBody(contentResponse);
+				}
+				case UNPROCESSABLE_ENTITY_422 ->
+				{
+					// Example: creating this/these droplet(s) will exceed your droplet limit
+					JsonNode json = client.getResponseBody(contentResponse);
+					throw new AccessDeniedException(json.get("message").textValue());
+				}
+				case TOO_MANY_REQUESTS_429 ->
+				{
+					TooManyRequestsException e = client.getTooManyRequestsException(serverResponse);
+					Duration sleepDuration = e.getSleepDuration();
+					if (Instant.now().plus(sleepDuration).isAfter(deadline))
+						throw e;
+					Thread.sleep(sleepDuration);
+				}
+				default -> throw new AssertionError("Unexpected response: " + client.toString(serverResponse) + "\n" +
+					"Request: " + client.toString(request));
 			}
-			case UNPROCESSABLE_ENTITY_422 ->
-			{
-				// Example: creating this/these droplet(s) will exceed your droplet limit
-				JsonNode json = client.getResponseBody(contentResponse);
-				throw new AccessDeniedException(json.get("message").textValue());
-			}
-			default -> throw new AssertionError("Unexpected response: " + client.toString(serverResponse) + "\n" +
-				"Request: " + client.toString(request));
 		}
-		JsonNode body = client.getJsonMapper().readTree(responseAsString);
-		JsonNode dropletNode = body.get("droplet");
-		if (dropletNode == null)
-		{
-			throw new AssertionError("Unexpected response: " + client.toString(serverResponse) + "\n" +
-				"Request: " + client.toString(request));
-		}
-		Droplet droplet = parser.dropletFromServer(dropletNode);
-		client.setTargetState(new ResourceId(Droplet.class, name), droplet);
-		return droplet;
 	}
 
 	/**
@@ -0,0 +1,78 @@
+package io.github.cowwoc.anchor4j.digitalocean.compute.internal.util;
+
+import io.github.cowwoc.anchor4j.core.internal.util.RetryDelay;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Generates a sequence of durations to wait between polls of an operation that typically completes within a
+ * known amount of time. The operation is polled frequently until the expected duration elapses, after which
+ * the delay grows exponentially.
+ */
+public final class AdaptiveDelay
+{
+	private final Duration initial;
+	private final Duration maximum;
+	private Instant endOfFastPolling;
+	private RetryDelay backoff;
+
+	/**
+	 * Creates a new AdaptiveDelay.
+	 *
+	 * @param initial          the delay to sleep while the operation is expected to complete
+	 * @param expectedDuration the amount of time that the operation typically takes to complete
+	 * @param maximum          the maximum delay to sleep
+	 * @throws NullPointerException     if any of the arguments are null
+	 * @throws IllegalArgumentException if {@code initial} or {@code expectedDuration} are negative. If
+	 *                                  {@code maximum} is less than {@code initial}.
+	 */
+	public AdaptiveDelay(Duration initial, Duration expectedDuration, Duration maximum)
+	{
+		requireThat(initial, "initial").isNotNull();
+		requireThat(!initial.isNegative(), "!initial.isNegative()").isTrue();
+		requireThat(expectedDuration, "expectedDuration").isNotNull();
+		requireThat(!expectedDuration.isNegative(), "!expectedDuration.isNegative()").isTrue();
+		requireThat(maximum, "maximum").isGreaterThanOrEqualTo(initial, "initial");
+		this.initial = initial;
+		this.maximum = maximum;
+		this.endOfFastPolling = Instant.now().plus(expectedDuration);
+		this.backoff = new RetryDelay(initial, maximum, 2);
+	}
+
+	/**
+	 * Polls frequently until a point in time, such as when an operation that was submitted after this object
+	 * was created is expected to complete. The exponential backoff restarts once the time elapses.
+	 *
+	 * @param endOfFastPolling the time until which the operation should be polled frequently
+	 * @throws NullPointerException if {@code endOfFastPolling} is null
+	 */
+	public void fastPollUntil(Instant endOfFastPolling)
+	{
+		requireThat(endOfFastPolling, "endOfFastPolling").isNotNull();
+		if (!endOfFastPolling.isAfter(this.endOfFastPolling))
+			return;
+		this.endOfFastPolling = endOfFastPolling;
+		this.backoff = new RetryDelay(initial, maximum, 2);
+	}
+
+	/**
+	 * Sleeps until it is time to poll the operation again.
+	 *
+	 * @param timeLeft the maximum duration that the thread may sleep
+	 * @throws NullPointerException if {@code timeLeft} is null
+	 * @throws InterruptedException if the thread is interrupted
+	 */
+	public void sleep(Duration timeLeft) throws InterruptedException
+	{
+		requireThat(timeLeft, "timeLeft").isNotNull();
+		if (Instant.now().isBefore(endOfFastPolling))
+			Thread.sleep(Collections.min(List.of(timeLeft, initial)));
+		else
+			backoff.sleep(timeLeft);
+	}
+}
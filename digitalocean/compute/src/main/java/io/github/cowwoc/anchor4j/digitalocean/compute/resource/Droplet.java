@@ -7,8 +7,10 @@
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Set;
+import java.util.concurrent.TimeoutException;
 
 /**
  * A computer node.
@@ -27,6 +29,13 @@ static Id id(int value)
 		return new Id(value);
 	}
 
+	/**
+	 * Returns the ID of the droplet.
+	 *
+	 * @return the ID
+	 */
+	Id getId();
+
 	/**
 	 * Returns the name of the droplet.
 	 *
@@ -90,6 +99,13 @@ static Id id(int value)
 	 */
 	Instant getCreatedAt();
 
+	/**
+	 * Returns the status of the droplet.
+	 *
+	 * @return the status
+	 */
+	Status getStatus();
+
 	/**
 	 * Reloads the droplet's state.
 	 *
@@ -103,6 +119,28 @@ static Id id(int value)
 	@CheckReturnValue
 	Droplet reload() throws IOException, InterruptedException;
 
+	/**
+	 * Blocks until the droplet reaches the desired {@code status}.
+	 * <p>
+	 * If the droplet already has the desired status, this method returns immediately. Newly created droplets
+	 * track the progress of their create action; otherwise, the droplet's state is polled. In both cases, the
+	 * server is polled frequently while the droplet is expected to be provisioned, and less frequently
+	 * afterward.
+	 *
+	 * @param status  the desired status
+	 * @param timeout the maximum amount of time to wait
+	 * @return the updated droplet
+	 * @throws NullPointerException  if any of the arguments are null
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if the droplet could not be created, or an I/O error occurs. These errors
+	 *                               are typically transient, and retrying the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 * @throws TimeoutException      if the operation times out before the droplet reaches the desired status
+	 */
+	Droplet waitFor(Status status, Duration timeout)
+		throws IOException, InterruptedException, TimeoutException;
+
 	/**
 	 * Renames a droplet.
 	 *
@@ -139,6 +177,29 @@ static Id id(int value)
 	 */
 	void destroy() throws IOException, InterruptedException;
 
+	/**
+	 * Represents the status of a droplet.
+	 */
+	enum Status
+	{
+		/**
+		 * The droplet is being provisioned.
+		 */
+		NEW,
+		/**
+		 * The droplet is running.
+		 */
+		ACTIVE,
+		/**
+		 * The droplet is powered off.
+		 */
+		OFF,
+		/**
+		 * The droplet has been archived.
+		 */
+		ARCHIVE
+	}
+
 	/**
 	 * A type-safe identifier for this type of resource.
 	 * <p>
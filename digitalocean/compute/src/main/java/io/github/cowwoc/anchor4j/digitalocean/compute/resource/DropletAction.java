@@ -0,0 +1,115 @@
+package io.github.cowwoc.anchor4j.digitalocean.compute.resource;
+
+import io.github.cowwoc.anchor4j.core.id.IntegerId;
+import io.github.cowwoc.requirements12.annotation.CheckReturnValue;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * An asynchronous operation that was performed on a droplet, such as powering it off or taking a snapshot.
+ */
+public interface DropletAction
+{
+	/**
+	 * Creates a new ID.
+	 *
+	 * @param value the server-side identifier
+	 * @return the type-safe identifier for the resource
+	 */
+	static Id id(int value)
+	{
+		return new Id(value);
+	}
+
+	/**
+	 * Returns the ID of the action.
+	 *
+	 * @return the ID
+	 */
+	Id getId();
+
+	/**
+	 * Returns the type of the action.
+	 *
+	 * @return the server-side name of the action (e.g. {@code power_off} or {@code snapshot})
+	 */
+	String getType();
+
+	/**
+	 * Returns the status of the action.
+	 *
+	 * @return the status
+	 */
+	Status getStatus();
+
+	/**
+	 * Returns the droplet that the action was performed on.
+	 *
+	 * @return the ID of the droplet
+	 */
+	Droplet.Id getDroplet();
+
+	/**
+	 * Returns the time that the action was started.
+	 *
+	 * @return the time
+	 */
+	Instant getStartedAt();
+
+	/**
+	 * Returns the time that the action completed.
+	 *
+	 * @return {@code null} if the action is in progress
+	 */
+	Instant getCompletedAt();
+
+	/**
+	 * Reloads the action's state.
+	 *
+	 * @return the updated state
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	@CheckReturnValue
+	DropletAction reload() throws IOException, InterruptedException;
+
+	/**
+	 * The status of an action.
+	 */
+	enum Status
+	{
+		/**
+		 * The action is running.
+		 */
+		IN_PROGRESS,
+		/**
+		 * The action completed successfully.
+		 */
+		COMPLETED,
+		/**
+		 * The action failed.
+		 */
+		ERRORED
+	}
+
+	/**
+	 * A type-safe identifier for this type of resource.
+	 * <p>
+	 * This adds type-safety to API methods by ensuring that IDs specific to one class cannot be used in place
+	 * of IDs belonging to another class.
+	 */
+	final class Id extends IntegerId
+	{
+		/**
+		 * @param value a server-side identifier
+		 */
+		private Id(int value)
+		{
+			super(value);
+		}
+	}
+}
@@ -11,6 +11,7 @@
 import java.time.DayOfWeek;
 import java.time.OffsetTime;
 import java.util.Collection;
+import java.util.List;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
 
@@ -142,6 +143,39 @@
 	 */
 	Droplet apply() throws AccessDeniedException, IOException, InterruptedException;
 
+	/**
+	 * Creates multiple droplets that share this configuration. The name that was passed to the creator is
+	 * ignored in favor of {@code names}.
+	 * <p>
+	 * The droplets are created in batches of up to 10 droplets per request. Batches are sent concurrently, and
+	 * requests that are rejected due to the server's rate limit are retried once the limit resets.
+	 * <p>
+	 * If any batch fails, the droplets that were created by the other batches are destroyed before the
+	 * exception is thrown. Droplets that could not be destroyed are listed in the exception's suppressed
+	 * exceptions.
+	 *
+	 * @param names the names of the droplets. Names are case-insensitive.
+	 * @return the new droplets, in the same order as {@code names}
+	 * @throws NullPointerException     if {@code names} is null
+	 * @throws IllegalArgumentException if:
+	 *                                  <ul>
+	 *                                    <li>{@code names} is empty or contains duplicates, ignoring
+	 *                                    case.</li>
+	 *                                    <li>any of the names contain characters other than {@code A-Z},
+	 *                                    {@code a-z}, {@code 0-9}, a period or a hyphen.</li>
+	 *                                    <li>any of the names do not start or end with an alphanumeric
+	 *                                    character.</li>
+	 *                                  </ul>
+	 * @throws IllegalStateException    if the client is closed
+	 * @throws AccessDeniedException    if the client does not have sufficient privileges to execute this
+	 *                                  request
+	 * @throws IOException              if an I/O error occurs. These errors are typically transient, and
+	 *                                  retrying the request may resolve the issue.
+	 * @throws InterruptedException     if the thread is interrupted while waiting for a response. This can
+	 *                                  happen due to shutdown signals.
+	 */
+	List<Droplet> apply(List<String> names) throws AccessDeniedException, IOException, InterruptedException;
+
 	/**
 	 * The schedule for when backup activities may be performed on the droplet.
 	 */
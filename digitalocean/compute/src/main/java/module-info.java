@@ -10,6 +10,7 @@
 	requires com.fasterxml.jackson.datatype.jsr310;
 	requires io.github.cowwoc.anchor4j.digitalocean.core;
 	requires org.apache.sshd.osgi;
+	requires org.slf4j;
 
 	exports io.github.cowwoc.anchor4j.digitalocean.compute.client;
 	exports io.github.cowwoc.anchor4j.digitalocean.compute.resource;
@@ -11,6 +11,7 @@
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Registry;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Repository;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -81,8 +82,10 @@ public ContainerImage getImage(Repository repository, JsonNode json)
 		for (JsonNode node : json.get("blobs"))
 		{
 			Id layerDigest = ContainerImage.id(node.get("id").textValue());
-			layers.add(new Layer(layerDigest));
+			long size = node.get("compressed_size_bytes").longValue();
+			layers.add(new Layer(layerDigest, size));
 		}
-		return new DefaultContainerImage(client, repository, id, tags, layers);
+		Instant updatedAt = Instant.parse(json.get("updated_at").textValue());
+		return new DefaultContainerImage(client, repository, id, tags, layers, updatedAt);
 	}
 }
\ No newline at end of file
@@ -7,6 +7,7 @@
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Repository;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Objects;
 import java.util.Set;
 
@@ -19,6 +20,7 @@ public final class DefaultContainerImage implements ContainerImage
 	private final Id id;
 	private final Set<String> tags;
 	private final Set<Layer> layers;
+	private final Instant updatedAt;
 
 	/**
 	 * Creates a snapshot of the docker image's state.
@@ -28,21 +30,24 @@ public final class DefaultContainerImage implements ContainerImage
 	 * @param id         a value that uniquely identifies the image in the repository
 	 * @param tags       the tags that are associated with the image
 	 * @param layers     the layers that the image consists of
+	 * @param updatedAt  the last time that the image was pushed
 	 * @throws NullPointerException     if any of the arguments are null
 	 * @throws IllegalArgumentException if {@code id} contains leading or trailing whitespace or is empty
 	 */
 	public DefaultContainerImage(DefaultRegistryClient client, Repository repository, Id id,
-		Set<String> tags, Set<Layer> layers)
+		Set<String> tags, Set<Layer> layers, Instant updatedAt)
 	{
 		assert client != null;
 		requireThat(repository, "repository").isNotNull();
 		requireThat(id, "id").isNotNull();
+		requireThat(updatedAt, "updatedAt").isNotNull();
 
 		this.client = client;
 		this.repository = repository;
 		this.id = id;
 		this.tags = Set.copyOf(tags);
 		this.layers = Set.copyOf(layers);
+		this.updatedAt = updatedAt;
 	}
 
 	@Override
@@ -69,6 +74,12 @@ public Set<Layer> getLayers()
 		return layers;
 	}
 
+	@Override
+	public Instant getUpdatedAt()
+	{
+		return updatedAt;
+	}
+
 	@Override
 	public ContainerImage reload() throws IOException, InterruptedException
 	{
@@ -102,6 +113,7 @@ public String toString()
 			add("id", id).
 			add("tags", tags).
 			add("layers", layers).
+			add("updatedAt", updatedAt).
 			toString();
 	}
 }
\ No newline at end of file
@@ -6,7 +6,9 @@
 import io.github.cowwoc.anchor4j.digitalocean.registry.internal.client.DefaultRegistryClient;
 import io.github.cowwoc.anchor4j.digitalocean.registry.internal.parser.RegistryParser;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Registry;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.RegistryCleanupPlan;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.RegistryCredentials;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.RegistryCredentialsProvider;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Repository;
 import org.eclipse.jetty.client.ContentResponse;
 import org.eclipse.jetty.client.Request;
@@ -204,6 +206,18 @@ public Repository getRepository(Predicate<Repository> predicate) throws IOExcept
 		});
 	}
 
+	@Override
+	public RegistryCredentialsProvider getCredentialsProvider(boolean writeAccess, Duration duration)
+	{
+		return new DefaultRegistryCredentialsProvider(this, writeAccess, duration);
+	}
+
+	@Override
+	public RegistryCleanupPlan planCleanup()
+	{
+		return new DefaultRegistryCleanupPlan(this);
+	}
+
 	@Override
 	public int hashCode()
 	{
@@ -0,0 +1,239 @@
+package io.github.cowwoc.anchor4j.digitalocean.registry.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.exception.AccessDeniedException;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.ContainerImage;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Registry;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.RegistryCleanupPlan;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Repository;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Repository.CleanupReport;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope.ShutdownOnFailure;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DefaultRegistryCleanupPlan implements RegistryCleanupPlan
+{
+	private final Registry registry;
+	private Predicate<Repository> repositoryFilter = _ -> true;
+	private int keepLastTagged = -1;
+	private final List<Pattern> keepTags = new ArrayList<>();
+	private Duration maxAge;
+	private final AtomicInteger repositoriesScanned = new AtomicInteger();
+	private final AtomicInteger totalRepositories = new AtomicInteger();
+	private final AtomicInteger imagesDeleted = new AtomicInteger();
+	private final AtomicInteger totalImages = new AtomicInteger();
+
+	/**
+	 * Creates a new plan.
+	 *
+	 * @param registry the registry to clean up
+	 */
+	public DefaultRegistryCleanupPlan(Registry registry)
+	{
+		assert registry != null;
+		this.registry = registry;
+	}
+
+	@Override
+	public RegistryCleanupPlan repositories(Predicate<Repository> predicate)
+	{
+		requireThat(predicate, "predicate").isNotNull();
+		this.repositoryFilter = predicate;
+		return this;
+	}
+
+	@Override
+	public RegistryCleanupPlan keepLastTagged(int count)
+	{
+		requireThat(count, "count").isNotNegative();
+		this.keepLastTagged = count;
+		return this;
+	}
+
+	@Override
+	public RegistryCleanupPlan keepTags(Pattern pattern)
+	{
+		requireThat(pattern, "pattern").isNotNull();
+		keepTags.add(pattern);
+		return this;
+	}
+
+	@Override
+	public RegistryCleanupPlan maxAge(Duration maxAge)
+	{
+		requireThat(maxAge, "maxAge").isNotNull();
+		requireThat(!maxAge.isNegative(), "!maxAge.isNegative()").isTrue();
+		this.maxAge = maxAge;
+		return this;
+	}
+
+	@Override
+	public Progress getProgress()
+	{
+		return new Progress(repositoriesScanned.get(), totalRepositories.get(), imagesDeleted.get(),
+			totalImages.get());
+	}
+
+	@Override
+	public Map<Repository, CleanupReport> apply(boolean dryRun)
+		throws IOException, InterruptedException, AccessDeniedException
+	{
+		List<Repository> repositories = new ArrayList<>();
+		for (Repository repository : registry.getRepositories())
+		{
+			if (repositoryFilter.test(repository))
+				repositories.add(repository);
+		}
+		repositoriesScanned.set(0);
+		totalRepositories.set(repositories.size());
+		imagesDeleted.set(0);
+		totalImages.set(0);
+
+		// All repositories share the same limit so that the number of concurrent requests does not grow with
+		// the number of repositories
+		Semaphore concurrentRequests = new Semaphore(DefaultRepository.MAX_CONCURRENT_REQUESTS);
+		Instant now = Instant.now();
+		Map<Repository, Supplier<CleanupReport>> repositoryToReport = new LinkedHashMap<>();
+		try (ShutdownOnFailure scope = new ShutdownOnFailure("DigitalOcean.RegistryCleanupPlan",
+			Thread.ofVirtual().name("digitalocean-registrycleanup-", 1).factory()))
+		{
+			for (Repository repository : repositories)
+			{
+				repositoryToReport.put(repository, scope.fork(() ->
+					cleanup((DefaultRepository) repository, now, concurrentRequests, dryRun)));
+			}
+			try
+			{
+				scope.join().throwIfFailed();
+			}
+			catch (ExecutionException e)
+			{
+				Throwable cause = e.getCause();
+				if (cause instanceof IOException ioe)
+					throw ioe;
+				if (cause instanceof RuntimeException re)
+					throw re;
+				throw WrappedCheckedException.wrap(e);
+			}
+		}
+		if (!dryRun)
+			registry.deleteUnusedLayers();
+
+		Map<Repository, CleanupReport> result = new LinkedHashMap<>();
+		for (Map.Entry<Repository, Supplier<CleanupReport>> entry : repositoryToReport.entrySet())
+			result.put(entry.getKey(), entry.getValue().get());
+		return result;
+	}
+
+	/**
+	 * Cleans up a single repository.
+	 *
+	 * @param repository         the repository
+	 * @param now                the time that the cleanup started
+	 * @param concurrentRequests limits the number of concurrent requests
+	 * @param dryRun             {@code true} to report the images that would be deleted without deleting them
+	 * @return the images that were deleted
+	 * @throws IllegalStateException if the client is closed
+	 * @throws AccessDeniedException if the client does not have sufficient privileges to execute this request
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private CleanupReport cleanup(DefaultRepository repository, Instant now, Semaphore concurrentRequests,
+		boolean dryRun) throws IOException, InterruptedException, AccessDeniedException
+	{
+		List<ContainerImage> images;
+		concurrentRequests.acquire();
+		try
+		{
+			images = repository.getImages();
+		}
+		finally
+		{
+			concurrentRequests.release();
+		}
+		CleanupReport report = DefaultRepository.getImagesToDelete(images, getRetentionPolicy(images, now));
+		repositoriesScanned.incrementAndGet();
+		totalImages.addAndGet(report.images().size());
+		if (!dryRun)
+		{
+			repository.deleteImages(report.images(), concurrentRequests);
+			imagesDeleted.addAndGet(report.images().size());
+		}
+		return report;
+	}
+
+	/**
+	 * Returns the retention policy of a repository.
+	 *
+	 * @param images the images in the repository
+	 * @param now    the time that the cleanup started
+	 * @return a function that returns {@code true} for images that must be retained
+	 */
+	private Predicate<ContainerImage> getRetentionPolicy(List<ContainerImage> images, Instant now)
+	{
+		if (keepLastTagged == -1 && keepTags.isEmpty() && maxAge == null)
+			return image -> !image.getTags().isEmpty();
+
+		Set<ContainerImage.Id> newest = new HashSet<>();
+		if (keepLastTagged > 0)
+		{
+			images.stream().
+				filter(image -> !image.getTags().isEmpty()).
+				sorted(Comparator.comparing(ContainerImage::getUpdatedAt).reversed()).
+				limit(keepLastTagged).
+				forEach(image -> newest.add(image.getId()));
+		}
+		Instant oldestRetained;
+		if (maxAge == null)
+			oldestRetained = Instant.MAX;
+		else
+			oldestRetained = now.minus(maxAge);
+		return image ->
+		{
+			if (image.getTags().isEmpty())
+				return false;
+			if (newest.contains(image.getId()) || !image.getUpdatedAt().isBefore(oldestRetained))
+				return true;
+			for (String tag : image.getTags())
+			{
+				for (Pattern pattern : keepTags)
+				{
+					if (pattern.matcher(tag).matches())
+						return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultRegistryCleanupPlan.class).
+			add("registry", registry).
+			add("keepLastTagged", keepLastTagged).
+			add("keepTags", keepTags).
+			add("maxAge", maxAge).
+			toString();
+	}
+}
@@ -0,0 +1,235 @@
+package io.github.cowwoc.anchor4j.digitalocean.registry.internal.resource;
+
+import io.github.cowwoc.anchor4j.core.internal.util.RetryDelay;
+import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Registry;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.RegistryCredentials;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.RegistryCredentialsProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+public final class DefaultRegistryCredentialsProvider implements RegistryCredentialsProvider
+{
+	/**
+	 * The fraction of the credentials' lifetime after which they are refreshed.
+	 */
+	private static final double REFRESH_THRESHOLD = 0.8;
+	private final Registry registry;
+	private final boolean writeAccess;
+	private final Duration duration;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	/**
+	 * Guards the state of the provider. Only one thread requests credentials or notifies the listeners at a
+	 * time.
+	 */
+	private final Lock lock = new ReentrantLock();
+	/**
+	 * The cached credentials, or {@code null} if no credentials were requested yet.
+	 */
+	private RegistryCredentials credentials;
+	/**
+	 * The credentials that the listeners were last notified about.
+	 */
+	private RegistryCredentials notified;
+	/**
+	 * The time after which the cached credentials should be refreshed.
+	 */
+	private Instant refreshAt = Instant.MIN;
+	/**
+	 * The thread that refreshes the credentials, or {@code null} if it was not started yet.
+	 */
+	private Thread refresher;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new provider.
+	 *
+	 * @param registry    the registry
+	 * @param writeAccess {@code true} to grant write access
+	 * @param duration    the duration that each set of credentials will be valid for
+	 * @throws NullPointerException     if {@code duration} is null
+	 * @throws IllegalArgumentException if {@code duration} is negative or zero
+	 */
+	public DefaultRegistryCredentialsProvider(Registry registry, boolean writeAccess, Duration duration)
+	{
+		assert registry != null;
+		requireThat(duration, "duration").isGreaterThan(Duration.ZERO);
+		this.registry = registry;
+		this.writeAccess = writeAccess;
+		this.duration = duration;
+	}
+
+	@Override
+	public RegistryCredentials get() throws IOException, InterruptedException
+	{
+		ensureOpen();
+		lock.lockInterruptibly();
+		try
+		{
+			if (!Instant.now().isBefore(refreshAt))
+				refresh();
+			notifyListeners();
+			return credentials;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public RegistryCredentialsProvider onChange(Listener listener) throws IOException, InterruptedException
+	{
+		requireThat(listener, "listener").isNotNull();
+		ensureOpen();
+		lock.lockInterruptibly();
+		try
+		{
+			listeners.add(listener);
+			// Bring the listener up to date with the others. If the credentials changed since then,
+			// notifyListeners() will notify all the listeners, including this one.
+			if (notified != null)
+				listener.onChange(notified);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * Requests new credentials.
+	 * <p>
+	 * The caller must hold {@link #lock}.
+	 *
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private void refresh() throws IOException, InterruptedException
+	{
+		Instant requestedAt = Instant.now();
+		credentials = registry.getCredentials(writeAccess, duration);
+		refreshAt = requestedAt.plus(Duration.ofNanos((long) (duration.toNanos() * REFRESH_THRESHOLD)));
+		if (refresher == null)
+			refresher = Thread.ofVirtual().name("digitalocean-registrycredentials").start(this::refreshLoop);
+	}
+
+	/**
+	 * Notifies the listeners if the credentials changed since they were last notified.
+	 * <p>
+	 * The caller must hold {@link #lock}.
+	 *
+	 * @throws IOException          if a listener throws an {@code IOException}
+	 * @throws InterruptedException if a listener is interrupted
+	 */
+	private void notifyListeners() throws IOException, InterruptedException
+	{
+		if (credentials.equals(notified))
+			return;
+		for (Listener listener : listeners)
+			listener.onChange(credentials);
+		notified = credentials;
+	}
+
+	/**
+	 * Refreshes the credentials shortly before they expire, until the provider is closed.
+	 */
+	private void refreshLoop()
+	{
+		RetryDelay retryDelay = new RetryDelay(Duration.ofSeconds(3), Duration.ofSeconds(30), 2);
+		try
+		{
+			while (!closed)
+			{
+				Duration timeLeft = Duration.between(Instant.now(), refreshAt);
+				if (timeLeft.isPositive())
+					Thread.sleep(timeLeft);
+				boolean failed = false;
+				lock.lockInterruptibly();
+				try
+				{
+					if (closed)
+						return;
+					if (!Instant.now().isBefore(refreshAt))
+						refresh();
+					notifyListeners();
+				}
+				catch (IOException | RuntimeException _)
+				{
+					// If the credentials expire before the background refresh succeeds, get() refreshes them and
+					// reports the failure to the caller.
+					failed = true;
+				}
+				finally
+				{
+					lock.unlock();
+				}
+				if (failed)
+					retryDelay.sleep();
+				else
+					retryDelay = new RetryDelay(Duration.ofSeconds(3), Duration.ofSeconds(30), 2);
+			}
+		}
+		catch (InterruptedException _)
+		{
+			// The provider was closed
+		}
+	}
+
+	/**
+	 * Ensures that the provider is open.
+	 *
+	 * @throws IllegalStateException if the provider is closed
+	 */
+	private void ensureOpen()
+	{
+		if (closed)
+			throw new IllegalStateException("provider was closed");
+	}
+
+	@Override
+	public boolean isClosed()
+	{
+		return closed;
+	}
+
+	@Override
+	public void close()
+	{
+		if (closed)
+			return;
+		closed = true;
+		lock.lock();
+		try
+		{
+			if (refresher != null)
+				refresher.interrupt();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return new ToStringBuilder(DefaultRegistryCredentialsProvider.class).
+			add("registry", registry).
+			add("writeAccess", writeAccess).
+			add("duration", duration).
+			toString();
+	}
+}
@@ -4,26 +4,35 @@
 import io.github.cowwoc.anchor4j.core.exception.AccessDeniedException;
 import io.github.cowwoc.anchor4j.core.id.IntegerId;
 import io.github.cowwoc.anchor4j.core.internal.util.ToStringBuilder;
+import io.github.cowwoc.anchor4j.digitalocean.core.exception.TooManyRequestsException;
 import io.github.cowwoc.anchor4j.digitalocean.registry.internal.client.DefaultRegistryClient;
 import io.github.cowwoc.anchor4j.digitalocean.registry.internal.parser.RegistryParser;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.ContainerImage;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.ContainerImage.Layer;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Registry;
 import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Repository;
+import io.github.cowwoc.pouch.core.WrappedCheckedException;
 import org.eclipse.jetty.client.ContentResponse;
 import org.eclipse.jetty.client.Request;
 import org.eclipse.jetty.client.Response;
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope.ShutdownOnFailure;
 import java.util.function.Predicate;
 
 import static io.github.cowwoc.anchor4j.digitalocean.core.internal.client.AbstractDigitalOceanInternalClient.REST_SERVER;
@@ -37,6 +46,10 @@
 
 public final class DefaultRepository implements Repository
 {
+	/**
+	 * The maximum number of images to delete concurrently.
+	 */
+	static final int MAX_CONCURRENT_REQUESTS = 5;
 	private final DefaultRegistryClient client;
 	private final Registry registry;
 	private final String name;
@@ -151,40 +164,239 @@ public void destroyImage(ContainerImage.Id imageId)
 		}
 	}
 
+	@Override
+	public List<ContainerImage> getDanglingImages() throws IOException, InterruptedException
+	{
+		return getImagesToDelete(getImages(), image -> !image.getTags().isEmpty()).images();
+	}
+
 	@Override
 	public void deleteDanglingImages() throws IOException, InterruptedException, AccessDeniedException
 	{
-		List<ContainerImage> imagesToDelete = getImages();
-		Deque<Layer> layersToKeep = new ArrayDeque<>();
-		for (ContainerImage image : imagesToDelete)
+		deleteDanglingImages(false);
+	}
+
+	@Override
+	public CleanupReport deleteDanglingImages(boolean dryRun)
+		throws IOException, InterruptedException, AccessDeniedException
+	{
+		CleanupReport report = getImagesToDelete(getImages(), image -> !image.getTags().isEmpty());
+		if (!dryRun)
+		{
+			deleteImages(report.images(), new Semaphore(MAX_CONCURRENT_REQUESTS));
+			registry.deleteUnusedLayers();
+		}
+		return report;
+	}
+
+	/**
+	 * Returns the images that are not retained, directly or transitively, by a retention policy.
+	 *
+	 * @param images the images in the repository
+	 * @param retain returns {@code true} for images that must be retained
+	 * @return the images to delete, and the compressed size of the layers that would no longer be referenced
+	 * 	after they are deleted
+	 */
+	static CleanupReport getImagesToDelete(List<ContainerImage> images, Predicate<ContainerImage> retain)
+	{
+		BitSet reachable = markReachable(images, indexById(images), retain);
+		List<ContainerImage> imagesToDelete = new ArrayList<>();
+		Set<Layer> layersToKeep = new HashSet<>();
+		for (int i = 0; i < images.size(); ++i)
 		{
-			if (!image.getTags().isEmpty())
+			ContainerImage image = images.get(i);
+			if (reachable.get(i))
 				layersToKeep.addAll(image.getLayers());
+			else
+				imagesToDelete.add(image);
+		}
+		Set<Layer> layersToDelete = new HashSet<>();
+		for (ContainerImage image : imagesToDelete)
+		{
+			for (Layer layer : image.getLayers())
+			{
+				if (!layersToKeep.contains(layer))
+					layersToDelete.add(layer);
+			}
 		}
+		long bytesReclaimed = 0;
+		for (Layer layer : layersToDelete)
+			bytesReclaimed += layer.size();
+		return new CleanupReport(imagesToDelete, bytesReclaimed);
+	}
+
+	/**
+	 * Indexes images by their ID.
+	 *
+	 * @param images the images
+	 * @return a map from each image's ID to its index in {@code images}
+	 */
+	private static Map<ContainerImage.Id, Integer> indexById(List<ContainerImage> images)
+	{
+		Map<ContainerImage.Id, Integer> idToIndex = HashMap.newHashMap(images.size());
+		for (int i = 0; i < images.size(); ++i)
+			idToIndex.put(images.get(i).getId(), i);
+		return idToIndex;
+	}
 
-		// Keep all the layers that tagged images transitively depend on
-		Set<Layer> processedLayers = new HashSet<>();
+	/**
+	 * Marks the images that are retained or are transitively referenced by a retained image.
+	 * <p>
+	 * Each image and layer is visited at most once, so this method runs in {@code O(images + layers)} time.
+	 *
+	 * @param images    the images
+	 * @param idToIndex a map from each image's ID to its index in {@code images}
+	 * @param retain    returns {@code true} for images that must be retained
+	 * @return the indexes of the reachable images
+	 */
+	private static BitSet markReachable(List<ContainerImage> images, Map<ContainerImage.Id, Integer> idToIndex,
+		Predicate<ContainerImage> retain)
+	{
+		BitSet reachable = new BitSet(images.size());
+		Deque<Integer> unvisited = new ArrayDeque<>();
+		for (int i = 0; i < images.size(); ++i)
+		{
+			if (retain.test(images.get(i)))
+			{
+				reachable.set(i);
+				unvisited.add(i);
+			}
+		}
 		while (true)
 		{
-			Layer layer = layersToKeep.poll();
-			if (layer == null)
+			Integer index = unvisited.poll();
+			if (index == null)
 				break;
-			if (processedLayers.add(layer))
+			for (Layer layer : images.get(index).getLayers())
+			{
+				Integer child = idToIndex.get(layer.id());
+				if (child != null && !reachable.get(child))
+				{
+					reachable.set(child);
+					unvisited.add(child);
+				}
+			}
+		}
+		return reachable;
+	}
+
+	/**
+	 * Deletes images concurrently.
+	 * <p>
+	 * The server refuses to delete an image while another image references it, so images are deleted in
+	 * waves: each wave deletes the images that are no longer referenced by any of the remaining images.
+	 *
+	 * @param images             the images to delete
+	 * @param concurrentRequests limits the number of concurrent requests
+	 * @throws IllegalStateException if the client is closed
+	 * @throws AccessDeniedException if the client does not have sufficient privileges to execute this request
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	void deleteImages(List<ContainerImage> images, Semaphore concurrentRequests)
+		throws IOException, InterruptedException, AccessDeniedException
+	{
+		Map<ContainerImage.Id, Integer> idToIndex = indexById(images);
+		// The number of remaining images that reference each image
+		int[] referenceCount = new int[images.size()];
+		for (ContainerImage image : images)
+		{
+			for (Layer layer : image.getLayers())
+			{
+				Integer child = idToIndex.get(layer.id());
+				if (child != null)
+					++referenceCount[child];
+			}
+		}
+		List<Integer> wave = new ArrayList<>();
+		for (int i = 0; i < images.size(); ++i)
+		{
+			if (referenceCount[i] == 0)
+				wave.add(i);
+		}
+		while (!wave.isEmpty())
+		{
+			try (ShutdownOnFailure scope = new ShutdownOnFailure("DigitalOcean.Repository",
+				Thread.ofVirtual().name("digitalocean-repository-", 1).factory()))
 			{
-				for (ContainerImage image : new ArrayList<>(imagesToDelete))
+				for (int index : wave)
 				{
-					if (image.getId().equals(layer.id()))
+					ContainerImage image = images.get(index);
+					scope.fork(() ->
 					{
-						imagesToDelete.remove(image);
-						layersToKeep.addAll(image.getLayers());
-					}
+						concurrentRequests.acquire();
+						try
+						{
+							destroyImageWithinRateLimit(image.getId());
+						}
+						finally
+						{
+							concurrentRequests.release();
+						}
+						return null;
+					});
+				}
+				try
+				{
+					scope.join().throwIfFailed();
+				}
+				catch (ExecutionException e)
+				{
+					Throwable cause = e.getCause();
+					if (cause instanceof IOException ioe)
+						throw ioe;
+					if (cause instanceof RuntimeException re)
+						throw re;
+					throw WrappedCheckedException.wrap(e);
 				}
 			}
+
+			List<Integer> nextWave = new ArrayList<>();
+			for (int index : wave)
+			{
+				for (Layer layer : images.get(index).getLayers())
+				{
+					Integer child = idToIndex.get(layer.id());
+					if (child != null && --referenceCount[child] == 0)
+						nextWave.add(child);
+				}
+			}
+			wave = nextWave;
 		}
+	}
 
-		for (ContainerImage image : imagesToDelete)
-			image.destroy();
-		registry.deleteUnusedLayers();
+	/**
+	 * Removes an image, waiting for the rate limit to reset if necessary.
+	 *
+	 * @param imageId the image
+	 * @throws IllegalStateException if the client is closed
+	 * @throws AccessDeniedException if the client does not have sufficient privileges to execute this request
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	private void destroyImageWithinRateLimit(ContainerImage.Id imageId)
+		throws IOException, InterruptedException, AccessDeniedException
+	{
+		Instant deadline = Instant.now().plus(client.getRetryTimeout());
+		while (true)
+		{
+			try
+			{
+				destroyImage(imageId);
+				return;
+			}
+			catch (TooManyRequestsException e)
+			{
+				Duration sleepDuration = e.getSleepDuration();
+				if (Instant.now().plus(sleepDuration).isAfter(deadline))
+					throw e;
+				Thread.sleep(sleepDuration);
+			}
+		}
 	}
 
 	@Override
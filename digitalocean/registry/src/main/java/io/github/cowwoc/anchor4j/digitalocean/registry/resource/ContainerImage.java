@@ -5,6 +5,7 @@
 import io.github.cowwoc.anchor4j.digitalocean.core.exception.TooManyRequestsException;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Set;
 
 import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
@@ -58,6 +59,13 @@ static Id id(String value)
 	 */
 	Set<Layer> getLayers();
 
+	/**
+	 * Returns the last time that the image was pushed.
+	 *
+	 * @return the time
+	 */
+	Instant getUpdatedAt();
+
 	/**
 	 * Reloads the image's state.
 	 *
@@ -106,19 +114,23 @@ private Id(String value)
 	/**
 	 * A layer of the image.
 	 *
-	 * @param id the image that is referenced by the layer
+	 * @param id   the image that is referenced by the layer
+	 * @param size the compressed size of the layer, in bytes
 	 */
-	record Layer(Id id)
+	record Layer(Id id, long size)
 	{
 		/**
 		 * Creates a new Layer.
 		 *
-		 * @param id the image that is referenced by the layer
-		 * @throws NullPointerException if {@code id} is null
+		 * @param id   the image that is referenced by the layer
+		 * @param size the compressed size of the layer, in bytes
+		 * @throws NullPointerException     if {@code id} is null
+		 * @throws IllegalArgumentException if {@code size} is negative
 		 */
 		public Layer
 		{
 			requireThat(id, "id").isNotNull();
+			requireThat(size, "size").isNotNegative();
 		}
 	}
-}
\ No newline at end of file
+}
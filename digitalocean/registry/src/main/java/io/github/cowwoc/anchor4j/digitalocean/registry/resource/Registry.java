@@ -63,6 +63,18 @@
 	RegistryCredentials getCredentials(boolean writeAccess, Duration duration)
 		throws IOException, InterruptedException;
 
+	/**
+	 * Returns a provider that caches the credentials of this registry until shortly before they expire, and
+	 * refreshes them in the background.
+	 *
+	 * @param writeAccess {@code true} to grant write access. By default, credentials only grant read access.
+	 * @param duration    the duration that each set of credentials will be valid for
+	 * @return the provider
+	 * @throws NullPointerException     if {@code duration} is null
+	 * @throws IllegalArgumentException if {@code duration} is negative or zero
+	 */
+	RegistryCredentialsProvider getCredentialsProvider(boolean writeAccess, Duration duration);
+
 	/**
 	 * Returns all the repositories in this registry.
 	 *
@@ -89,4 +101,11 @@ RegistryCredentials getCredentials(boolean writeAccess, Duration duration)
 	 */
 	Repository getRepository(Predicate<Repository> predicate)
 		throws IOException, InterruptedException;
-}
\ No newline at end of file
+
+	/**
+	 * Returns a plan that deletes images from multiple repositories according to retention policies.
+	 *
+	 * @return the plan
+	 */
+	RegistryCleanupPlan planCleanup();
+}
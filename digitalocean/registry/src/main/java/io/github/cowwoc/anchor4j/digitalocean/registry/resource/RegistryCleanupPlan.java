@@ -0,0 +1,112 @@
+package io.github.cowwoc.anchor4j.digitalocean.registry.resource;
+
+import io.github.cowwoc.anchor4j.core.exception.AccessDeniedException;
+import io.github.cowwoc.anchor4j.digitalocean.registry.resource.Repository.CleanupReport;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
+/**
+ * Deletes the images of multiple repositories in a registry according to retention policies.
+ * <p>
+ * By default, all tagged images are retained. Once a retention policy is added, tagged images are only
+ * retained if they match at least one policy. Untagged images are deleted unless a retained image references
+ * them.
+ */
+public interface RegistryCleanupPlan
+{
+	/**
+	 * Determines which repositories to clean up. By default, all repositories are cleaned up.
+	 *
+	 * @param predicate returns {@code true} for repositories that should be cleaned up
+	 * @return this
+	 * @throws NullPointerException if {@code predicate} is null
+	 */
+	RegistryCleanupPlan repositories(Predicate<Repository> predicate);
+
+	/**
+	 * Retains the most recently pushed tagged images of each repository.
+	 *
+	 * @param count the number of images to retain
+	 * @return this
+	 * @throws IllegalArgumentException if {@code count} is negative
+	 */
+	RegistryCleanupPlan keepLastTagged(int count);
+
+	/**
+	 * Retains images that have a tag matching a pattern.
+	 *
+	 * @param pattern the pattern that tags must match in their entirety
+	 * @return this
+	 * @throws NullPointerException if {@code pattern} is null
+	 */
+	RegistryCleanupPlan keepTags(Pattern pattern);
+
+	/**
+	 * Retains tagged images that were pushed recently.
+	 *
+	 * @param maxAge the maximum amount of time since an image was pushed
+	 * @return this
+	 * @throws NullPointerException     if {@code maxAge} is null
+	 * @throws IllegalArgumentException if {@code maxAge} is negative
+	 */
+	RegistryCleanupPlan maxAge(Duration maxAge);
+
+	/**
+	 * Returns the progress of {@link #apply(boolean)}. This method may be invoked from any thread.
+	 *
+	 * @return the progress
+	 */
+	Progress getProgress();
+
+	/**
+	 * Deletes the images that are not retained.
+	 * <p>
+	 * Repositories are scanned and cleaned up concurrently. Once all the images are deleted, the unused
+	 * layers are removed by a single garbage collection.
+	 *
+	 * @param dryRun {@code true} to report the images that would be deleted without deleting them
+	 * @return the images that were deleted from each repository
+	 * @throws IllegalStateException if the client is closed
+	 * @throws AccessDeniedException if the client does not have sufficient privileges to execute this request
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	Map<Repository, CleanupReport> apply(boolean dryRun)
+		throws IOException, InterruptedException, AccessDeniedException;
+
+	/**
+	 * The progress of a cleanup.
+	 *
+	 * @param repositoriesScanned the number of repositories whose images were listed
+	 * @param totalRepositories   the number of repositories to clean up
+	 * @param imagesDeleted       the number of images that were deleted
+	 * @param totalImages         the number of images to delete, in the repositories that were scanned
+	 */
+	record Progress(int repositoriesScanned, int totalRepositories, int imagesDeleted, int totalImages)
+	{
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param repositoriesScanned the number of repositories whose images were listed
+		 * @param totalRepositories   the number of repositories to clean up
+		 * @param imagesDeleted       the number of images that were deleted
+		 * @param totalImages         the number of images to delete, in the repositories that were scanned
+		 * @throws IllegalArgumentException if any of the arguments are negative
+		 */
+		public Progress
+		{
+			requireThat(repositoriesScanned, "repositoriesScanned").isNotNegative();
+			requireThat(totalRepositories, "totalRepositories").isNotNegative();
+			requireThat(imagesDeleted, "imagesDeleted").isNotNegative();
+			requireThat(totalImages, "totalImages").isNotNegative();
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package io.github.cowwoc.anchor4j.digitalocean.registry.resource;
+
+import java.io.IOException;
+
+/**
+ * Caches the credentials of a registry, refreshing them in the background shortly before they expire.
+ * <p>
+ * <b>Thread Safety</b>: Implementations must be thread-safe.
+ */
+public interface RegistryCredentialsProvider extends AutoCloseable
+{
+	/**
+	 * Returns the current credentials, requesting new credentials if the cached ones are about to expire.
+	 * <p>
+	 * If the credentials changed since the listeners were last notified, the listeners are notified before
+	 * this method returns.
+	 *
+	 * @return the credentials
+	 * @throws IllegalStateException if the provider or client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	RegistryCredentials get() throws IOException, InterruptedException;
+
+	/**
+	 * Adds a listener that is notified when the credentials change, such as a function that logs into the
+	 * registry using the new credentials.
+	 * <p>
+	 * If the other listeners were already notified about credentials, the listener is notified about them
+	 * before this method returns.
+	 *
+	 * @param listener the listener
+	 * @return this
+	 * @throws NullPointerException  if {@code listener} is null
+	 * @throws IllegalStateException if the provider is closed
+	 * @throws IOException           if the listener throws an {@code IOException}
+	 * @throws InterruptedException  if the thread is interrupted while waiting for another thread to notify the
+	 *                               listeners, or if the listener is interrupted
+	 */
+	RegistryCredentialsProvider onChange(Listener listener) throws IOException, InterruptedException;
+
+	/**
+	 * Determines if the provider is closed.
+	 *
+	 * @return {@code true} if the provider is closed
+	 */
+	boolean isClosed();
+
+	/**
+	 * Stops refreshing the credentials.
+	 */
+	@Override
+	void close();
+
+	/**
+	 * Receives notifications about new credentials.
+	 */
+	@FunctionalInterface
+	interface Listener
+	{
+		/**
+		 * Invoked when the credentials change.
+		 *
+		 * @param credentials the new credentials
+		 * @throws IOException          if an I/O error occurs
+		 * @throws InterruptedException if the thread is interrupted
+		 */
+		void onChange(RegistryCredentials credentials) throws IOException, InterruptedException;
+	}
+}
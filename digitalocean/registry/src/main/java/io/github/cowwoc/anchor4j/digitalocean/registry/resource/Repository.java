@@ -7,6 +7,8 @@
 import java.util.List;
 import java.util.function.Predicate;
 
+import static io.github.cowwoc.requirements12.java.DefaultJavaValidators.requireThat;
+
 /**
  * A repository (collection) of images.
  * <p>
@@ -91,6 +93,19 @@ ContainerImage getImage(Predicate<ContainerImage> predicate)
 	void destroyImage(ContainerImage.Id imageId)
 		throws IOException, InterruptedException, AccessDeniedException;
 
+	/**
+	 * Returns the dangling images in the repository. An image is dangling if it is untagged and no tagged
+	 * image transitively references it.
+	 *
+	 * @return the dangling images
+	 * @throws IllegalStateException if the client is closed
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	List<ContainerImage> getDanglingImages() throws IOException, InterruptedException;
+
 	/**
 	 * Deletes all dangling (untagged) images in the registry.
 	 *
@@ -102,6 +117,50 @@ void destroyImage(ContainerImage.Id imageId)
 	 */
 	void deleteDanglingImages() throws IOException, InterruptedException, AccessDeniedException;
 
+	/**
+	 * Deletes all dangling (untagged) images in the registry.
+	 * <p>
+	 * Images are deleted concurrently, and the unused layers are removed by a single garbage collection once
+	 * all the images are deleted.
+	 *
+	 * @param dryRun {@code true} to report the images that would be deleted without deleting them
+	 * @return the images that were deleted, and the number of bytes that were reclaimed
+	 * @throws IllegalStateException if the client is closed
+	 * @throws AccessDeniedException if the client does not have sufficient privileges to execute this request
+	 * @throws IOException           if an I/O error occurs. These errors are typically transient, and retrying
+	 *                               the request may resolve the issue.
+	 * @throws InterruptedException  if the thread is interrupted while waiting for a response. This can happen
+	 *                               due to shutdown signals.
+	 */
+	CleanupReport deleteDanglingImages(boolean dryRun)
+		throws IOException, InterruptedException, AccessDeniedException;
+
+	/**
+	 * The outcome of deleting images from a repository.
+	 *
+	 * @param images         the images that were deleted
+	 * @param bytesReclaimed the compressed size of the layers that are no longer referenced by any of the
+	 *                       remaining images
+	 */
+	record CleanupReport(List<ContainerImage> images, long bytesReclaimed)
+	{
+		/**
+		 * Creates a new report.
+		 *
+		 * @param images         the images that were deleted
+		 * @param bytesReclaimed the compressed size of the layers that are no longer referenced by any of the
+		 *                       remaining images
+		 * @throws NullPointerException     if {@code images} is null
+		 * @throws IllegalArgumentException if {@code bytesReclaimed} is negative
+		 */
+		public CleanupReport
+		{
+			requireThat(images, "images").isNotNull();
+			requireThat(bytesReclaimed, "bytesReclaimed").isNotNegative();
+			images = List.copyOf(images);
+		}
+	}
+
 	/**
 	 * A repository ID.
 	 */